@@ -0,0 +1,85 @@
+package uk.co.autotrader.traverson;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the tasks on the executor as soon as it is created, no more than the parallelism at a time, and hands out their
+ * results in the order the tasks complete, so a slow task does not hold back the results of those behind it. The
+ * first failure stops any tasks not yet started, and is thrown once the results which completed before it have been
+ * handed out, after which there are no more elements. Closing the iterator stops any tasks not yet started too.
+ */
+class CompletionOrderIterator<E> implements Iterator<E>, AutoCloseable {
+    private final List<Supplier<E>> tasks;
+    private final AtomicInteger nextTask = new AtomicInteger();
+    private final BlockingQueue<CompletableFuture<E>> completed = new LinkedBlockingQueue<>();
+    private int remaining;
+
+    CompletionOrderIterator(List<Supplier<E>> tasks, int parallelism, Executor executor) {
+        this.tasks = tasks;
+        this.remaining = tasks.size();
+        for (int i = 0; i < Math.min(parallelism, tasks.size()); i++) {
+            executor.execute(this::runTasks);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CompletableFuture<E> result = take();
+        remaining--;
+        try {
+            return result.join();
+        } catch (CompletionException completionException) {
+            remaining = 0;
+            throw TraversonBuilder.unwrap(completionException);
+        }
+    }
+
+    /**
+     * Stop any tasks not yet started, leaving the iterator with no more elements
+     */
+    @Override
+    public void close() {
+        nextTask.set(tasks.size());
+        remaining = 0;
+    }
+
+    private CompletableFuture<E> take() {
+        try {
+            return completed.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting for a traversal to complete", e);
+        }
+    }
+
+    private void runTasks() {
+        for (int index = nextTask.getAndIncrement(); index < tasks.size(); index = nextTask.getAndIncrement()) {
+            try {
+                completed.add(CompletableFuture.completedFuture(tasks.get(index).get()));
+            } catch (RuntimeException failure) {
+                nextTask.set(tasks.size());
+                completed.add(CompletableFuture.failedFuture(failure));
+                return;
+            }
+        }
+    }
+}
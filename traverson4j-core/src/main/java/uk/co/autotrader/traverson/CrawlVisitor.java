@@ -0,0 +1,20 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+import uk.co.autotrader.traverson.http.Response;
+
+/**
+ * Receives every resource fetched by {@link TraversonBuilder#crawl(int, java.util.Collection, CrawlVisitor)}
+ */
+@FunctionalInterface
+public interface CrawlVisitor {
+
+    /**
+     * Called on the executor, for several resources at once when the parallelism is above 1, so must be thread safe
+     *
+     * @param url the url the resource was fetched from
+     * @param depth the number of links followed from the start of the crawl, 0 for the starting resource
+     * @param response the response of the resource, which may have a non 2xx status
+     */
+    void visit(String url, int depth, Response<JSONObject> response);
+}
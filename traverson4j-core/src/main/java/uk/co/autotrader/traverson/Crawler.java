@@ -0,0 +1,105 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Walks the graph of resources reachable from a url breadth first, one depth at a time. The urls of a depth are
+ * fetched by up to parallelism workers on the executor, and every url is fetched at most once, however many resources
+ * link to it. Only the links of 2xx responses are followed, and relative hrefs are resolved against the url of the
+ * resource holding them, so they deduplicate with absolute links to the same resource.
+ */
+class Crawler {
+    private final TraversonBuilder prototype;
+    private final Set<String> rels;
+    private final int maxDepth;
+    private final Executor executor;
+    private final int parallelism;
+    private final Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    Crawler(TraversonBuilder prototype, Collection<String> rels, int maxDepth, Executor executor, int parallelism) {
+        this.prototype = prototype;
+        this.rels = Set.copyOf(rels);
+        this.maxDepth = maxDepth;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the number of resources fetched
+     */
+    long crawl(String startingUrl, CrawlVisitor visitor) {
+        visited.add(startingUrl);
+        List<String> depthUrls = Collections.singletonList(startingUrl);
+        long fetched = 0;
+        for (int depth = 0; !depthUrls.isEmpty(); depth++) {
+            fetched += depthUrls.size();
+            depthUrls = crawlDepth(depthUrls, depth, visitor);
+        }
+        return fetched;
+    }
+
+    private List<String> crawlDepth(List<String> urls, int depth, CrawlVisitor visitor) {
+        Queue<String> nextDepth = new ConcurrentLinkedQueue<>();
+        AtomicInteger nextUrl = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, urls.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> crawlUrls(urls, nextUrl, depth, visitor, nextDepth), executor);
+        }
+        try {
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException completionException) {
+            throw TraversonBuilder.unwrap(completionException);
+        }
+        return new ArrayList<>(nextDepth);
+    }
+
+    private void crawlUrls(List<String> urls, AtomicInteger nextUrl, int depth, CrawlVisitor visitor, Queue<String> nextDepth) {
+        for (int index = nextUrl.getAndIncrement(); index < urls.size(); index = nextUrl.getAndIncrement()) {
+            try {
+                crawlUrl(urls.get(index), depth, visitor, nextDepth);
+            } catch (RuntimeException failure) {
+                nextUrl.set(urls.size());
+                throw failure;
+            }
+        }
+    }
+
+    private void crawlUrl(String url, int depth, CrawlVisitor visitor, Queue<String> nextDepth) {
+        Response<JSONObject> response = new TraversonBuilder(prototype).fetchResponse(url);
+        visitor.visit(url, depth, response);
+        if (depth < maxDepth && response.isSuccessful() && response.getResource() != null) {
+            collectUnvisitedLinks(url, response.getResource(), nextDepth);
+        }
+    }
+
+    private void collectUnvisitedLinks(String url, JSONObject resource, Queue<String> nextDepth) {
+        for (Map.Entry<String, List<String>> link : prototype.findAllHrefs(resource).entrySet()) {
+            if (rels.isEmpty() || rels.contains(link.getKey())) {
+                link.getValue().stream()
+                        .map(href -> absolute(url, href))
+                        .filter(visited::add)
+                        .forEach(nextDepth::add);
+            }
+        }
+    }
+
+    private static String absolute(String baseUrl, String href) {
+        return href.contains("://") ? href : URI.create(baseUrl).resolve(href).toString();
+    }
+}
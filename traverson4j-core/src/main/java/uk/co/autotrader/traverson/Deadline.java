@@ -0,0 +1,53 @@
+package uk.co.autotrader.traverson;
+
+import uk.co.autotrader.traverson.exception.DeadlineExceededException;
+import uk.co.autotrader.traverson.http.Request;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * The budget of a whole traversal, started by its first hop. Immutable once started, so the branches of a traversal
+ * share the one deadline.
+ */
+final class Deadline {
+    private final Duration budget;
+    private final String header;
+    private final LongSupplier nanoClock;
+    private final long expiresAt;
+
+    Deadline(Duration budget, String header, LongSupplier nanoClock) {
+        this.budget = budget;
+        this.header = header;
+        this.nanoClock = nanoClock;
+        this.expiresAt = nanoClock.getAsLong() + budget.toNanos();
+    }
+
+    /**
+     * Give the request the remaining budget as its timeout, and as a header of milliseconds when one is named
+     *
+     * @throws DeadlineExceededException When less than a millisecond remains
+     */
+    void applyTo(Request request, String hop) {
+        Duration remaining = Duration.ofNanos(expiresAt - nanoClock.getAsLong());
+        if (remaining.toMillis() < 1) {
+            throw new DeadlineExceededException(hop, budget);
+        }
+        request.setTimeout(remaining);
+        if (header != null) {
+            request.setTimeoutHeader(header);
+            request.addHeader(header, String.valueOf(remaining.toMillis()));
+        }
+    }
+
+    /**
+     * @return the failure of a hop as a {@link DeadlineExceededException} when the budget ran out while it was in
+     * flight, otherwise the failure itself
+     */
+    RuntimeException translate(RuntimeException failure, String hop) {
+        if (expiresAt - nanoClock.getAsLong() < Duration.ofMillis(1).toNanos()) {
+            return new DeadlineExceededException(hop, budget, failure);
+        }
+        return failure;
+    }
+}
@@ -0,0 +1,43 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Flattens pages into their items, converting each item as it is handed out. The next page is only pulled once the
+ * items of the current one run out.
+ */
+class ItemIterator<T> implements Iterator<T> {
+    private final Iterator<JSONObject> pages;
+    private final Function<JSONObject, List<Object>> itemsOfPage;
+    private final Class<T> itemType;
+    private Iterator<Object> items;
+
+    ItemIterator(Iterator<JSONObject> pages, Function<JSONObject, List<Object>> itemsOfPage, Class<T> itemType) {
+        this.pages = pages;
+        this.itemsOfPage = itemsOfPage;
+        this.itemType = itemType;
+        this.items = Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!items.hasNext() && pages.hasNext()) {
+            items = itemsOfPage.apply(pages.next()).iterator();
+        }
+        return items.hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return TraversonBuilder.convert(items.next(), itemType);
+    }
+}
@@ -0,0 +1,46 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily fetches the resource at the end of a traversal, then each page its next rel links to, until a page has no
+ * next rel. A page is only fetched once {@link #hasNext()} is asked about it, and only the href of the following page
+ * is kept once a page has been handed out.
+ */
+class PageIterator implements Iterator<JSONObject> {
+    private final TraversonBuilder traversal;
+    private final String nextRel;
+    private boolean started;
+    private String nextHref;
+    private JSONObject page;
+
+    PageIterator(TraversonBuilder traversal, String nextRel) {
+        this.traversal = traversal;
+        this.nextRel = nextRel;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            page = traversal.fetchTargetResource();
+        } else if (page == null && nextHref != null) {
+            page = traversal.fetchResource(nextHref);
+        }
+        return page != null;
+    }
+
+    @Override
+    public JSONObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JSONObject current = page;
+        page = null;
+        nextHref = traversal.findHrefIfPresent(current, nextRel);
+        return current;
+    }
+}
@@ -0,0 +1,58 @@
+package uk.co.autotrader.traverson;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rel paths merged on their common prefixes, so that each prefix is only traversed once. A node stands for the
+ * resource reached by following its path, and is terminal when one of the paths ends there.
+ */
+final class PathTrie {
+    private final List<String> path;
+    private final Map<String, PathTrie> children = new LinkedHashMap<>();
+    private boolean terminal;
+
+    private PathTrie(List<String> path) {
+        this.path = path;
+    }
+
+    static PathTrie of(Collection<List<String>> paths) {
+        PathTrie root = new PathTrie(Collections.emptyList());
+        for (List<String> path : paths) {
+            PathTrie node = root;
+            for (String rel : path) {
+                node = node.child(rel);
+            }
+            node.terminal = true;
+        }
+        return root;
+    }
+
+    List<String> getPath() {
+        return path;
+    }
+
+    boolean isTerminal() {
+        return terminal;
+    }
+
+    boolean isLeaf() {
+        return children.isEmpty();
+    }
+
+    Map<String, PathTrie> getChildren() {
+        return children;
+    }
+
+    private PathTrie child(String rel) {
+        return children.computeIfAbsent(rel, key -> {
+            List<String> childPath = new ArrayList<>(path);
+            childPath.add(key);
+            return new PathTrie(Collections.unmodifiableList(childPath));
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package uk.co.autotrader.traverson;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Pulls up to a fixed number of elements ahead of the consumer on the executor, so fetching the next elements overlaps
+ * with processing the current one. The pulls are chained one after another, so the source is never used concurrently,
+ * and an element is let go as soon as it has been handed out. The source must not return null elements.
+ */
+class PrefetchingIterator<E> implements Iterator<E>, AutoCloseable {
+    private final Iterator<E> source;
+    private final Executor executor;
+    private final Deque<CompletableFuture<E>> ahead = new ArrayDeque<>();
+
+    PrefetchingIterator(Iterator<E> source, int prefetch, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+        for (int i = 0; i < prefetch; i++) {
+            pullAhead();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return join(ahead.getFirst()) != null;
+    }
+
+    @Override
+    public E next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        E element = ahead.removeFirst().join();
+        pullAhead();
+        return element;
+    }
+
+    /**
+     * Stop pulling ahead, leaving the iterator with no more elements
+     */
+    @Override
+    public void close() {
+        ahead.forEach(pull -> pull.cancel(false));
+        ahead.clear();
+        ahead.add(CompletableFuture.completedFuture(null));
+    }
+
+    private void pullAhead() {
+        CompletableFuture<E> previous = ahead.peekLast();
+        if (previous == null) {
+            ahead.addLast(CompletableFuture.supplyAsync(this::pull, executor));
+        } else {
+            ahead.addLast(previous.thenApplyAsync(element -> element == null ? null : pull(), executor));
+        }
+    }
+
+    private E pull() {
+        return source.hasNext() ? source.next() : null;
+    }
+
+    private static <E> E join(CompletableFuture<E> pull) {
+        try {
+            return pull.join();
+        } catch (CompletionException completionException) {
+            throw TraversonBuilder.unwrap(completionException);
+        }
+    }
+}
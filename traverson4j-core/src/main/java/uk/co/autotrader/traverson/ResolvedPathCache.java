@@ -0,0 +1,130 @@
+package uk.co.autotrader.traverson;
+
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.RequestKey;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>An opt-in cache of the href a chain of rels resolves to, allowing a traversal to skip straight to
+ * its terminal request. See {@link TraversonBuilder#withResolvedPathCache(ResolvedPathCache)}</p>
+ *
+ * <p>Entries are keyed on the starting url, rels, template params, query params, accept type and
+ * credentials of the traversal. Headers are not part of the key. Entries expire once their time to live
+ * has passed, and the least recently used entry is evicted when the maximum size is reached.</p>
+ */
+public class ResolvedPathCache {
+    private final long timeToLiveNanos;
+    private final int maximumSize;
+    private final LongSupplier nanoClock;
+    private final Lock lock;
+    private final Map<RequestKey, Entry> entries;
+
+    /**
+     * @param timeToLive how long a resolved href may be used before the rels are followed again
+     * @param maximumSize the maximum number of resolved hrefs to hold
+     */
+    public ResolvedPathCache(Duration timeToLive, int maximumSize) {
+        this(timeToLive, maximumSize, System::nanoTime);
+    }
+
+    ResolvedPathCache(Duration timeToLive, int maximumSize, LongSupplier nanoClock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maximumSize = maximumSize;
+        this.nanoClock = nanoClock;
+        this.lock = new ReentrantLock();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * @return the number of resolved hrefs currently held, including any which have expired but not yet been evicted
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all resolved hrefs
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    String get(RequestKey key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt - nanoClock.getAsLong() <= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.href;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(RequestKey key, String href) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry(href, nanoClock.getAsLong() + timeToLiveNanos));
+            if (entries.size() > maximumSize) {
+                Iterator<RequestKey> leastRecentlyUsed = entries.keySet().iterator();
+                leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(RequestKey key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static RequestKey key(Request request, Collection<String> rels) {
+        return RequestKey.withoutHeaders(request, new ArrayList<>(rels));
+    }
+
+    static boolean isStale(Response<?> response) {
+        return response.getStatusCode() == 404 || response.getStatusCode() == 410;
+    }
+
+    private static final class Entry {
+        private final String href;
+        private final long expiresAt;
+
+        private Entry(String href, long expiresAt) {
+            this.href = href;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
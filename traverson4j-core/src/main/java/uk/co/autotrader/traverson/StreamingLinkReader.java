@@ -0,0 +1,156 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.DefaultJSONParser;
+import com.alibaba.fastjson.parser.Feature;
+import com.alibaba.fastjson.parser.JSONLexer;
+import com.alibaba.fastjson.parser.JSONReaderScanner;
+import com.alibaba.fastjson.parser.JSONToken;
+import uk.co.autotrader.traverson.exception.ConversionException;
+import uk.co.autotrader.traverson.exception.UnknownRelException;
+import uk.co.autotrader.traverson.http.Abortable;
+import uk.co.autotrader.traverson.link.LinkDiscoverer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads a json resource one top level member at a time, parsing only the members which may hold the href of the rel,
+ * and searching them as each is read. The other members are skipped token by token, without being parsed. Once the
+ * href is found, the rest of the resource is not parsed. When the stream is {@link Abortable} and more than 64KiB of it
+ * remains unread, it is aborted, as a new connection costs less than reading the rest. Otherwise the rest is read, so
+ * closing the stream returns its connection to the pool.
+ */
+class StreamingLinkReader {
+    static final int DRAIN_LIMIT = 64 * 1024;
+    private static final int FEATURES = JSON.DEFAULT_PARSER_FEATURE | Feature.OrderedField.mask;
+
+    private final LinkDiscoverer linkDiscoverer;
+
+    StreamingLinkReader(LinkDiscoverer linkDiscoverer) {
+        this.linkDiscoverer = linkDiscoverer;
+    }
+
+    /**
+     * @return the href of the rel in the first member holding it
+     * @throws UnknownRelException When the resource has no such rel
+     * @throws ConversionException When the resource is not a json object
+     */
+    String findHref(InputStream resource, String rel) {
+        JSONReaderScanner lexer = new JSONReaderScanner(new InputStreamReader(resource, StandardCharsets.UTF_8), FEATURES);
+        try {
+            return readHref(new DefaultJSONParser(lexer), resource, rel);
+        } catch (JSONException parseFailure) {
+            throw new ConversionException("Failed to parse to JSONObject", null, parseFailure);
+        } finally {
+            // closes the stream without the parser's check that the whole text was read
+            lexer.close();
+        }
+    }
+
+    private String readHref(DefaultJSONParser parser, InputStream resource, String rel) {
+        JSONLexer lexer = parser.getLexer();
+        JSONObject members = new JSONObject(true);
+        expect(lexer, JSONToken.LBRACE);
+        lexer.nextToken();
+        while (lexer.token() != JSONToken.RBRACE) {
+            String name = readName(lexer);
+            String href = null;
+            if (linkDiscoverer.mayHoldHref(name, rel)) {
+                href = findHrefIfPresent(members, name, parser.parse(), rel);
+            } else {
+                skipValue(lexer);
+            }
+            if (href != null) {
+                finish(resource);
+                return href;
+            }
+            readSeparator(lexer);
+        }
+        return linkDiscoverer.findHref(members, rel);
+    }
+
+    private String findHrefIfPresent(JSONObject members, String name, Object value, String rel) {
+        members.put(name, value);
+        try {
+            return linkDiscoverer.findHref(members, rel);
+        } catch (UnknownRelException absent) {
+            return null;
+        }
+    }
+
+    private static String readName(JSONLexer lexer) {
+        expect(lexer, JSONToken.LITERAL_STRING);
+        String name = lexer.stringVal();
+        lexer.nextTokenWithColon();
+        return name;
+    }
+
+    private static void readSeparator(JSONLexer lexer) {
+        if (lexer.token() == JSONToken.COMMA) {
+            lexer.nextToken();
+        } else {
+            expect(lexer, JSONToken.RBRACE);
+        }
+    }
+
+    /**
+     * Steps over the tokens of a value, keeping count of the objects and arrays it opens, until they are all closed
+     */
+    private static void skipValue(JSONLexer lexer) {
+        int depth = 0;
+        do {
+            expectMore(lexer);
+            depth += depthChange(lexer.token());
+            lexer.nextToken();
+        } while (depth > 0);
+    }
+
+    private static int depthChange(int token) {
+        if (token == JSONToken.LBRACE || token == JSONToken.LBRACKET) {
+            return 1;
+        }
+        return token == JSONToken.RBRACE || token == JSONToken.RBRACKET ? -1 : 0;
+    }
+
+    private static void expect(JSONLexer lexer, int token) {
+        if (lexer.token() != token) {
+            throw new JSONException("syntax error, expect " + JSONToken.name(token) + ", actual " + lexer.tokenName());
+        }
+    }
+
+    private static void expectMore(JSONLexer lexer) {
+        if (lexer.token() == JSONToken.EOF) {
+            throw new JSONException("syntax error, unexpected end of json text");
+        }
+    }
+
+    private static void finish(InputStream resource) {
+        if (resource instanceof Abortable && !drain(resource)) {
+            ((Abortable) resource).abort();
+        }
+    }
+
+    /**
+     * @return true when the rest of the stream was read, false when more than the drain limit remained or it failed
+     */
+    private static boolean drain(InputStream resource) {
+        byte[] buffer = new byte[8192];
+        long drained = 0;
+        try {
+            for (int read = resource.read(buffer); read >= 0; read = resource.read(buffer)) {
+                drained += read;
+                if (drained > DRAIN_LIMIT) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException readFailure) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>An immutable traversal compiled by {@link TraversonBuilder#compile()}. The starting url, rels, headers,
+ * parameters, auth credentials and accept type are fixed when compiled. Each run shares the headers, auth
+ * credentials and prepared rels of the plan, copying only the parameters and rels it may change into a fresh
+ * builder before following the rels.</p>
+ *
+ * <pre>
+ * TraversalPlan vehicle = traverson.from("http://localhost/").jsonHal().follow("vehicles", "vehicle").compile();
+ * Response&lt;JSONObject&gt; response = vehicle.newTraversal().withTemplateParam("id", "123").get();
+ * </pre>
+ */
+public final class TraversalPlan {
+    private final TraversonBuilder prototype;
+
+    TraversalPlan(TraversonBuilder prototype) {
+        this.prototype = prototype;
+    }
+
+    /**
+     * Start a run of the plan, to which per call values such as template parameters can be added
+     *
+     * @return a new stateful TraversonBuilder loaded with the plan
+     */
+    public TraversonBuilder newTraversal() {
+        return prototype.newRun();
+    }
+
+    /**
+     * Run the plan and get the response, as {@link TraversonBuilder#get()}
+     *
+     * @return Response representing the http response and resource
+     */
+    public Response<JSONObject> get() {
+        return newTraversal().get();
+    }
+
+    /**
+     * Run the plan and get the response, as {@link TraversonBuilder#get(Class)}
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return Response representing the http response and resource
+     */
+    public <T> Response<T> get(Class<T> returnType) {
+        return newTraversal().get(returnType);
+    }
+
+    /**
+     * Run the plan and get the response without blocking the calling thread, as {@link TraversonBuilder#getAsync(Class)}
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response and resource
+     */
+    public <T> CompletableFuture<Response<T>> getAsync(Class<T> returnType) {
+        return newTraversal().getAsync(returnType);
+    }
+}
@@ -0,0 +1,140 @@
+package uk.co.autotrader.traverson;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A cold publisher which pulls items from a fresh iterator for every subscriber, on the executor and only while the
+ * subscriber has outstanding demand. As the iterators fetch lazily, a subscriber which requests slowly slows down the
+ * traversal behind it.
+ */
+class TraversalPublisher<T> implements Flow.Publisher<T> {
+    private final Supplier<Iterator<T>> source;
+    private final Executor executor;
+    private final boolean single;
+
+    TraversalPublisher(Supplier<Iterator<T>> source, Executor executor) {
+        this(source, executor, false);
+    }
+
+    private TraversalPublisher(Supplier<Iterator<T>> source, Executor executor, boolean single) {
+        this.source = source;
+        this.executor = executor;
+        this.single = single;
+    }
+
+    /**
+     * A publisher of the one value, which completes as soon as the value is sent rather than on the next request
+     */
+    static <T> TraversalPublisher<T> single(Supplier<T> value, Executor executor) {
+        return new TraversalPublisher<>(() -> Collections.singletonList(value.get()).iterator(), executor, true);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new DemandSubscription<>(subscriber, source, executor, single));
+    }
+
+    /**
+     * Signals are only sent from the drain loop, which at most one thread runs at a time, so the subscriber is never
+     * called concurrently. Requests made while the loop runs, including from within onNext, are picked up by it.
+     */
+    private static final class DemandSubscription<T> implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final Executor executor;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final boolean single;
+        private Supplier<Iterator<T>> source;
+        private Iterator<T> items;
+        private volatile boolean done;
+        private volatile IllegalArgumentException invalidRequest;
+
+        private DemandSubscription(Flow.Subscriber<? super T> subscriber, Supplier<Iterator<T>> source, Executor executor, boolean single) {
+            this.subscriber = subscriber;
+            this.source = source;
+            this.executor = executor;
+            this.single = single;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive, but was " + n);
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                emit();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (invalidRequest != null && !done) {
+                fail(invalidRequest);
+            }
+            while (!done && requested.get() > 0) {
+                emitNext();
+            }
+        }
+
+        private void emitNext() {
+            T item;
+            try {
+                if (items == null) {
+                    items = source.get();
+                    source = null;
+                }
+                if (!items.hasNext()) {
+                    complete();
+                    return;
+                }
+                item = items.next();
+            } catch (RuntimeException failure) {
+                fail(failure);
+                return;
+            }
+            requested.decrementAndGet();
+            subscriber.onNext(item);
+            if (single && !done) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            done = true;
+            items = null;
+            subscriber.onComplete();
+        }
+
+        private void fail(Throwable failure) {
+            done = true;
+            items = null;
+            subscriber.onError(failure);
+        }
+    }
+}
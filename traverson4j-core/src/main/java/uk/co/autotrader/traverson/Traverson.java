@@ -2,18 +2,32 @@ package uk.co.autotrader.traverson;
 
 import uk.co.autotrader.traverson.http.TraversonClient;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Suitable as an Injectable singleton
  */
 public class Traverson {
     private TraversonClient traversonClient;
+    private Executor executor;
 
     /**
      * Creates the traverson client
      * @param traversonClient - Traverson client with your custom settings
      */
     public Traverson(TraversonClient traversonClient) {
+        this(traversonClient, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates the traverson client
+     * @param traversonClient - Traverson client with your custom settings
+     * @param executor - Executor used for asynchronous traversals when the client is not an {@link uk.co.autotrader.traverson.http.AsyncTraversonClient}, and for followAll branches
+     */
+    public Traverson(TraversonClient traversonClient, Executor executor) {
         this.traversonClient = traversonClient;
+        this.executor = executor;
     }
 
     /**
@@ -22,6 +36,6 @@ public class Traverson {
      * @return a new stateful TraversonBuilder
      */
     public TraversonBuilder from(String startingUrl) {
-        return new TraversonBuilder(traversonClient).from(startingUrl);
+        return new TraversonBuilder(traversonClient, executor).from(startingUrl);
     }
 }
@@ -1,17 +1,40 @@
 package uk.co.autotrader.traverson;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
+import uk.co.autotrader.traverson.conversion.ResourceConversionService;
 import uk.co.autotrader.traverson.http.AuthCredential;
+import uk.co.autotrader.traverson.exception.DeadlineExceededException;
 import uk.co.autotrader.traverson.exception.IllegalHttpStatusException;
+import uk.co.autotrader.traverson.exception.UnknownRelException;
 import uk.co.autotrader.traverson.http.*;
 import uk.co.autotrader.traverson.link.BasicLinkDiscoverer;
+import uk.co.autotrader.traverson.link.LinkHeaderDiscoverer;
 import uk.co.autotrader.traverson.link.hal.HalLinkDiscoverer;
 import uk.co.autotrader.traverson.link.LinkDiscoverer;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Not thread safe
+ * Not thread safe, see {@link #compile()} for a traversal which can be shared between threads
  *
  * <p>A builder which constructs a specification for interacting with a REST API
  * conforming to <a href="https://tools.ietf.org/html/draft-kelly-json-hal-03">
@@ -20,15 +43,97 @@ import java.util.*;
  * @author Michael Rocke
  */
 public class TraversonBuilder {
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final String DEFAULT_NEXT_REL = "next";
+
     private TraversonClient traversonClient;
+    private Executor executor;
     private LinkDiscoverer linkDiscoverer;
+    private LinkHeaderDiscoverer linkHeaderDiscoverer;
     private Deque<String> relsToFollow;
     private Request request;
+    private ResolvedPathCache resolvedPathCache;
+    private String fanOutRel;
+    private List<String> relsAfterFanOut;
+    private int parallelism;
+    private boolean preferEmbedded;
+    private boolean streamLinks;
+    private String nextRel;
+    private int prefetch;
+    private Duration deadlineBudget;
+    private String deadlineHeader;
+    private Deadline deadline;
+    private LongSupplier nanoClock;
 
     TraversonBuilder(TraversonClient traversonClient) {
+        this(traversonClient, ForkJoinPool.commonPool());
+    }
+
+    TraversonBuilder(TraversonClient traversonClient, Executor executor) {
         this.traversonClient = traversonClient;
+        this.executor = executor;
         relsToFollow = new LinkedList<>();
         request = new Request();
+        parallelism = DEFAULT_PARALLELISM;
+        nextRel = DEFAULT_NEXT_REL;
+        nanoClock = System::nanoTime;
+    }
+
+    /**
+     * @param prototype the builder to copy, which is only read so may be shared between threads
+     */
+    TraversonBuilder(TraversonBuilder prototype) {
+        this(prototype, new Request(prototype.request));
+    }
+
+    private TraversonBuilder(TraversonBuilder prototype, Request request) {
+        this.traversonClient = prototype.traversonClient;
+        this.executor = prototype.executor;
+        this.linkDiscoverer = prototype.linkDiscoverer;
+        this.linkHeaderDiscoverer = prototype.linkHeaderDiscoverer;
+        this.relsToFollow = new LinkedList<>(prototype.relsToFollow);
+        this.request = request;
+        this.resolvedPathCache = prototype.resolvedPathCache;
+        this.fanOutRel = prototype.fanOutRel;
+        this.relsAfterFanOut = prototype.relsAfterFanOut;
+        this.parallelism = prototype.parallelism;
+        this.preferEmbedded = prototype.preferEmbedded;
+        this.streamLinks = prototype.streamLinks;
+        this.nextRel = prototype.nextRel;
+        this.prefetch = prototype.prefetch;
+        this.deadlineBudget = prototype.deadlineBudget;
+        this.deadlineHeader = prototype.deadlineHeader;
+        this.deadline = prototype.deadline;
+        this.nanoClock = prototype.nanoClock;
+    }
+
+    /**
+     * A copy to start any number of runs from with {@link #newRun()}, which keeps the deadline budget but not the
+     * deadline of a run already started, and has its link discoverer prepare the rels
+     */
+    private TraversonBuilder prototype() {
+        TraversonBuilder prototype = new TraversonBuilder(this);
+        prototype.deadline = null;
+        if (linkDiscoverer != null) {
+            prototype.linkDiscoverer = linkDiscoverer.prepare(plannedRels());
+        }
+        return prototype;
+    }
+
+    private List<String> plannedRels() {
+        List<String> rels = new ArrayList<>(relsToFollow);
+        if (fanOutRel != null) {
+            rels.add(fanOutRel);
+            rels.addAll(relsAfterFanOut);
+        }
+        return rels;
+    }
+
+    /**
+     * @return a run of this prototype, which shares its headers and auth credentials rather than copying them
+     */
+    TraversonBuilder newRun() {
+        return new TraversonBuilder(this, Request.sharing(request));
     }
 
     public TraversonBuilder from(String startingUrl) {
@@ -54,6 +159,143 @@ public class TraversonBuilder {
         return this;
     }
 
+    /**
+     * When the target of a rel is held in the '_embedded' section of the current resource, carry on from the embedded
+     * resource instead of fetching it. Should no rels remain, {@link #get(Class)} converts the embedded resource
+     * directly, with a 200 status and no response headers. Only use this with an API which embeds complete
+     * representations, rather than partial ones.
+     * Skipped when query params are set, or for templated hrefs, as the embedded resource may not reflect them.
+     * Only applies to the blocking methods, e.g. {@link #get()}
+     *
+     * @return the current builder preferring embedded resources
+     */
+    public TraversonBuilder preferEmbedded() {
+        this.preferEmbedded = true;
+        return this;
+    }
+
+    /**
+     * Read the resources on the path as streams, one top level member at a time, only as far as the member holding the
+     * href of the next rel, i.e. '_links' or '_embedded' for json hal. The rest of the resource is not parsed, and when
+     * more than 64KiB of it remains its connection is dropped rather than read to the end, so a large resource costs
+     * little more than its links, while a small one leaves its connection to be reused. Should
+     * several members hold the rel, the first wins, e.g. '_links' over an '_embedded' item named by the rel when
+     * '_links' comes first. As the hops fetch streams, they bypass clients which only cache, coalesce or hedge parsed
+     * resources. Ignored when preferring embedded resources, which needs the whole resource.
+     * Only applies to the blocking methods, e.g. {@link #get()}
+     *
+     * @return the current builder streaming the links of the resources on the path
+     */
+    public TraversonBuilder streamLinks() {
+        this.streamLinks = true;
+        return this;
+    }
+
+    /**
+     * Resolve the rels given to {@link #follow(String...)} from the RFC 8288 Link header of a HEAD request to each
+     * resource on the path, so the resource is not transferred just to find the next href. Should the HEAD request
+     * not succeed, or its Link header lack the rel, the resource is fetched and its links parsed as usual, at the cost
+     * of the extra request. The request to the end of the path is sent as usual.
+     *
+     * @return the current builder resolving rels from Link headers
+     */
+    public TraversonBuilder withLinkHeaders() {
+        this.linkHeaderDiscoverer = new LinkHeaderDiscoverer();
+        return this;
+    }
+
+    /**
+     * After following the rels given to {@link #follow(String...)}, resolve every href of the rel, e.g. each item of an
+     * '_embedded' or '_links' array, and traverse the remaining rels from each href concurrently.
+     * Use {@link #getAll(Class)}, or {@link #streamAll(Class)} for the responses in the order they complete, to perform
+     * the traversals.
+     *
+     * @param rel the rel resolving to many hrefs
+     * @param thenFollow the rels to follow from each href
+     * @return the current builder fanning out at the rel
+     */
+    public TraversonBuilder followAll(String rel, String... thenFollow) {
+        this.fanOutRel = rel;
+        this.relsAfterFanOut = Arrays.asList(thenFollow);
+        return this;
+    }
+
+    /**
+     * Limit the number of traversals which {@link #getAll(Class)} or {@link #streamAll(Class)}, or pages which
+     * {@link #getPages(String, String, Class)} or {@link #crawl(int, Collection, CrawlVisitor)}, runs at the same time,
+     * defaults to 4
+     *
+     * @param parallelism the maximum number of concurrent traversals
+     * @return the current builder inclusive of the parallelism
+     */
+    public TraversonBuilder withParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * The rel linking each page of a collection to the following page, defaults to "next"
+     *
+     * @param nextRel the rel of the following page
+     * @return the current builder inclusive of the next rel
+     */
+    public TraversonBuilder withNextRel(String nextRel) {
+        this.nextRel = nextRel;
+        return this;
+    }
+
+    /**
+     * Fetch up to the given number of pages ahead of the items being consumed from {@link #iterateItems(String, Class)}
+     * or {@link #streamItems(String, Class)}, on the executor. Defaults to 0, fetching each page only once the items of
+     * the previous page have been consumed.
+     *
+     * @param pages the maximum number of pages to hold ahead of the consumer
+     * @return the current builder inclusive of the prefetch
+     */
+    public TraversonBuilder withPrefetch(int pages) {
+        if (pages < 0) {
+            throw new IllegalArgumentException("prefetch must not be negative");
+        }
+        this.prefetch = pages;
+        return this;
+    }
+
+    /**
+     * Limit the whole traversal, every hop included, to the deadline. The deadline starts with the first hop, then each
+     * hop is given whatever remains as its request timeout, so slow hops leave less time for the rest.
+     * Once it has run out, the traversal fails with a {@link DeadlineExceededException}
+     * naming the hop which exhausted it. The branches of {@link #getAll(Class)} and pages of
+     * {@link #getPages(String, String, Class)} share the deadline of the traversal which started them.
+     * The asynchronous methods, e.g. {@link #getAsync()}, fail a hop which starts too late, but leave a hop which times
+     * out in flight to fail as the http client reports it.
+     *
+     * @param deadline the most time the traversal may take
+     * @return the current builder inclusive of the deadline
+     */
+    public TraversonBuilder withDeadline(Duration deadline) {
+        return withDeadline(deadline, null);
+    }
+
+    /**
+     * Limit the whole traversal to the deadline as {@link #withDeadline(Duration)}, also telling the server how many
+     * milliseconds remain for each hop in a header, so it can give up on work the client will not wait for
+     *
+     * @param deadline the most time the traversal may take
+     * @param header the name of the header holding the remaining milliseconds, e.g. "Request-Timeout"
+     * @return the current builder inclusive of the deadline
+     */
+    public TraversonBuilder withDeadline(Duration deadline, String header) {
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("deadline must be positive");
+        }
+        this.deadlineBudget = deadline;
+        this.deadlineHeader = header;
+        return this;
+    }
+
     /**
      * A builder method for adding query parameters to the web request. This
      * method is additive and does not overwrite query param key/values already
@@ -130,6 +372,36 @@ public class TraversonBuilder {
         return this;
     }
 
+    /**
+     * Skip straight to the href previously resolved for the same starting url and rels, when one is held in the cache.
+     * Should the href return a 404 or 410 status, the rels are followed again and the cache updated.
+     * Only applies to the blocking methods, e.g. {@link #get()}
+     *
+     * @param resolvedPathCache a cache shared by the traversals that should benefit from it
+     * @return the current builder using the resolved path cache
+     */
+    public TraversonBuilder withResolvedPathCache(ResolvedPathCache resolvedPathCache) {
+        this.resolvedPathCache = resolvedPathCache;
+        return this;
+    }
+
+    /**
+     * Capture a copy of the traversal specified so far as an immutable plan, which can be shared between threads and
+     * run any number of times. The rels are prepared by the link discoverer up front, e.g. parsed for json hal, and
+     * each run shares the headers and auth credentials of the plan, copying only what a run may change before following
+     * the rels from the starting url. A deadline budget is kept, but each run starts its own deadline. Later changes
+     * to this builder do not affect the plan.
+     *
+     * @return the compiled plan
+     * @throws IllegalStateException When no starting url has been given
+     */
+    public TraversalPlan compile() {
+        if (request.getUrl() == null) {
+            throw new IllegalStateException("from must be called before compile");
+        }
+        return new TraversalPlan(prototype());
+    }
+
     /**
      * Navigate the path and get the response
      *
@@ -156,6 +428,290 @@ public class TraversonBuilder {
         return traverseAndPerform(Method.GET, null, returnType);
     }
 
+    /**
+     * Navigate the path to the rel given to {@link #followAll(String, String...)}, then get the response at the end of
+     * every branch
+     *
+     * @return the Responses, in the order their hrefs appear in the document
+     * @throws IllegalStateException When followAll has not been called
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating a path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.IllegalHttpStatusException When a non 2xx response is returned part way through traversing
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request. This could be an intermittent issue
+     */
+    public List<Response<JSONObject>> getAll() {
+        return getAll(JSONObject.class);
+    }
+
+    /**
+     * Navigate the path to the rel given to {@link #followAll(String, String...)}, then get the response at the end of
+     * every branch. The branches run on the executor, no more than the parallelism at a time, and the first failure
+     * stops any branches not yet started.
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return the Responses, in the order their hrefs appear in the document
+     * @throws IllegalStateException When followAll has not been called
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating a path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.IllegalHttpStatusException When a non 2xx response is returned part way through traversing
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request. This could be an intermittent issue
+     */
+    public <T> List<Response<T>> getAll(Class<T> returnType) {
+        return fanOut(fanOutBranches("getAll"), returnType);
+    }
+
+    /**
+     * Navigate the path to the rel given to {@link #followAll(String, String...)}, then stream the response at the end
+     * of every branch, see {@link #streamAll(Class)}
+     *
+     * @return a sequential stream of the Responses, in the order their branches complete
+     */
+    public Stream<Response<JSONObject>> streamAll() {
+        return streamAll(JSONObject.class);
+    }
+
+    /**
+     * Navigate the path to the rel given to {@link #followAll(String, String...)}, then stream the response at the end
+     * of every branch as soon as its branch completes, so the first responses can be processed while slower branches
+     * are still running. The path is navigated before returning, then the branches run on the executor, no more than
+     * the parallelism at a time, without waiting for the stream to be consumed. The first failure stops any branches
+     * not yet started, and is thrown from the stream once the responses before it have been consumed.
+     * Close the stream, e.g. with try-with-resources, to stop any branches not yet started when it is not consumed to
+     * the end.
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a sequential stream of the Responses, in the order their branches complete
+     * @throws IllegalStateException When followAll has not been called
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating a path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.IllegalHttpStatusException When a non 2xx response is returned part way through traversing
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request. This could be an intermittent issue
+     */
+    public <T> Stream<Response<T>> streamAll(Class<T> returnType) {
+        List<TraversonBuilder> branches = fanOutBranches("streamAll");
+        List<Supplier<Response<T>>> traversals = new ArrayList<>(branches.size());
+        branches.forEach(branch -> traversals.add(() -> branch.get(returnType)));
+        CompletionOrderIterator<Response<T>> responses = new CompletionOrderIterator<>(traversals, parallelism, executor);
+        Spliterator<Response<T>> spliterator = Spliterators.spliterator(responses, branches.size(), Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(responses::close);
+    }
+
+    private List<TraversonBuilder> fanOutBranches(String caller) {
+        if (fanOutRel == null) {
+            throw new IllegalStateException("followAll must be called before " + caller);
+        }
+        List<String> hrefs = linkDiscoverer.findHrefs(fetchTargetResource(), fanOutRel);
+        List<TraversonBuilder> branches = new ArrayList<>(hrefs.size());
+        hrefs.forEach(href -> branches.add(branch(href)));
+        return branches;
+    }
+
+    /**
+     * Get every page of the collection resource at the end of the path, see {@link #getPages(String, String, Class)}
+     *
+     * @param pageParam the template parameter selecting the page, e.g. "page"
+     * @param pageCountPath the dot separated path to the number of pages within the first page, e.g. "page.totalPages"
+     * @return the Responses, in page order
+     */
+    public List<Response<JSONObject>> getPages(String pageParam, String pageCountPath) {
+        return getPages(pageParam, pageCountPath, JSONObject.class);
+    }
+
+    /**
+     * Get every page of the collection resource at the end of the path, whose href is templated with a page parameter,
+     * e.g. "/vehicles{?page,size}". The first page is fetched, numbered by any template param given for the page
+     * parameter or otherwise 0, and the number of pages read from it. The page parameter of the template is then
+     * expanded for each remaining page, and the pages fetched concurrently on the executor, no more than the
+     * parallelism at a time, rather than following "next" links one page after another.
+     *
+     * @param <T> the class type for Response
+     * @param pageParam the template parameter selecting the page, e.g. "page"
+     * @param pageCountPath the dot separated path to the number of pages within the first page, e.g. "page.totalPages"
+     * @param returnType Class of return type.
+     * @return the Responses, in page order
+     * @throws IllegalStateException When the href at the end of the path is not templated, or the first page has no
+     * number of pages at the path
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating a path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.IllegalHttpStatusException When a non 2xx response is returned part way through traversing, or for the first page
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request. This could be an intermittent issue
+     */
+    public <T> List<Response<T>> getPages(String pageParam, String pageCountPath, Class<T> returnType) {
+        followRels();
+        if (!request.getUrl().contains("{")) {
+            throw new IllegalStateException("The href " + request.getUrl() + " is not templated");
+        }
+        int firstPageNumber = firstPageNumber(pageParam);
+        request.setMethod(Method.GET);
+        Response<JSONObject> firstPage = execute(JSONObject.class);
+        checkSuccessful(firstPage);
+        int pageCount = pageCount(firstPage.getResource(), pageCountPath);
+
+        List<TraversonBuilder> branches = new ArrayList<>();
+        for (int pageNumber = firstPageNumber + 1; pageNumber < firstPageNumber + pageCount; pageNumber++) {
+            branches.add(pageBranch(pageParam, pageNumber));
+        }
+        List<Response<T>> pages = new ArrayList<>(branches.size() + 1);
+        pages.add(withResource(firstPage, convert(firstPage.getResource(), returnType)));
+        pages.addAll(fanOut(branches, returnType));
+        return pages;
+    }
+
+    /**
+     * Get the response at the end of each of several rel paths, see {@link #getPaths(Collection, Class)}
+     *
+     * @param paths the rel paths to follow from the end of the path, e.g. ["a", "b", "c"] and ["a", "e"]
+     * @return the Responses by path, in the order of the paths
+     */
+    public Map<List<String>, Response<JSONObject>> getPaths(Collection<List<String>> paths) {
+        return getPaths(paths, JSONObject.class);
+    }
+
+    /**
+     * Get the response at the end of each of several rel paths, followed from the end of the path. The paths are
+     * merged on their common prefixes, so a resource shared by several paths is fetched and parsed once, and the
+     * branches leaving it are followed concurrently on the executor. A path ending where others carry on gets the
+     * response of the shared resource. An empty path gets the response at the end of the path itself.
+     *
+     * @param <T> the class type for Response
+     * @param paths the rel paths to follow from the end of the path, e.g. ["a", "b", "c"] and ["a", "e"]
+     * @param returnType Class of return type.
+     * @return the Responses by path, in the order of the paths
+     * @throws IllegalArgumentException When no paths are given
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating a path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.IllegalHttpStatusException When a non 2xx response is returned for a resource other paths carry on from
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request. This could be an intermittent issue
+     */
+    public <T> Map<List<String>, Response<T>> getPaths(Collection<List<String>> paths, Class<T> returnType) {
+        if (paths.isEmpty()) {
+            throw new IllegalArgumentException("paths must not be empty");
+        }
+        followRels();
+        Map<List<String>, Response<T>> responses = new ConcurrentHashMap<>();
+        try {
+            traverseTrie(PathTrie.of(paths), responses, returnType).join();
+        } catch (CompletionException completionException) {
+            throw unwrap(completionException);
+        }
+        Map<List<String>, Response<T>> ordered = new LinkedHashMap<>();
+        paths.forEach(path -> ordered.put(path, responses.get(path)));
+        return ordered;
+    }
+
+    /**
+     * Crawl every resource reachable from the end of the path, following every rel, see
+     * {@link #crawl(int, Collection, CrawlVisitor)}
+     *
+     * @param maxDepth the maximum number of links to follow from the end of the path
+     * @param visitor receives every resource fetched
+     * @return the number of resources fetched
+     */
+    public long crawl(int maxDepth, CrawlVisitor visitor) {
+        return crawl(maxDepth, Collections.emptySet(), visitor);
+    }
+
+    /**
+     * Crawl the resources reachable from the end of the path, breadth first. Every link of a resource is followed, or
+     * only those of the given rels, i.e. the '_links' other than self, curies and templated links, and the self links
+     * of the '_embedded' resources for json hal. Each url is fetched once, however many resources link to it, and the
+     * urls at each depth are fetched concurrently on the executor, see {@link #withParallelism(int)}. Links are only
+     * followed from 2xx responses, and responses with other statuses are still handed to the visitor.
+     *
+     * @param maxDepth the maximum number of links to follow from the end of the path, 0 fetches just the resource there
+     * @param rels the rels to follow, or empty to follow every rel
+     * @param visitor receives every resource fetched
+     * @return the number of resources fetched
+     * @throws IllegalArgumentException When the max depth is negative
+     * @throws uk.co.autotrader.traverson.exception.UnknownRelException When navigating the path, a given rel cannot be found
+     * @throws uk.co.autotrader.traverson.exception.HttpException When the underlying http client experiences an issue with a request, which stops the crawl
+     */
+    public long crawl(int maxDepth, Collection<String> rels, CrawlVisitor visitor) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("maxDepth must not be negative");
+        }
+        followRels();
+        return new Crawler(new TraversonBuilder(this), rels, maxDepth, executor, parallelism).crawl(request.getUrl(), visitor);
+    }
+
+    /**
+     * Publish the response at the end of the path to reactive subscribers, see {@link #publish(Class)}
+     *
+     * @return a publisher of the single Response representing the http response and resource
+     */
+    public Flow.Publisher<Response<JSONObject>> publish() {
+        return publish(JSONObject.class);
+    }
+
+    /**
+     * Publish the response at the end of the path to reactive subscribers. Nothing is fetched until a subscriber
+     * requests the response, then the path is navigated on the executor, so neither the subscribing nor the requesting
+     * thread is blocked. Each subscriber gets its own traversal, and later changes to this builder do not affect it.
+     * The subscriber is signalled onError with the exceptions documented on {@link #get(Class)}
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a publisher of the single Response representing the http response and resource
+     */
+    public <T> Flow.Publisher<Response<T>> publish(Class<T> returnType) {
+        TraversonBuilder prototype = prototype();
+        return TraversalPublisher.single(() -> prototype.newRun().get(returnType), executor);
+    }
+
+    /**
+     * Publish every item of the collection resource at the end of the path to reactive subscribers, one element of the
+     * array named by the rel at a time, i.e. the '_embedded' array for json hal. Once the items of a page run out, the
+     * next rel, see {@link #withNextRel(String)}, is followed to the following page, until a page has no next rel.
+     * Pages are never prefetched, as the demand of the subscribers decides when to fetch them. The path is navigated
+     * and pages fetched on the executor only as subscribers request more items, so a slow subscriber throttles the
+     * traversal rather than buffering pages it has not asked for.
+     * The subscriber is signalled onError with the exceptions documented on {@link #get(Class)}, or an
+     * {@link IllegalHttpStatusException} should any page return a non 2xx status
+     *
+     * @param <T> the class type of the items
+     * @param rel the name of the array holding the items
+     * @param itemType Class of the items.
+     * @return a publisher of the items, in document and page order
+     */
+    public <T> Flow.Publisher<T> publishItems(String rel, Class<T> itemType) {
+        TraversonBuilder prototype = prototype();
+        return new TraversalPublisher<>(() -> {
+            TraversonBuilder traversal = prototype.newRun();
+            return traversal.items(new PageIterator(traversal, traversal.nextRel), rel, itemType);
+        }, executor);
+    }
+
+    /**
+     * Lazily iterate every item of the collection resource at the end of the path, one element of the array named by
+     * the rel at a time, i.e. the '_embedded' array for json hal. Once the items of a page run out, the next rel, see
+     * {@link #withNextRel(String)}, is followed to the following page, until a page has no next rel.
+     * Pages are fetched as the items are consumed, or ahead of them on the executor, see {@link #withPrefetch(int)}.
+     * Later changes to this builder do not affect the iterator.
+     *
+     * @param <T> the class type of the items
+     * @param rel the name of the array holding the items
+     * @param itemType Class of the items.
+     * @return an iterator of the items, in document and page order, which throws the exceptions documented on
+     * {@link #get(Class)}, or an {@link IllegalHttpStatusException} should any page return a non 2xx status
+     */
+    public <T> Iterator<T> iterateItems(String rel, Class<T> itemType) {
+        TraversonBuilder traversal = new TraversonBuilder(this);
+        return traversal.items(traversal.pages(), rel, itemType);
+    }
+
+    /**
+     * Lazily stream every item of the collection resource at the end of the path, as {@link #iterateItems(String, Class)}.
+     * Close the stream, e.g. with try-with-resources, to stop prefetching pages when it is not consumed to the end.
+     *
+     * @param <T> the class type of the items
+     * @param rel the name of the array holding the items
+     * @param itemType Class of the items.
+     * @return a sequential stream of the items, in document and page order
+     */
+    public <T> Stream<T> streamItems(String rel, Class<T> itemType) {
+        TraversonBuilder traversal = new TraversonBuilder(this);
+        Iterator<JSONObject> pages = traversal.pages();
+        Spliterator<T> items = Spliterators.spliteratorUnknownSize(traversal.items(pages, rel, itemType), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(items, false).onClose(() -> close(pages));
+    }
+
     /**
      * Navigate the path and delete the resource
      *
@@ -267,19 +823,479 @@ public class TraversonBuilder {
         return traverseAndPerform(Method.PATCH, body, returnType);
     }
 
+    /**
+     * Navigate the path and get the response without blocking the calling thread
+     *
+     * @return a future completing with the Response representing the http response and resource, or exceptionally with
+     * the exceptions documented on {@link #get()}
+     */
+    public CompletableFuture<Response<JSONObject>> getAsync() {
+        return getAsync(JSONObject.class);
+    }
+
+    /**
+     * Navigate the path and get the response without blocking the calling thread
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response and resource, or exceptionally with
+     * the exceptions documented on {@link #get(Class)}
+     */
+    public <T> CompletableFuture<Response<T>> getAsync(Class<T> returnType) {
+        return traverseAndPerformAsync(Method.GET, null, returnType);
+    }
+
+    /**
+     * Navigate the path and delete the resource without blocking the calling thread
+     *
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #delete()}
+     */
+    public CompletableFuture<Response<JSONObject>> deleteAsync() {
+        return deleteAsync(JSONObject.class);
+    }
+
+    /**
+     * Navigate the path and delete the resource without blocking the calling thread
+     *
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #delete(Class)}
+     */
+    public <T> CompletableFuture<Response<T>> deleteAsync(Class<T> returnType) {
+        return traverseAndPerformAsync(Method.DELETE, null, returnType);
+    }
+
+    /**
+     * Navigate the path and post the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #post(Body)}
+     */
+    public CompletableFuture<Response<JSONObject>> postAsync(Body body) {
+        return postAsync(body, JSONObject.class);
+    }
+
+    /**
+     * Navigate the path and post the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response and resource, or exceptionally with
+     * the exceptions documented on {@link #post(Body, Class)}
+     */
+    public <T> CompletableFuture<Response<T>> postAsync(Body body, Class<T> returnType) {
+        return traverseAndPerformAsync(Method.POST, body, returnType);
+    }
+
+    /**
+     * Navigate the path and put the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #put(Body)}
+     */
+    public CompletableFuture<Response<JSONObject>> putAsync(Body body) {
+        return putAsync(body, JSONObject.class);
+    }
+
+    /**
+     * Navigate the path and put the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #put(Body, Class)}
+     */
+    public <T> CompletableFuture<Response<T>> putAsync(Body body, Class<T> returnType) {
+        return traverseAndPerformAsync(Method.PUT, body, returnType);
+    }
+
+    /**
+     * Navigate the path and patch the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #patch(Body)}
+     */
+    public CompletableFuture<Response<JSONObject>> patchAsync(Body body) {
+        return patchAsync(body, JSONObject.class);
+    }
+
+    /**
+     * Navigate the path and patch the body to the resource without blocking the calling thread
+     *
+     * @param body request body to send
+     * @param <T> the class type for Response
+     * @param returnType Class of return type.
+     * @return a future completing with the Response representing the http response, or exceptionally with
+     * the exceptions documented on {@link #patch(Body, Class)}
+     */
+    public <T> CompletableFuture<Response<T>> patchAsync(Body body, Class<T> returnType) {
+        return traverseAndPerformAsync(Method.PATCH, body, returnType);
+    }
+
+    /**
+     * @return the resource at the end of the path, which may have been embedded rather than fetched
+     */
+    JSONObject fetchTargetResource() {
+        JSONObject embedded = followRels();
+        return embedded == null ? fetchResource() : embedded;
+    }
+
+    /**
+     * @return the href of the rel, or null when the resource has no such rel
+     */
+    String findHrefIfPresent(JSONObject resource, String rel) {
+        try {
+            return linkDiscoverer.findHref(resource, rel);
+        } catch (UnknownRelException absent) {
+            return null;
+        }
+    }
+
+    JSONObject fetchResource(String href) {
+        request.setUrl(href);
+        return fetchResource();
+    }
+
+    Response<JSONObject> fetchResponse(String href) {
+        request.setUrl(href);
+        request.setMethod(Method.GET);
+        request.setBody(null);
+        return execute(JSONObject.class);
+    }
+
+    Map<String, List<String>> findAllHrefs(JSONObject resource) {
+        return linkDiscoverer.findAllHrefs(resource);
+    }
+
+    static <T> T convert(Object json, Class<T> returnType) {
+        if (returnType.isInstance(json)) {
+            return returnType.cast(json);
+        }
+        byte[] bytes = JSON.toJSONString(json).getBytes(StandardCharsets.UTF_8);
+        return ResourceConversionService.getInstance().convert(new ByteArrayInputStream(bytes), returnType);
+    }
+
+    private Iterator<JSONObject> pages() {
+        PageIterator pages = new PageIterator(this, nextRel);
+        return prefetch == 0 ? pages : new PrefetchingIterator<>(pages, prefetch, executor);
+    }
+
+    private <T> Iterator<T> items(Iterator<JSONObject> pages, String rel, Class<T> itemType) {
+        return new ItemIterator<>(pages, page -> linkDiscoverer.findItems(page, rel), itemType);
+    }
+
+    private static void close(Iterator<JSONObject> pages) {
+        if (pages instanceof PrefetchingIterator) {
+            ((PrefetchingIterator<JSONObject>) pages).close();
+        }
+    }
+
     private <T> Response<T> traverseAndPerform(Method terminalMethod, Body terminalBody, Class<T> returnType) {
+        if (resolvedPathCache == null || relsToFollow.isEmpty()) {
+            return perform(terminalMethod, terminalBody, returnType, followRels());
+        }
+        return traverseAndPerformFromCache(terminalMethod, terminalBody, returnType);
+    }
+
+    private <T> Response<T> traverseAndPerformFromCache(Method terminalMethod, Body terminalBody, Class<T> returnType) {
+        RequestKey cacheKey = ResolvedPathCache.key(request, relsToFollow);
+        String startingUrl = request.getUrl();
+        String resolvedHref = resolvedPathCache.get(cacheKey);
+        if (resolvedHref != null) {
+            request.setUrl(resolvedHref);
+            Response<T> response = perform(terminalMethod, terminalBody, returnType, null);
+            if (!ResolvedPathCache.isStale(response)) {
+                return response;
+            }
+            discard(response);
+            resolvedPathCache.invalidate(cacheKey);
+            request.setUrl(startingUrl);
+        }
+
+        JSONObject embedded = followRels();
+        resolvedPathCache.put(cacheKey, request.getUrl());
+        return perform(terminalMethod, terminalBody, returnType, embedded);
+    }
+
+    /**
+     * @return the resource targeted by the last rel when it was embedded, rather than fetched
+     */
+    private JSONObject followRels() {
+        JSONObject embedded = null;
         while (!relsToFollow.isEmpty()) {
-            request.setMethod(Method.GET);
-            Response<JSONObject> response = traversonClient.execute(request, JSONObject.class);
-            if (response.isSuccessful()) {
-                request.setUrl(linkDiscoverer.findHref(response.getResource(), relsToFollow.removeFirst()));
+            String rel = relsToFollow.removeFirst();
+            String linkedHref = embedded == null ? findLinkHeaderHref(rel) : null;
+            if (linkedHref == null) {
+                embedded = followRel(embedded, rel);
             } else {
-                throw new IllegalHttpStatusException(response.getStatusCode(), response.getUri());
+                request.setUrl(linkedHref);
             }
         }
+        return embedded;
+    }
+
+    /**
+     * @return the resource targeted by the rel when it was embedded, rather than fetched
+     */
+    private JSONObject followRel(JSONObject embedded, String rel) {
+        if (streamLinks && !preferEmbedded) {
+            request.setUrl(streamHref(rel));
+            return null;
+        }
+        JSONObject resource = embedded == null ? fetchResource() : embedded;
+        String href = linkDiscoverer.findHref(resource, rel);
+        request.setUrl(href);
+        return findEmbeddedTarget(resource, href);
+    }
+
+    private String streamHref(String rel) {
+        request.setMethod(Method.GET);
+        Response<InputStream> response = execute(InputStream.class);
+        if (!response.isSuccessful()) {
+            discard(response);
+            checkSuccessful(response);
+        }
+        return new StreamingLinkReader(linkDiscoverer).findHref(response.getResource(), rel);
+    }
+
+    /**
+     * @return the href of the rel from the Link header of a HEAD request, or null to fall back to fetching the resource
+     */
+    private String findLinkHeaderHref(String rel) {
+        if (linkHeaderDiscoverer == null) {
+            return null;
+        }
+        request.setMethod(Method.HEAD);
+        return findLinkHeaderHref(execute(JSONObject.class), rel);
+    }
+
+    private String findLinkHeaderHref(Response<JSONObject> headResponse, String rel) {
+        return headResponse.isSuccessful() ? linkHeaderDiscoverer.findHref(headResponse, request.getUrl(), rel) : null;
+    }
+
+    private JSONObject fetchResource() {
+        request.setMethod(Method.GET);
+        Response<JSONObject> response = execute(JSONObject.class);
+        checkSuccessful(response);
+        return response.getResource();
+    }
+
+    private JSONObject findEmbeddedTarget(JSONObject resource, String href) {
+        if (!preferEmbedded || !request.getQueryParameters().isEmpty() || href.contains("{")) {
+            return null;
+        }
+        return linkDiscoverer.findEmbedded(resource, href);
+    }
 
+    private <T> Response<T> perform(Method terminalMethod, Body terminalBody, Class<T> returnType, JSONObject embedded) {
+        if (embedded != null && terminalMethod == Method.GET) {
+            return embeddedResponse(embedded, returnType);
+        }
         request.setBody(terminalBody);
         request.setMethod(terminalMethod);
-        return traversonClient.execute(request, returnType);
+        return execute(returnType);
+    }
+
+    private <T> Response<T> execute(Class<T> returnType) {
+        if (deadlineBudget == null) {
+            return traversonClient.execute(request, returnType);
+        }
+        String hop = startHop();
+        try {
+            return traversonClient.execute(request, returnType);
+        } catch (RuntimeException failure) {
+            throw deadline.translate(failure, hop);
+        }
+    }
+
+    /**
+     * @return the method and url of the hop about to start, once it has been given the remaining deadline
+     */
+    private String startHop() {
+        if (deadline == null) {
+            deadline = new Deadline(deadlineBudget, deadlineHeader, nanoClock);
+        }
+        String hop = request.getMethod() + " " + request.getUrl();
+        deadline.applyTo(request, hop);
+        return hop;
+    }
+
+    private <T> Response<T> embeddedResponse(JSONObject embedded, Class<T> returnType) {
+        Response<T> response = new Response<>();
+        response.setStatusCode(200);
+        response.setUri(URI.create(request.getUrl()));
+        response.setResource(convert(embedded, returnType));
+        return response;
+    }
+
+    private void discard(Response<?> response) {
+        if (response.getResource() instanceof Closeable) {
+            try {
+                ((Closeable) response.getResource()).close();
+            } catch (IOException ignored) {
+                // the response is being thrown away, so there is nothing left to read from it
+            }
+        }
+    }
+
+    private <T> CompletableFuture<Response<T>> traverseAndPerformAsync(Method terminalMethod, Body terminalBody, Class<T> returnType) {
+        if (relsToFollow.isEmpty()) {
+            request.setBody(terminalBody);
+            request.setMethod(terminalMethod);
+            return executeAsync(returnType);
+        }
+
+        return followRelAsync().thenCompose(followed -> traverseAndPerformAsync(terminalMethod, terminalBody, returnType));
+    }
+
+    private CompletableFuture<Void> followRelAsync() {
+        if (linkHeaderDiscoverer == null) {
+            return fetchAndFollowRelAsync();
+        }
+        request.setMethod(Method.HEAD);
+        return executeAsync(JSONObject.class).thenCompose(headResponse -> {
+            String linkedHref = findLinkHeaderHref(headResponse, relsToFollow.getFirst());
+            if (linkedHref == null) {
+                return fetchAndFollowRelAsync();
+            }
+            relsToFollow.removeFirst();
+            request.setUrl(linkedHref);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    private CompletableFuture<Void> fetchAndFollowRelAsync() {
+        request.setMethod(Method.GET);
+        return executeAsync(JSONObject.class).thenAccept(this::followRel);
+    }
+
+    private <T> CompletableFuture<Response<T>> executeAsync(Class<T> returnType) {
+        if (deadlineBudget != null) {
+            try {
+                startHop();
+            } catch (DeadlineExceededException deadlineExceeded) {
+                return CompletableFuture.failedFuture(deadlineExceeded);
+            }
+        }
+        if (traversonClient instanceof AsyncTraversonClient) {
+            return ((AsyncTraversonClient) traversonClient).executeAsync(request, returnType);
+        }
+        return CompletableFuture.supplyAsync(() -> traversonClient.execute(request, returnType), executor);
+    }
+
+    private void followRel(Response<JSONObject> response) {
+        checkSuccessful(response);
+        request.setUrl(linkDiscoverer.findHref(response.getResource(), relsToFollow.removeFirst()));
+    }
+
+    private void checkSuccessful(Response<?> response) {
+        if (!response.isSuccessful()) {
+            throw new IllegalHttpStatusException(response.getStatusCode(), response.getUri());
+        }
+    }
+
+    private <T> List<Response<T>> fanOut(List<TraversonBuilder> branches, Class<T> returnType) {
+        List<Response<T>> responses = new ArrayList<>(Collections.nCopies(branches.size(), null));
+        AtomicInteger nextBranch = new AtomicInteger();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, branches.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> traverseBranches(branches, nextBranch, responses, returnType), executor);
+        }
+        try {
+            CompletableFuture.allOf(workers).join();
+        } catch (CompletionException completionException) {
+            throw unwrap(completionException);
+        }
+        return responses;
+    }
+
+    private <T> void traverseBranches(List<TraversonBuilder> branches, AtomicInteger nextBranch, List<Response<T>> responses, Class<T> returnType) {
+        for (int index = nextBranch.getAndIncrement(); index < branches.size(); index = nextBranch.getAndIncrement()) {
+            try {
+                responses.set(index, branches.get(index).get(returnType));
+            } catch (RuntimeException failure) {
+                nextBranch.set(branches.size());
+                throw failure;
+            }
+        }
+    }
+
+    private <T> CompletableFuture<Void> traverseTrie(PathTrie node, Map<List<String>, Response<T>> responses, Class<T> returnType) {
+        request.setMethod(Method.GET);
+        request.setBody(null);
+        if (node.isLeaf()) {
+            return executeAsync(returnType).thenAccept(response -> responses.put(node.getPath(), response));
+        }
+        return executeAsync(JSONObject.class).thenCompose(response -> {
+            checkSuccessful(response);
+            if (node.isTerminal()) {
+                responses.put(node.getPath(), withResource(response, convert(response.getResource(), returnType)));
+            }
+            // every href is found before any branch starts, so an unknown rel leaves no branch running
+            Map<TraversonBuilder, PathTrie> branches = new LinkedHashMap<>();
+            node.getChildren().forEach((rel, child) -> {
+                TraversonBuilder branch = new TraversonBuilder(this);
+                branch.request.setUrl(linkDiscoverer.findHref(response.getResource(), rel));
+                branches.put(branch, child);
+            });
+            List<CompletableFuture<Void>> children = new ArrayList<>();
+            branches.forEach((branch, child) -> children.add(branch.traverseTrie(child, responses, returnType)));
+            return CompletableFuture.allOf(children.toArray(new CompletableFuture<?>[0]));
+        });
+    }
+
+    private TraversonBuilder branch(String href) {
+        TraversonBuilder branch = new TraversonBuilder(this);
+        branch.request.setUrl(href);
+        branch.request.setBody(null);
+        branch.relsToFollow.addAll(relsAfterFanOut);
+        return branch;
+    }
+
+    private TraversonBuilder pageBranch(String pageParam, int pageNumber) {
+        TraversonBuilder branch = new TraversonBuilder(this);
+        branch.request.getTemplateParams().remove(pageParam);
+        return branch.withTemplateParam(pageParam, String.valueOf(pageNumber));
+    }
+
+    private int firstPageNumber(String pageParam) {
+        List<String> pageNumbers = request.getTemplateParams().get(pageParam);
+        return pageNumbers == null || pageNumbers.isEmpty() ? 0 : Integer.parseInt(pageNumbers.get(0));
+    }
+
+    private static int pageCount(JSONObject page, String pageCountPath) {
+        String[] path = pageCountPath.split("\\.");
+        JSONObject parent = page;
+        for (int i = 0; i < path.length - 1 && parent != null; i++) {
+            parent = parent.getJSONObject(path[i]);
+        }
+        Integer pageCount = parent == null ? null : parent.getInteger(path[path.length - 1]);
+        if (pageCount == null) {
+            throw new IllegalStateException("No page count found at " + pageCountPath);
+        }
+        return pageCount;
+    }
+
+    private static <T> Response<T> withResource(Response<?> response, T resource) {
+        Response<T> converted = new Response<>();
+        converted.setStatusCode(response.getStatusCode());
+        converted.setUri(response.getUri());
+        converted.setResponseHeaders(response.getResponseHeaders());
+        converted.setResource(resource);
+        return converted;
+    }
+
+    static RuntimeException unwrap(CompletionException completionException) {
+        if (completionException.getCause() instanceof RuntimeException) {
+            return (RuntimeException) completionException.getCause();
+        }
+        return completionException;
     }
 }
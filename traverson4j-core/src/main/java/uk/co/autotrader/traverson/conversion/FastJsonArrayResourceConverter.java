@@ -1,10 +1,12 @@
 package uk.co.autotrader.traverson.conversion;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONException;
 import uk.co.autotrader.traverson.exception.ConversionException;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 public class FastJsonArrayResourceConverter implements ResourceConverter<JSONArray> {
 
@@ -13,14 +15,20 @@ public class FastJsonArrayResourceConverter implements ResourceConverter<JSONArr
         return JSONArray.class;
     }
 
+    /**
+     * Decodes the utf-8 bytes of the resource into fastjson's pooled char buffer and parses that, rather than decoding
+     * them to a String first
+     */
     @Override
     public JSONArray convert(InputStream resource, Class<? extends JSONArray> returnType) {
-        String resourceAsString = null;
+        byte[] resourceAsBytes = new ByteArrayConverter().convert(resource, byte[].class);
+        if (resourceAsBytes.length == 0) {
+            return null;
+        }
         try {
-            resourceAsString = new StringResourceConverter().convert(resource, String.class);
-            return JSONArray.parseArray(resourceAsString);
+            return JSON.parseObject(resourceAsBytes, 0, resourceAsBytes.length, StandardCharsets.UTF_8.newDecoder(), JSONArray.class);
         } catch (JSONException ex) {
-            throw new ConversionException("Failed to parse to JSONObject", resourceAsString, ex);
+            throw new ConversionException("Failed to parse to JSONObject", new String(resourceAsBytes, StandardCharsets.UTF_8), ex);
         }
     }
 }
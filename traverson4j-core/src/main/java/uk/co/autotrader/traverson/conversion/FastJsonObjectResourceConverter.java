@@ -1,11 +1,13 @@
 package uk.co.autotrader.traverson.conversion;
 
+import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
 import com.alibaba.fastjson.JSONObject;
 import com.alibaba.fastjson.parser.Feature;
 import uk.co.autotrader.traverson.exception.ConversionException;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 class FastJsonObjectResourceConverter implements ResourceConverter<JSONObject> {
 
@@ -14,14 +16,20 @@ class FastJsonObjectResourceConverter implements ResourceConverter<JSONObject> {
         return JSONObject.class;
     }
 
+    /**
+     * Decodes the utf-8 bytes of the resource into fastjson's pooled char buffer and parses that, rather than decoding
+     * them to a String first
+     */
     @Override
     public JSONObject convert(InputStream resource, Class<? extends JSONObject> returnType) {
-        String resourceAsString = null;
+        byte[] resourceAsBytes = new ByteArrayConverter().convert(resource, byte[].class);
+        if (resourceAsBytes.length == 0) {
+            return null;
+        }
         try {
-            resourceAsString = new StringResourceConverter().convert(resource, String.class);
-            return JSONObject.parseObject(resourceAsString, Feature.OrderedField);
+            return JSON.parseObject(resourceAsBytes, 0, resourceAsBytes.length, StandardCharsets.UTF_8.newDecoder(), JSONObject.class, Feature.OrderedField);
         } catch (JSONException ex) {
-            throw new ConversionException("Failed to parse to JSONObject", resourceAsString, ex);
+            throw new ConversionException("Failed to parse to JSONObject", new String(resourceAsBytes, StandardCharsets.UTF_8), ex);
         }
     }
 }
@@ -3,9 +3,12 @@ package uk.co.autotrader.traverson.conversion;
 import uk.co.autotrader.traverson.exception.ConversionException;
 
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Singleton service that converts String representations of resources
@@ -13,45 +16,49 @@ import java.util.ServiceLoader;
  */
 public class ResourceConversionService {
 
-    private final Map<Class<?>, ResourceConverter<?>> convertersByClass;
-    private static ResourceConversionService instance;
+    private final AtomicReference<Registry> registry;
 
     ResourceConversionService(Map<Class<?>, ResourceConverter<?>> convertersByClass) {
-        this.convertersByClass = convertersByClass;
+        this.registry = new AtomicReference<>(new Registry(convertersByClass));
     }
 
     /**
+     * Created on first use by the class loader, so it is safely published to every thread without any locking
+     * on the calling thread, which would otherwise pin a virtual thread to its carrier
+     *
      * @return singleton instance
      */
     public static ResourceConversionService getInstance() {
-        if (instance == null) {
-            ResourceConversionService conversionService = new ResourceConversionService(new LinkedHashMap<>());
-            conversionService.addConverter(new FastJsonObjectResourceConverter());
-            conversionService.addConverter(new FastJsonArrayResourceConverter());
-            conversionService.addConverter(new StringResourceConverter());
-            conversionService.addConverter(new ByteArrayConverter());
-            conversionService.addConverter(new InputStreamConverter());
-            for (ResourceConverter<?> resourceConverter : ServiceLoader.load(ResourceConverter.class)) {
-                conversionService.addConverter(resourceConverter);
-            }
-            instance = conversionService;
-        }
+        return InstanceHolder.INSTANCE;
+    }
 
-        return instance;
+    private static ResourceConversionService createDefault() {
+        ResourceConversionService conversionService = new ResourceConversionService(new LinkedHashMap<>());
+        conversionService.addConverter(new FastJsonObjectResourceConverter());
+        conversionService.addConverter(new FastJsonArrayResourceConverter());
+        conversionService.addConverter(new StringResourceConverter());
+        conversionService.addConverter(new ByteArrayConverter());
+        conversionService.addConverter(new InputStreamConverter());
+        for (ResourceConverter<?> resourceConverter : ServiceLoader.load(ResourceConverter.class)) {
+            conversionService.addConverter(resourceConverter);
+        }
+        return conversionService;
     }
 
     /**
-     * Register programmatically a new Resource converter
+     * Register programmatically a new Resource converter, replacing any registered for the same destination type.
+     * Safe to call while other threads convert, which see either all or none of the registration.
      * @param resourceConverter item to register for future use
      */
     public void addConverter(ResourceConverter<?> resourceConverter) {
-        convertersByClass.put(resourceConverter.getDestinationType(), resourceConverter);
+        registry.updateAndGet(current -> current.with(resourceConverter));
     }
 
     /**
      * <p>Convert a resource to the given returnType</p>
-     * <p>It will attempt to find the resourceConverter that satisfies the
-     * returnType or one of its parent classes.</p>
+     * <p>It will use the resourceConverter whose destination type is the returnType, or one of its parent classes or
+     * interfaces, preferring the highest {@link ResourceConverter#getPriority()}, then the most specific destination
+     * type. The converter chosen is remembered for each returnType until another converter is registered.</p>
      * @param <T> return type
      * @param resource the full returned resource
      * @param returnType class of the return type
@@ -60,19 +67,74 @@ public class ResourceConversionService {
      */
     @SuppressWarnings("unchecked")
     public <T> T convert(InputStream resource, Class<T> returnType) {
-        Class<? super T> classToConvert = returnType;
-        while (classToConvert != null) {
-            if (convertersByClass.containsKey(classToConvert)) {
-                //TODO: Nicer cast
-                return ((ResourceConverter<T>) convertersByClass.get(classToConvert)).convert(resource, returnType);
+        ResourceConverter<T> converter = (ResourceConverter<T>) registry.get().resolve(returnType);
+        if (converter == null) {
+            throw new ConversionException("Unsupported return type of " + returnType.getCanonicalName());
+        }
+        return converter.convert(resource, returnType);
+    }
+
+    Map<Class<?>, ResourceConverter<?>> getConvertersByClass() {
+        return registry.get().convertersByClass;
+    }
+
+    /**
+     * An immutable snapshot of the registered converters, replaced as a whole by each registration, which memoises the
+     * converter resolved for each return type, so converting neither locks nor searches the converters once the
+     * return type has been seen
+     */
+    private static final class Registry {
+        private final Map<Class<?>, ResourceConverter<?>> convertersByClass;
+        private final ClassValue<Optional<ResourceConverter<?>>> resolvedConverters = new ClassValue<>() {
+            @Override
+            protected Optional<ResourceConverter<?>> computeValue(Class<?> returnType) {
+                return Optional.ofNullable(findConverter(returnType));
+            }
+        };
+
+        private Registry(Map<Class<?>, ResourceConverter<?>> convertersByClass) {
+            this.convertersByClass = Collections.unmodifiableMap(new LinkedHashMap<>(convertersByClass));
+        }
+
+        private Registry with(ResourceConverter<?> resourceConverter) {
+            Map<Class<?>, ResourceConverter<?>> converters = new LinkedHashMap<>(convertersByClass);
+            converters.put(resourceConverter.getDestinationType(), resourceConverter);
+            return new Registry(converters);
+        }
+
+        private ResourceConverter<?> resolve(Class<?> returnType) {
+            return resolvedConverters.get(returnType).orElse(null);
+        }
+
+        private ResourceConverter<?> findConverter(Class<?> returnType) {
+            ResourceConverter<?> preferred = null;
+            for (ResourceConverter<?> candidate : convertersByClass.values()) {
+                if (candidate.getDestinationType().isAssignableFrom(returnType) && isPreferredTo(candidate, preferred)) {
+                    preferred = candidate;
+                }
             }
+            return preferred;
+        }
 
-            classToConvert = classToConvert.getSuperclass();
+        /**
+         * Among converters of equal priority to unrelated destination types, e.g. two interfaces, the first registered
+         * is kept
+         */
+        private static boolean isPreferredTo(ResourceConverter<?> candidate, ResourceConverter<?> preferred) {
+            if (preferred == null) {
+                return true;
+            }
+            if (candidate.getPriority() != preferred.getPriority()) {
+                return candidate.getPriority() > preferred.getPriority();
+            }
+            return preferred.getDestinationType().isAssignableFrom(candidate.getDestinationType());
         }
-        throw new ConversionException("Unsupported return type of " + returnType.getCanonicalName());
     }
 
-    Map<Class<?>, ResourceConverter<?>> getConvertersByClass() {
-        return convertersByClass;
+    private static final class InstanceHolder {
+        private static final ResourceConversionService INSTANCE = createDefault();
+
+        private InstanceHolder() {
+        }
     }
 }
@@ -25,4 +25,14 @@ public interface ResourceConverter<T> {
      * @return instance of returnType
      */
     T convert(InputStream resource, Class<? extends T> returnType);
+
+    /**
+     * When several converters can convert to a return type, the one with the highest priority is used, then the one
+     * with the most specific destination type
+     *
+     * @return the priority of this converter, by default 0
+     */
+    default int getPriority() {
+        return 0;
+    }
 }
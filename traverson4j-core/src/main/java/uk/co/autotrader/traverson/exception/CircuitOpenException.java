@@ -0,0 +1,25 @@
+package uk.co.autotrader.traverson.exception;
+
+/**
+ * <p>Thrown without making a http call when the circuit breaker of the target host is open, as the host has recently
+ * been failing or slow</p>
+ */
+public class CircuitOpenException extends IncompleteTraversalException {
+    private final String host;
+
+    /**
+     * Constructs a CircuitOpenException
+     * @param host the host whose circuit breaker is open, e.g. "api.example.com:8080"
+     */
+    public CircuitOpenException(String host) {
+        super(String.format("Circuit breaker open for host %s", host));
+        this.host = host;
+    }
+
+    /**
+     * @return the host whose circuit breaker is open
+     */
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,35 @@
+package uk.co.autotrader.traverson.exception;
+
+/**
+ * <p>Thrown without making a http call when the requests in flight to the target host are at its concurrency limit,
+ * and no permit was freed in time</p>
+ */
+public class ConcurrencyLimitExceededException extends IncompleteTraversalException {
+    private final String host;
+    private final int limit;
+
+    /**
+     * Constructs a ConcurrencyLimitExceededException
+     * @param host the host at its limit, e.g. "api.example.com:8080"
+     * @param limit the number of requests allowed in flight to the host
+     */
+    public ConcurrencyLimitExceededException(String host, int limit) {
+        super(String.format("Concurrency limit of %d reached for host %s", limit, host));
+        this.host = host;
+        this.limit = limit;
+    }
+
+    /**
+     * @return the host at its limit
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * @return the number of requests allowed in flight to the host when the request was rejected
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,46 @@
+package uk.co.autotrader.traverson.exception;
+
+import java.time.Duration;
+
+/**
+ * <p>Thrown when the deadline of a traversal runs out, either before a hop could start or while it was in flight</p>
+ */
+public class DeadlineExceededException extends IncompleteTraversalException {
+    private final String hop;
+    private final Duration deadline;
+
+    /**
+     * Constructs a DeadlineExceededException for a hop which could not start in time
+     * @param hop the method and url of the hop, e.g. "GET http://localhost/vehicles"
+     * @param deadline the deadline of the whole traversal
+     */
+    public DeadlineExceededException(String hop, Duration deadline) {
+        this(hop, deadline, null);
+    }
+
+    /**
+     * Constructs a DeadlineExceededException for a hop which was still in flight when the deadline ran out
+     * @param hop the method and url of the hop, e.g. "GET http://localhost/vehicles"
+     * @param deadline the deadline of the whole traversal
+     * @param cause the failure of the hop, typically a timeout
+     */
+    public DeadlineExceededException(String hop, Duration deadline, Throwable cause) {
+        super(String.format("Deadline of %s exceeded at %s", deadline, hop), cause);
+        this.hop = hop;
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return the method and url of the hop which exhausted the deadline
+     */
+    public String getHop() {
+        return hop;
+    }
+
+    /**
+     * @return the deadline of the whole traversal
+     */
+    public Duration getDeadline() {
+        return deadline;
+    }
+}
@@ -4,4 +4,8 @@ public abstract class IncompleteTraversalException extends RuntimeException {
     IncompleteTraversalException(String message) {
         super(message);
     }
+
+    IncompleteTraversalException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
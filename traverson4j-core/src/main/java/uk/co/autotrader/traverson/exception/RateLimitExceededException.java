@@ -0,0 +1,25 @@
+package uk.co.autotrader.traverson.exception;
+
+/**
+ * <p>Thrown without making a http call when the rate limit of the target host would delay the request for longer than
+ * allowed</p>
+ */
+public class RateLimitExceededException extends IncompleteTraversalException {
+    private final String host;
+
+    /**
+     * Constructs a RateLimitExceededException
+     * @param host the host whose rate limit was exceeded, e.g. "api.example.com:8080"
+     */
+    public RateLimitExceededException(String host) {
+        super(String.format("Rate limit exceeded for host %s", host));
+        this.host = host;
+    }
+
+    /**
+     * @return the host whose rate limit was exceeded
+     */
+    public String getHost() {
+        return host;
+    }
+}
@@ -0,0 +1,14 @@
+package uk.co.autotrader.traverson.http;
+
+/**
+ * A resource, e.g. the InputStream of a response, which can be given up before it has been read to the end. Aborting
+ * drops the connection rather than reading the rest of the response so the connection can be reused, which suits a
+ * large response abandoned early.
+ */
+public interface Abortable {
+
+    /**
+     * Drop the connection, after which the resource can no longer be read
+     */
+    void abort();
+}
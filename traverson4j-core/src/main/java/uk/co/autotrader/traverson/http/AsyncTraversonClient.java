@@ -0,0 +1,22 @@
+package uk.co.autotrader.traverson.http;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <p>An optional extension of {@link TraversonClient} for adapters that can perform a http call
+ * without holding the calling thread while waiting for the response</p>
+ * <p>When the client given to {@link uk.co.autotrader.traverson.Traverson} implements this interface,
+ * the asynchronous traversal methods chain each hop on the returned futures</p>
+ */
+public interface AsyncTraversonClient extends TraversonClient {
+
+    /**
+     * Perform the http request without blocking
+     *
+     * @param request the request to perform, which may be reused by the caller once this method returns
+     * @param returnType Class of return type
+     * @param <T> the class type for Response
+     * @return a future completed with the response, or exceptionally with a {@link uk.co.autotrader.traverson.exception.HttpException}
+     */
+    <T> CompletableFuture<Response<T>> executeAsync(Request request, Class<T> returnType);
+}
@@ -0,0 +1,108 @@
+package uk.co.autotrader.traverson.http;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator which coalesces identical GET requests made at the same time, so the first
+ * caller performs the request and every concurrent caller with the same url, parameters, headers, credentials and
+ * return type shares its Response, or its exception. The timeout header a traversal deadline adds is left out, as it
+ * differs between otherwise identical requests. Each caller waits for the shared Response no longer than its own
+ * request timeout, then throws {@link HttpException}, so a short deadline is kept while a slower request leads.</p>
+ *
+ * <p>The shared Response and resource must be treated as read only. Closeable return types, e.g. InputStream, can only
+ * be read once so are never coalesced.</p>
+ */
+public class CoalescingTraversonClient implements TraversonClient {
+    private final TraversonClient delegate;
+    private final ConcurrentMap<RequestKey, CompletableFuture<Response<?>>> inFlight;
+    private final LongAdder executed;
+    private final LongAdder coalesced;
+
+    /**
+     * @param delegate the client performing the http requests
+     */
+    public CoalescingTraversonClient(TraversonClient delegate) {
+        this.delegate = delegate;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.executed = new LongAdder();
+        this.coalesced = new LongAdder();
+    }
+
+    /**
+     * @return the number of requests passed on to the delegate
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * @return the number of requests which shared the response of a request already in flight
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        if (request.getMethod() != Method.GET || Closeable.class.isAssignableFrom(returnType)) {
+            executed.increment();
+            return delegate.execute(request, returnType);
+        }
+        RequestKey key = RequestKey.withHeaders(request, returnType);
+        CompletableFuture<Response<?>> call = new CompletableFuture<>();
+        CompletableFuture<Response<?>> callInFlight = inFlight.putIfAbsent(key, call);
+        if (callInFlight != null) {
+            coalesced.increment();
+            return follow(callInFlight, request.getTimeout());
+        }
+        return lead(key, call, request, returnType);
+    }
+
+    private <T> Response<T> lead(RequestKey key, CompletableFuture<Response<?>> call, Request request, Class<T> returnType) {
+        executed.increment();
+        try {
+            Response<T> response = delegate.execute(request, returnType);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException | Error failure) {
+            call.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Response<T> follow(CompletableFuture<Response<?>> call, Duration timeout) {
+        try {
+            return (Response<T>) await(call, timeout);
+        } catch (ExecutionException failed) {
+            if (failed.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) failed.getCause();
+            }
+            throw new CompletionException(failed.getCause());
+        } catch (TimeoutException timedOut) {
+            throw new HttpException("Timed out waiting for the identical request in flight", timedOut);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting for the identical request in flight", interrupted);
+        }
+    }
+
+    private static Response<?> await(CompletableFuture<Response<?>> call, Duration timeout) throws ExecutionException, TimeoutException, InterruptedException {
+        return timeout == null ? call.get() : call.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
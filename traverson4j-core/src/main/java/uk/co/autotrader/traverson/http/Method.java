@@ -5,5 +5,6 @@ public enum Method {
     POST,
     PUT,
     DELETE,
-    PATCH;
+    PATCH,
+    HEAD;
 }
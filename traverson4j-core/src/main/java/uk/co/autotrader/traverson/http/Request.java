@@ -1,5 +1,6 @@
 package uk.co.autotrader.traverson.http;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.BiConsumer;
 
@@ -8,17 +9,59 @@ public class Request {
     private String url;
     private Method method;
     private String acceptMimeType;
-    private final Map<String, String> headers;
+    private Map<String, String> headers;
     private final Map<String, List<String>> queryParameters;
     private final Map<String, List<String>> templateParams;
     private Body body;
-    private final List<AuthCredential> authCredentials;
+    private List<AuthCredential> authCredentials;
+    private Duration timeout;
+    private String timeoutHeader;
+    private boolean sharesHeaders;
 
     public Request() {
+        this(new LinkedHashMap<>(), new LinkedList<>(), false);
+    }
+
+    /**
+     * Creates a copy of the request, which can be changed without affecting the original
+     * @param request the request to copy
+     */
+    public Request(Request request) {
+        this(new LinkedHashMap<>(request.headers), new LinkedList<>(request.authCredentials), false);
+        copyFrom(request);
+    }
+
+    private Request(Map<String, String> headers, List<AuthCredential> authCredentials, boolean sharesHeaders) {
         queryParameters = new HashMap<>();
         templateParams = new HashMap<>();
-        headers = new LinkedHashMap<>();
-        authCredentials = new LinkedList<>();
+        this.headers = headers;
+        this.authCredentials = authCredentials;
+        this.sharesHeaders = sharesHeaders;
+    }
+
+    /**
+     * Creates a copy of the request as {@link #Request(Request)}, except that the headers and auth credentials are
+     * shared with the original, and only copied once a header or auth credential is added to the copy. Until then
+     * they are read only. Suits a request copied far more often than it is changed, so the original must not be
+     * changed afterwards.
+     * @param request the request to copy
+     * @return the copy
+     */
+    public static Request sharing(Request request) {
+        Request copy = new Request(request.headers, request.authCredentials, true);
+        copy.copyFrom(request);
+        return copy;
+    }
+
+    private void copyFrom(Request request) {
+        this.url = request.url;
+        this.method = request.method;
+        this.acceptMimeType = request.acceptMimeType;
+        this.body = request.body;
+        request.queryParameters.forEach((name, values) -> this.queryParameters.put(name, new LinkedList<>(values)));
+        request.templateParams.forEach((name, values) -> this.templateParams.put(name, new LinkedList<>(values)));
+        this.timeout = request.timeout;
+        this.timeoutHeader = request.timeoutHeader;
     }
 
     public String getUrl() {
@@ -38,7 +81,7 @@ public class Request {
     }
 
     public Map<String, String> getHeaders() {
-        return headers;
+        return sharesHeaders ? Collections.unmodifiableMap(headers) : headers;
     }
 
     public Body getBody() {
@@ -50,7 +93,7 @@ public class Request {
     }
 
     public List<AuthCredential> getAuthCredentials() {
-        return authCredentials;
+        return sharesHeaders ? Collections.unmodifiableList(authCredentials) : authCredentials;
     }
 
     public String getAcceptMimeType() {
@@ -62,10 +105,12 @@ public class Request {
     }
 
     public void addHeader(String key, String value) {
+        stopSharingHeaders();
         this.headers.put(key, value);
     }
 
     public void addAuthCredential(AuthCredential authCredential) {
+        stopSharingHeaders();
         this.authCredentials.add(authCredential);
     }
 
@@ -85,6 +130,37 @@ public class Request {
         addParameters(this.templateParams).accept(name, values);
     }
 
+    /**
+     * @return the most time the request may take, or null to leave it to the http client
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the name of the header telling the server the timeout, which differs from one request to the next, or
+     * null when there is none
+     */
+    public String getTimeoutHeader() {
+        return timeoutHeader;
+    }
+
+    public void setTimeoutHeader(String timeoutHeader) {
+        this.timeoutHeader = timeoutHeader;
+    }
+
+    private void stopSharingHeaders() {
+        if (sharesHeaders) {
+            headers = new LinkedHashMap<>(headers);
+            authCredentials = new LinkedList<>(authCredentials);
+            sharesHeaders = false;
+        }
+    }
+
     private BiConsumer<String, String[]> addParameters(Map<String, List<String>> parameterMap) {
         return (name, values) -> {
             if (!parameterMap.containsKey(name)) {
@@ -0,0 +1,76 @@
+package uk.co.autotrader.traverson.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable snapshot of what identifies a request, its url, template and query parameters, accept type and
+ * credentials, for use as a map key. Later changes to the request do not affect the key.
+ */
+public final class RequestKey {
+    private final String url;
+    private final List<Object> components;
+
+    private RequestKey(Request request, Map<String, String> headers, Object qualifier) {
+        this.url = request.getUrl();
+        this.components = Arrays.asList(
+                request.getUrl(),
+                copy(request.getTemplateParams()),
+                copy(request.getQueryParameters()),
+                request.getAcceptMimeType(),
+                request.getAuthCredentials().stream().map(RequestKey::describe).collect(Collectors.toList()),
+                headers,
+                qualifier);
+    }
+
+    /**
+     * @param request the request, whose headers are not part of the key
+     * @param qualifier anything else the key depends on, which must be immutable
+     * @return the key
+     */
+    public static RequestKey withoutHeaders(Request request, Object qualifier) {
+        return new RequestKey(request, null, qualifier);
+    }
+
+    /**
+     * @param request the request, whose headers are part of the key, other than its timeout header
+     * @param qualifier anything else the key depends on, which must be immutable
+     * @return the key
+     */
+    public static RequestKey withHeaders(Request request, Object qualifier) {
+        Map<String, String> headers = new HashMap<>(request.getHeaders());
+        headers.remove(request.getTimeoutHeader());
+        return new RequestKey(request, headers, qualifier);
+    }
+
+    /**
+     * @return the url of the request, which may be templated
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    private static Map<String, List<String>> copy(Map<String, List<String>> parameters) {
+        Map<String, List<String>> copy = new HashMap<>();
+        parameters.forEach((name, values) -> copy.put(name, new ArrayList<>(values)));
+        return copy;
+    }
+
+    private static List<Object> describe(AuthCredential credential) {
+        return Arrays.asList(credential.getUsername(), credential.getPassword(), credential.getHostname(), credential.isPreemptiveAuthentication());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RequestKey && components.equals(((RequestKey) other).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return components.hashCode();
+    }
+}
@@ -42,6 +42,19 @@ public class Response<T> {
         this.responseHeaders = responseHeaders;
     }
 
+    /**
+     * @param name the name of the header, matched case insensitively
+     * @return the value of the response header, or null when the response does not have it
+     */
+    public String getResponseHeader(String name) {
+        for (Map.Entry<String, String> responseHeader : responseHeaders.entrySet()) {
+            if (responseHeader.getKey().equalsIgnoreCase(name)) {
+                return responseHeader.getValue();
+            }
+        }
+        return null;
+    }
+
     public boolean isSuccessful() {
         return statusCode / 100 == 2;
     }
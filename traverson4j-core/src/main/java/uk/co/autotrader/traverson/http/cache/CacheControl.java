@@ -0,0 +1,47 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The directives of a Cache-Control header
+ */
+final class CacheControl {
+    private final Map<String, String> directives;
+
+    private CacheControl(Map<String, String> directives) {
+        this.directives = directives;
+    }
+
+    static CacheControl parse(String headerValue) {
+        Map<String, String> directives = new HashMap<>();
+        if (headerValue != null) {
+            for (String directive : headerValue.split(",")) {
+                String[] nameAndValue = directive.split("=", 2);
+                String value = nameAndValue.length > 1 ? unquote(nameAndValue[1].trim()) : null;
+                directives.put(nameAndValue[0].trim().toLowerCase(Locale.ROOT), value);
+            }
+        }
+        return new CacheControl(directives);
+    }
+
+    boolean has(String directive) {
+        return directives.containsKey(directive);
+    }
+
+    /**
+     * @return the directive's delta-seconds in milliseconds, or -1 when absent or invalid
+     */
+    long millis(String directive) {
+        try {
+            return Math.max(-1, Long.parseLong(directives.get(directive)) * 1000);
+        } catch (NumberFormatException absentOrInvalid) {
+            return -1;
+        }
+    }
+
+    private static String unquote(String value) {
+        return value.replace("\"", "");
+    }
+}
@@ -0,0 +1,166 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * An immutable stored response, along with when it may be reused
+ */
+final class CacheEntry {
+    private static final Set<Integer> STORABLE_STATUS_CODES = new HashSet<>(Arrays.asList(200, 203));
+
+    private final Response<byte[]> stored;
+    private final Map<String, String> variant;
+    private final long freshUntil;
+    private final long staleWhileRevalidateUntil;
+    private final long staleIfErrorUntil;
+
+    private CacheEntry(Response<byte[]> response, Map<String, String> variant, long now) {
+        this.stored = copy(response);
+        this.variant = variant;
+        CacheControl cacheControl = CacheControl.parse(response.getResponseHeader("Cache-Control"));
+        this.freshUntil = now + freshnessLifetime(response, cacheControl, now) - seconds(response.getResponseHeader("Age")) * 1000;
+        boolean mayServeStale = !cacheControl.has("must-revalidate");
+        this.staleWhileRevalidateUntil = freshUntil + staleWindow(cacheControl, "stale-while-revalidate", mayServeStale);
+        this.staleIfErrorUntil = freshUntil + staleWindow(cacheControl, "stale-if-error", mayServeStale);
+    }
+
+    static boolean isStorable(Response<byte[]> response) {
+        CacheControl cacheControl = CacheControl.parse(response.getResponseHeader("Cache-Control"));
+        return STORABLE_STATUS_CODES.contains(response.getStatusCode())
+                && !cacheControl.has("no-store")
+                && !"*".equals(String.valueOf(response.getResponseHeader("Vary")).trim())
+                && (cacheControl.has("max-age") || hasExpiresOrValidator(response));
+    }
+
+    static CacheEntry create(Request request, Response<byte[]> response, long now) {
+        Map<String, String> variant = new HashMap<>();
+        String vary = response.getResponseHeader("Vary");
+        if (vary != null) {
+            for (String headerName : vary.split(",")) {
+                String name = headerName.trim().toLowerCase(Locale.ROOT);
+                variant.put(name, requestHeader(request, name));
+            }
+        }
+        return new CacheEntry(response, variant, now);
+    }
+
+    /**
+     * @param notModified a 304 response to a conditional request made with this entry's validators
+     * @param now the time the 304 response was received
+     * @return a new entry holding this entry's body, with its headers and freshness updated from the 304 response
+     */
+    CacheEntry refresh(Response<byte[]> notModified, long now) {
+        Response<byte[]> refreshed = toResponse();
+        refreshed.getResponseHeaders().putAll(notModified.getResponseHeaders());
+        return new CacheEntry(refreshed, variant, now);
+    }
+
+    boolean matchesVariant(Request request) {
+        for (Map.Entry<String, String> selectingHeader : variant.entrySet()) {
+            if (!Objects.equals(selectingHeader.getValue(), requestHeader(request, selectingHeader.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    boolean mayServeWhileRevalidating(long now) {
+        return now < staleWhileRevalidateUntil;
+    }
+
+    boolean mayServeOnError(long now) {
+        return now < staleIfErrorUntil;
+    }
+
+    void addValidators(Request conditionalRequest) {
+        String entityTag = header("ETag");
+        if (entityTag != null) {
+            conditionalRequest.addHeader("If-None-Match", entityTag);
+        }
+        String lastModified = header("Last-Modified");
+        if (lastModified != null) {
+            conditionalRequest.addHeader("If-Modified-Since", lastModified);
+        }
+    }
+
+    Response<byte[]> toResponse() {
+        return copy(stored);
+    }
+
+    long size() {
+        return stored.getResource() == null ? 0 : stored.getResource().length;
+    }
+
+    private String header(String name) {
+        return stored.getResponseHeader(name);
+    }
+
+    private static Response<byte[]> copy(Response<byte[]> response) {
+        Response<byte[]> copy = new Response<>();
+        copy.setStatusCode(response.getStatusCode());
+        copy.setUri(response.getUri());
+        copy.setResponseHeaders(new HashMap<>(response.getResponseHeaders()));
+        copy.setResource(response.getResource());
+        return copy;
+    }
+
+    private static boolean hasExpiresOrValidator(Response<byte[]> response) {
+        return response.getResponseHeader("Expires") != null
+                || response.getResponseHeader("ETag") != null
+                || response.getResponseHeader("Last-Modified") != null;
+    }
+
+    private static long freshnessLifetime(Response<byte[]> response, CacheControl cacheControl, long now) {
+        if (cacheControl.has("no-cache")) {
+            return 0;
+        }
+        long maxAge = cacheControl.millis("max-age");
+        if (maxAge >= 0) {
+            return maxAge;
+        }
+        long date = parseDate(response.getResponseHeader("Date"), now);
+        return Math.max(0, parseDate(response.getResponseHeader("Expires"), 0) - date);
+    }
+
+    private static long staleWindow(CacheControl cacheControl, String directive, boolean mayServeStale) {
+        return mayServeStale ? Math.max(0, cacheControl.millis(directive)) : 0;
+    }
+
+    private static long parseDate(String httpDate, long defaultValue) {
+        if (httpDate == null) {
+            return defaultValue;
+        }
+        try {
+            return ZonedDateTime.parse(httpDate, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException invalid) {
+            return defaultValue;
+        }
+    }
+
+    private static long seconds(String deltaSeconds) {
+        try {
+            return Math.max(0, Long.parseLong(deltaSeconds));
+        } catch (NumberFormatException absentOrInvalid) {
+            return 0;
+        }
+    }
+
+    static String requestHeader(Request request, String name) {
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return "accept".equals(name) ? request.getAcceptMimeType() : null;
+    }
+}
@@ -0,0 +1,55 @@
+package uk.co.autotrader.traverson.http.cache;
+
+/**
+ * A point in time snapshot of the counters of a {@link CachingTraversonClient}
+ */
+public class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long revalidatedCount;
+    private final long staleCount;
+    private final long evictionCount;
+
+    CacheStatistics(long hitCount, long missCount, long revalidatedCount, long staleCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.revalidatedCount = revalidatedCount;
+        this.staleCount = staleCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * @return the number of requests served from a fresh stored response without contacting the server
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests with no usable stored response
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of requests served from a stored response after the server returned 304 Not Modified
+     */
+    public long getRevalidatedCount() {
+        return revalidatedCount;
+    }
+
+    /**
+     * @return the number of requests served from a stale stored response, under stale-while-revalidate or stale-if-error
+     */
+    public long getStaleCount() {
+        return staleCount;
+    }
+
+    /**
+     * @return the number of stored responses removed to stay within the maximum size
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -0,0 +1,97 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Least recently used store of cache entries, bounded by the total size of their bodies
+ *
+ * @param <K> the type of the keys
+ */
+class CacheStore<K> {
+    private final long maximumBytes;
+    private final Lock lock;
+    private final Map<K, CacheEntry> entries;
+    private final LongAdder evictions;
+    private long currentBytes;
+
+    CacheStore(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+        this.lock = new ReentrantLock();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.evictions = new LongAdder();
+    }
+
+    CacheEntry get(K key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(K key, CacheEntry entry) {
+        lock.lock();
+        try {
+            removeEntry(key);
+            if (entry.size() <= maximumBytes) {
+                entries.put(key, entry);
+                currentBytes += entry.size();
+                evictLeastRecentlyUsed();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(K key) {
+        lock.lock();
+        try {
+            removeEntry(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void removeAll(Predicate<K> matching) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<K, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, CacheEntry> entry = iterator.next();
+                if (matching.test(entry.getKey())) {
+                    currentBytes -= entry.getValue().size();
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void removeEntry(K key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null) {
+            currentBytes -= removed.size();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<CacheEntry> leastRecentlyUsed = entries.values().iterator();
+        while (currentBytes > maximumBytes) {
+            currentBytes -= leastRecentlyUsed.next().size();
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+}
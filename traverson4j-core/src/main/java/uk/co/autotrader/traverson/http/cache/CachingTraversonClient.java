@@ -0,0 +1,213 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import uk.co.autotrader.traverson.conversion.ResourceConversionService;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.RequestKey;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.io.ByteArrayInputStream;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator acting as a private HTTP cache (RFC 9111) for GET requests,
+ * covering every hop of a traversal as well as the terminal request.</p>
+ *
+ * <p>Responses are stored when they are 200 or 203 and carry Cache-Control max-age, Expires, ETag or Last-Modified.
+ * Cache-Control no-store, no-cache, must-revalidate, stale-while-revalidate and stale-if-error are honoured,
+ * along with Vary. Stale responses are revalidated with If-None-Match and If-Modified-Since, so a 304 is
+ * served from the stored body. Successful POST, PUT, PATCH and DELETE requests remove every stored response for their
+ * url, while HEAD requests are passed through.</p>
+ *
+ * <p>Responses are stored by {@link RequestKey}, which includes the request headers, other than the timeout header of
+ * a traversal deadline, so callers sending different Authorization headers never share a stored response.</p>
+ *
+ * <p>Stored bodies are converted to the requested type on every use, so callers never share a resource instance.</p>
+ */
+public class CachingTraversonClient implements TraversonClient {
+    private static final Set<Method> UNSAFE_METHODS = EnumSet.of(Method.POST, Method.PUT, Method.PATCH, Method.DELETE);
+
+    private final TraversonClient delegate;
+    private final CacheStore<RequestKey> store;
+    private final ResourceConversionService conversionService;
+    private final LongSupplier clock;
+    private final Executor revalidationExecutor;
+    private final Set<RequestKey> revalidating;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder revalidated;
+    private final LongAdder stale;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param maximumBytes the maximum total size of the stored bodies, beyond which the least recently used are evicted
+     */
+    public CachingTraversonClient(TraversonClient delegate, long maximumBytes) {
+        this(delegate, maximumBytes, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param maximumBytes the maximum total size of the stored bodies, beyond which the least recently used are evicted
+     * @param revalidationExecutor runs the background revalidations allowed by stale-while-revalidate
+     */
+    public CachingTraversonClient(TraversonClient delegate, long maximumBytes, Executor revalidationExecutor) {
+        this(delegate, new CacheStore<>(maximumBytes), ResourceConversionService.getInstance(), System::currentTimeMillis, revalidationExecutor);
+    }
+
+    CachingTraversonClient(TraversonClient delegate, CacheStore<RequestKey> store, ResourceConversionService conversionService, LongSupplier clock, Executor revalidationExecutor) {
+        this.delegate = delegate;
+        this.store = store;
+        this.conversionService = conversionService;
+        this.clock = clock;
+        this.revalidationExecutor = revalidationExecutor;
+        this.revalidating = ConcurrentHashMap.newKeySet();
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.revalidated = new LongAdder();
+        this.stale = new LongAdder();
+    }
+
+    /**
+     * @return a snapshot of the hit, miss, revalidation, stale and eviction counters
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), revalidated.sum(), stale.sum(), store.evictionCount());
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        if (UNSAFE_METHODS.contains(request.getMethod())) {
+            return executeAndInvalidate(request, returnType);
+        }
+        if (request.getMethod() != Method.GET) {
+            return delegate.execute(request, returnType);
+        }
+        return convert(executeGet(request), returnType);
+    }
+
+    private <T> Response<T> executeAndInvalidate(Request request, Class<T> returnType) {
+        Response<T> response = delegate.execute(request, returnType);
+        if (response.isSuccessful()) {
+            store.removeAll(key -> key.getUrl().equals(request.getUrl()));
+        }
+        return response;
+    }
+
+    private Response<byte[]> executeGet(Request request) {
+        RequestKey key = RequestKey.withHeaders(request, null);
+        CacheEntry entry = usableEntry(key, request);
+        long now = clock.getAsLong();
+        if (entry == null) {
+            misses.increment();
+            return fetch(key, request);
+        }
+        if (entry.isFresh(now)) {
+            hits.increment();
+            return entry.toResponse();
+        }
+        if (entry.mayServeWhileRevalidating(now)) {
+            stale.increment();
+            revalidateInBackground(key, request, entry);
+            return entry.toResponse();
+        }
+        return revalidate(key, request, entry);
+    }
+
+    private CacheEntry usableEntry(RequestKey key, Request request) {
+        CacheControl requestCacheControl = CacheControl.parse(CacheEntry.requestHeader(request, "cache-control"));
+        CacheEntry entry = store.get(key);
+        if (entry == null || requestCacheControl.has("no-cache") || !entry.matchesVariant(request)) {
+            return null;
+        }
+        return entry;
+    }
+
+    private Response<byte[]> fetch(RequestKey key, Request request) {
+        Response<byte[]> response = delegate.execute(request, byte[].class);
+        store(key, request, response);
+        return response;
+    }
+
+    private Response<byte[]> revalidate(RequestKey key, Request request, CacheEntry entry) {
+        Request conditionalRequest = new Request(request);
+        entry.addValidators(conditionalRequest);
+        Response<byte[]> response;
+        try {
+            response = delegate.execute(conditionalRequest, byte[].class);
+        } catch (HttpException httpException) {
+            return serveStaleOnError(entry, httpException);
+        }
+        return revalidated(key, request, entry, response);
+    }
+
+    private Response<byte[]> revalidated(RequestKey key, Request request, CacheEntry entry, Response<byte[]> response) {
+        long now = clock.getAsLong();
+        if (response.getStatusCode() == 304) {
+            revalidated.increment();
+            CacheEntry refreshed = entry.refresh(response, now);
+            store.put(key, refreshed);
+            return refreshed.toResponse();
+        }
+        if (response.getStatusCode() >= 500 && entry.mayServeOnError(now)) {
+            stale.increment();
+            return entry.toResponse();
+        }
+        misses.increment();
+        store(key, request, response);
+        return response;
+    }
+
+    private Response<byte[]> serveStaleOnError(CacheEntry entry, HttpException httpException) {
+        if (entry.mayServeOnError(clock.getAsLong())) {
+            stale.increment();
+            return entry.toResponse();
+        }
+        throw httpException;
+    }
+
+    private void revalidateInBackground(RequestKey key, Request request, CacheEntry entry) {
+        if (revalidating.add(key)) {
+            Request backgroundRequest = new Request(request);
+            revalidationExecutor.execute(() -> {
+                try {
+                    revalidate(key, backgroundRequest, entry);
+                } catch (RuntimeException ignored) {
+                    // the stale response has already been served, a later request will revalidate again
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        }
+    }
+
+    private void store(RequestKey key, Request request, Response<byte[]> response) {
+        if (CacheEntry.isStorable(response)) {
+            store.put(key, CacheEntry.create(request, response, clock.getAsLong()));
+        } else {
+            store.remove(key);
+        }
+    }
+
+    private <T> Response<T> convert(Response<byte[]> response, Class<T> returnType) {
+        Response<T> converted = new Response<>();
+        converted.setStatusCode(response.getStatusCode());
+        converted.setUri(response.getUri());
+        converted.setResponseHeaders(response.getResponseHeaders());
+        byte[] body = response.getResource();
+        if (body != null) {
+            converted.setResource(conversionService.convert(new ByteArrayInputStream(body), returnType));
+        }
+        return converted;
+    }
+}
@@ -0,0 +1,82 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The concurrency limit of a single host, and the requests in flight to it, thread safe
+ *
+ * <p>Every decrease starts a new generation, and only requests sent in the current generation can lower the limit,
+ * so the requests already in flight when the host became overloaded lower it once rather than once each.</p>
+ */
+final class AdaptiveLimiter {
+    static final long REJECTED = -1;
+
+    private final ConcurrencyLimitPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private long generation;
+
+    AdaptiveLimiter(ConcurrencyLimitPolicy policy) {
+        this.policy = policy;
+        this.limit = policy.initialLimit();
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the generation the permit was taken in, which must be released with it, or {@link #REJECTED} when none
+     * was freed within the wait
+     */
+    long tryAcquire(long maxWaitNanos) throws InterruptedException {
+        long remaining = maxWaitNanos;
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return REJECTED;
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            inFlight++;
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param permit the generation returned by {@link #tryAcquire(long)}
+     * @param dropped whether the request failed, was overloaded or was too slow
+     */
+    void release(long permit, boolean dropped) {
+        lock.lock();
+        try {
+            if (dropped) {
+                decrease(permit);
+            } else if (inFlight * 2 >= limit) {
+                limit = policy.increased(limit);
+            }
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(long permit) {
+        if (permit == generation) {
+            limit = policy.decreased(limit);
+            generation++;
+        }
+    }
+}
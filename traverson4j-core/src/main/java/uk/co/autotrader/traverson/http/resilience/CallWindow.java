@@ -0,0 +1,55 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+/**
+ * The outcomes of the most recent requests to a host. Not thread safe, the owning {@link CircuitBreaker} guards it.
+ */
+final class CallWindow {
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int size;
+    private int failures;
+    private int slowCalls;
+
+    CallWindow(int capacity) {
+        this.failed = new boolean[capacity];
+        this.slow = new boolean[capacity];
+    }
+
+    void record(boolean isFailure, boolean isSlow) {
+        if (size == failed.length) {
+            failures -= count(failed[next]);
+            slowCalls -= count(slow[next]);
+        } else {
+            size++;
+        }
+        failed[next] = isFailure;
+        slow[next] = isSlow;
+        failures += count(isFailure);
+        slowCalls += count(isSlow);
+        next = (next + 1) % failed.length;
+    }
+
+    void clear() {
+        next = 0;
+        size = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    double failureRate() {
+        return (double) failures / size;
+    }
+
+    double slowRate() {
+        return (double) slowCalls / size;
+    }
+
+    private static int count(boolean outcome) {
+        return outcome ? 1 : 0;
+    }
+}
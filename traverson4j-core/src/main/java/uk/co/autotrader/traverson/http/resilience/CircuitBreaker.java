@@ -0,0 +1,153 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The circuit breaker of a single host, thread safe
+ *
+ * <p>Every change of state starts a new generation, and the outcome of a call only counts in the generation it was
+ * permitted in, so a slow call sent while closed cannot be taken for the result of a probe. The listener is notified
+ * once the breaker is unlocked.</p>
+ */
+final class CircuitBreaker {
+    static final long REJECTED = -1;
+
+    private final String host;
+    private final CircuitBreakerPolicy policy;
+    private final CircuitBreakerListener listener;
+    private final CallWindow calls;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Transition> transitions = new ArrayList<>();
+    private CircuitState state = CircuitState.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    CircuitBreaker(String host, CircuitBreakerPolicy policy, CircuitBreakerListener listener) {
+        this.host = host;
+        this.policy = policy;
+        this.listener = listener;
+        this.calls = new CallWindow(policy.getWindow());
+    }
+
+    CircuitState getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the generation of the breaker, to record the outcome of the request with, or {@link #REJECTED} when the
+     * request may not be sent
+     */
+    long tryAcquire(long now) {
+        List<Transition> changes;
+        long permit;
+        lock.lock();
+        try {
+            if (state == CircuitState.OPEN && now - openedAt >= policy.getOpenNanos()) {
+                probesStarted = 0;
+                probesSucceeded = 0;
+                transitionTo(CircuitState.HALF_OPEN);
+            }
+            permit = permit() ? generation : REJECTED;
+            changes = takeTransitions();
+        } finally {
+            lock.unlock();
+        }
+        notifyListener(changes);
+        return permit;
+    }
+
+    /**
+     * @param permit the generation returned by {@link #tryAcquire(long)} when the request was sent
+     */
+    void record(long permit, boolean failed, long nanos, long now) {
+        boolean slow = policy.isSlow(nanos);
+        List<Transition> changes;
+        lock.lock();
+        try {
+            if (permit == generation) {
+                recordInGeneration(failed, slow, now);
+            }
+            changes = takeTransitions();
+        } finally {
+            lock.unlock();
+        }
+        notifyListener(changes);
+    }
+
+    private boolean permit() {
+        if (state == CircuitState.HALF_OPEN && probesStarted < policy.getHalfOpenProbes()) {
+            probesStarted++;
+            return true;
+        }
+        return state == CircuitState.CLOSED;
+    }
+
+    private void recordInGeneration(boolean failed, boolean slow, long now) {
+        if (state == CircuitState.CLOSED) {
+            recordClosed(failed, slow, now);
+        } else {
+            recordProbe(failed || slow, now);
+        }
+    }
+
+    private void recordClosed(boolean failed, boolean slow, long now) {
+        calls.record(failed, slow);
+        if (policy.isExceededBy(calls)) {
+            open(now);
+        }
+    }
+
+    private void recordProbe(boolean failed, long now) {
+        if (failed) {
+            open(now);
+        } else if (++probesSucceeded == policy.getHalfOpenProbes()) {
+            calls.clear();
+            transitionTo(CircuitState.CLOSED);
+        }
+    }
+
+    private void open(long now) {
+        openedAt = now;
+        transitionTo(CircuitState.OPEN);
+    }
+
+    private void transitionTo(CircuitState to) {
+        transitions.add(new Transition(state, to));
+        state = to;
+        generation++;
+    }
+
+    private List<Transition> takeTransitions() {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        List<Transition> taken = List.copyOf(transitions);
+        transitions.clear();
+        return taken;
+    }
+
+    private void notifyListener(List<Transition> changes) {
+        for (Transition change : changes) {
+            listener.onTransition(host, change.from, change.to);
+        }
+    }
+
+    private static final class Transition {
+        private final CircuitState from;
+        private final CircuitState to;
+
+        private Transition(CircuitState from, CircuitState to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
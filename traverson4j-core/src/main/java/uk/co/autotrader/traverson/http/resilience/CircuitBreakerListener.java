@@ -0,0 +1,17 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+/**
+ * Notified of the state changes of the circuit breakers of a {@link CircuitBreakerTraversonClient}, e.g. to log them or
+ * to update a gauge
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+    /**
+     * Called on the thread of the request which changed the state, once the breaker is unlocked, so must be quick
+     *
+     * @param host the host of the breaker, e.g. "api.example.com:8080"
+     * @param from the previous state
+     * @param to the new state
+     */
+    void onTransition(String host, CircuitState from, CircuitState to);
+}
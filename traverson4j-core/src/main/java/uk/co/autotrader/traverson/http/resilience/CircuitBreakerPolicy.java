@@ -0,0 +1,124 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.time.Duration;
+
+/**
+ * <p>Immutable, decides when the circuit breaker of a host opens, how long it stays open and how it is probed before
+ * it closes again.</p>
+ *
+ * <pre>
+ * CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5)
+ *         .withSlowCallRate(0.8, Duration.ofSeconds(2))
+ *         .withOpenDuration(Duration.ofSeconds(10));
+ * </pre>
+ */
+public final class CircuitBreakerPolicy {
+    private static final int DEFAULT_WINDOW = 100;
+    private static final int DEFAULT_MINIMUM_CALLS = 20;
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    private static final int DEFAULT_HALF_OPEN_PROBES = 5;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int window;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private CircuitBreakerPolicy(double failureRateThreshold, double slowCallRateThreshold, long slowCallNanos, int window, int minimumCalls, long openNanos, int halfOpenProbes) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallNanos;
+        this.window = window;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openNanos;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Requests fail when the delegate throws a {@link uk.co.autotrader.traverson.exception.HttpException} or responds
+     * with a 5xx status. The rate is taken over the last 100 requests to the host, once there have been 20.
+     *
+     * @param threshold the rate of failed requests, between 0 exclusive and 1 inclusive, at which the breaker opens
+     * @return a policy opening on the failure rate
+     */
+    public static CircuitBreakerPolicy failureRate(double threshold) {
+        return new CircuitBreakerPolicy(rate(threshold), 1, Long.MAX_VALUE, DEFAULT_WINDOW, DEFAULT_MINIMUM_CALLS,
+                DEFAULT_OPEN_DURATION.toNanos(), DEFAULT_HALF_OPEN_PROBES);
+    }
+
+    /**
+     * @param threshold the rate of slow requests, between 0 exclusive and 1 inclusive, at which the breaker opens
+     * @param slowCall how long a request takes to count as slow
+     * @return a copy of this policy also opening on the slow request rate
+     */
+    public CircuitBreakerPolicy withSlowCallRate(double threshold, Duration slowCall) {
+        return new CircuitBreakerPolicy(failureRateThreshold, rate(threshold), slowCall.toNanos(), window, minimumCalls, openNanos, halfOpenProbes);
+    }
+
+    /**
+     * @param size the number of most recent requests the rates are taken over, defaults to 100
+     * @param minimumCalls the number of requests needed before the breaker may open, defaults to 20
+     * @return a copy of this policy with the window
+     */
+    public CircuitBreakerPolicy withWindow(int size, int minimumCalls) {
+        if (minimumCalls < 1 || minimumCalls > size) {
+            throw new IllegalArgumentException("minimumCalls must be between 1 and the window size");
+        }
+        return new CircuitBreakerPolicy(failureRateThreshold, slowCallRateThreshold, slowCallNanos, size, minimumCalls, openNanos, halfOpenProbes);
+    }
+
+    /**
+     * @param openDuration how long the breaker fails fast before probing the host, defaults to 30s
+     * @return a copy of this policy with the open duration
+     */
+    public CircuitBreakerPolicy withOpenDuration(Duration openDuration) {
+        if (openDuration.isNegative()) {
+            throw new IllegalArgumentException("open duration must not be negative");
+        }
+        return new CircuitBreakerPolicy(failureRateThreshold, slowCallRateThreshold, slowCallNanos, window, minimumCalls, openDuration.toNanos(), halfOpenProbes);
+    }
+
+    /**
+     * @param probes the number of requests let through while half open, all of which must succeed to close the
+     *               breaker, defaults to 5
+     * @return a copy of this policy with the probes
+     */
+    public CircuitBreakerPolicy withHalfOpenProbes(int probes) {
+        if (probes < 1) {
+            throw new IllegalArgumentException("probes must be at least 1");
+        }
+        return new CircuitBreakerPolicy(failureRateThreshold, slowCallRateThreshold, slowCallNanos, window, minimumCalls, openNanos, probes);
+    }
+
+    int getWindow() {
+        return window;
+    }
+
+    long getOpenNanos() {
+        return openNanos;
+    }
+
+    int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    boolean isSlow(long nanos) {
+        return nanos >= slowCallNanos;
+    }
+
+    boolean isExceededBy(CallWindow calls) {
+        if (calls.size() < minimumCalls) {
+            return false;
+        }
+        return calls.failureRate() >= failureRateThreshold || calls.slowRate() >= slowCallRateThreshold;
+    }
+
+    private static double rate(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be greater than 0 and at most 1");
+        }
+        return threshold;
+    }
+}
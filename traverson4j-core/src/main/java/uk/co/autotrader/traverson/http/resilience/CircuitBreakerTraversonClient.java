@@ -0,0 +1,107 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.exception.CircuitOpenException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator with a circuit breaker for every host, covering every hop of a traversal as
+ * well as the terminal request. Once the failed or slow requests to a host reach the thresholds of the
+ * {@link CircuitBreakerPolicy}, its breaker opens and requests to it throw {@link CircuitOpenException} without being
+ * sent, so threads do not pile up on a degraded dependency. After the open duration a few probe requests are let
+ * through, which close the breaker when they all succeed.</p>
+ *
+ * <p>Requests fail when the delegate throws a {@link HttpException} or responds with a 5xx status. Other exceptions
+ * mean the host responded, so count as successes.</p>
+ */
+public class CircuitBreakerTraversonClient implements TraversonClient {
+    private static final int SERVER_ERROR = 500;
+
+    private final TraversonClient delegate;
+    private final CircuitBreakerPolicy policy;
+    private final CircuitBreakerListener listener;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, CircuitBreaker> breakers;
+    private final LongAdder rejected;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy when the breakers open, and how they close again
+     */
+    public CircuitBreakerTraversonClient(TraversonClient delegate, CircuitBreakerPolicy policy) {
+        this(delegate, policy, (host, from, to) -> { });
+    }
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy when the breakers open, and how they close again
+     * @param listener notified whenever a breaker changes state
+     */
+    public CircuitBreakerTraversonClient(TraversonClient delegate, CircuitBreakerPolicy policy, CircuitBreakerListener listener) {
+        this(delegate, policy, listener, System::nanoTime);
+    }
+
+    CircuitBreakerTraversonClient(TraversonClient delegate, CircuitBreakerPolicy policy, CircuitBreakerListener listener, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.listener = listener;
+        this.nanoClock = nanoClock;
+        this.breakers = new ConcurrentHashMap<>();
+        this.rejected = new LongAdder();
+    }
+
+    /**
+     * @param host the host, with its port when not the default, e.g. "api.example.com:8080"
+     * @return the state of the breaker of the host, closed when no request has been sent to it
+     */
+    public CircuitState getState(String host) {
+        CircuitBreaker breaker = breakers.get(host.toLowerCase(Locale.ROOT));
+        return breaker == null ? CircuitState.CLOSED : breaker.getState();
+    }
+
+    /**
+     * @return the number of requests which failed fast as the breaker of their host was open
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        String host = Hosts.of(request.getUrl());
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, key -> new CircuitBreaker(key, policy, listener));
+        long started = nanoClock.getAsLong();
+        long permit = breaker.tryAcquire(started);
+        if (permit == CircuitBreaker.REJECTED) {
+            rejected.increment();
+            throw new CircuitOpenException(host);
+        }
+        Response<T> response;
+        try {
+            response = delegate.execute(request, returnType);
+        } catch (HttpException failure) {
+            record(breaker, permit, true, started);
+            throw failure;
+        } catch (RuntimeException other) {
+            record(breaker, permit, false, started);
+            throw other;
+        }
+        record(breaker, permit, response.getStatusCode() >= SERVER_ERROR, started);
+        return response;
+    }
+
+    private void record(CircuitBreaker breaker, long permit, boolean failed, long started) {
+        long now = nanoClock.getAsLong();
+        breaker.record(permit, failed, now - started, now);
+    }
+}
@@ -0,0 +1,19 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+/**
+ * The states of the circuit breaker of a host
+ */
+public enum CircuitState {
+    /**
+     * Requests are sent, and their outcomes recorded
+     */
+    CLOSED,
+    /**
+     * Requests fail fast, until the open duration has passed
+     */
+    OPEN,
+    /**
+     * A few probe requests are sent, which close the circuit when they all succeed, or open it again when one fails
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,119 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.time.Duration;
+
+/**
+ * <p>Immutable, decides how a {@link ConcurrencyLimitingTraversonClient} adapts the number of requests allowed in
+ * flight to each host, and how long a request waits for a permit.</p>
+ *
+ * <p>The limit follows additive increase, multiplicative decrease (AIMD). While at least half the limit is in use,
+ * every successful request raises it by a fraction, so that it grows by one per limit's worth of requests. Every
+ * dropped request, one which failed, was overloaded or was slower than the latency threshold, multiplies it by the
+ * backoff ratio.</p>
+ *
+ * <pre>
+ * ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.aimd(20)
+ *         .withBounds(5, 100)
+ *         .withLatencyThreshold(Duration.ofSeconds(1))
+ *         .withMaxWait(Duration.ofMillis(50));
+ * </pre>
+ */
+public final class ConcurrencyLimitPolicy {
+    private static final int DEFAULT_MIN_LIMIT = 1;
+    private static final int DEFAULT_MAX_LIMIT = 200;
+    private static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    private static final double MIN_BACKOFF_RATIO = 0.5;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+
+    private ConcurrencyLimitPolicy(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos, long maxWaitNanos) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * Requests are rejected as soon as the limit is reached, and no latency is too slow, unless configured otherwise.
+     *
+     * @param initialLimit the number of requests allowed in flight to a host before anything has been observed
+     * @return an AIMD policy bounded between 1 and 200
+     */
+    public static ConcurrencyLimitPolicy aimd(int initialLimit) {
+        if (initialLimit < 1) {
+            throw new IllegalArgumentException("initialLimit must be at least 1");
+        }
+        return new ConcurrencyLimitPolicy(initialLimit, DEFAULT_MIN_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_BACKOFF_RATIO, Long.MAX_VALUE, 0);
+    }
+
+    /**
+     * @param min the lowest the limit falls to, defaults to 1
+     * @param max the highest the limit rises to, defaults to 200
+     * @return a copy of this policy with the bounds
+     */
+    public ConcurrencyLimitPolicy withBounds(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("bounds must satisfy 1 <= min <= max");
+        }
+        return new ConcurrencyLimitPolicy(initialLimit, min, max, backoffRatio, latencyThresholdNanos, maxWaitNanos);
+    }
+
+    /**
+     * @param ratio what the limit is multiplied by when a request is dropped, from 0.5 up to but excluding 1,
+     *              defaults to 0.9
+     * @return a copy of this policy with the ratio
+     */
+    public ConcurrencyLimitPolicy withBackoffRatio(double ratio) {
+        if (ratio < MIN_BACKOFF_RATIO || ratio >= 1) {
+            throw new IllegalArgumentException("ratio must be at least 0.5 and less than 1");
+        }
+        return new ConcurrencyLimitPolicy(initialLimit, minLimit, maxLimit, ratio, latencyThresholdNanos, maxWaitNanos);
+    }
+
+    /**
+     * @param threshold how long a successful request may take before it counts as dropped
+     * @return a copy of this policy with the threshold
+     */
+    public ConcurrencyLimitPolicy withLatencyThreshold(Duration threshold) {
+        return new ConcurrencyLimitPolicy(initialLimit, minLimit, maxLimit, backoffRatio, threshold.toNanos(), maxWaitNanos);
+    }
+
+    /**
+     * @param maxWait how long a request queues for a permit when the limit is reached before it is rejected,
+     *                defaults to not at all
+     * @return a copy of this policy with the wait
+     */
+    public ConcurrencyLimitPolicy withMaxWait(Duration maxWait) {
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must not be negative");
+        }
+        return new ConcurrencyLimitPolicy(initialLimit, minLimit, maxLimit, backoffRatio, latencyThresholdNanos, maxWait.toNanos());
+    }
+
+    long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    double initialLimit() {
+        return Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    boolean isTooSlow(long nanos) {
+        return nanos > latencyThresholdNanos;
+    }
+
+    double increased(double limit) {
+        return Math.min(maxLimit, limit + 1 / limit);
+    }
+
+    double decreased(double limit) {
+        return Math.max(minLimit, limit * backoffRatio);
+    }
+}
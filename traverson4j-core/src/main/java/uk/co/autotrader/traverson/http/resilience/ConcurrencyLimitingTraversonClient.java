@@ -0,0 +1,106 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.exception.ConcurrencyLimitExceededException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator limiting the requests in flight to each host, covering every hop of a
+ * traversal as well as the terminal request. The limit of each host adapts to the latencies and failures observed,
+ * as described by the {@link ConcurrencyLimitPolicy}, so that throughput stays near what the host can actually serve.
+ * Once the limit is reached, requests wait up to the max wait for a permit, then throw
+ * {@link ConcurrencyLimitExceededException} without being sent.</p>
+ *
+ * <p>A request is dropped when the delegate throws a {@link HttpException}, responds with 429 or a 5xx status, or is
+ * slower than the latency threshold.</p>
+ */
+public class ConcurrencyLimitingTraversonClient implements TraversonClient {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
+    private final TraversonClient delegate;
+    private final ConcurrencyLimitPolicy policy;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, AdaptiveLimiter> limiters;
+    private final LongAdder rejected;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy how the limits adapt, and how long requests wait for a permit
+     */
+    public ConcurrencyLimitingTraversonClient(TraversonClient delegate, ConcurrencyLimitPolicy policy) {
+        this(delegate, policy, System::nanoTime);
+    }
+
+    ConcurrencyLimitingTraversonClient(TraversonClient delegate, ConcurrencyLimitPolicy policy, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.nanoClock = nanoClock;
+        this.limiters = new ConcurrentHashMap<>();
+        this.rejected = new LongAdder();
+    }
+
+    /**
+     * @param host the host, with its port when not the default, e.g. "api.example.com:8080"
+     * @return the number of requests currently allowed in flight to the host
+     */
+    public int getLimit(String host) {
+        AdaptiveLimiter limiter = limiters.get(host.toLowerCase(Locale.ROOT));
+        return limiter == null ? (int) policy.initialLimit() : limiter.getLimit();
+    }
+
+    /**
+     * @return the number of requests rejected as their host was at its limit
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        String host = Hosts.of(request.getUrl());
+        AdaptiveLimiter limiter = limiters.computeIfAbsent(host, key -> new AdaptiveLimiter(policy));
+        long permit = acquire(host, limiter);
+        long started = nanoClock.getAsLong();
+        boolean dropped = false;
+        try {
+            Response<T> response = delegate.execute(request, returnType);
+            dropped = isOverloaded(response) || policy.isTooSlow(nanoClock.getAsLong() - started);
+            return response;
+        } catch (HttpException failure) {
+            dropped = true;
+            throw failure;
+        } finally {
+            limiter.release(permit, dropped);
+        }
+    }
+
+    private long acquire(String host, AdaptiveLimiter limiter) {
+        long permit;
+        try {
+            permit = limiter.tryAcquire(policy.getMaxWaitNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting for a permit", e);
+        }
+        if (permit == AdaptiveLimiter.REJECTED) {
+            rejected.increment();
+            throw new ConcurrencyLimitExceededException(host, limiter.getLimit());
+        }
+        return permit;
+    }
+
+    private static boolean isOverloaded(Response<?> response) {
+        return response.getStatusCode() == TOO_MANY_REQUESTS || response.getStatusCode() >= SERVER_ERROR;
+    }
+}
@@ -0,0 +1,74 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.time.Duration;
+
+/**
+ * <p>Immutable, decides how long a {@link HedgingTraversonClient} waits for a response before sending a hedge, and how
+ * many hedges it may send.</p>
+ *
+ * <pre>
+ * HedgingPolicy policy = HedgingPolicy.latencyPercentile(0.95).withMaxExtraLoad(0.05);
+ * </pre>
+ */
+public final class HedgingPolicy {
+    private static final double DEFAULT_MAX_EXTRA_LOAD = 0.1;
+
+    private final Duration fixedDelay;
+    private final double percentile;
+    private final double maxExtraLoad;
+
+    private HedgingPolicy(Duration fixedDelay, double percentile, double maxExtraLoad) {
+        this.fixedDelay = fixedDelay;
+        this.percentile = percentile;
+        this.maxExtraLoad = maxExtraLoad;
+    }
+
+    /**
+     * @param delay how long to wait for a response before sending a hedge
+     * @return a policy hedging after the fixed delay
+     */
+    public static HedgingPolicy fixedDelay(Duration delay) {
+        if (delay.isNegative()) {
+            throw new IllegalArgumentException("delay must not be negative");
+        }
+        return new HedgingPolicy(delay, 0, DEFAULT_MAX_EXTRA_LOAD);
+    }
+
+    /**
+     * Hedge once a request has taken longer than the percentile of the latencies recently observed for its host.
+     * Requests are not hedged until the host has a few latencies recorded.
+     *
+     * @param percentile between 0 and 1 exclusive, e.g. 0.95
+     * @return a policy hedging after the observed latency percentile
+     */
+    public static HedgingPolicy latencyPercentile(double percentile) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        return new HedgingPolicy(null, percentile, DEFAULT_MAX_EXTRA_LOAD);
+    }
+
+    /**
+     * A burst of 10 hedges is allowed before the fraction applies, unless the fraction is 0, which turns hedging off
+     *
+     * @param fraction the most hedges to send, as a fraction of the requests, defaults to 0.1
+     * @return a copy of this policy with the limit
+     */
+    public HedgingPolicy withMaxExtraLoad(double fraction) {
+        if (fraction < 0) {
+            throw new IllegalArgumentException("fraction must not be negative");
+        }
+        return new HedgingPolicy(fixedDelay, percentile, fraction);
+    }
+
+    double getMaxExtraLoad() {
+        return maxExtraLoad;
+    }
+
+    /**
+     * @return the nanoseconds to wait before hedging, or -1 when the request should not be hedged
+     */
+    long delayNanos(LatencyWindow latencies) {
+        return fixedDelay == null ? latencies.percentile(percentile) : fixedDelay.toNanos();
+    }
+}
@@ -0,0 +1,214 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.AsyncTraversonClient;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator which hedges GET requests, covering every hop of a traversal as well as the
+ * terminal request. When a response has not arrived within the delay of the {@link HedgingPolicy}, an identical
+ * request is sent, and whichever succeeds first, without throwing or responding with a 5xx status, is returned. When
+ * both fail, a 5xx response is returned over an exception. The other is cancelled, which aborts it when the delegate is
+ * an {@link AsyncTraversonClient}, otherwise its response is ignored once it arrives. The latency of a cancelled
+ * request is recorded as the time until it was cancelled, so the slowest requests still count towards the delay.</p>
+ *
+ * <p>Requests are sent on the executor, unless the delegate is an {@link AsyncTraversonClient}, so the executor needs
+ * a thread for every request in flight. Closeable return types, e.g. InputStream, are never hedged, as the losing
+ * response would hold its connection open.</p>
+ */
+public class HedgingTraversonClient implements TraversonClient {
+    private static final int LATENCY_WINDOW = 100;
+    private static final int MINIMUM_LATENCIES = 20;
+    private static final int HEDGE_BURST = 10;
+    private static final int SERVER_ERROR = 500;
+
+    private final TraversonClient delegate;
+    private final HedgingPolicy policy;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+    private final LoadBudget budget;
+    private final ConcurrentMap<String, LatencyWindow> latencies;
+    private final LongAdder hedged;
+    private final LongAdder hedgesWon;
+    private final LongAdder budgetExhausted;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy when to hedge, and how many hedges to send
+     * @param executor sends the requests of a blocking delegate
+     */
+    public HedgingTraversonClient(TraversonClient delegate, HedgingPolicy policy, Executor executor) {
+        this(delegate, policy, executor, System::nanoTime);
+    }
+
+    HedgingTraversonClient(TraversonClient delegate, HedgingPolicy policy, Executor executor, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.budget = new LoadBudget(policy.getMaxExtraLoad(), HEDGE_BURST);
+        this.latencies = new ConcurrentHashMap<>();
+        this.hedged = new LongAdder();
+        this.hedgesWon = new LongAdder();
+        this.budgetExhausted = new LongAdder();
+    }
+
+    /**
+     * @return the number of hedges sent
+     */
+    public long getHedgedCount() {
+        return hedged.sum();
+    }
+
+    /**
+     * @return the number of hedges which succeeded before the request they hedged
+     */
+    public long getHedgeWinCount() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * @return the number of slow requests which were not hedged, as hedging them would exceed the max extra load
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        if (request.getMethod() != Method.GET || Closeable.class.isAssignableFrom(returnType)) {
+            return delegate.execute(request, returnType);
+        }
+        budget.recordRequest();
+        LatencyWindow hostLatencies = latencies.computeIfAbsent(Hosts.of(request.getUrl()), host -> new LatencyWindow(LATENCY_WINDOW, MINIMUM_LATENCIES));
+        long delay = policy.delayNanos(hostLatencies);
+        long started = nanoClock.getAsLong();
+        CompletableFuture<Response<T>> primary = send(request, returnType);
+        primary.whenComplete((response, failure) -> hostLatencies.record(nanoClock.getAsLong() - started));
+        if (delay < 0 || completesWithin(primary, delay)) {
+            return join(primary);
+        }
+        return hedge(request, returnType, primary);
+    }
+
+    private <T> Response<T> hedge(Request request, Class<T> returnType, CompletableFuture<Response<T>> primary) {
+        if (!budget.tryAcquire()) {
+            budgetExhausted.increment();
+            return join(primary);
+        }
+        hedged.increment();
+        CompletableFuture<Response<T>> backup = send(request, returnType);
+        Race<T> race = new Race<>();
+        primary.whenComplete(race.relay(false));
+        backup.whenComplete(race.relay(true));
+        try {
+            return join(race.winner);
+        } finally {
+            primary.cancel(true);
+            backup.cancel(true);
+        }
+    }
+
+    private <T> CompletableFuture<Response<T>> send(Request request, Class<T> returnType) {
+        Request copy = new Request(request);
+        if (delegate instanceof AsyncTraversonClient) {
+            return ((AsyncTraversonClient) delegate).executeAsync(copy, returnType);
+        }
+        return CompletableFuture.supplyAsync(() -> delegate.execute(copy, returnType), executor);
+    }
+
+    private static boolean completesWithin(CompletableFuture<?> primary, long delayNanos) {
+        try {
+            primary.get(delayNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException timeout) {
+            return false;
+        } catch (ExecutionException failed) {
+            return true;
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new HttpException("Interrupted waiting for a response", interrupted);
+        }
+    }
+
+    private static <T> Response<T> join(CompletableFuture<Response<T>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException completionException) {
+            if (completionException.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) completionException.getCause();
+            }
+            throw completionException;
+        }
+    }
+
+    /**
+     * The race between a request and its hedge. The first success claims the win, so a winning hedge is counted before
+     * its response can be returned.
+     */
+    private final class Race<T> {
+        private final CompletableFuture<Response<T>> winner = new CompletableFuture<>();
+        private final AtomicBoolean won = new AtomicBoolean();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicReference<Response<T>> failedResponse = new AtomicReference<>();
+
+        private BiConsumer<Response<T>, Throwable> relay(boolean isHedge) {
+            return (response, failure) -> {
+                if (failure == null && response.getStatusCode() < SERVER_ERROR) {
+                    succeeded(response, isHedge);
+                } else {
+                    failed(response, failure);
+                }
+            };
+        }
+
+        private void succeeded(Response<T> response, boolean isHedge) {
+            if (won.compareAndSet(false, true)) {
+                if (isHedge) {
+                    hedgesWon.increment();
+                }
+                winner.complete(response);
+            }
+        }
+
+        private void failed(Response<T> response, Throwable failure) {
+            if (failure == null) {
+                failedResponse.set(response);
+            }
+            if (failures.incrementAndGet() == 2) {
+                settle(failure);
+            }
+        }
+
+        private void settle(Throwable lastFailure) {
+            Response<T> response = failedResponse.get();
+            if (response == null) {
+                winner.completeExceptionally(lastFailure);
+            } else {
+                winner.complete(response);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The rate limit of a single host, thread safe. Requests are spaced by the interval of the policy, as a token bucket
+ * tracked by the theoretical arrival time of the next request (GCRA), and held back further while the host has asked
+ * for a pause or a slower rate.
+ */
+final class HostRateLimiter {
+    private final RateLimitPolicy policy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long theoreticalArrival;
+    private long blockedUntil;
+    private long serverIntervalNanos;
+    private long serverIntervalUntil;
+
+    HostRateLimiter(RateLimitPolicy policy, long now) {
+        this.policy = policy;
+        this.theoreticalArrival = now;
+        this.blockedUntil = now;
+        this.serverIntervalUntil = now;
+    }
+
+    /**
+     * @return the nanoseconds to wait before sending, or -1 when that would be longer than the max wait, in which
+     * case nothing is reserved
+     */
+    long reserve(long now, long maxWaitNanos) {
+        lock.lock();
+        try {
+            long start = Math.max(now, blockedUntil);
+            long arrival = Math.max(theoreticalArrival, start);
+            long wait = Math.max(start, arrival - policy.getToleranceNanos()) - now;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            theoreticalArrival = arrival + interval(now);
+            return wait;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends nothing more until the time, e.g. as a response asked to Retry-After
+     */
+    void blockUntil(long until) {
+        lock.lock();
+        try {
+            blockedUntil = Math.max(blockedUntil, until);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Spreads the requests the host has left evenly until its quota resets, or pauses until then when none are left
+     */
+    void spread(long remaining, long resetNanos, long now) {
+        long reset = now + policy.capPause(resetNanos);
+        if (remaining == 0) {
+            blockUntil(reset);
+            return;
+        }
+        lock.lock();
+        try {
+            serverIntervalNanos = resetNanos / remaining;
+            serverIntervalUntil = reset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long interval(long now) {
+        return now < serverIntervalUntil ? Math.max(policy.getIntervalNanos(), serverIntervalNanos) : policy.getIntervalNanos();
+    }
+}
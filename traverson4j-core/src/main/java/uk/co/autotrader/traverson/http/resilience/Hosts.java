@@ -0,0 +1,29 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.Locale;
+
+/**
+ * Keys the per host state of the resilience decorators. Works on templated urls, which are not yet valid URIs.
+ */
+final class Hosts {
+
+    private Hosts() {
+    }
+
+    /**
+     * @param url the url of a request, which may be templated, e.g. "http://localhost:8080/vehicles{?page}"
+     * @return the lower cased authority of the url, e.g. "localhost:8080", or the whole url when it has none
+     */
+    static String of(String url) {
+        int start = url.indexOf("://");
+        if (start < 0) {
+            return url;
+        }
+        start += 3;
+        int end = start;
+        while (end < url.length() && "/?#{".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return url.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+}
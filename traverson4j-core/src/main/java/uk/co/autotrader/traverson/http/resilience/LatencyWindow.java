@@ -0,0 +1,53 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The most recent latencies of a host, from which a percentile can be read once enough have been recorded
+ */
+final class LatencyWindow {
+    private final long[] samples;
+    private final int minimumSamples;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int recorded;
+
+    LatencyWindow(int size, int minimumSamples) {
+        this.samples = new long[size];
+        this.minimumSamples = minimumSamples;
+    }
+
+    void record(long latencyNanos) {
+        lock.lock();
+        try {
+            samples[next] = latencyNanos;
+            next = (next + 1) % samples.length;
+            if (recorded < samples.length) {
+                recorded++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param percentile between 0 and 1, e.g. 0.95
+     * @return the latency at the percentile of the window, or -1 when fewer than the minimum samples were recorded
+     */
+    long percentile(double percentile) {
+        long[] window;
+        lock.lock();
+        try {
+            if (recorded < minimumSamples) {
+                return -1;
+            }
+            window = Arrays.copyOf(samples, recorded);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(percentile * window.length) - 1;
+        return window[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,44 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket limiting extra requests, such as hedges or retries, to a fraction of the ordinary requests. Every
+ * ordinary request adds the fraction of a token, up to a burst of whole tokens, and every extra request spends a token.
+ * Starts full, so the first failures may be retried or hedged before any tokens are earned, and a ratio of 0 leaves no
+ * room for a burst, so it allows no extra requests at all.
+ */
+final class LoadBudget {
+    private static final long MILLI_TOKENS = 1000;
+
+    private final long earnedPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    LoadBudget(double ratio, int burst) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must not be negative");
+        }
+        this.earnedPerRequest = Math.round(ratio * MILLI_TOKENS);
+        this.capacity = ratio == 0 ? 0 : burst * MILLI_TOKENS;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void recordRequest() {
+        balance.getAndUpdate(current -> Math.min(capacity, current + earnedPerRequest));
+    }
+
+    /**
+     * @return true when a token was spent on an extra request, false when the budget is exhausted
+     */
+    boolean tryAcquire() {
+        long current = balance.get();
+        while (current >= MILLI_TOKENS) {
+            if (balance.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+            current = balance.get();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads Retry-After (RFC 9110) and the RateLimit-Remaining and RateLimit-Reset headers of the IETF RateLimit fields
+ * draft
+ */
+final class RateLimitHeaders {
+
+    private RateLimitHeaders() {
+    }
+
+    /**
+     * @param retryAfter the header value, either delta-seconds or an HTTP-date
+     * @param nowMillis the current time, which an HTTP-date is relative to
+     * @return the nanoseconds to wait, or -1 when absent or invalid
+     */
+    static long retryAfterNanos(String retryAfter, long nowMillis) {
+        if (retryAfter == null) {
+            return -1;
+        }
+        long seconds = count(retryAfter);
+        if (seconds >= 0) {
+            return TimeUnit.SECONDS.toNanos(seconds);
+        }
+        try {
+            long until = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, until - nowMillis));
+        } catch (DateTimeParseException invalid) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param deltaSeconds the header value, e.g. of RateLimit-Reset
+     * @return the seconds in nanoseconds, or -1 when absent or invalid
+     */
+    static long secondsAsNanos(String deltaSeconds) {
+        long seconds = count(deltaSeconds);
+        return seconds < 0 ? -1 : TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    /**
+     * @param value the header value, e.g. of RateLimit-Remaining
+     * @return the non-negative number, or -1 when absent or invalid
+     */
+    static long count(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(-1, Long.parseLong(value.trim()));
+        } catch (NumberFormatException invalid) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import java.time.Duration;
+
+/**
+ * <p>Immutable, decides the rate a {@link RateLimitingTraversonClient} sends requests to each host at, and how long a
+ * request may be held back to keep to it.</p>
+ *
+ * <pre>
+ * RateLimitPolicy policy = RateLimitPolicy.perSecond(20).withBurst(5).withMaxWait(Duration.ofSeconds(30));
+ * </pre>
+ */
+public final class RateLimitPolicy {
+    private static final int DEFAULT_BURST = 1;
+    private static final Duration DEFAULT_MAX_WAIT = Duration.ofMinutes(1);
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final long intervalNanos;
+    private final int burst;
+    private final long maxWaitNanos;
+
+    private RateLimitPolicy(long intervalNanos, int burst, long maxWaitNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burst = burst;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    /**
+     * @param permitsPerSecond the most requests to send to each host per second
+     * @return a policy spacing the requests to each host evenly
+     */
+    public static RateLimitPolicy perSecond(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        return new RateLimitPolicy(Math.round(NANOS_PER_SECOND / permitsPerSecond), DEFAULT_BURST, DEFAULT_MAX_WAIT.toNanos());
+    }
+
+    /**
+     * @return a policy which only holds requests back when the responses of a host ask for it
+     */
+    public static RateLimitPolicy unlimited() {
+        return new RateLimitPolicy(0, DEFAULT_BURST, DEFAULT_MAX_WAIT.toNanos());
+    }
+
+    /**
+     * @param burst the number of requests which may be sent at once after a quiet period, defaults to 1
+     * @return a copy of this policy with the burst
+     */
+    public RateLimitPolicy withBurst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        return new RateLimitPolicy(intervalNanos, burst, maxWaitNanos);
+    }
+
+    /**
+     * @param maxWait how long a request may be held back in total, including waiting out 429 responses, defaults to
+     *                1 minute
+     * @return a copy of this policy with the wait
+     */
+    public RateLimitPolicy withMaxWait(Duration maxWait) {
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must not be negative");
+        }
+        return new RateLimitPolicy(intervalNanos, burst, maxWait.toNanos());
+    }
+
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    long getToleranceNanos() {
+        return (burst - 1) * intervalNanos;
+    }
+
+    long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * @return the pause a host asked for, cut to just beyond the max wait, so it can be added to the time without
+     * overflowing while still turning away a request which cannot wait it out
+     */
+    long capPause(long pauseNanos) {
+        return pauseNanos > maxWaitNanos ? maxWaitNanos + 1 : pauseNanos;
+    }
+}
@@ -0,0 +1,134 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.exception.RateLimitExceededException;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator pacing the requests to each host to the rate of a {@link RateLimitPolicy},
+ * covering every hop of a traversal as well as the terminal request. Requests wait their turn rather than fail, so
+ * batch jobs run at the highest rate the hosts allow.</p>
+ *
+ * <p>The rate adapts to what the hosts ask for. A 429 response pauses its host for its Retry-After, or a second
+ * without one, and the request is sent again after the pause, as the host did not process it. A 503 with Retry-After
+ * pauses its host too. RateLimit-Remaining and RateLimit-Reset spread the remaining requests evenly until the reset.
+ * Once a request would wait longer than the max wait in total, it throws {@link RateLimitExceededException} instead,
+ * or returns the last 429 response.</p>
+ */
+public class RateLimitingTraversonClient implements TraversonClient {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final long DEFAULT_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TraversonClient delegate;
+    private final RateLimitPolicy policy;
+    private final Sleeper sleeper;
+    private final LongSupplier nanoClock;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, HostRateLimiter> limiters;
+    private final LongAdder throttled;
+    private final LongAdder rejected;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy the rate to send requests to each host at
+     */
+    public RateLimitingTraversonClient(TraversonClient delegate, RateLimitPolicy policy) {
+        this(delegate, policy, Sleeper.THREAD, System::nanoTime, System::currentTimeMillis);
+    }
+
+    RateLimitingTraversonClient(TraversonClient delegate, RateLimitPolicy policy, Sleeper sleeper, LongSupplier nanoClock, LongSupplier clock) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.sleeper = sleeper;
+        this.nanoClock = nanoClock;
+        this.clock = clock;
+        this.limiters = new ConcurrentHashMap<>();
+        this.throttled = new LongAdder();
+        this.rejected = new LongAdder();
+    }
+
+    /**
+     * @return the number of 429 responses which were waited out and sent again
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * @return the number of requests rejected as they would have waited too long
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        String host = Hosts.of(request.getUrl());
+        HostRateLimiter limiter = limiters.computeIfAbsent(host, key -> new HostRateLimiter(policy, nanoClock.getAsLong()));
+        long waited = awaitTurn(limiter, 0);
+        if (waited < 0) {
+            rejected.increment();
+            throw new RateLimitExceededException(host);
+        }
+        Response<T> response = send(limiter, request, returnType);
+        while (response.getStatusCode() == TOO_MANY_REQUESTS) {
+            waited = awaitTurn(limiter, waited);
+            if (waited < 0) {
+                return response;
+            }
+            throttled.increment();
+            Responses.discard(response);
+            response = send(limiter, request, returnType);
+        }
+        return response;
+    }
+
+    /**
+     * @return the total nanoseconds waited, or -1 when that would exceed the max wait
+     */
+    private long awaitTurn(HostRateLimiter limiter, long waited) {
+        long wait = limiter.reserve(nanoClock.getAsLong(), policy.getMaxWaitNanos() - waited);
+        if (wait < 0) {
+            return -1;
+        }
+        try {
+            sleeper.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting for the rate limit", e);
+        }
+        return waited + wait;
+    }
+
+    private <T> Response<T> send(HostRateLimiter limiter, Request request, Class<T> returnType) {
+        Response<T> response = delegate.execute(request, returnType);
+        long now = nanoClock.getAsLong();
+        pauseIfAsked(limiter, response, now);
+        long remaining = RateLimitHeaders.count(response.getResponseHeader("RateLimit-Remaining"));
+        long reset = RateLimitHeaders.secondsAsNanos(response.getResponseHeader("RateLimit-Reset"));
+        if (remaining >= 0 && reset >= 0) {
+            limiter.spread(remaining, reset, now);
+        }
+        return response;
+    }
+
+    private void pauseIfAsked(HostRateLimiter limiter, Response<?> response, long now) {
+        long retryAfter = RateLimitHeaders.retryAfterNanos(response.getResponseHeader("Retry-After"), clock.getAsLong());
+        if (response.getStatusCode() == TOO_MANY_REQUESTS) {
+            limiter.blockUntil(now + policy.capPause(retryAfter < 0 ? DEFAULT_PAUSE_NANOS : retryAfter));
+        } else if (response.getStatusCode() == SERVICE_UNAVAILABLE && retryAfter >= 0) {
+            limiter.blockUntil(now + policy.capPause(retryAfter));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.http.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+final class Responses {
+
+    private Responses() {
+    }
+
+    /**
+     * Closes the resource of a response which will not be returned, when it is Closeable, e.g. an InputStream
+     */
+    static void discard(Response<?> response) {
+        if (response.getResource() instanceof Closeable) {
+            try {
+                ((Closeable) response.getResource()).close();
+            } catch (IOException e) {
+                // the response is being discarded, so a failure to close it is of no interest
+            }
+        }
+    }
+}
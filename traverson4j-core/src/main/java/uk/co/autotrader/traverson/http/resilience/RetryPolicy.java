@@ -0,0 +1,140 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Immutable, decides which requests a {@link RetryingTraversonClient} retries, how long it backs off between
+ * attempts and how many retries it may send.</p>
+ *
+ * <p>GET, PUT and DELETE requests are retried, as repeating them has no further effect. POST and PATCH requests are
+ * only retried when they carry the idempotency key header, which must be configured.</p>
+ *
+ * <pre>
+ * RetryPolicy policy = RetryPolicy.maxAttempts(3)
+ *         .withBackoff(Duration.ofMillis(100), Duration.ofSeconds(1))
+ *         .withIdempotencyKeyHeader("Idempotency-Key");
+ * </pre>
+ */
+public final class RetryPolicy {
+    private static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(50);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(2);
+    private static final Set<Integer> DEFAULT_RETRY_STATUSES = Set.of(429, 502, 503, 504);
+    private static final double DEFAULT_RETRY_BUDGET = 0.2;
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Set<Integer> retryStatuses;
+    private final String idempotencyKeyHeader;
+    private final double retryBudget;
+
+    private RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Set<Integer> retryStatuses, String idempotencyKeyHeader, double retryBudget) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retryStatuses = retryStatuses;
+        this.idempotencyKeyHeader = idempotencyKeyHeader;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * @param maxAttempts the most attempts at each request, including the first
+     * @return a policy retrying on HttpException and on 429, 502, 503 and 504 responses
+     */
+    public static RetryPolicy maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        return new RetryPolicy(maxAttempts, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF, DEFAULT_RETRY_STATUSES, null, DEFAULT_RETRY_BUDGET);
+    }
+
+    /**
+     * The backoff doubles after every attempt, up to the max, and a random part of it is waited, so that clients
+     * which failed together do not retry together. Defaults to 50ms and 2s.
+     *
+     * @param initial the backoff before the first retry
+     * @param max the longest backoff
+     * @return a copy of this policy with the backoff
+     */
+    public RetryPolicy withBackoff(Duration initial, Duration max) {
+        if (initial.isNegative()) {
+            throw new IllegalArgumentException("backoff must not be negative");
+        }
+        if (max.compareTo(initial) < 0) {
+            throw new IllegalArgumentException("max backoff must not be less than the initial backoff");
+        }
+        return new RetryPolicy(maxAttempts, initial, max, retryStatuses, idempotencyKeyHeader, retryBudget);
+    }
+
+    /**
+     * @param statusCodes the response statuses to retry, replacing the default 429, 502, 503 and 504
+     * @return a copy of this policy retrying the statuses
+     */
+    public RetryPolicy retryingOnStatus(int... statusCodes) {
+        Set<Integer> statuses = Arrays.stream(statusCodes).boxed().collect(Collectors.toUnmodifiableSet());
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, statuses, idempotencyKeyHeader, retryBudget);
+    }
+
+    /**
+     * @param header the request header, e.g. Idempotency-Key, which makes POST and PATCH requests safe to retry
+     * @return a copy of this policy retrying POST and PATCH requests which carry the header
+     */
+    public RetryPolicy withIdempotencyKeyHeader(String header) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryStatuses, header, retryBudget);
+    }
+
+    /**
+     * Limits retries while a dependency is failing, so that they do not add to the outage. A burst of 10 retries is
+     * allowed before the fraction applies, unless the fraction is 0, which turns retries off.
+     *
+     * @param fraction the most retries to send, as a fraction of the requests, defaults to 0.2
+     * @return a copy of this policy with the limit
+     */
+    public RetryPolicy withRetryBudget(double fraction) {
+        if (fraction < 0) {
+            throw new IllegalArgumentException("fraction must not be negative");
+        }
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, retryStatuses, idempotencyKeyHeader, fraction);
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    double getRetryBudget() {
+        return retryBudget;
+    }
+
+    boolean isIdempotent(Request request) {
+        Method method = request.getMethod();
+        if (method == Method.POST || method == Method.PATCH) {
+            return idempotencyKeyHeader != null && request.getHeaders().keySet().stream().anyMatch(idempotencyKeyHeader::equalsIgnoreCase);
+        }
+        return true;
+    }
+
+    boolean isRetryable(Response<?> response) {
+        return retryStatuses.contains(response.getStatusCode());
+    }
+
+    /**
+     * @param retry the number of the retry, starting at 1
+     * @param random between 0 and 1, the part of the backoff to wait
+     * @return the nanoseconds to wait before the retry
+     */
+    long backoffNanos(int retry, double random) {
+        long ceiling = maxBackoff.toNanos();
+        long backoff = initialBackoff.toNanos();
+        for (int i = 1; i < retry && backoff < ceiling; i++) {
+            backoff *= 2;
+        }
+        return (long) (random * Math.min(backoff, ceiling));
+    }
+}
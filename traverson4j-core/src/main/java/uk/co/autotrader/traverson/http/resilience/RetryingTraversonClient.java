@@ -0,0 +1,162 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator which retries failed requests according to a {@link RetryPolicy}, covering
+ * every hop of a traversal as well as the terminal request, so a failing hop is retried without restarting the
+ * traversal from the root.</p>
+ *
+ * <p>Requests are retried when the delegate throws a {@link HttpException}, which includes connections found stale
+ * when taken from the pool, or responds with one of the retryable statuses. Once the attempts or the retry budget run
+ * out, the last failure is thrown or the last response returned. A retry is never started when its backoff would take
+ * the request past its timeout, and is sent with the timeout which remains, so the attempts together keep within it.
+ * The bodies of discarded responses are closed when they are Closeable.</p>
+ */
+public class RetryingTraversonClient implements TraversonClient {
+    private static final int RETRY_BURST = 10;
+    private static final long MINIMUM_TIMEOUT_NANOS = Duration.ofMillis(1).toNanos();
+
+    private final TraversonClient delegate;
+    private final RetryPolicy policy;
+    private final Sleeper sleeper;
+    private final DoubleSupplier jitter;
+    private final LongSupplier nanoClock;
+    private final LoadBudget budget;
+    private final LongAdder retries;
+    private final LongAdder budgetExhausted;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param policy which requests to retry, and when
+     */
+    public RetryingTraversonClient(TraversonClient delegate, RetryPolicy policy) {
+        this(delegate, policy, Sleeper.THREAD, () -> ThreadLocalRandom.current().nextDouble(), System::nanoTime);
+    }
+
+    RetryingTraversonClient(TraversonClient delegate, RetryPolicy policy, Sleeper sleeper, DoubleSupplier jitter, LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.sleeper = sleeper;
+        this.jitter = jitter;
+        this.nanoClock = nanoClock;
+        this.budget = new LoadBudget(policy.getRetryBudget(), RETRY_BURST);
+        this.retries = new LongAdder();
+        this.budgetExhausted = new LongAdder();
+    }
+
+    /**
+     * @return the number of retries sent
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the number of failed requests which were not retried, as the retry budget was exhausted
+     */
+    public long getBudgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        if (!policy.isIdempotent(request)) {
+            return delegate.execute(request, returnType);
+        }
+        budget.recordRequest();
+        Duration timeout = request.getTimeout();
+        long started = nanoClock.getAsLong();
+        try {
+            for (int retry = 1; ; retry++) {
+                Response<T> response = attempt(request, returnType, retry, timeout, started);
+                if (response != null) {
+                    return response;
+                }
+                shortenTimeout(request, timeout, started);
+            }
+        } finally {
+            request.setTimeout(timeout);
+        }
+    }
+
+    /**
+     * @return the response, or null when the request is to be retried
+     */
+    private <T> Response<T> attempt(Request request, Class<T> returnType, int retry, Duration timeout, long started) {
+        Response<T> response;
+        try {
+            response = delegate.execute(request, returnType);
+        } catch (HttpException failure) {
+            long backoff = backoffBeforeRetry(timeout, retry, started);
+            if (backoff < 0) {
+                throw failure;
+            }
+            sleep(backoff);
+            return null;
+        }
+        long backoff = policy.isRetryable(response) ? backoffBeforeRetry(timeout, retry, started) : -1;
+        if (backoff < 0) {
+            return response;
+        }
+        Responses.discard(response);
+        sleep(backoff);
+        return null;
+    }
+
+    /**
+     * @return the nanoseconds to wait before retrying, or -1 when the request is not to be retried
+     */
+    private long backoffBeforeRetry(Duration timeout, int retry, long started) {
+        if (retry >= policy.getMaxAttempts()) {
+            return -1;
+        }
+        long backoff = policy.backoffNanos(retry, jitter.getAsDouble());
+        if (exceedsTimeout(timeout, started, backoff)) {
+            return -1;
+        }
+        if (!budget.tryAcquire()) {
+            budgetExhausted.increment();
+            return -1;
+        }
+        retries.increment();
+        return backoff;
+    }
+
+    /**
+     * @return true when less than a millisecond of the timeout would remain for the retry once the backoff is over
+     */
+    private boolean exceedsTimeout(Duration timeout, long started, long backoff) {
+        return timeout != null && timeout.toNanos() - (nanoClock.getAsLong() - started + backoff) < MINIMUM_TIMEOUT_NANOS;
+    }
+
+    /**
+     * Gives the retry what remains of the timeout, as each attempt would otherwise be allowed the whole of it
+     */
+    private void shortenTimeout(Request request, Duration timeout, long started) {
+        if (timeout != null) {
+            long remaining = timeout.toNanos() - (nanoClock.getAsLong() - started);
+            request.setTimeout(Duration.ofNanos(Math.max(remaining, MINIMUM_TIMEOUT_NANOS)));
+        }
+    }
+
+    private void sleep(long backoff) {
+        try {
+            sleeper.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting to retry", e);
+        }
+    }
+}
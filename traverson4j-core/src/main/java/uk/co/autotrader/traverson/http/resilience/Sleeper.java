@@ -0,0 +1,11 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+/**
+ * Waits between requests, so tests can stand in for the real passage of time
+ */
+@FunctionalInterface
+interface Sleeper {
+    Sleeper THREAD = nanos -> Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+
+    void sleep(long nanos) throws InterruptedException;
+}
@@ -1,8 +1,15 @@
 package uk.co.autotrader.traverson.link;
 
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import uk.co.autotrader.traverson.exception.UnknownRelException;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class BasicLinkDiscoverer implements LinkDiscoverer {
     @Override
     public String findHref(JSONObject responseEntity, String rel) {
@@ -11,4 +18,49 @@ public class BasicLinkDiscoverer implements LinkDiscoverer {
         }
         throw new UnknownRelException(rel);
     }
+
+    @Override
+    public boolean mayHoldHref(String memberName, String rel) {
+        return memberName.equals(rel);
+    }
+
+    @Override
+    public List<String> findHrefs(JSONObject responseEntity, String rel) {
+        Object value = responseEntity.get(rel);
+        if (value instanceof JSONArray) {
+            return ((JSONArray) value).toJavaList(String.class);
+        }
+        return LinkDiscoverer.super.findHrefs(responseEntity, rel);
+    }
+
+    /**
+     * Plain json has no links section, so every string value, or array of strings, holding an absolute http url is
+     * taken as a link named by its key
+     */
+    @Override
+    public Map<String, List<String>> findAllHrefs(JSONObject responseEntity) {
+        Map<String, List<String>> hrefs = new LinkedHashMap<>();
+        responseEntity.forEach((rel, value) -> {
+            List<String> urls = urls(value);
+            if (!urls.isEmpty()) {
+                hrefs.put(rel, urls);
+            }
+        });
+        return hrefs;
+    }
+
+    private static List<String> urls(Object value) {
+        Iterable<?> candidates = value instanceof JSONArray ? (JSONArray) value : Collections.singletonList(value);
+        List<String> urls = new ArrayList<>();
+        for (Object candidate : candidates) {
+            if (candidate instanceof String && isHttpUrl((String) candidate)) {
+                urls.add((String) candidate);
+            }
+        }
+        return urls;
+    }
+
+    private static boolean isHttpUrl(String value) {
+        return value.startsWith("http://") || value.startsWith("https://");
+    }
 }
@@ -1,7 +1,80 @@
 package uk.co.autotrader.traverson.link;
 
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 public interface LinkDiscoverer {
     String findHref(JSONObject responseEntity, String rel);
+
+    /**
+     * Find every href for a rel which may resolve to an array of links, in document order
+     *
+     * @param responseEntity the resource holding the links
+     * @param rel the rel to resolve
+     * @return the hrefs, by default only the one found by {@link #findHref(JSONObject, String)}
+     */
+    default List<String> findHrefs(JSONObject responseEntity, String rel) {
+        return Collections.singletonList(findHref(responseEntity, rel));
+    }
+
+    /**
+     * Find a resource held within the response entity which is the target of the href, so it need not be fetched
+     *
+     * @param responseEntity the resource which may hold the target
+     * @param href the href resolved from the response entity
+     * @return the embedded target, by default null as plain json has no embedded resources
+     */
+    default JSONObject findEmbedded(JSONObject responseEntity, String href) {
+        return null;
+    }
+
+    /**
+     * Find the items of a collection resource, in document order
+     *
+     * @param responseEntity the collection resource
+     * @param rel the name of the array holding the items
+     * @return the items, by default the array held directly under the rel, or an empty array when there is none
+     */
+    default JSONArray findItems(JSONObject responseEntity, String rel) {
+        Object items = responseEntity.get(rel);
+        return items instanceof JSONArray ? (JSONArray) items : new JSONArray();
+    }
+
+    /**
+     * Find every link leading out of the resource, e.g. to crawl an API
+     *
+     * @param responseEntity the resource holding the links
+     * @return the hrefs by rel, in document order, by default none
+     */
+    default Map<String, List<String>> findAllHrefs(JSONObject responseEntity) {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Whether the top level member of a resource may hold the href of the rel, so a resource read one member at a time
+     * need only keep, and search, such members
+     *
+     * @param memberName the name of the top level member
+     * @param rel the rel being resolved
+     * @return true when the member may hold the href, by default for every member
+     */
+    default boolean mayHoldHref(String memberName, String rel) {
+        return true;
+    }
+
+    /**
+     * Prepare for rels which are resolved over and over again, e.g. by every run of a compiled traversal, so whatever
+     * can be worked out from the rels alone is only worked out once
+     *
+     * @param rels the rels to prepare for
+     * @return a link discoverer resolving every rel as this one does, by default this one as there is nothing to prepare
+     */
+    default LinkDiscoverer prepare(Collection<String> rels) {
+        return this;
+    }
 }
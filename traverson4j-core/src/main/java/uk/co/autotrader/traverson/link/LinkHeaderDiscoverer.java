@@ -0,0 +1,131 @@
+package uk.co.autotrader.traverson.link;
+
+import uk.co.autotrader.traverson.http.Response;
+
+import java.net.URI;
+import java.util.Arrays;
+
+/**
+ * Finds the hrefs of rels in the RFC 8288 Link header of a response, e.g.
+ * {@code Link: <http://localhost/items?page=2>; rel="next", </search>; rel="search alternate"}, so they can be
+ * resolved from a HEAD request rather than by fetching and parsing the resource. Stateless, so may be shared.
+ */
+public class LinkHeaderDiscoverer {
+    private static final String LINK_HEADER = "Link";
+
+    /**
+     * @param response the response holding the Link header, several Link headers being joined by commas
+     * @param requestUrl the url the request was sent to, which relative targets are resolved against when the
+     * response has no uri
+     * @param rel the relation type, matched case insensitively against each type of a link's rel parameter
+     * @return the target of the first link with the rel, resolved against the uri of the response when relative, or
+     * null when the response has no such link
+     */
+    public String findHref(Response<?> response, String requestUrl, String rel) {
+        String header = response.getResponseHeader(LINK_HEADER);
+        if (header == null) {
+            return null;
+        }
+        LinkHeaderReader reader = new LinkHeaderReader(header);
+        while (reader.nextLink()) {
+            String target = reader.readTarget();
+            if (target != null && hasRel(reader.readRelParam(), rel)) {
+                return resolve(response.getUri() == null ? URI.create(requestUrl) : response.getUri(), target);
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasRel(String relParam, String rel) {
+        return relParam != null && Arrays.stream(relParam.trim().split("\\s+")).anyMatch(rel::equalsIgnoreCase);
+    }
+
+    private static String resolve(URI base, String target) {
+        return target.contains("://") ? target : base.resolve(target).toString();
+    }
+
+    /**
+     * Reads the links of a Link header in turn, skipping the parameters other than rel, and honouring quoted
+     * parameter values, which may hold the ',' and ';' delimiters
+     */
+    private static final class LinkHeaderReader {
+        private static final char END = '\0';
+        private final String header;
+        private int position;
+
+        private LinkHeaderReader(String header) {
+            this.header = header;
+        }
+
+        private boolean nextLink() {
+            position = header.indexOf('<', position);
+            return position >= 0;
+        }
+
+        /**
+         * @return the target between the angle brackets, or null when they are never closed
+         */
+        private String readTarget() {
+            int end = header.indexOf('>', position);
+            if (end < 0) {
+                position = header.length();
+                return null;
+            }
+            String target = header.substring(position + 1, end).trim();
+            position = end + 1;
+            return target;
+        }
+
+        /**
+         * @return the value of the first rel parameter, or null when the link has none
+         */
+        private String readRelParam() {
+            String rel = null;
+            while (skipWhitespace() == ';') {
+                position++;
+                String name = readUntil("=;,").trim();
+                String value = readParamValue();
+                rel = rel == null && "rel".equalsIgnoreCase(name) ? value : rel;
+            }
+            return rel;
+        }
+
+        private String readParamValue() {
+            if (skipWhitespace() != '=') {
+                return "";
+            }
+            position++;
+            return skipWhitespace() == '"' ? readQuoted() : readUntil(";,").trim();
+        }
+
+        private String readQuoted() {
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < header.length() && header.charAt(position) != '"') {
+                char next = header.charAt(position);
+                if (next == '\\' && position + 1 < header.length()) {
+                    next = header.charAt(++position);
+                }
+                value.append(next);
+                position++;
+            }
+            position = Math.min(position + 1, header.length());
+            return value.toString();
+        }
+
+        private String readUntil(String delimiters) {
+            int start = position;
+            while (position < header.length() && delimiters.indexOf(header.charAt(position)) < 0) {
+                position++;
+            }
+            return header.substring(start, position);
+        }
+
+        private char skipWhitespace() {
+            while (position < header.length() && Character.isWhitespace(header.charAt(position))) {
+                position++;
+            }
+            return position < header.length() ? header.charAt(position) : END;
+        }
+    }
+}
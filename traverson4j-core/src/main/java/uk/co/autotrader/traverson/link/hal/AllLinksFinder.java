@@ -0,0 +1,51 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static java.util.Collections.singletonList;
+
+class AllLinksFinder {
+    private static final Set<String> UNFOLLOWED_RELS = Set.of("self", "curies");
+
+    /**
+     * Finds the hrefs of the '_links' section, other than self, curies and templated links, then the self links of
+     * the '_embedded' resources
+     */
+    Map<String, List<String>> findAll(JSONObject resource) {
+        Map<String, List<String>> hrefs = new LinkedHashMap<>();
+        section(resource, "_links").forEach((rel, value) -> {
+            if (!UNFOLLOWED_RELS.contains(rel)) {
+                addHrefs(hrefs, rel, value, AllLinksFinder::linkHref);
+            }
+        });
+        section(resource, "_embedded").forEach((rel, value) -> addHrefs(hrefs, rel, value, EmbeddedResourceFinder::selfHref));
+        return hrefs;
+    }
+
+    private static void addHrefs(Map<String, List<String>> hrefs, String rel, Object value, Function<JSONObject, String> hrefOf) {
+        Iterable<?> candidates = value instanceof JSONArray ? (JSONArray) value : singletonList(value);
+        for (Object candidate : candidates) {
+            String href = candidate instanceof JSONObject ? hrefOf.apply((JSONObject) candidate) : null;
+            if (href != null) {
+                hrefs.computeIfAbsent(rel, key -> new ArrayList<>()).add(href);
+            }
+        }
+    }
+
+    private static String linkHref(JSONObject link) {
+        return Boolean.TRUE.equals(link.getBoolean("templated")) ? null : link.getString("href");
+    }
+
+    private static JSONObject section(JSONObject resource, String name) {
+        Object section = resource.get(name);
+        return section instanceof JSONObject ? (JSONObject) section : new JSONObject();
+    }
+}
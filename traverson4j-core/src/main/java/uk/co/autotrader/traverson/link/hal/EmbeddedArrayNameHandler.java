@@ -31,6 +31,10 @@ class EmbeddedArrayNameHandler implements LinkDiscoverer {
         return null;
     }
 
+    String findHref(JSONObject resource, RelExpression expression) {
+        return findHref(resource, expression.getText());
+    }
+
     private JSONArray safeCastToJsonArray(Object object) {
         if (object instanceof JSONArray) {
             return (JSONArray) object;
@@ -0,0 +1,40 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import static java.util.Collections.singletonList;
+
+class EmbeddedResourceFinder {
+
+    JSONObject findBySelfHref(JSONObject resource, String href) {
+        JSONObject embedded = resource.getJSONObject("_embedded");
+        if (embedded != null) {
+            for (Object value : embedded.values()) {
+                JSONObject match = findMatch(value, href);
+                if (match != null) {
+                    return match;
+                }
+            }
+        }
+        return null;
+    }
+
+    private JSONObject findMatch(Object value, String href) {
+        Iterable<?> candidates = value instanceof JSONArray ? (JSONArray) value : singletonList(value);
+        for (Object candidate : candidates) {
+            if (candidate instanceof JSONObject && href.equals(selfHref((JSONObject) candidate))) {
+                return (JSONObject) candidate;
+            }
+        }
+        return null;
+    }
+
+    static String selfHref(JSONObject candidate) {
+        Object links = candidate.get("_links");
+        if (links instanceof JSONObject && ((JSONObject) links).get("self") instanceof JSONObject) {
+            return ((JSONObject) links).getJSONObject("self").getString("href");
+        }
+        return null;
+    }
+}
@@ -1,38 +1,151 @@
 package uk.co.autotrader.traverson.link.hal;
 
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import uk.co.autotrader.traverson.link.LinkDiscoverer;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class HalLinkDiscoverer implements LinkDiscoverer {
+    private static final String LINKS = "_links";
+    private static final String EMBEDDED = "_embedded";
 
-    private final List<? extends LinkDiscoverer> linkHandlers;
+    private final EmbeddedArrayNameHandler embeddedArrayNameHandler;
+    private final RelByArrayPropertyDiscoverer relByArrayPropertyDiscoverer;
+    private final RelByArrayIndexDiscoverer relByArrayIndexDiscoverer;
+    private final LinksRelHandler linksRelHandler;
+    private final EmbeddedResolver embeddedResolver;
+    private final List<HalEntityResolver> arrayResolvers;
+    private final EmbeddedResourceFinder embeddedResourceFinder;
+    private final AllLinksFinder allLinksFinder;
+    private final Map<String, RelExpression> preparedRels;
 
     public HalLinkDiscoverer() {
-        this.linkHandlers = Arrays.asList(
-                new EmbeddedArrayNameHandler(),
-                new RelByArrayPropertyDiscoverer(
-                        new LinksResolver(),
-                        new EmbeddedResolver()),
-                new RelByArrayIndexDiscoverer(
-                        new EmbeddedResolver(),
-                        new LinksResolver()),
-                new LinksRelHandler());
+        this.embeddedArrayNameHandler = new EmbeddedArrayNameHandler();
+        this.relByArrayPropertyDiscoverer = new RelByArrayPropertyDiscoverer(
+                new LinksResolver(),
+                new EmbeddedResolver());
+        this.relByArrayIndexDiscoverer = new RelByArrayIndexDiscoverer(
+                new EmbeddedResolver(),
+                new LinksResolver());
+        this.linksRelHandler = new LinksRelHandler();
+        this.embeddedResolver = new EmbeddedResolver();
+        this.arrayResolvers = Arrays.asList(embeddedResolver, new LinksResolver());
+        this.embeddedResourceFinder = new EmbeddedResourceFinder();
+        this.allLinksFinder = new AllLinksFinder();
+        this.preparedRels = Collections.emptyMap();
     }
 
+    private HalLinkDiscoverer(HalLinkDiscoverer discoverer, Map<String, RelExpression> preparedRels) {
+        this.embeddedArrayNameHandler = discoverer.embeddedArrayNameHandler;
+        this.relByArrayPropertyDiscoverer = discoverer.relByArrayPropertyDiscoverer;
+        this.relByArrayIndexDiscoverer = discoverer.relByArrayIndexDiscoverer;
+        this.linksRelHandler = discoverer.linksRelHandler;
+        this.embeddedResolver = discoverer.embeddedResolver;
+        this.arrayResolvers = discoverer.arrayResolvers;
+        this.embeddedResourceFinder = discoverer.embeddedResourceFinder;
+        this.allLinksFinder = discoverer.allLinksFinder;
+        this.preparedRels = preparedRels;
+    }
+
+    /**
+     * Parses the rel once, unless it was prepared, then resolves an embedded item named by the rel, otherwise its
+     * plain, index or property selector from '_links' or '_embedded' accordingly.
+     */
     @Override
     public String findHref(JSONObject responseEntity, String rel) {
-        for (int i = 0; i < linkHandlers.size() - 1; i++) {
-            LinkDiscoverer linkHandler = linkHandlers.get(i);
-            String url = linkHandler.findHref(responseEntity, rel);
+        RelExpression expression = preparedRels.get(rel);
+        return findHref(responseEntity, expression != null ? expression : RelExpressionParser.parse(rel));
+    }
+
+    private String findHref(JSONObject responseEntity, RelExpression expression) {
+        switch (expression.getKind()) {
+            case EMBEDDED_NAME:
+                return findByEmbeddedName(responseEntity, expression);
+            case PROPERTY:
+                return relByArrayPropertyDiscoverer.findHref(responseEntity, expression);
+            case INDEX:
+                return relByArrayIndexDiscoverer.findHref(responseEntity, expression);
+            default:
+                return linksRelHandler.findHref(responseEntity, expression);
+        }
+    }
+
+    private String findByEmbeddedName(JSONObject responseEntity, RelExpression expression) {
+        String url = embeddedArrayNameHandler.findHref(responseEntity, expression);
+        return url != null ? url : findHref(responseEntity, expression.getSelector());
+    }
+
+    /**
+     * Only '_links' and '_embedded' hold hrefs
+     */
+    @Override
+    public boolean mayHoldHref(String memberName, String rel) {
+        return LINKS.equals(memberName) || EMBEDDED.equals(memberName);
+    }
 
-            if (url != null) {
-                return url;
+    /**
+     * Resolves the self link of every item in an '_embedded' array, otherwise every href in a '_links' array.
+     * A rel which is not an array resolves as {@link #findHref(JSONObject, String)} would.
+     */
+    @Override
+    public List<String> findHrefs(JSONObject responseEntity, String rel) {
+        for (HalEntityResolver resolver : arrayResolvers) {
+            JSONArray entities = resolver.findJSONArrayRelation(responseEntity, rel);
+            if (!entities.isEmpty()) {
+                return resolveLinks(resolver, entities);
             }
         }
-        LinkDiscoverer lastLinkHandler = linkHandlers.get(linkHandlers.size() - 1);
-        return lastLinkHandler.findHref(responseEntity, rel);
+        return LinkDiscoverer.super.findHrefs(responseEntity, rel);
+    }
+
+    /**
+     * Finds the '_embedded' resource, or item of an '_embedded' array, whose self link is the href
+     */
+    @Override
+    public JSONObject findEmbedded(JSONObject responseEntity, String href) {
+        return embeddedResourceFinder.findBySelfHref(responseEntity, href);
+    }
+
+    /**
+     * Finds the items of the '_embedded' array named by the rel
+     */
+    @Override
+    public JSONArray findItems(JSONObject responseEntity, String rel) {
+        return embeddedResolver.findJSONArrayRelation(responseEntity, rel);
+    }
+
+    /**
+     * Finds the hrefs of the '_links' section, other than self, curies and templated links, then the self links of the
+     * '_embedded' resources, which may be partial representations
+     */
+    @Override
+    public Map<String, List<String>> findAllHrefs(JSONObject responseEntity) {
+        return allLinksFinder.findAll(responseEntity);
+    }
+
+    /**
+     * Parses the rels up front, holding them apart from the parser's cache, which is bounded so an application with
+     * many distinct rels may otherwise parse them again on every run
+     */
+    @Override
+    public LinkDiscoverer prepare(Collection<String> rels) {
+        Map<String, RelExpression> parsed = new HashMap<>(preparedRels);
+        rels.forEach(rel -> parsed.put(rel, RelExpressionParser.parseUncached(rel)));
+        return new HalLinkDiscoverer(this, parsed);
+    }
+
+    private List<String> resolveLinks(HalEntityResolver resolver, JSONArray entities) {
+        List<String> hrefs = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            hrefs.add(resolver.resolveLink(entities.getJSONObject(i)));
+        }
+        return hrefs;
     }
 }
@@ -12,12 +12,16 @@ class LinksRelHandler implements LinkDiscoverer {
 
     @Override
     public String findHref(JSONObject resource, String rel) {
+        return findHref(resource, RelExpressionParser.parse(rel).getSelector());
+    }
+
+    String findHref(JSONObject resource, RelExpression expression) {
         JSONObject links = resource.getJSONObject("_links");
 
-        if (links.containsKey(rel)) {
-            return links.getJSONObject(rel).getString("href");
+        if (links.containsKey(expression.getText())) {
+            return links.getJSONObject(expression.getText()).getString("href");
         } else {
-            throw new UnknownRelException(rel, sort(links.keySet()));
+            throw new UnknownRelException(expression.describe(), sort(links.keySet()));
         }
     }
 
@@ -9,15 +9,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
 class RelByArrayIndexDiscoverer implements LinkDiscoverer {
-    private static final Pattern REL_AND_ARRAY_INDEX = Pattern.compile("(.*)\\[(\\d+)\\]");
-
     private final List<HalEntityResolver> halEntityResolvers;
 
     RelByArrayIndexDiscoverer(HalEntityResolver... halEntityResolvers) {
@@ -26,18 +22,19 @@ class RelByArrayIndexDiscoverer implements LinkDiscoverer {
 
     @Override
     public String findHref(JSONObject responseEntity, String rel) {
-        Matcher matcher = REL_AND_ARRAY_INDEX.matcher(rel);
-
-        if (matcher.matches()) {
-            String relName = matcher.group(1);
-            int arrayIndex = Integer.parseInt(matcher.group(2));
+        RelExpression expression = RelExpressionParser.parse(rel).getSelector();
 
-            return this.findLink(responseEntity, relName, arrayIndex);
+        if (expression.getKind() == RelExpression.Kind.INDEX) {
+            return findHref(responseEntity, expression);
         }
 
         return null;
     }
 
+    String findHref(JSONObject responseEntity, RelExpression expression) {
+        return this.findLink(responseEntity, expression.getName(), expression.getIndex());
+    }
+
     private String findLink(JSONObject resource, String relName, int arrayIndex) {
         for (HalEntityResolver resolver : this.halEntityResolvers) {
             JSONArray entities = resolver.findJSONArrayRelation(resource, relName);
@@ -9,15 +9,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 
 class RelByArrayPropertyDiscoverer implements LinkDiscoverer {
-    private static final Pattern RELATION_WITH_PROPERTY_AND_VALUE = Pattern.compile("(.*)\\[(.*):(.*)\\]");
-
     private final List<HalEntityResolver> halEntityResolvers;
 
     RelByArrayPropertyDiscoverer(HalEntityResolver... halEntityResolvers) {
@@ -26,19 +22,19 @@ class RelByArrayPropertyDiscoverer implements LinkDiscoverer {
 
     @Override
     public String findHref(JSONObject responseEntity, String rel) {
-        Matcher matcher = RELATION_WITH_PROPERTY_AND_VALUE.matcher(rel);
-
-        if (matcher.matches()) {
-            String relName = matcher.group(1);
-            String propertyName = matcher.group(2);
-            String propertyValue = matcher.group(3);
+        RelExpression expression = RelExpressionParser.parse(rel).getSelector();
 
-            return this.findLink(responseEntity, relName, propertyName, propertyValue);
+        if (expression.getKind() == RelExpression.Kind.PROPERTY) {
+            return findHref(responseEntity, expression);
         }
 
         return null;
     }
 
+    String findHref(JSONObject responseEntity, RelExpression expression) {
+        return this.findLink(responseEntity, expression.getName(), expression.getPropertyName(), expression.getPropertyValue());
+    }
+
     private String findLink(JSONObject resource, String relName, String propertyName, String propertyValue) {
         for (HalEntityResolver resolver : this.halEntityResolvers) {
             JSONArray entities = resolver.findJSONArrayRelation(resource, relName);
@@ -0,0 +1,110 @@
+package uk.co.autotrader.traverson.link.hal;
+
+/**
+ * An immutable, parsed rel, see {@link RelExpressionParser}
+ */
+final class RelExpression {
+    private final Kind kind;
+    private final String text;
+    private final String name;
+    private final int index;
+    private final String propertyName;
+    private final String propertyValue;
+    private final String problem;
+    private final RelExpression selector;
+
+    private RelExpression(Kind kind, String text, String name, int index, String propertyName, String propertyValue, String problem,
+                          RelExpression selector) {
+        this.kind = kind;
+        this.text = text;
+        this.name = name;
+        this.index = index;
+        this.propertyName = propertyName;
+        this.propertyValue = propertyValue;
+        this.problem = problem;
+        this.selector = selector;
+    }
+
+    static RelExpression plain(String text) {
+        return new RelExpression(Kind.PLAIN, text, text, -1, null, null, null, null);
+    }
+
+    static RelExpression malformed(String text, String problem) {
+        return new RelExpression(Kind.PLAIN, text, text, -1, null, null, problem, null);
+    }
+
+    static RelExpression index(String text, String name, int index) {
+        return new RelExpression(Kind.INDEX, text, name, index, null, null, null, null);
+    }
+
+    static RelExpression property(String text, String name, String propertyName, String propertyValue) {
+        return new RelExpression(Kind.PROPERTY, text, name, -1, propertyName, propertyValue, null, null);
+    }
+
+    static RelExpression embeddedName(RelExpression selector) {
+        return new RelExpression(Kind.EMBEDDED_NAME, selector.text, selector.name, -1, null, null, selector.problem, selector);
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the rel as written, which is also the name matched by the embedded name selector
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * @return the rel name, without any selector
+     */
+    String getName() {
+        return name;
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    String getPropertyName() {
+        return propertyName;
+    }
+
+    String getPropertyValue() {
+        return propertyValue;
+    }
+
+    /**
+     * @return the plain, index or property expression to resolve when no '_embedded' item is named by the rel
+     */
+    RelExpression getSelector() {
+        return selector;
+    }
+
+    /**
+     * @return the rel as written, along with why its selector could not be parsed when it looks like one
+     */
+    String describe() {
+        return problem == null ? text : String.format("%s (%s)", text, problem);
+    }
+
+    enum Kind {
+        /**
+         * An item of an '_embedded' array whose name property is the rel, e.g. "AutoTrader", otherwise its selector
+         */
+        EMBEDDED_NAME,
+        /**
+         * A rel looked up by name, e.g. "vehicles"
+         */
+        PLAIN,
+        /**
+         * An item of an array rel selected by position, e.g. "vehicles[0]"
+         */
+        INDEX,
+        /**
+         * An item of an array rel selected by one of its properties, e.g. "vehicles[make:ford]"
+         */
+        PROPERTY
+    }
+}
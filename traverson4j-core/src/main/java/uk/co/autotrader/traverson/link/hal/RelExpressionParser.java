@@ -0,0 +1,68 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe
+ *
+ * <p>Parses rels of the form {@code name}, {@code name[index]} or {@code name[property:value]}, caching the result
+ * so each distinct rel is only parsed once. Every rel parses to an embedded name expression, as any rel may name an
+ * '_embedded' item, holding the selector to resolve otherwise. Bracketed text which is not a valid selector is kept
+ * as a plain rel, as a '_links' key may legitimately contain brackets, and the reason is reported should that rel
+ * not be found.</p>
+ */
+final class RelExpressionParser {
+    private static final int MAXIMUM_CACHED_RELS = 1024;
+    private static final Map<String, RelExpression> CACHE = new ConcurrentHashMap<>();
+
+    private RelExpressionParser() {
+    }
+
+    static RelExpression parse(String rel) {
+        RelExpression expression = CACHE.get(rel);
+        if (expression == null) {
+            expression = parseUncached(rel);
+            if (CACHE.size() < MAXIMUM_CACHED_RELS) {
+                CACHE.putIfAbsent(rel, expression);
+            }
+        }
+        return expression;
+    }
+
+    static RelExpression parseUncached(String rel) {
+        return RelExpression.embeddedName(parseSelector(rel));
+    }
+
+    private static RelExpression parseSelector(String rel) {
+        int open = rel.lastIndexOf('[');
+        if (open < 0 || !rel.endsWith("]")) {
+            return parsePlain(rel);
+        }
+        String name = rel.substring(0, open);
+        String selector = rel.substring(open + 1, rel.length() - 1);
+        int colon = selector.lastIndexOf(':');
+        if (colon >= 0) {
+            return RelExpression.property(rel, name, selector.substring(0, colon), selector.substring(colon + 1));
+        }
+        return parseIndex(rel, name, selector);
+    }
+
+    private static RelExpression parsePlain(String rel) {
+        if (rel.indexOf('[') < 0 && rel.indexOf(']') < 0) {
+            return RelExpression.plain(rel);
+        }
+        return RelExpression.malformed(rel, "expected name[index] or name[property:value]");
+    }
+
+    private static RelExpression parseIndex(String rel, String name, String selector) {
+        if (selector.isEmpty() || !selector.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return RelExpression.malformed(rel, "index must be a non-negative integer");
+        }
+        try {
+            return RelExpression.index(rel, name, Integer.parseInt(selector));
+        } catch (NumberFormatException tooLarge) {
+            return RelExpression.malformed(rel, "index is too large");
+        }
+    }
+}
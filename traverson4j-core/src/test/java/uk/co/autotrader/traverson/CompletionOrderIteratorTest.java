@@ -0,0 +1,106 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CompletionOrderIteratorTest {
+    private final List<Runnable> workers = new ArrayList<>();
+
+    @Test
+    public void new_StartsNoMoreWorkersThanTheParallelism() {
+        new CompletionOrderIterator<>(Arrays.<Supplier<String>>asList(() -> "a", () -> "b", () -> "c"), 2, workers::add);
+
+        assertThat(workers).hasSize(2);
+    }
+
+    @Test
+    public void next_ReturnsTheResultsInTheOrderTheTasksComplete() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService threads = Executors.newCachedThreadPool();
+        try {
+            CompletionOrderIterator<String> results = new CompletionOrderIterator<>(Arrays.<Supplier<String>>asList(() -> {
+                await(release);
+                return "slow";
+            }, () -> "fast"), 2, threads);
+
+            assertThat(results.next()).isEqualTo("fast");
+            release.countDown();
+            assertThat(results.next()).isEqualTo("slow");
+            assertThat(results.hasNext()).isFalse();
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void next_GivenATaskFails_ThrowsTheFailureAndStopsTheTasksNotYetStarted() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        AtomicInteger started = new AtomicInteger();
+        CompletionOrderIterator<String> results = new CompletionOrderIterator<>(Arrays.<Supplier<String>>asList(() -> "a", () -> {
+            throw failure;
+        }, () -> {
+            started.incrementAndGet();
+            return "c";
+        }), 1, Runnable::run);
+
+        assertThat(results.next()).isEqualTo("a");
+        assertThatThrownBy(results::next).isSameAs(failure);
+        assertThat(results.hasNext()).isFalse();
+        assertThat(started).hasValue(0);
+    }
+
+    @Test
+    public void next_GivenNoMoreElements_ThrowsNoSuchElementException() {
+        CompletionOrderIterator<String> results = new CompletionOrderIterator<>(Collections.emptyList(), 2, Runnable::run);
+
+        assertThat(workers).isEmpty();
+        assertThatThrownBy(results::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void next_GivenInterruptedWhileWaiting_ThrowsHttpException() {
+        CompletionOrderIterator<String> results = new CompletionOrderIterator<>(Collections.<Supplier<String>>singletonList(() -> "a"), 1, workers::add);
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(results::next)
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting for a traversal to complete")
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    public void close_StopsTheTasksNotYetStarted() {
+        AtomicInteger started = new AtomicInteger();
+        CompletionOrderIterator<Integer> results = new CompletionOrderIterator<>(Collections.<Supplier<Integer>>singletonList(started::incrementAndGet), 1, workers::add);
+
+        results.close();
+        workers.forEach(Runnable::run);
+
+        assertThat(results.hasNext()).isFalse();
+        assertThat(started).hasValue(0);
+    }
+
+    private static void await(CountDownLatch release) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
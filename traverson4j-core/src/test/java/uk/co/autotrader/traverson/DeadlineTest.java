@@ -0,0 +1,68 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.exception.DeadlineExceededException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Request;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DeadlineTest {
+    private final AtomicLong now = new AtomicLong(Duration.ofHours(1).toNanos());
+
+    @Test
+    public void applyTo_GivesTheRequestTheRemainingBudget() {
+        Deadline deadline = new Deadline(Duration.ofSeconds(2), null, now::get);
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        Request request = new Request();
+
+        deadline.applyTo(request, "GET http://localhost");
+
+        assertThat(request.getTimeout()).isEqualTo(Duration.ofMillis(1500));
+        assertThat(request.getHeaders()).isEmpty();
+    }
+
+    @Test
+    public void applyTo_GivenHeader_SendsTheRemainingMilliseconds() {
+        Deadline deadline = new Deadline(Duration.ofSeconds(2), "Request-Timeout", now::get);
+        Request request = new Request();
+
+        deadline.applyTo(request, "GET http://localhost");
+
+        assertThat(request.getHeaders()).containsEntry("Request-Timeout", "2000");
+        assertThat(request.getTimeoutHeader()).isEqualTo("Request-Timeout");
+    }
+
+    @Test
+    public void applyTo_GivenLessThanAMillisecondRemains_ThrowsDeadlineExceededException() {
+        Deadline deadline = new Deadline(Duration.ofSeconds(2), null, now::get);
+        now.addAndGet(Duration.ofSeconds(2).minusNanos(1).toNanos());
+
+        assertThatThrownBy(() -> deadline.applyTo(new Request(), "GET http://localhost"))
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Deadline of PT2S exceeded at GET http://localhost");
+    }
+
+    @Test
+    public void translate_GivenTheBudgetRemains_ReturnsTheFailure() {
+        Deadline deadline = new Deadline(Duration.ofSeconds(2), null, now::get);
+        HttpException failure = new HttpException("boom", null);
+
+        assertThat(deadline.translate(failure, "GET http://localhost")).isSameAs(failure);
+    }
+
+    @Test
+    public void translate_GivenTheBudgetRanOut_ReturnsDeadlineExceededExceptionCausedByTheFailure() {
+        Deadline deadline = new Deadline(Duration.ofSeconds(2), null, now::get);
+        now.addAndGet(Duration.ofSeconds(3).toNanos());
+        HttpException failure = new HttpException("boom", null);
+
+        RuntimeException translated = deadline.translate(failure, "GET http://localhost");
+
+        assertThat(translated).isInstanceOf(DeadlineExceededException.class).hasCause(failure);
+    }
+}
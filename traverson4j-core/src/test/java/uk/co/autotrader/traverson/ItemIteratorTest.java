@@ -0,0 +1,63 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ItemIteratorTest {
+
+    @Test
+    public void next_GivenPages_ReturnsTheItemsOfEveryPageInOrderSkippingEmptyPages() {
+        Iterator<JSONObject> pages = Arrays.asList(page(1, 2), page(), page(3)).iterator();
+        ItemIterator<JSONObject> items = new ItemIterator<>(pages, page -> page.getJSONArray("items"), JSONObject.class);
+
+        assertThat(items.next().getIntValue("id")).isEqualTo(1);
+        assertThat(items.next().getIntValue("id")).isEqualTo(2);
+        assertThat(items.next().getIntValue("id")).isEqualTo(3);
+        assertThat(items.hasNext()).isFalse();
+    }
+
+    @Test
+    public void next_DoesNotPullTheNextPageUntilTheCurrentOneRunsOut() {
+        Iterator<JSONObject> pages = Arrays.asList(page(1), page(2)).iterator();
+        ItemIterator<JSONObject> items = new ItemIterator<>(pages, page -> page.getJSONArray("items"), JSONObject.class);
+
+        items.next();
+
+        assertThat(pages.hasNext()).isTrue();
+    }
+
+    @Test
+    public void next_GivenOtherItemType_ConvertsEachItem() {
+        ItemIterator<String> items = new ItemIterator<>(Collections.singletonList(page(1)).iterator(), page -> page.getJSONArray("items"), String.class);
+
+        assertThat(items.next()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    public void next_GivenNoMoreItems_ThrowsNoSuchElementException() {
+        ItemIterator<JSONObject> items = new ItemIterator<>(Collections.singletonList(page()).iterator(), page -> page.getJSONArray("items"), JSONObject.class);
+
+        assertThatThrownBy(items::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static JSONObject page(int... ids) {
+        JSONArray items = new JSONArray();
+        for (int id : ids) {
+            JSONObject item = new JSONObject();
+            item.put("id", id);
+            items.add(item);
+        }
+        JSONObject page = new JSONObject();
+        page.put("items", items);
+        return page;
+    }
+}
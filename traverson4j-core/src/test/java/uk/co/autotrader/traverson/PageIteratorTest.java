@@ -0,0 +1,71 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PageIteratorTest {
+    @Mock
+    private TraversonBuilder traversal;
+    private final JSONObject firstPage = JSON.parseObject("{\"page\":1}");
+    private final JSONObject secondPage = JSON.parseObject("{\"page\":2}");
+    private PageIterator pages;
+
+    @Before
+    public void setUp() {
+        pages = new PageIterator(traversal, "next");
+    }
+
+    @Test
+    public void hasNext_FetchesTheFirstPageOnlyOnce() {
+        when(traversal.fetchTargetResource()).thenReturn(firstPage);
+
+        assertThat(pages.hasNext()).isTrue();
+        assertThat(pages.hasNext()).isTrue();
+
+        verify(traversal, times(1)).fetchTargetResource();
+    }
+
+    @Test
+    public void next_FollowsTheNextRelUntilAPageHasNone() {
+        when(traversal.fetchTargetResource()).thenReturn(firstPage);
+        when(traversal.findHrefIfPresent(firstPage, "next")).thenReturn("http://localhost/?page=2");
+        when(traversal.fetchResource("http://localhost/?page=2")).thenReturn(secondPage);
+        when(traversal.findHrefIfPresent(secondPage, "next")).thenReturn(null);
+
+        assertThat(pages.next()).isSameAs(firstPage);
+        assertThat(pages.next()).isSameAs(secondPage);
+        assertThat(pages.hasNext()).isFalse();
+        verify(traversal, times(1)).fetchResource("http://localhost/?page=2");
+    }
+
+    @Test
+    public void next_DoesNotFetchTheFollowingPageUntilAskedFor() {
+        when(traversal.fetchTargetResource()).thenReturn(firstPage);
+        when(traversal.findHrefIfPresent(firstPage, "next")).thenReturn("http://localhost/?page=2");
+
+        pages.next();
+
+        verify(traversal, never()).fetchResource(anyString());
+    }
+
+    @Test
+    public void next_GivenNoMorePages_ThrowsNoSuchElementException() {
+        when(traversal.fetchTargetResource()).thenReturn(firstPage);
+        when(traversal.findHrefIfPresent(firstPage, "next")).thenReturn(null);
+        pages.next();
+
+        assertThatThrownBy(pages::next).isInstanceOf(NoSuchElementException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathTrieTest {
+
+    @Test
+    public void of_MergesThePathsOnTheirCommonPrefixes() {
+        PathTrie root = PathTrie.of(Arrays.asList(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList("a", "b", "d"),
+                Arrays.asList("a", "e")));
+
+        assertThat(root.isTerminal()).isFalse();
+        assertThat(root.getPath()).isEmpty();
+        assertThat(root.getChildren()).containsOnlyKeys("a");
+        PathTrie a = root.getChildren().get("a");
+        assertThat(a.getPath()).containsExactly("a");
+        assertThat(a.getChildren()).containsOnlyKeys("b", "e");
+        PathTrie b = a.getChildren().get("b");
+        assertThat(b.isTerminal()).isFalse();
+        assertThat(b.getChildren().keySet()).containsExactly("c", "d");
+        PathTrie c = b.getChildren().get("c");
+        assertThat(c.getPath()).containsExactly("a", "b", "c");
+        assertThat(c.isTerminal()).isTrue();
+        assertThat(c.isLeaf()).isTrue();
+    }
+
+    @Test
+    public void of_GivenAPathEndingWhereAnotherCarriesOn_MarksItTerminal() {
+        List<List<String>> paths = Arrays.asList(Collections.singletonList("a"), Arrays.asList("a", "b"));
+
+        PathTrie a = PathTrie.of(paths).getChildren().get("a");
+
+        assertThat(a.isTerminal()).isTrue();
+        assertThat(a.isLeaf()).isFalse();
+    }
+
+    @Test
+    public void of_GivenAnEmptyPath_MarksTheRootTerminal() {
+        PathTrie root = PathTrie.of(Collections.singletonList(Collections.emptyList()));
+
+        assertThat(root.isTerminal()).isTrue();
+        assertThat(root.isLeaf()).isTrue();
+    }
+}
@@ -0,0 +1,124 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrefetchingIteratorTest {
+    private final List<Runnable> pulls = new ArrayList<>();
+
+    @Test
+    public void new_SchedulesThePrefetchOnTheExecutor() {
+        new PrefetchingIterator<>(Arrays.asList("a", "b", "c").iterator(), 2, pulls::add);
+
+        assertThat(pulls).hasSize(1);
+    }
+
+    @Test
+    public void next_ReturnsEveryElementInOrderKeepingThePrefetchAhead() {
+        CountingIterator source = new CountingIterator("a", "b", "c", "d");
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(source, 2, Runnable::run);
+
+        assertThat(source.pulled).isEqualTo(2);
+        assertThat(elements.next()).isEqualTo("a");
+        assertThat(source.pulled).isEqualTo(3);
+        assertThat(elements.next()).isEqualTo("b");
+        assertThat(elements.next()).isEqualTo("c");
+        assertThat(elements.next()).isEqualTo("d");
+        assertThat(elements.hasNext()).isFalse();
+    }
+
+    @Test
+    public void next_GivenPrefetchOfOne_ReturnsEveryElement() {
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(Arrays.asList("a", "b").iterator(), 1, Runnable::run);
+
+        assertThat(elements.next()).isEqualTo("a");
+        assertThat(elements.next()).isEqualTo("b");
+        assertThat(elements.hasNext()).isFalse();
+    }
+
+    @Test
+    public void next_GivenNoMoreElements_ThrowsNoSuchElementException() {
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(Arrays.<String>asList().iterator(), 2, Runnable::run);
+
+        assertThatThrownBy(elements::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void hasNext_GivenThePullFails_ThrowsTheFailure() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        Iterator<String> source = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                throw failure;
+            }
+
+            @Override
+            public String next() {
+                throw new NoSuchElementException();
+            }
+        };
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(source, 1, Runnable::run);
+
+        assertThatThrownBy(elements::hasNext).isSameAs(failure);
+    }
+
+    @Test
+    public void hasNext_GivenThePullThrowsAnError_ThrowsTheCompletionException() {
+        LinkageError error = new LinkageError("boom");
+        Iterator<String> source = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                throw error;
+            }
+
+            @Override
+            public String next() {
+                throw new NoSuchElementException();
+            }
+        };
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(source, 1, Runnable::run);
+
+        assertThatThrownBy(elements::hasNext).isInstanceOf(CompletionException.class).hasCause(error);
+    }
+
+    @Test
+    public void close_CancelsThePullsNotYetRunAndEndsTheIteration() {
+        CountingIterator source = new CountingIterator("a", "b");
+        PrefetchingIterator<String> elements = new PrefetchingIterator<>(source, 2, pulls::add);
+
+        elements.close();
+        pulls.forEach(Runnable::run);
+
+        assertThat(elements.hasNext()).isFalse();
+        assertThat(source.pulled).isZero();
+    }
+
+    private static final class CountingIterator implements Iterator<String> {
+        private final Iterator<String> elements;
+        private int pulled;
+
+        private CountingIterator(String... elements) {
+            this.elements = Arrays.asList(elements).iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return elements.hasNext();
+        }
+
+        @Override
+        public String next() {
+            pulled++;
+            return elements.next();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package uk.co.autotrader.traverson;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+    final List<T> items = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+    int completions;
+    Flow.Subscription subscription;
+    Consumer<T> onNextAction = item -> { };
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+        items.add(item);
+        onNextAction.accept(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        errors.add(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        completions++;
+    }
+}
@@ -0,0 +1,107 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.RequestKey;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResolvedPathCacheTest {
+    private final AtomicLong nanoTime = new AtomicLong();
+    private ResolvedPathCache cache;
+    private Request request;
+
+    @Before
+    public void setUp() {
+        cache = new ResolvedPathCache(Duration.ofSeconds(10), 2, nanoTime::get);
+        request = new Request();
+        request.setUrl("http://localhost/");
+    }
+
+    @Test
+    public void init_GivenMaximumSizeLessThanOne_ThrowsException() {
+        assertThatThrownBy(() -> new ResolvedPathCache(Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maximumSize must be at least 1");
+    }
+
+    @Test
+    public void get_GivenNoEntry_ReturnsNull() {
+        assertThat(cache.get(key("a", "b"))).isNull();
+    }
+
+    @Test
+    public void get_GivenEntryWithinTimeToLive_ReturnsHref() {
+        cache.put(key("a", "b"), "http://localhost/b");
+        nanoTime.addAndGet(Duration.ofSeconds(9).toNanos());
+
+        assertThat(cache.get(key("a", "b"))).isEqualTo("http://localhost/b");
+    }
+
+    @Test
+    public void get_GivenExpiredEntry_ReturnsNullAndEvictsTheEntry() {
+        cache.put(key("a", "b"), "http://localhost/b");
+        nanoTime.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(cache.get(key("a", "b"))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void put_GivenMaximumSizeReached_EvictsTheLeastRecentlyUsedEntry() {
+        cache.put(key("a"), "http://localhost/a");
+        cache.put(key("b"), "http://localhost/b");
+        cache.get(key("a"));
+
+        cache.put(key("c"), "http://localhost/c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key("a"))).isEqualTo("http://localhost/a");
+        assertThat(cache.get(key("b"))).isNull();
+        assertThat(cache.get(key("c"))).isEqualTo("http://localhost/c");
+    }
+
+    @Test
+    public void invalidate_RemovesTheEntry() {
+        cache.put(key("a"), "http://localhost/a");
+
+        cache.invalidate(key("a"));
+
+        assertThat(cache.get(key("a"))).isNull();
+    }
+
+    @Test
+    public void invalidateAll_RemovesAllEntries() {
+        cache.put(key("a"), "http://localhost/a");
+        cache.put(key("b"), "http://localhost/b");
+
+        cache.invalidateAll();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void isStale_GivenNotFoundOrGone_ReturnsTrue() {
+        assertThat(ResolvedPathCache.isStale(response(404))).isTrue();
+        assertThat(ResolvedPathCache.isStale(response(410))).isTrue();
+        assertThat(ResolvedPathCache.isStale(response(200))).isFalse();
+        assertThat(ResolvedPathCache.isStale(response(500))).isFalse();
+    }
+
+    private RequestKey key(String... rels) {
+        return ResolvedPathCache.key(request, Arrays.asList(rels));
+    }
+
+    private Response<String> response(int statusCode) {
+        Response<String> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+}
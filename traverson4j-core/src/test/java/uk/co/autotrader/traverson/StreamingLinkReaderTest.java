@@ -0,0 +1,152 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.exception.ConversionException;
+import uk.co.autotrader.traverson.exception.UnknownRelException;
+import uk.co.autotrader.traverson.http.Abortable;
+import uk.co.autotrader.traverson.link.BasicLinkDiscoverer;
+import uk.co.autotrader.traverson.link.hal.HalLinkDiscoverer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingLinkReaderTest {
+
+    @Test
+    public void findHref_GivenTheRelIsInTheLinksAndLittleRemains_ReadsTheRestAndClosesTheStream() {
+        AbortableStream resource = new AbortableStream("{\"name\": \"small\", \"_links\": {\"next\": {\"href\": \"http://localhost/2\"}},"
+                + " \"_embedded\": {\"items\": [ this is never parsed");
+
+        String href = new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "next");
+
+        assertThat(href).isEqualTo("http://localhost/2");
+        assertThat(resource.aborted).isFalse();
+        assertThat(resource.available()).isZero();
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenTheRelIsInTheLinksAndMuchRemains_StopsReadingAndAbortsTheStream() {
+        AbortableStream resource = new AbortableStream("{\"name\": \"big\", \"_links\": {\"next\": {\"href\": \"http://localhost/2\"}},"
+                + " \"_embedded\": {\"items\": [" + " ".repeat(2 * StreamingLinkReader.DRAIN_LIMIT) + "this is never parsed");
+
+        String href = new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "next");
+
+        assertThat(href).isEqualTo("http://localhost/2");
+        assertThat(resource.aborted).isTrue();
+        assertThat(resource.available()).isPositive();
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenReadingTheRestFails_AbortsTheStream() {
+        AbortableStream resource = new AbortableStream("{\"_links\": {\"next\": {\"href\": \"http://localhost/2\"}}, \"rest\": [");
+        resource.failToDrain = true;
+
+        String href = new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "next");
+
+        assertThat(href).isEqualTo("http://localhost/2");
+        assertThat(resource.aborted).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenTheRelIsInAnEmbeddedItem_FindsItsSelfLink() {
+        AbortableStream resource = new AbortableStream("{\"_links\": {\"self\": {\"href\": \"http://localhost/\"}},"
+                + " \"_embedded\": {\"items\": [{\"name\": \"first\", \"_links\": {\"self\": {\"href\": \"http://localhost/1\"}}}]}}");
+
+        String href = new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "first");
+
+        assertThat(href).isEqualTo("http://localhost/1");
+    }
+
+    @Test
+    public void findHref_GivenNoSuchRel_ReadsTheWholeResourceAndThrowsUnknownRelException() {
+        AbortableStream resource = new AbortableStream("{\"_links\": {\"self\": {\"href\": \"http://localhost/\"}}, \"name\": \"value\"}");
+
+        assertThatThrownBy(() -> new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "next"))
+                .isInstanceOf(UnknownRelException.class);
+        assertThat(resource.aborted).isFalse();
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenBasicJson_OnlyKeepsTheMemberNamedByTheRel() {
+        ByteArrayInputStream resource = new ByteArrayInputStream("{\"other\": \"http://localhost/other\", \"next\": \"http://localhost/2\", \"rest\": ["
+                .getBytes(StandardCharsets.UTF_8));
+
+        String href = new StreamingLinkReader(new BasicLinkDiscoverer()).findHref(resource, "next");
+
+        assertThat(href).isEqualTo("http://localhost/2");
+    }
+
+    @Test
+    public void findHref_GivenInvalidJson_ThrowsConversionException() {
+        AbortableStream resource = new AbortableStream("[\"not an object\"]");
+
+        assertThatThrownBy(() -> new StreamingLinkReader(new HalLinkDiscoverer()).findHref(resource, "next"))
+                .isInstanceOf(ConversionException.class)
+                .hasMessage("Failed to parse to JSONObject");
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenNestedMembersBeforeTheRel_SkipsThem() {
+        AbortableStream resource = new AbortableStream("{\"other\": {\"next\": [1, {\"a\": [[]]}], \"b\": {}}, \"list\": [\"next\"],"
+                + " \"next\": \"http://localhost/2\"}");
+
+        String href = new StreamingLinkReader(new BasicLinkDiscoverer()).findHref(resource, "next");
+
+        assertThat(href).isEqualTo("http://localhost/2");
+    }
+
+    @Test
+    public void findHref_GivenTheResourceEndsWithinASkippedMember_ThrowsConversionException() {
+        AbortableStream resource = new AbortableStream("{\"other\": [1, 2");
+
+        assertThatThrownBy(() -> new StreamingLinkReader(new BasicLinkDiscoverer()).findHref(resource, "next"))
+                .isInstanceOf(ConversionException.class)
+                .hasMessage("Failed to parse to JSONObject");
+        assertThat(resource.closed).isTrue();
+    }
+
+    @Test
+    public void findHref_GivenMembersWithoutASeparator_ThrowsConversionException() {
+        AbortableStream resource = new AbortableStream("{\"other\": 1 \"next\": \"http://localhost/2\"}");
+
+        assertThatThrownBy(() -> new StreamingLinkReader(new BasicLinkDiscoverer()).findHref(resource, "next"))
+                .isInstanceOf(ConversionException.class);
+    }
+
+    private static class AbortableStream extends ByteArrayInputStream implements Abortable {
+        private boolean aborted;
+        private boolean closed;
+        private boolean failToDrain;
+
+        private AbortableStream(String content) {
+            super(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+        }
+
+        @Override
+        public int read(byte[] bytes) throws IOException {
+            if (failToDrain) {
+                throw new IOException("reset");
+            }
+            return super.read(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+}
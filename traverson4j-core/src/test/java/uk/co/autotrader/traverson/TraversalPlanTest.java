@@ -0,0 +1,162 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TraversalPlanTest {
+    @Mock
+    private TraversonClient client;
+    @Mock
+    private Response<JSONObject> response;
+    @Mock
+    private Response<String> stringResponse;
+    private TraversalPlan plan;
+
+    @Before
+    public void setUp() {
+        plan = new TraversonBuilder(client, Runnable::run)
+                .from("http://localhost/")
+                .json()
+                .withHeader("header", "value")
+                .withQueryParam("query", "1")
+                .withAuth("user", "password")
+                .compile();
+    }
+
+    @Test
+    public void newTraversal_ReturnsANewBuilderLoadedWithThePlan() throws Exception {
+        TraversonBuilder first = plan.newTraversal();
+        TraversonBuilder second = plan.newTraversal();
+
+        assertThat(first).isNotSameAs(second);
+        Request request = reflectionGetRequest(first);
+        assertThat(request).isNotSameAs(reflectionGetRequest(second));
+        assertThat(request.getUrl()).isEqualTo("http://localhost/");
+        assertThat(request.getAcceptMimeType()).isEqualTo("application/json");
+        assertThat(request.getHeaders()).containsEntry("header", "value");
+        assertThat(request.getAuthCredentials()).hasSize(1);
+    }
+
+    @Test
+    public void newTraversal_GivenValuesAddedToOneTraversal_DoesNotChangeThePlan() throws Exception {
+        plan.newTraversal().withTemplateParam("id", "1").withQueryParam("query", "2").withHeader("header", "other");
+
+        Request request = reflectionGetRequest(plan.newTraversal());
+
+        assertThat(request.getTemplateParams()).isEmpty();
+        assertThat(request.getQueryParameters().get("query")).containsExactly("1");
+        assertThat(request.getHeaders()).containsEntry("header", "value");
+    }
+
+    @Test
+    public void newTraversal_SharesTheHeadersAndAuthCredentialsOfThePlan() throws Exception {
+        Request first = reflectionGetRequest(plan.newTraversal());
+        Request second = reflectionGetRequest(plan.newTraversal());
+
+        assertThat(FieldUtils.readDeclaredField(first, "headers", true)).isSameAs(FieldUtils.readDeclaredField(second, "headers", true));
+        assertThat(FieldUtils.readDeclaredField(first, "authCredentials", true)).isSameAs(FieldUtils.readDeclaredField(second, "authCredentials", true));
+    }
+
+    @Test
+    public void compile_GivenDeadlineStartedByAnEarlierRun_KeepsTheBudgetButNotTheDeadline() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(response);
+        TraversonBuilder builder = new TraversonBuilder(client, Runnable::run).from("http://localhost/").json().withDeadline(Duration.ofSeconds(5));
+        builder.get();
+
+        TraversonBuilder traversal = builder.compile().newTraversal();
+
+        assertThat(FieldUtils.readDeclaredField(builder, "deadline", true)).isNotNull();
+        assertThat(FieldUtils.readDeclaredField(traversal, "deadline", true)).isNull();
+        assertThat(FieldUtils.readDeclaredField(traversal, "deadlineBudget", true)).isEqualTo(Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void compile_GivenJsonHal_PreparesEveryRelOfThePlan() throws Exception {
+        TraversonBuilder builder = new TraversonBuilder(client, Runnable::run).from("http://localhost/").jsonHal()
+                .follow("first").followAll("items[0]", "last");
+
+        TraversonBuilder traversal = builder.compile().newTraversal();
+
+        Object linkDiscoverer = FieldUtils.readDeclaredField(traversal, "linkDiscoverer", true);
+        assertThat(linkDiscoverer).isNotSameAs(FieldUtils.readDeclaredField(builder, "linkDiscoverer", true));
+        assertThat((Map<String, ?>) FieldUtils.readDeclaredField(linkDiscoverer, "preparedRels", true)).containsOnlyKeys("first", "items[0]", "last");
+    }
+
+    @Test
+    public void compile_GivenNoLinkDiscoverer_HasNothingToPrepare() throws Exception {
+        TraversonBuilder traversal = new TraversonBuilder(client, Runnable::run).from("http://localhost/").compile().newTraversal();
+
+        assertThat(FieldUtils.readDeclaredField(traversal, "linkDiscoverer", true)).isNull();
+    }
+
+    @Test
+    public void get_RunsThePlan() {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(response);
+
+        assertThat(plan.get()).isSameAs(response);
+    }
+
+    @Test
+    public void get_GivenReturnType_RunsThePlan() {
+        when(client.execute(any(Request.class), eq(String.class))).thenReturn(stringResponse);
+
+        assertThat(plan.get(String.class)).isSameAs(stringResponse);
+    }
+
+    @Test
+    public void getAsync_RunsThePlan() {
+        when(client.execute(any(Request.class), eq(String.class))).thenReturn(stringResponse);
+
+        CompletableFuture<Response<String>> future = plan.getAsync(String.class);
+
+        assertThat(future.join()).isSameAs(stringResponse);
+    }
+
+    @Test
+    public void get_GivenManyThreads_EachRunUsesItsOwnRequest() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(response);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Response<JSONObject>>> runs = IntStream.range(0, 20)
+                    .mapToObj(i -> threads.submit(() -> plan.newTraversal().withTemplateParam("id", String.valueOf(i)).get()))
+                    .collect(Collectors.toList());
+            for (Future<Response<JSONObject>> run : runs) {
+                assertThat(run.get()).isSameAs(response);
+            }
+        } finally {
+            threads.shutdown();
+        }
+
+        ArgumentCaptor<Request> requests = ArgumentCaptor.forClass(Request.class);
+        verify(client, times(20)).execute(requests.capture(), eq(JSONObject.class));
+        assertThat(requests.getAllValues().stream().map(request -> request.getTemplateParams().get("id").get(0)).distinct()).hasSize(20);
+    }
+
+    private Request reflectionGetRequest(TraversonBuilder builder) throws IllegalAccessException {
+        return (Request) FieldUtils.readDeclaredField(builder, "request", true);
+    }
+}
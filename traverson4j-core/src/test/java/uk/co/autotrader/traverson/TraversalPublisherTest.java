@@ -0,0 +1,233 @@
+package uk.co.autotrader.traverson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TraversalPublisherTest {
+
+    @Test
+    public void subscribe_GivenNullSubscriber_ThrowsNullPointerException() {
+        TraversalPublisher<String> publisher = new TraversalPublisher<>(() -> items("a"), Runnable::run);
+
+        assertThatThrownBy(() -> publisher.subscribe(null)).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void subscribe_DoesNotPullFromTheSourceUntilRequested() {
+        AtomicInteger sourcesCreated = new AtomicInteger();
+        TraversalPublisher<String> publisher = new TraversalPublisher<>(() -> {
+            sourcesCreated.incrementAndGet();
+            return items("a");
+        }, Runnable::run);
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+
+        publisher.subscribe(subscriber);
+
+        assertThat(subscriber.subscription).isNotNull();
+        assertThat(sourcesCreated).hasValue(0);
+        subscriber.subscription.request(1);
+        assertThat(sourcesCreated).hasValue(1);
+    }
+
+    @Test
+    public void request_GivenDemand_EmitsNoMoreItemsThanRequested() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a", "b", "c"), Runnable::run));
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.items).containsExactly("a", "b");
+        assertThat(subscriber.completions).isZero();
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly("a", "b", "c");
+        assertThat(subscriber.completions).isZero();
+    }
+
+    @Test
+    public void request_GivenNoMoreItems_CompletesOnce() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a"), Runnable::run));
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(5);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completions).isEqualTo(1);
+        assertThat(subscriber.errors).isEmpty();
+    }
+
+    @Test
+    public void single_CompletesAsSoonAsTheValueIsSent() {
+        RecordingSubscriber<String> subscriber = subscribe(TraversalPublisher.single(() -> "a", Runnable::run));
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completions).isEqualTo(1);
+    }
+
+    @Test
+    public void single_GivenCancelledWithinOnNext_DoesNotComplete() {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        subscriber.onNextAction = item -> subscriber.subscription.cancel();
+        TraversalPublisher.single(() -> "a", Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completions).isZero();
+    }
+
+    @Test
+    public void request_GivenTheSourceFails_SignalsTheFailureOnce() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> {
+            throw failure;
+        }, Runnable::run));
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.errors).containsExactly(failure);
+        assertThat(subscriber.completions).isZero();
+    }
+
+    @Test
+    public void request_GivenAnItemFails_SignalsTheFailureAfterTheEarlierItems() {
+        IllegalStateException failure = new IllegalStateException("boom");
+        Iterator<String> failingItems = new Iterator<String>() {
+            private boolean first = true;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public String next() {
+                if (first) {
+                    first = false;
+                    return "a";
+                }
+                throw failure;
+            }
+        };
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> failingItems, Runnable::run));
+
+        subscriber.subscription.request(3);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.errors).containsExactly(failure);
+    }
+
+    @Test
+    public void request_GivenNonPositiveDemand_SignalsIllegalArgumentException() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a"), Runnable::run));
+
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.errors).hasSize(1);
+        assertThat(subscriber.errors.get(0)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("request must be positive, but was 0");
+    }
+
+    @Test
+    public void request_GivenNonPositiveDemandAfterCompleting_SignalsNothingMore() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a"), Runnable::run));
+
+        subscriber.subscription.request(2);
+        subscriber.subscription.request(-1);
+
+        assertThat(subscriber.completions).isEqualTo(1);
+        assertThat(subscriber.errors).isEmpty();
+    }
+
+    @Test
+    public void request_GivenDemandWhichOverflows_KeepsEmittingUntilComplete() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a", "b"), Runnable::run));
+        subscriber.onNextAction = item -> subscriber.subscription.request(Long.MAX_VALUE);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.items).containsExactly("a", "b");
+        assertThat(subscriber.completions).isEqualTo(1);
+    }
+
+    @Test
+    public void request_FromWithinOnNext_IsPickedUpByTheRunningDrainRatherThanRecursing() {
+        List<Runnable> drains = new ArrayList<>();
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a", "b", "c"), drain -> {
+            drains.add(drain);
+            drain.run();
+        }));
+        subscriber.onNextAction = item -> subscriber.subscription.request(1);
+
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly("a", "b", "c");
+        assertThat(subscriber.completions).isEqualTo(1);
+        assertThat(drains).hasSize(1);
+    }
+
+    @Test
+    public void request_RunsTheDrainOnTheExecutorRatherThanTheRequestingThread() {
+        List<Runnable> drains = new ArrayList<>();
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a"), drains::add));
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(drains).hasSize(1);
+
+        drains.get(0).run();
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completions).isEqualTo(1);
+    }
+
+    @Test
+    public void cancel_StopsEmitting() {
+        RecordingSubscriber<String> subscriber = subscribe(new TraversalPublisher<>(() -> items("a", "b", "c"), Runnable::run));
+        subscriber.onNextAction = item -> subscriber.subscription.cancel();
+
+        subscriber.subscription.request(3);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).containsExactly("a");
+        assertThat(subscriber.completions).isZero();
+    }
+
+    @Test
+    public void subscribe_GivenManySubscribers_GivesEachItsOwnItems() {
+        TraversalPublisher<String> publisher = new TraversalPublisher<>(() -> items("a", "b"), Runnable::run);
+        RecordingSubscriber<String> first = subscribe(publisher);
+        RecordingSubscriber<String> second = subscribe(publisher);
+
+        first.subscription.request(2);
+        second.subscription.request(1);
+
+        assertThat(first.items).containsExactly("a", "b");
+        assertThat(second.items).containsExactly("a");
+    }
+
+    private static RecordingSubscriber<String> subscribe(TraversalPublisher<String> publisher) {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static Iterator<String> items(String... items) {
+        return Arrays.asList(items).iterator();
+    }
+}
@@ -1,5 +1,7 @@
 package uk.co.autotrader.traverson;
 
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.google.common.collect.ImmutableMap;
 import org.apache.commons.lang3.reflect.FieldUtils;
@@ -9,20 +11,39 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.DeadlineExceededException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.exception.IllegalHttpStatusException;
 import uk.co.autotrader.traverson.exception.IncompleteTraversalException;
+import uk.co.autotrader.traverson.exception.UnknownRelException;
 import uk.co.autotrader.traverson.http.*;
 import uk.co.autotrader.traverson.link.BasicLinkDiscoverer;
 import uk.co.autotrader.traverson.link.LinkDiscoverer;
 import uk.co.autotrader.traverson.link.hal.HalLinkDiscoverer;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.data.MapEntry.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -52,11 +73,15 @@ public class TraversonBuilderTest {
     public Response<JSONObject> secondResponse;
     @Mock
     public Response<String> stringResponse;
+    @Mock
+    private AsyncTraversonClient asyncClient;
+    private final List<String> sentRequests = new ArrayList<>();
 
     @Before
     public void setUp() throws Exception {
         builder = new TraversonBuilder(client);
         FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        lenient().when(linkDiscoverer.prepare(anyCollection())).thenReturn(linkDiscoverer);
     }
 
     private Request reflectionGetRequest() throws IllegalAccessException {
@@ -452,4 +477,1298 @@ public class TraversonBuilderTest {
         assertThat(request.getMethod()).isEqualTo(Method.GET);
         verifyNoInteractions(linkDiscoverer);
     }
+    @Test
+    public void getAsync_GivenBlockingClient_ExecutesOnTheExecutor() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.getAsync().join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(request.getBody()).isNull();
+        assertThat(request.getMethod()).isEqualTo(Method.GET);
+    }
+
+    @Test
+    public void getAsync_GivenAsyncClient_UsesTheNonBlockingExecution() throws Exception {
+        builder = new TraversonBuilder(asyncClient, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        when(asyncClient.executeAsync(any(Request.class), eq(String.class))).thenReturn(CompletableFuture.completedFuture(stringResponse));
+
+        Response<String> response = builder.getAsync(String.class).join();
+
+        assertThat(response).isEqualTo(stringResponse);
+        verify(asyncClient, never()).execute(any(Request.class), any(Class.class));
+    }
+
+    @Test
+    public void getAsync_GivenRelToFollow_NavigatesToLastRelThenPerformsMethod() throws Exception {
+        builder = new TraversonBuilder(asyncClient, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        when(firstResponse.isSuccessful()).thenReturn(true);
+        when(firstResponse.getResource()).thenReturn(resource);
+        when(asyncClient.executeAsync(reflectionGetRequest(), JSONObject.class))
+                .thenReturn(CompletableFuture.completedFuture(firstResponse))
+                .thenReturn(CompletableFuture.completedFuture(secondResponse));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/next");
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").getAsync().join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(secondResponse);
+        assertThat(request.getUrl()).isEqualTo("http://localhost/next");
+        assertThat(request.getMethod()).isEqualTo(Method.GET);
+    }
+
+    @Test
+    public void getAsync_GivenRelToFollow_CompletesExceptionallyWhenANonSuccessfulResponseIsReturnedMidwayThroughTraversing() throws Exception {
+        when(firstResponse.getUri()).thenReturn(URI.create("http://brokenurl.com/not_found"));
+        when(firstResponse.isSuccessful()).thenReturn(false);
+        when(firstResponse.getStatusCode()).thenReturn(404);
+        when(client.execute(reflectionGetRequest(), JSONObject.class)).thenReturn(firstResponse);
+
+        CompletableFuture<Response<JSONObject>> response = builder.from("http://localhost/").follow("rel").getAsync();
+
+        assertThatThrownBy(response::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IncompleteTraversalException.class)
+                .hasMessageContaining("Received status code 404 from url http://brokenurl.com/not_found");
+        verifyNoInteractions(linkDiscoverer);
+    }
+
+    @Test
+    public void deleteAsync_GivenInputs_BuildsRequestAndExecutes() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.deleteAsync().join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(request.getBody()).isNull();
+        assertThat(request.getMethod()).isEqualTo(Method.DELETE);
+    }
+
+    @Test
+    public void postAsync_GivenInputs_BuildsRequestAndExecutes() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.postAsync(body).join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(request.getBody()).isEqualTo(body);
+        assertThat(request.getMethod()).isEqualTo(Method.POST);
+    }
+
+    @Test
+    public void putAsync_GivenInputs_BuildsRequestAndExecutes() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.putAsync(body).join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(request.getBody()).isEqualTo(body);
+        assertThat(request.getMethod()).isEqualTo(Method.PUT);
+    }
+
+    @Test
+    public void patchAsync_GivenInputs_BuildsRequestAndExecutes() throws Exception {
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.patchAsync(body).join();
+
+        Request request = reflectionGetRequest();
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(request.getBody()).isEqualTo(body);
+        assertThat(request.getMethod()).isEqualTo(Method.PATCH);
+    }
+
+    @Test
+    public void get_GivenResolvedPathCacheMiss_FollowsRelsAndCachesTheResolvedHref() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        when(firstResponse.isSuccessful()).thenReturn(true);
+        when(firstResponse.getResource()).thenReturn(resource);
+        when(client.execute(reflectionGetRequest(), JSONObject.class)).thenReturn(firstResponse).thenReturn(secondResponse);
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/next");
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").withResolvedPathCache(cache).get();
+
+        assertThat(response).isEqualTo(secondResponse);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_GivenResolvedPathCacheHit_SkipsStraightToTheResolvedHref() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        Request seed = new Request();
+        seed.setUrl("http://localhost/");
+        cache.put(ResolvedPathCache.key(seed, Collections.singletonList("rel")), "http://localhost/next");
+        when(secondResponse.getStatusCode()).thenReturn(200);
+        when(client.execute(reflectionGetRequest(), JSONObject.class)).thenReturn(secondResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").withResolvedPathCache(cache).get();
+
+        assertThat(response).isEqualTo(secondResponse);
+        assertThat(reflectionGetRequest().getUrl()).isEqualTo("http://localhost/next");
+        verify(client, times(1)).execute(any(Request.class), any(Class.class));
+        verifyNoInteractions(linkDiscoverer);
+    }
+
+    @Test
+    public void get_GivenResolvedHrefIsGone_FallsBackToAFullTraversalAndRepopulatesTheCache() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        Request seed = new Request();
+        seed.setUrl("http://localhost/");
+        RequestKey key = ResolvedPathCache.key(seed, Collections.singletonList("rel"));
+        cache.put(key, "http://localhost/old");
+        InputStream goneBody = mock(InputStream.class);
+        Response<InputStream> goneResponse = new Response<>();
+        goneResponse.setStatusCode(410);
+        goneResponse.setResource(goneBody);
+        Response<InputStream> terminalResponse = new Response<>();
+        terminalResponse.setStatusCode(200);
+        when(firstResponse.isSuccessful()).thenReturn(true);
+        when(firstResponse.getResource()).thenReturn(resource);
+        when(client.execute(reflectionGetRequest(), InputStream.class)).thenReturn(goneResponse).thenReturn(terminalResponse);
+        when(client.execute(reflectionGetRequest(), JSONObject.class)).thenReturn(firstResponse);
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/new");
+
+        Response<InputStream> response = builder.from("http://localhost/").follow("rel").withResolvedPathCache(cache).get(InputStream.class);
+
+        assertThat(response).isSameAs(terminalResponse);
+        assertThat(cache.get(key)).isEqualTo("http://localhost/new");
+        verify(goneBody).close();
+    }
+
+    @Test
+    public void get_GivenResolvedHrefIsGoneAndTheBodyFailsToClose_StillFallsBackToAFullTraversal() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        Request seed = new Request();
+        seed.setUrl("http://localhost/");
+        cache.put(ResolvedPathCache.key(seed, Collections.singletonList("rel")), "http://localhost/old");
+        InputStream goneBody = mock(InputStream.class);
+        doThrow(new IOException()).when(goneBody).close();
+        Response<InputStream> goneResponse = new Response<>();
+        goneResponse.setStatusCode(404);
+        goneResponse.setResource(goneBody);
+        Response<InputStream> terminalResponse = new Response<>();
+        when(firstResponse.isSuccessful()).thenReturn(true);
+        when(firstResponse.getResource()).thenReturn(resource);
+        when(client.execute(reflectionGetRequest(), InputStream.class)).thenReturn(goneResponse).thenReturn(terminalResponse);
+        when(client.execute(reflectionGetRequest(), JSONObject.class)).thenReturn(firstResponse);
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/new");
+
+        Response<InputStream> response = builder.from("http://localhost/").follow("rel").withResolvedPathCache(cache).get(InputStream.class);
+
+        assertThat(response).isSameAs(terminalResponse);
+    }
+
+    @Test
+    public void get_GivenResolvedPathCacheAndNoRels_DoesNotUseTheCache() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        when(client.execute(any(Request.class), eq(JSONObject.class))).thenReturn(firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").withResolvedPathCache(cache).get();
+
+        assertThat(response).isEqualTo(firstResponse);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void followAll_SetsTheFanOutRelAndRelsToFollowAfterwards() throws Exception {
+        assertThat(builder.followAll("items", "detail", "image")).isEqualTo(builder);
+
+        assertThat(FieldUtils.readDeclaredField(builder, "fanOutRel", true)).isEqualTo("items");
+        assertThat(FieldUtils.readDeclaredField(builder, "relsAfterFanOut", true)).isEqualTo(Arrays.asList("detail", "image"));
+    }
+
+    @Test
+    public void withParallelism_GivenLessThanOne_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> builder.withParallelism(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("parallelism must be at least 1");
+    }
+
+    @Test
+    public void getAll_GivenFollowAllNotCalled_ThrowsIllegalStateException() {
+        assertThatThrownBy(() -> builder.from("http://localhost/").getAll())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("followAll must be called before getAll");
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void getAll_GivenFollowAll_TraversesEveryHrefAndReturnsTheResponsesInDocumentOrder() throws Exception {
+        builder = new TraversonBuilder(client);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        Response<JSONObject> first = responseWith(200, new JSONObject());
+        Response<JSONObject> second = responseWith(200, new JSONObject());
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Arrays.asList("http://localhost/1", "http://localhost/2"));
+        stubGet("http://localhost/1", first);
+        stubGet("http://localhost/2", second);
+
+        List<Response<JSONObject>> responses = builder.from("http://localhost/").followAll("items").getAll();
+
+        assertThat(responses).containsExactly(first, second);
+    }
+
+    @Test
+    public void getAll_GivenRelsBeforeAndAfterTheFanOut_FollowsThemWithACopyOfTheRequest() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject list = new JSONObject();
+        JSONObject item = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "list")).thenReturn("http://localhost/list");
+        stubGet("http://localhost/list", responseWith(200, list));
+        when(linkDiscoverer.findHrefs(list, "items")).thenReturn(Collections.singletonList("http://localhost/item"));
+        stubGet("http://localhost/item", responseWith(200, item));
+        when(linkDiscoverer.findHref(item, "detail")).thenReturn("http://localhost/detail");
+        when(client.execute(argThat(urlIs("http://localhost/detail")), eq(String.class))).thenReturn(stringResponse);
+
+        List<Response<String>> responses = builder.from("http://localhost/")
+                .withHeader("header", "value")
+                .follow("list")
+                .followAll("items", "detail")
+                .getAll(String.class);
+
+        assertThat(responses).containsExactly(stringResponse);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(client).execute(requestCaptor.capture(), eq(String.class));
+        assertThat(requestCaptor.getValue()).isNotSameAs(reflectionGetRequest());
+        assertThat(requestCaptor.getValue().getMethod()).isEqualTo(Method.GET);
+        assertThat(requestCaptor.getValue().getHeaders()).containsEntry("header", "value");
+    }
+
+    @Test
+    public void getAll_GivenFanOutResourceIsNotSuccessful_ThrowsIllegalHttpStatusException() throws Exception {
+        stubGet("http://localhost/", responseWith(500, resource));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").followAll("items").getAll())
+                .isInstanceOf(IllegalHttpStatusException.class);
+        verifyNoInteractions(linkDiscoverer);
+    }
+
+    @Test
+    public void streamAll_GivenFollowAllNotCalled_ThrowsIllegalStateException() {
+        assertThatThrownBy(() -> builder.from("http://localhost/").streamAll())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("followAll must be called before streamAll");
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void streamAll_GivenFollowAll_StreamsTheResponseOfEveryBranch() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        Response<JSONObject> first = responseWith(200, new JSONObject());
+        Response<JSONObject> second = responseWith(200, new JSONObject());
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Arrays.asList("http://localhost/1", "http://localhost/2"));
+        stubGet("http://localhost/1", first);
+        stubGet("http://localhost/2", second);
+
+        try (Stream<Response<JSONObject>> responses = builder.from("http://localhost/").followAll("items").streamAll()) {
+            assertThat(responses).containsExactlyInAnyOrder(first, second);
+        }
+    }
+
+    @Test
+    public void streamAll_GivenTheStreamIsClosed_StartsNoMoreBranches() throws Exception {
+        List<Runnable> workers = new ArrayList<>();
+        builder = new TraversonBuilder(client, workers::add);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Arrays.asList("http://localhost/1", "http://localhost/2"));
+
+        builder.from("http://localhost/").followAll("items").streamAll(String.class).close();
+        workers.forEach(Runnable::run);
+
+        verify(client, never()).execute(any(Request.class), eq(String.class));
+    }
+
+    @Test
+    public void getAll_GivenNoHrefs_ReturnsAnEmptyList() throws Exception {
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Collections.emptyList());
+
+        assertThat(builder.from("http://localhost/").followAll("items").getAll()).isEmpty();
+    }
+
+    @Test
+    public void getAll_GivenParallelism_StartsNoMoreWorkersThanTheParallelism() throws Exception {
+        List<Runnable> workers = new ArrayList<>();
+        builder = new TraversonBuilder(client, worker -> {
+            workers.add(worker);
+            worker.run();
+        });
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Arrays.asList("http://localhost/1", "http://localhost/2", "http://localhost/3"));
+        stubGet("http://localhost/1", firstResponse);
+        stubGet("http://localhost/2", secondResponse);
+        stubGet("http://localhost/3", firstResponse);
+
+        List<Response<JSONObject>> responses = builder.from("http://localhost/").followAll("items").withParallelism(2).getAll();
+
+        assertThat(responses).containsExactly(firstResponse, secondResponse, firstResponse);
+        assertThat(workers).hasSize(2);
+    }
+
+    @Test
+    public void getAll_GivenABranchFails_ThrowsTheFailureAndSkipsTheRemainingBranches() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        HttpException failure = new HttpException("boom", null);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Arrays.asList("http://localhost/1", "http://localhost/2"));
+        when(client.execute(argThat(urlIs("http://localhost/1")), eq(JSONObject.class))).thenThrow(failure);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").followAll("items").withParallelism(1).getAll()).isSameAs(failure);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/2")), eq(JSONObject.class));
+    }
+
+    @Test
+    public void getAll_GivenABranchThrowsAnError_ThrowsTheCompletionException() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        LinkageError error = new LinkageError("boom");
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Collections.singletonList("http://localhost/1"));
+        when(client.execute(argThat(urlIs("http://localhost/1")), eq(JSONObject.class))).thenThrow(error);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").followAll("items").getAll())
+                .isInstanceOf(CompletionException.class)
+                .hasCause(error);
+    }
+
+    @Test
+    public void preferEmbedded_SetsPreferEmbedded() throws Exception {
+        assertThat(builder.preferEmbedded()).isEqualTo(builder);
+
+        assertThat(FieldUtils.readDeclaredField(builder, "preferEmbedded", true)).isEqualTo(true);
+    }
+
+    @Test
+    public void get_GivenPreferEmbeddedAndTargetIsEmbedded_ReturnsTheEmbeddedResourceWithoutFetchingIt() throws Exception {
+        JSONObject embedded = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/item");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/item")).thenReturn(embedded);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").preferEmbedded().get();
+
+        assertThat(response.getResource()).isSameAs(embedded);
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getUri()).isEqualTo(URI.create("http://localhost/item"));
+        verify(client, times(1)).execute(any(Request.class), any(Class.class));
+    }
+
+    @Test
+    public void get_GivenPreferEmbeddedAndOtherReturnType_ConvertsTheEmbeddedResource() throws Exception {
+        JSONObject embedded = new JSONObject();
+        embedded.put("name", "embedded");
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/item");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/item")).thenReturn(embedded);
+
+        Response<String> response = builder.from("http://localhost/").follow("rel").preferEmbedded().get(String.class);
+
+        assertThat(response.getResource()).isEqualTo("{\"name\":\"embedded\"}");
+    }
+
+    @Test
+    public void get_GivenPreferEmbeddedAndFurtherRels_ContinuesFromTheEmbeddedResource() throws Exception {
+        JSONObject embedded = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "first")).thenReturn("http://localhost/first");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/first")).thenReturn(embedded);
+        when(linkDiscoverer.findHref(embedded, "second")).thenReturn("http://localhost/second");
+        stubGet("http://localhost/second", secondResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("first", "second").preferEmbedded().get();
+
+        assertThat(response).isSameAs(secondResponse);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/first")), any(Class.class));
+    }
+
+    @Test
+    public void delete_GivenPreferEmbeddedAndTargetIsEmbedded_StillPerformsTheRequest() throws Exception {
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/item");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/item")).thenReturn(new JSONObject());
+        when(client.execute(argThat(urlIs("http://localhost/item")), eq(String.class))).thenReturn(stringResponse);
+
+        assertThat(builder.from("http://localhost/").follow("rel").preferEmbedded().delete(String.class)).isSameAs(stringResponse);
+    }
+
+    @Test
+    public void get_GivenPreferEmbeddedAndQueryParams_FetchesTheTarget() throws Exception {
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/item");
+        stubGet("http://localhost/item", secondResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").withQueryParam("page", "1").preferEmbedded().get();
+
+        assertThat(response).isSameAs(secondResponse);
+        verify(linkDiscoverer, never()).findEmbedded(any(JSONObject.class), anyString());
+    }
+
+    @Test
+    public void get_GivenPreferEmbeddedAndTemplatedHref_FetchesTheTarget() throws Exception {
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/item{?page}");
+        stubGet("http://localhost/item{?page}", secondResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("rel").preferEmbedded().get();
+
+        assertThat(response).isSameAs(secondResponse);
+        verify(linkDiscoverer, never()).findEmbedded(any(JSONObject.class), anyString());
+    }
+
+    @Test
+    public void getAll_GivenPreferEmbeddedAndFanOutResourceIsEmbedded_ReadsTheHrefsFromTheEmbeddedResource() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject list = new JSONObject();
+        JSONObject item = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "list")).thenReturn("http://localhost/list");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/list")).thenReturn(list);
+        when(linkDiscoverer.findHrefs(list, "items")).thenReturn(Collections.singletonList("http://localhost/item"));
+        stubGet("http://localhost/item", responseWith(200, item));
+        recordRequestsTo("http://localhost/list");
+
+        List<Response<JSONObject>> responses = builder.from("http://localhost/").follow("list").followAll("items").preferEmbedded().getAll();
+
+        assertThat(responses).extracting(Response::getResource).containsExactly(item);
+        assertThat(sentRequests).isEmpty();
+    }
+
+    @Test
+    public void compile_GivenNoStartingUrl_ThrowsIllegalStateException() {
+        assertThatThrownBy(() -> builder.compile())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("from must be called before compile");
+    }
+
+    @Test
+    public void compile_GivenLaterChangesToTheBuilder_DoesNotChangeThePlan() throws Exception {
+        ResolvedPathCache cache = new ResolvedPathCache(Duration.ofMinutes(1), 10);
+        TraversalPlan plan = builder.from("http://localhost/")
+                .follow("first")
+                .followAll("items", "detail")
+                .withParallelism(2)
+                .preferEmbedded()
+                .withResolvedPathCache(cache)
+                .withNextRel("following")
+                .withPrefetch(3)
+                .withDeadline(Duration.ofSeconds(5), "Request-Timeout")
+                .compile();
+
+        builder.from("http://localhost/other").follow("other").withHeader("header", "value");
+        TraversonBuilder traversal = plan.newTraversal();
+
+        assertThat(((Request) FieldUtils.readDeclaredField(traversal, "request", true)).getUrl()).isEqualTo("http://localhost/");
+        assertThat((Deque<String>) FieldUtils.readDeclaredField(traversal, "relsToFollow", true)).containsExactly("first");
+        assertThat(FieldUtils.readDeclaredField(traversal, "linkDiscoverer", true)).isSameAs(linkDiscoverer);
+        assertThat(FieldUtils.readDeclaredField(traversal, "fanOutRel", true)).isEqualTo("items");
+        assertThat(FieldUtils.readDeclaredField(traversal, "relsAfterFanOut", true)).isEqualTo(Collections.singletonList("detail"));
+        assertThat(FieldUtils.readDeclaredField(traversal, "parallelism", true)).isEqualTo(2);
+        assertThat(FieldUtils.readDeclaredField(traversal, "preferEmbedded", true)).isEqualTo(true);
+        assertThat(FieldUtils.readDeclaredField(traversal, "resolvedPathCache", true)).isSameAs(cache);
+        assertThat(FieldUtils.readDeclaredField(traversal, "nextRel", true)).isEqualTo("following");
+        assertThat(FieldUtils.readDeclaredField(traversal, "prefetch", true)).isEqualTo(3);
+        assertThat(FieldUtils.readDeclaredField(traversal, "deadlineBudget", true)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(FieldUtils.readDeclaredField(traversal, "deadlineHeader", true)).isEqualTo("Request-Timeout");
+        assertThat(FieldUtils.readDeclaredField(traversal, "deadline", true)).isNull();
+    }
+
+    @Test
+    public void publish_NavigatesThePathOnTheExecutorOnlyOnceTheResponseIsRequested() throws Exception {
+        List<Runnable> drains = new ArrayList<>();
+        builder = new TraversonBuilder(client, drains::add);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/target");
+        when(client.execute(argThat(urlIs("http://localhost/target")), eq(String.class))).thenReturn(stringResponse);
+        RecordingSubscriber<Response<String>> subscriber = new RecordingSubscriber<>();
+
+        builder.from("http://localhost/").follow("rel").publish(String.class).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        verifyNoInteractions(client);
+        drains.forEach(Runnable::run);
+        assertThat(subscriber.items).containsExactly(stringResponse);
+        assertThat(subscriber.completions).isEqualTo(1);
+    }
+
+    @Test
+    public void publish_GivenLaterChangesToTheBuilderAndManySubscribers_TraversesTheOriginalPathForEach() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        stubGet("http://localhost/", firstResponse);
+        Flow.Publisher<Response<JSONObject>> publisher = builder.from("http://localhost/").publish();
+        builder.from("http://localhost/other");
+        RecordingSubscriber<Response<JSONObject>> first = new RecordingSubscriber<>();
+        RecordingSubscriber<Response<JSONObject>> second = new RecordingSubscriber<>();
+
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        first.subscription.request(1);
+        second.subscription.request(1);
+
+        assertThat(first.items).containsExactly(firstResponse);
+        assertThat(second.items).containsExactly(firstResponse);
+        verify(client, times(2)).execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class));
+    }
+
+    @Test
+    public void publish_GivenTheTraversalFails_SignalsOnError() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(500, resource));
+        RecordingSubscriber<Response<JSONObject>> subscriber = new RecordingSubscriber<>();
+
+        builder.from("http://localhost/").follow("rel").publish().subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.errors).hasSize(1);
+        assertThat(subscriber.errors.get(0)).isInstanceOf(IllegalHttpStatusException.class);
+    }
+
+    @Test
+    public void publishItems_GivenPages_PublishesTheItemsOfEachPageFetchingPagesOnlyAsItemsAreRequested() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject firstPage = JSON.parseObject("{\"page\":1}");
+        JSONObject secondPage = JSON.parseObject("{\"page\":2}");
+        stubGet("http://localhost/", responseWith(200, firstPage));
+        when(linkDiscoverer.findItems(firstPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":1},{\"id\":2}]"));
+        when(linkDiscoverer.findHref(firstPage, "next")).thenReturn("http://localhost/?page=2");
+        stubGet("http://localhost/?page=2", responseWith(200, secondPage));
+        when(linkDiscoverer.findItems(secondPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":3}]"));
+        when(linkDiscoverer.findHref(secondPage, "next")).thenThrow(new UnknownRelException("next"));
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+
+        builder.from("http://localhost/").publishItems("items", String.class).subscribe(subscriber);
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.items).containsExactly("{\"id\":1}", "{\"id\":2}");
+        verify(client, never()).execute(argThat(urlIs("http://localhost/?page=2")), eq(JSONObject.class));
+
+        subscriber.subscription.request(2);
+
+        assertThat(subscriber.items).containsExactly("{\"id\":1}", "{\"id\":2}", "{\"id\":3}");
+        assertThat(subscriber.completions).isEqualTo(1);
+    }
+
+    @Test
+    public void publishItems_GivenAPageIsNotSuccessful_SignalsOnError() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject firstPage = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, firstPage));
+        when(linkDiscoverer.findItems(firstPage, "items")).thenReturn(new JSONArray());
+        when(linkDiscoverer.findHref(firstPage, "next")).thenReturn("http://localhost/?page=2");
+        stubGet("http://localhost/?page=2", responseWith(503, new JSONObject()));
+        RecordingSubscriber<JSONObject> subscriber = new RecordingSubscriber<>();
+
+        builder.from("http://localhost/").publishItems("items", JSONObject.class).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.items).isEmpty();
+        assertThat(subscriber.errors).hasSize(1);
+        assertThat(subscriber.errors.get(0)).isInstanceOf(IllegalHttpStatusException.class);
+    }
+
+    @Test
+    public void withNextRel_SetsTheNextRel() throws Exception {
+        assertThat(builder.withNextRel("following")).isEqualTo(builder);
+
+        assertThat(FieldUtils.readDeclaredField(builder, "nextRel", true)).isEqualTo("following");
+    }
+
+    @Test
+    public void withPrefetch_GivenNegativePages_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> builder.withPrefetch(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("prefetch must not be negative");
+    }
+
+    @Test
+    public void iterateItems_GivenNextRel_FollowsItLazilyFromPageToPage() throws Exception {
+        JSONObject firstPage = JSON.parseObject("{\"page\":1}");
+        JSONObject secondPage = JSON.parseObject("{\"page\":2}");
+        stubGet("http://localhost/", responseWith(200, firstPage));
+        when(linkDiscoverer.findItems(firstPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":1}]"));
+        when(linkDiscoverer.findHref(firstPage, "following")).thenReturn("http://localhost/?page=2");
+        stubGet("http://localhost/?page=2", responseWith(200, secondPage));
+        when(linkDiscoverer.findItems(secondPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":2}]"));
+        when(linkDiscoverer.findHref(secondPage, "following")).thenThrow(new UnknownRelException("following"));
+
+        Iterator<JSONObject> items = builder.from("http://localhost/").withNextRel("following").iterateItems("items", JSONObject.class);
+
+        verifyNoInteractions(client);
+        assertThat(items.next().getIntValue("id")).isEqualTo(1);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/?page=2")), eq(JSONObject.class));
+        assertThat(items.next().getIntValue("id")).isEqualTo(2);
+        assertThat(items.hasNext()).isFalse();
+    }
+
+    @Test
+    public void streamItems_GivenPrefetch_FetchesPagesAheadOnTheExecutor() throws Exception {
+        List<Runnable> pulls = new ArrayList<>();
+        builder = new TraversonBuilder(client, pulls::add);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject firstPage = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, firstPage));
+        when(linkDiscoverer.findItems(firstPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":1},{\"id\":2}]"));
+        when(linkDiscoverer.findHref(firstPage, "next")).thenThrow(new UnknownRelException("next"));
+
+        try (Stream<String> items = builder.from("http://localhost/").withPrefetch(1).streamItems("items", String.class)) {
+            assertThat(pulls).hasSize(1);
+            pulls.get(0).run();
+            verify(client).execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class));
+
+            Iterator<String> iterator = items.iterator();
+            assertThat(iterator.next()).isEqualTo("{\"id\":1}");
+            assertThat(iterator.next()).isEqualTo("{\"id\":2}");
+            pulls.get(1).run();
+            assertThat(iterator.hasNext()).isFalse();
+        }
+    }
+
+    @Test
+    public void streamItems_GivenTheStreamIsClosedEarly_StopsPrefetching() throws Exception {
+        List<Runnable> pulls = new ArrayList<>();
+        builder = new TraversonBuilder(client, pulls::add);
+
+        builder.from("http://localhost/").withPrefetch(2).streamItems("items", String.class).close();
+        pulls.forEach(Runnable::run);
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void streamItems_GivenNoPrefetch_FetchesPagesAsTheItemsAreConsumed() throws Exception {
+        JSONObject firstPage = new JSONObject();
+        stubGet("http://localhost/", responseWith(200, firstPage));
+        when(linkDiscoverer.findItems(firstPage, "items")).thenReturn(JSONArray.parseArray("[{\"id\":1},{\"id\":2}]"));
+        when(linkDiscoverer.findHref(firstPage, "next")).thenThrow(new UnknownRelException("next"));
+
+        try (Stream<JSONObject> items = builder.from("http://localhost/").streamItems("items", JSONObject.class)) {
+            verifyNoInteractions(client);
+            assertThat(items.map(item -> item.getIntValue("id")).collect(Collectors.toList())).containsExactly(1, 2);
+        }
+    }
+
+    @Test
+    public void getPages_GivenPageCount_FetchesTheRemainingPagesByTheirTemplateParamInPageOrder() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject firstPage = JSONObject.parseObject("{\"page\": {\"totalPages\": 3}}");
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "vehicles")).thenReturn("http://localhost/vehicles{?page,size}");
+        when(client.execute(argThat(pageIs(null)), eq(JSONObject.class))).thenReturn(responseWith(200, firstPage));
+        when(client.execute(argThat(pageIs("1")), eq(JSONObject.class))).thenReturn(firstResponse);
+        when(client.execute(argThat(pageIs("2")), eq(JSONObject.class))).thenReturn(secondResponse);
+
+        List<Response<JSONObject>> pages = builder.from("http://localhost/")
+                .follow("vehicles")
+                .withTemplateParam("size", "50")
+                .getPages("page", "page.totalPages");
+
+        assertThat(pages).hasSize(3);
+        assertThat(pages.get(0).getStatusCode()).isEqualTo(200);
+        assertThat(pages.get(0).getResource()).isSameAs(firstPage);
+        assertThat(pages.subList(1, 3)).containsExactly(firstResponse, secondResponse);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(client, times(4)).execute(requestCaptor.capture(), eq(JSONObject.class));
+        assertThat(requestCaptor.getAllValues().get(3).getUrl()).isEqualTo("http://localhost/vehicles{?page,size}");
+        assertThat(requestCaptor.getAllValues().get(3).getTemplateParams()).containsEntry("size", Collections.singletonList("50"));
+    }
+
+    @Test
+    public void getPages_GivenFirstPageNumberAndOtherReturnType_StartsFromThatPageAndConvertsTheFirstPage() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        JSONObject firstPage = JSONObject.parseObject("{\"totalPages\": 2}");
+        when(client.execute(argThat(pageIs("1")), eq(JSONObject.class))).thenReturn(responseWith(200, firstPage));
+        when(client.execute(argThat(pageIs("2")), eq(String.class))).thenReturn(stringResponse);
+
+        List<Response<String>> pages = builder.from("http://localhost/vehicles{?page}")
+                .withTemplateParam("page", "1")
+                .getPages("page", "totalPages", String.class);
+
+        assertThat(pages).hasSize(2);
+        assertThat(pages.get(0).getResource()).isEqualTo("{\"totalPages\":2}");
+        assertThat(pages.get(1)).isSameAs(stringResponse);
+    }
+
+    @Test
+    public void getPages_GivenASinglePage_FetchesNoMorePages() throws Exception {
+        when(client.execute(argThat(pageIs(null)), eq(JSONObject.class))).thenReturn(responseWith(200, JSONObject.parseObject("{\"totalPages\": 1}")));
+
+        assertThat(builder.from("http://localhost/vehicles{?page}").getPages("page", "totalPages")).hasSize(1);
+        verify(client, times(1)).execute(any(Request.class), eq(JSONObject.class));
+    }
+
+    @Test
+    public void getPages_GivenHrefIsNotTemplated_ThrowsIllegalStateException() {
+        assertThatThrownBy(() -> builder.from("http://localhost/vehicles").getPages("page", "totalPages"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The href http://localhost/vehicles is not templated");
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void getPages_GivenNoPageCount_ThrowsIllegalStateException() {
+        when(client.execute(argThat(pageIs(null)), eq(JSONObject.class))).thenReturn(responseWith(200, new JSONObject()));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/vehicles{?page}").getPages("page", "page.totalPages"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("No page count found at page.totalPages");
+    }
+
+    @Test
+    public void getPages_GivenFirstPageIsNotSuccessful_ThrowsIllegalHttpStatusException() {
+        when(client.execute(argThat(pageIs(null)), eq(JSONObject.class))).thenReturn(responseWith(500, new JSONObject()));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/vehicles{?page}").getPages("page", "totalPages"))
+                .isInstanceOf(IllegalHttpStatusException.class);
+    }
+
+    @Test
+    public void withDeadline_GivenNonPositiveDeadline_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> builder.withDeadline(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("deadline must be positive");
+        assertThatThrownBy(() -> builder.withDeadline(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void get_GivenDeadline_GivesEachHopTheRemainingBudgetAsItsTimeoutAndHeader() throws Exception {
+        AtomicLong now = new AtomicLong();
+        FieldUtils.writeDeclaredField(builder, "nanoClock", (LongSupplier) now::get, true);
+        List<Duration> timeouts = new ArrayList<>();
+        List<String> headers = new ArrayList<>();
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            timeouts.add(request.getTimeout());
+            headers.add(request.getHeaders().get("Request-Timeout"));
+            now.addAndGet(Duration.ofMillis(400).toNanos());
+            return responseWith(200, resource);
+        });
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/target");
+        when(client.execute(argThat(urlIs("http://localhost/target")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            timeouts.add(request.getTimeout());
+            headers.add(request.getHeaders().get("Request-Timeout"));
+            return firstResponse;
+        });
+
+        Response<JSONObject> result = builder.from("http://localhost/")
+                .follow("rel")
+                .withDeadline(Duration.ofSeconds(1), "Request-Timeout")
+                .get();
+
+        assertThat(result).isSameAs(firstResponse);
+        assertThat(timeouts).containsExactly(Duration.ofSeconds(1), Duration.ofMillis(600));
+        assertThat(headers).containsExactly("1000", "600");
+    }
+
+    @Test
+    public void get_GivenDeadlineRunsOutBetweenHops_FailsBeforeTheNextHopNamingIt() throws Exception {
+        AtomicLong now = new AtomicLong();
+        FieldUtils.writeDeclaredField(builder, "nanoClock", (LongSupplier) now::get, true);
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            return responseWith(200, resource);
+        });
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/target");
+        recordRequestsTo("http://localhost/target");
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").follow("rel").withDeadline(Duration.ofSeconds(1)).get())
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Deadline of PT1S exceeded at GET http://localhost/target")
+                .hasNoCause();
+        assertThat(sentRequests).isEmpty();
+    }
+
+    @Test
+    public void get_GivenDeadlineRunsOutWhileAHopIsInFlight_ThrowsDeadlineExceededExceptionCausedByTheFailure() throws Exception {
+        AtomicLong now = new AtomicLong();
+        FieldUtils.writeDeclaredField(builder, "nanoClock", (LongSupplier) now::get, true);
+        HttpException timeout = new HttpException("Error with httpClient", new SocketTimeoutException());
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            throw timeout;
+        });
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").withDeadline(Duration.ofSeconds(1)).get())
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Deadline of PT1S exceeded at GET http://localhost/")
+                .hasCause(timeout);
+    }
+
+    @Test
+    public void get_GivenAHopFailsWithinTheDeadline_ThrowsTheFailure() throws Exception {
+        HttpException failure = new HttpException("Error with httpClient", null);
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenThrow(failure);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").withDeadline(Duration.ofSeconds(1)).get()).isSameAs(failure);
+    }
+
+    @Test
+    public void getAll_GivenDeadline_SharesItWithTheBranches() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        AtomicLong now = new AtomicLong();
+        FieldUtils.writeDeclaredField(builder, "nanoClock", (LongSupplier) now::get, true);
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            return responseWith(200, resource);
+        });
+        when(linkDiscoverer.findHrefs(resource, "items")).thenReturn(Collections.singletonList("http://localhost/1"));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").followAll("items").withDeadline(Duration.ofSeconds(1)).getAll())
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Deadline of PT1S exceeded at GET http://localhost/1");
+    }
+
+    @Test
+    public void getAsync_GivenDeadline_GivesEachHopTheRemainingBudgetAsItsTimeout() throws Exception {
+        when(asyncClient.executeAsync(any(Request.class), eq(JSONObject.class))).thenReturn(CompletableFuture.completedFuture(firstResponse));
+        builder = new TraversonBuilder(asyncClient);
+
+        builder.from("http://localhost/").withDeadline(Duration.ofSeconds(1)).getAsync().join();
+
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(asyncClient).executeAsync(requestCaptor.capture(), eq(JSONObject.class));
+        assertThat(requestCaptor.getValue().getTimeout()).isGreaterThan(Duration.ZERO).isLessThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void getAsync_GivenDeadlineRunsOutBetweenHops_CompletesExceptionally() throws Exception {
+        AtomicLong now = new AtomicLong();
+        builder = new TraversonBuilder(asyncClient);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        FieldUtils.writeDeclaredField(builder, "nanoClock", (LongSupplier) now::get, true);
+        when(asyncClient.executeAsync(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenAnswer(invocation -> {
+            now.addAndGet(Duration.ofSeconds(1).toNanos());
+            return CompletableFuture.completedFuture(responseWith(200, resource));
+        });
+        when(linkDiscoverer.findHref(resource, "rel")).thenReturn("http://localhost/target");
+
+        CompletableFuture<Response<JSONObject>> result = builder.from("http://localhost/").follow("rel").withDeadline(Duration.ofSeconds(1)).getAsync();
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+    }
+
+    @Test
+    public void getPaths_GivenPathsWithCommonPrefixes_FetchesEachSharedResourceOnce() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject a = new JSONObject();
+        JSONObject b = new JSONObject();
+        Response<JSONObject> c = responseWith(200, new JSONObject());
+        Response<JSONObject> d = responseWith(200, new JSONObject());
+        Response<JSONObject> e = responseWith(200, new JSONObject());
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        stubGet("http://localhost/a", responseWith(200, a));
+        when(linkDiscoverer.findHref(a, "b")).thenReturn("http://localhost/b");
+        when(linkDiscoverer.findHref(a, "e")).thenReturn("http://localhost/e");
+        stubGet("http://localhost/b", responseWith(200, b));
+        when(linkDiscoverer.findHref(b, "c")).thenReturn("http://localhost/c");
+        when(linkDiscoverer.findHref(b, "d")).thenReturn("http://localhost/d");
+        stubGet("http://localhost/c", c);
+        stubGet("http://localhost/d", d);
+        stubGet("http://localhost/e", e);
+
+        Map<List<String>, Response<JSONObject>> responses = builder.from("http://localhost/").getPaths(Arrays.asList(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList("a", "b", "d"),
+                Arrays.asList("a", "e")));
+
+        assertThat(responses.keySet()).containsExactly(Arrays.asList("a", "b", "c"), Arrays.asList("a", "b", "d"), Arrays.asList("a", "e"));
+        assertThat(responses.values()).containsExactly(c, d, e);
+        verify(client, times(1)).execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class));
+        verify(client, times(1)).execute(argThat(urlIs("http://localhost/a")), eq(JSONObject.class));
+        verify(client, times(1)).execute(argThat(urlIs("http://localhost/b")), eq(JSONObject.class));
+    }
+
+    @Test
+    public void getPaths_GivenAPathEndingWhereAnotherCarriesOn_ReturnsTheSharedResponse() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject a = new JSONObject();
+        Response<JSONObject> shared = responseWith(200, a);
+        shared.setUri(URI.create("http://localhost/a"));
+        shared.addResponseHeader("ETag", "\"1\"");
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        stubGet("http://localhost/a", shared);
+        when(linkDiscoverer.findHref(a, "b")).thenReturn("http://localhost/b");
+        stubGet("http://localhost/b", secondResponse);
+
+        Map<List<String>, Response<JSONObject>> responses = builder.from("http://localhost/")
+                .getPaths(Arrays.asList(Collections.singletonList("a"), Arrays.asList("a", "b")));
+
+        Response<JSONObject> response = responses.get(Collections.singletonList("a"));
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getUri()).isEqualTo(URI.create("http://localhost/a"));
+        assertThat(response.getResource()).isSameAs(a);
+        assertThat(response.getResponseHeader("ETag")).isEqualTo("\"1\"");
+        assertThat(responses.get(Arrays.asList("a", "b"))).isSameAs(secondResponse);
+    }
+
+    @Test
+    public void getPaths_GivenAnEmptyPath_ReturnsTheResponseAtTheEndOfThePath() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "list")).thenReturn("http://localhost/list");
+        when(client.execute(argThat(urlIs("http://localhost/list")), eq(String.class))).thenReturn(stringResponse);
+
+        Map<List<String>, Response<String>> responses = builder.from("http://localhost/")
+                .follow("list")
+                .getPaths(Collections.singletonList(Collections.emptyList()), String.class);
+
+        assertThat(responses).containsExactly(entry(Collections.emptyList(), stringResponse));
+    }
+
+    @Test
+    public void getPaths_GivenNoPaths_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> builder.from("http://localhost/").getPaths(Collections.emptyList()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("paths must not be empty");
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void getPaths_GivenARelBesideAnUnknownRel_StartsNeitherBranch() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        when(linkDiscoverer.findHref(resource, "b")).thenThrow(new UnknownRelException("b"));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").getPaths(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b"))))
+                .isInstanceOf(UnknownRelException.class);
+        verify(client, times(1)).execute(any(Request.class), any());
+    }
+
+    @Test
+    public void getPaths_GivenSharedResourceIsNotSuccessful_ThrowsIllegalHttpStatusException() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(503, resource));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").getPaths(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b"))))
+                .isInstanceOf(IllegalHttpStatusException.class);
+        verifyNoInteractions(linkDiscoverer);
+    }
+
+    @Test
+    public void getPaths_GivenAsyncClient_SendsTheBranchesWithoutBlocking() throws Exception {
+        builder = new TraversonBuilder(asyncClient);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        when(asyncClient.executeAsync(argThat(urlIs("http://localhost/")), eq(JSONObject.class)))
+                .thenReturn(CompletableFuture.completedFuture(responseWith(200, resource)));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        when(linkDiscoverer.findHref(resource, "b")).thenReturn("http://localhost/b");
+        when(asyncClient.executeAsync(argThat(urlIs("http://localhost/a")), eq(JSONObject.class))).thenReturn(CompletableFuture.completedFuture(firstResponse));
+        when(asyncClient.executeAsync(argThat(urlIs("http://localhost/b")), eq(JSONObject.class))).thenReturn(CompletableFuture.completedFuture(secondResponse));
+
+        Map<List<String>, Response<JSONObject>> responses = builder.from("http://localhost/")
+                .withHeader("header", "value")
+                .getPaths(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")));
+
+        assertThat(responses.values()).containsExactly(firstResponse, secondResponse);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        verify(asyncClient, times(3)).executeAsync(requestCaptor.capture(), eq(JSONObject.class));
+        assertThat(requestCaptor.getAllValues()).allSatisfy(request -> assertThat(request.getHeaders()).containsEntry("header", "value"));
+        verify(asyncClient, never()).execute(any(Request.class), any());
+    }
+
+    @Test
+    public void getPaths_GivenABranchThrowsAnError_ThrowsTheCompletionException() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        LinkageError error = new LinkageError("boom");
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenThrow(error);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").getPaths(Collections.singletonList(Collections.emptyList())))
+                .isInstanceOf(CompletionException.class)
+                .hasCause(error);
+    }
+
+    @Test
+    public void crawl_GivenLinkedResources_VisitsEachUrlOnceBreadthFirst() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject root = JSON.parseObject("{\"name\": \"root\"}");
+        JSONObject a = JSON.parseObject("{\"name\": \"a\"}");
+        JSONObject b = JSON.parseObject("{\"name\": \"b\"}");
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "start")).thenReturn("http://localhost/root");
+        stubGet("http://localhost/root", responseWith(200, root));
+        stubGet("http://localhost/a", responseWith(200, a));
+        stubGet("http://localhost/b", responseWith(200, b));
+        stubGet("http://localhost/c", responseWith(200, new JSONObject()));
+        when(linkDiscoverer.findAllHrefs(root)).thenReturn(ImmutableMap.of("item", Arrays.asList("http://localhost/a", "http://localhost/b")));
+        when(linkDiscoverer.findAllHrefs(a)).thenReturn(ImmutableMap.of("related", Arrays.asList("http://localhost/b", "http://localhost/c")));
+        when(linkDiscoverer.findAllHrefs(b)).thenReturn(ImmutableMap.of("up", Collections.singletonList("http://localhost/root")));
+        List<String> visits = new ArrayList<>();
+
+        long fetched = builder.from("http://localhost/").follow("start")
+                .crawl(5, (url, depth, response) -> visits.add(depth + " " + url));
+
+        assertThat(fetched).isEqualTo(4);
+        assertThat(visits).containsExactly("0 http://localhost/root", "1 http://localhost/a", "1 http://localhost/b", "2 http://localhost/c");
+        verify(client, times(1)).execute(argThat(urlIs("http://localhost/b")), eq(JSONObject.class));
+    }
+
+    @Test
+    public void crawl_GivenRels_FollowsOnlyTheLinksOfThoseRels() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/", responseWith(200, resource));
+        stubGet("http://localhost/a", firstResponse);
+        when(firstResponse.isSuccessful()).thenReturn(false);
+        when(linkDiscoverer.findAllHrefs(resource)).thenReturn(ImmutableMap.of(
+                "item", Collections.singletonList("http://localhost/a"),
+                "other", Collections.singletonList("http://localhost/b")));
+        List<Response<JSONObject>> visited = new ArrayList<>();
+
+        long fetched = builder.from("http://localhost/").crawl(5, Collections.singleton("item"), (url, depth, response) -> visited.add(response));
+
+        assertThat(fetched).isEqualTo(2);
+        assertThat(visited).hasSize(2);
+        assertThat(visited.get(1)).isSameAs(firstResponse);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/b")), any());
+    }
+
+    @Test
+    public void crawl_GivenRelativeHrefs_ResolvesThemAgainstTheUrlOfTheResource() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        stubGet("http://localhost/api/", responseWith(200, resource));
+        stubGet("http://localhost/api/items/1", responseWith(204, null));
+        when(linkDiscoverer.findAllHrefs(resource)).thenReturn(ImmutableMap.of("item", Arrays.asList("items/1", "http://localhost/api/items/1")));
+        List<String> urls = new ArrayList<>();
+
+        long fetched = builder.from("http://localhost/api/").crawl(5, (url, depth, response) -> urls.add(url));
+
+        assertThat(fetched).isEqualTo(2);
+        assertThat(urls).containsExactly("http://localhost/api/", "http://localhost/api/items/1");
+    }
+
+    @Test
+    public void crawl_GivenMaxDepthOfZero_FetchesOnlyTheResourceAtTheEndOfThePath() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        Response<JSONObject> root = responseWith(200, resource);
+        stubGet("http://localhost/", root);
+        List<Response<JSONObject>> visited = new ArrayList<>();
+
+        long fetched = builder.from("http://localhost/").crawl(0, (url, depth, response) -> visited.add(response));
+
+        assertThat(fetched).isEqualTo(1);
+        assertThat(visited).containsExactly(root);
+        verify(linkDiscoverer, never()).findAllHrefs(any());
+    }
+
+    @Test
+    public void crawl_GivenNegativeMaxDepth_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> builder.from("http://localhost/").crawl(-1, (url, depth, response) -> { }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxDepth must not be negative");
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    public void crawl_GivenAFetchFails_ThrowsTheFailureAndSkipsTheRemainingUrls() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        HttpException failure = new HttpException("refused", null);
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findAllHrefs(resource)).thenReturn(ImmutableMap.of("item", Arrays.asList("http://localhost/a", "http://localhost/b")));
+        when(client.execute(argThat(urlIs("http://localhost/a")), eq(JSONObject.class))).thenThrow(failure);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").withParallelism(1).crawl(5, (url, depth, response) -> { }))
+                .isSameAs(failure);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/b")), any());
+    }
+
+    @Test
+    public void crawl_GivenAFetchThrowsAnError_ThrowsTheCompletionException() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        LinkageError error = new LinkageError("boom");
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class))).thenThrow(error);
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").crawl(5, (url, depth, response) -> { }))
+                .isInstanceOf(CompletionException.class)
+                .hasCause(error);
+    }
+
+    @Test
+    public void get_GivenLinkHeaders_ResolvesTheRelsFromHeadRequests() throws Exception {
+        stubHeadAndGet("http://localhost/", responseWithLink("<http://localhost/a>; rel=\"a\""), null);
+        stubHeadAndGet("http://localhost/a", responseWithLink("</b>; rel=b"), null);
+        stubHeadAndGet("http://localhost/b", null, firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("a", "b").withLinkHeaders().get();
+
+        assertThat(response).isSameAs(firstResponse);
+        assertThat(sentRequests).containsExactly("HEAD http://localhost/", "HEAD http://localhost/a", "GET http://localhost/b");
+        verifyNoInteractions(linkDiscoverer);
+    }
+
+    @Test
+    public void get_GivenLinkHeaderLacksTheRel_FallsBackToTheLinksOfTheResource() throws Exception {
+        stubHeadAndGet("http://localhost/", responseWithLink("<http://localhost/other>; rel=other"), responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        stubHeadAndGet("http://localhost/a", null, firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("a").withLinkHeaders().get();
+
+        assertThat(response).isSameAs(firstResponse);
+        assertThat(sentRequests).containsExactly("HEAD http://localhost/", "GET http://localhost/", "GET http://localhost/a");
+    }
+
+    @Test
+    public void get_GivenHeadRequestIsNotSuccessful_FallsBackToTheLinksOfTheResource() throws Exception {
+        Response<JSONObject> notAllowed = responseWithLink("<http://localhost/wrong>; rel=a");
+        notAllowed.setStatusCode(405);
+        stubHeadAndGet("http://localhost/", notAllowed, responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        stubHeadAndGet("http://localhost/a", null, firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("a").withLinkHeaders().get();
+
+        assertThat(response).isSameAs(firstResponse);
+        assertThat(sentRequests).containsExactly("HEAD http://localhost/", "GET http://localhost/", "GET http://localhost/a");
+    }
+
+    @Test
+    public void get_GivenLinkHeadersAndAnEmbeddedTarget_CarriesOnFromTheEmbeddedResource() throws Exception {
+        JSONObject embedded = JSON.parseObject("{\"name\": \"a\"}");
+        stubHeadAndGet("http://localhost/", responseWith(200, null), responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        when(linkDiscoverer.findEmbedded(resource, "http://localhost/a")).thenReturn(embedded);
+        when(linkDiscoverer.findHref(embedded, "b")).thenReturn("http://localhost/b");
+        stubHeadAndGet("http://localhost/b", null, firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("a", "b").preferEmbedded().withLinkHeaders().get();
+
+        assertThat(response).isSameAs(firstResponse);
+        assertThat(sentRequests).containsExactly("HEAD http://localhost/", "GET http://localhost/", "GET http://localhost/b");
+    }
+
+    @Test
+    public void getAsync_GivenLinkHeaders_ResolvesTheRelsFromHeadRequestsFallingBackToTheResource() throws Exception {
+        builder = new TraversonBuilder(client, Runnable::run);
+        FieldUtils.writeDeclaredField(builder, "linkDiscoverer", linkDiscoverer, true);
+        JSONObject a = JSON.parseObject("{\"name\": \"a\"}");
+        stubHeadAndGet("http://localhost/", responseWithLink("<http://localhost/a>; rel=a"), null);
+        stubHeadAndGet("http://localhost/a", responseWith(200, null), responseWith(200, a));
+        when(linkDiscoverer.findHref(a, "b")).thenReturn("http://localhost/b");
+        stubHeadAndGet("http://localhost/b", null, firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").follow("a", "b").withLinkHeaders().getAsync().join();
+
+        assertThat(response).isSameAs(firstResponse);
+        assertThat(sentRequests).containsExactly("HEAD http://localhost/", "HEAD http://localhost/a", "GET http://localhost/a", "GET http://localhost/b");
+    }
+
+    @Test
+    public void get_GivenStreamLinks_ReadsTheHrefFromTheStartOfTheStream() throws Exception {
+        InputStream stream = new ByteArrayInputStream("{\"_links\": {\"a\": {\"href\": \"http://localhost/a\"}}, \"_embedded\": [ unread"
+                .getBytes(StandardCharsets.UTF_8));
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(InputStream.class))).thenReturn(responseWith(200, stream));
+        stubGet("http://localhost/a", firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").jsonHal().streamLinks().follow("a").get();
+
+        assertThat(response).isSameAs(firstResponse);
+        verify(client, never()).execute(argThat(urlIs("http://localhost/")), eq(JSONObject.class));
+    }
+
+    @Test
+    public void get_GivenStreamLinksAndTheResourceIsNotSuccessful_ClosesTheStreamAndThrowsIllegalHttpStatusException() throws Exception {
+        InputStream stream = mock(InputStream.class);
+        when(client.execute(argThat(urlIs("http://localhost/")), eq(InputStream.class))).thenReturn(responseWith(503, stream));
+
+        assertThatThrownBy(() -> builder.from("http://localhost/").streamLinks().follow("a").get())
+                .isInstanceOf(IllegalHttpStatusException.class);
+        verify(stream).close();
+    }
+
+    @Test
+    public void get_GivenStreamLinksAndPreferEmbedded_FetchesTheWholeResource() throws Exception {
+        stubGet("http://localhost/", responseWith(200, resource));
+        when(linkDiscoverer.findHref(resource, "a")).thenReturn("http://localhost/a");
+        stubGet("http://localhost/a", firstResponse);
+
+        Response<JSONObject> response = builder.from("http://localhost/").streamLinks().preferEmbedded().follow("a").get();
+
+        assertThat(response).isSameAs(firstResponse);
+        verify(client, never()).execute(any(Request.class), eq(InputStream.class));
+    }
+
+    /**
+     * Answers HEAD and GET requests to the url, recording the method and url of each request as it is sent
+     */
+    private void stubHeadAndGet(String url, Response<JSONObject> head, Response<JSONObject> get) {
+        when(client.execute(argThat(urlIs(url)), eq(JSONObject.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            sentRequests.add(request.getMethod() + " " + request.getUrl());
+            return request.getMethod() == Method.HEAD ? head : get;
+        });
+    }
+
+    /**
+     * Records the method and url of each request sent to the url as it is sent, as the builder goes on to change the
+     * request it passed to the client. Lenient, as tests use it to show no request was sent.
+     */
+    private void recordRequestsTo(String url) {
+        lenient().when(client.execute(argThat(urlIs(url)), any())).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            sentRequests.add(request.getMethod() + " " + request.getUrl());
+            return responseWith(200, null);
+        });
+    }
+
+    private static Response<JSONObject> responseWithLink(String link) {
+        Response<JSONObject> response = responseWith(200, null);
+        response.addResponseHeader("Link", link);
+        return response;
+    }
+
+    private static ArgumentMatcher<Request> pageIs(String page) {
+        return request -> request != null
+                && request.getUrl().contains("{")
+                && Objects.equals(request.getTemplateParams().get("page"), page == null ? null : Collections.singletonList(page));
+    }
+
+    private void stubGet(String url, Response<JSONObject> response) {
+        when(client.execute(argThat(urlIs(url)), eq(JSONObject.class))).thenReturn(response);
+    }
+
+    private static ArgumentMatcher<Request> urlIs(String url) {
+        return request -> request != null && url.equals(request.getUrl());
+    }
+
+    private static <T> Response<T> responseWith(int statusCode, T resource) {
+        Response<T> response = new Response<>();
+        response.setStatusCode(statusCode);
+        response.setResource(resource);
+        return response;
+    }
 }
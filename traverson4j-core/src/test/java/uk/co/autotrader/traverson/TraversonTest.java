@@ -11,6 +11,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 import uk.co.autotrader.traverson.http.Request;
 import uk.co.autotrader.traverson.http.TraversonClient;
 
+import java.util.concurrent.Executor;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -31,4 +33,14 @@ public class TraversonTest {
         Request request = (Request) FieldUtils.readDeclaredField(builder, "request", true);
         assertThat(request.getUrl()).isEqualTo("https://localhost:8080");
     }
+
+    @Test
+    public void from_GivenExecutor_PassesTheExecutorToTheBuilder() throws Exception {
+        Executor executor = Runnable::run;
+        Traverson traverson = new Traverson(traversonClient, executor);
+
+        TraversonBuilder builder = traverson.from("https://localhost:8080");
+
+        assertThat(FieldUtils.readDeclaredField(builder, "executor", true)).isSameAs(executor);
+    }
 }
@@ -13,6 +13,8 @@ import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 public class FastJsonObjectResourceConverterTest {
 
@@ -37,6 +39,22 @@ public class FastJsonObjectResourceConverterTest {
         assertThat(resource).isNotNull().containsExactly(MapEntry.entry("name", "test"), MapEntry.entry("anotherName", "comes before the first one alphabetically"));
     }
 
+    @Test
+    public void convert_GivenMultiByteCharacters_DecodesThemAsUtf8() {
+        JSONObject resource = converter.convert(toInputStream("{\"name\": \"caf\u00e9 \u20ac \ud83d\ude97\"}"), JSONObject.class);
+
+        assertThat(resource.getString("name")).isEqualTo("caf\u00e9 \u20ac \ud83d\ude97");
+    }
+
+    @Test
+    public void convert_ClosesTheResource() throws Exception {
+        InputStream resource = spy(toInputStream("{}"));
+
+        converter.convert(resource, JSONObject.class);
+
+        verify(resource).close();
+    }
+
     @Test
     public void convert_GivenXMLString_ThrowsConversionException() {
         final String resourceAsString = "<xml><_links><self><href>http://localhost</href></self></_links></xml>";
@@ -14,8 +14,15 @@ import uk.co.autotrader.traverson.exception.ConversionException;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
@@ -32,6 +39,8 @@ public class ResourceConversionServiceTest {
     private ResourceConverter<Object> failingConverter;
     @Mock
     private InputStream inputStream;
+    @Mock
+    private ResourceConverter<CharSequence> charSequenceConverter;
 
     @Test
     public void init_EnsuresThatTheDefaultConvertersAreRegistered() {
@@ -113,6 +122,91 @@ public class ResourceConversionServiceTest {
         assertThat(value).isEqualTo(1234);
     }
 
+    @Test
+    public void convert_GivenAConverterForAnInterface_UsesItForImplementingClasses() {
+        InputStream resourceStream = toInputStream("text");
+        when(charSequenceConverter.getDestinationType()).thenReturn(CharSequence.class);
+        when(charSequenceConverter.convert(resourceStream, StringBuilder.class)).thenReturn(new StringBuilder("text"));
+        ResourceConversionService service = new ResourceConversionService(new LinkedHashMap<>());
+        service.addConverter(charSequenceConverter);
+
+        StringBuilder value = service.convert(resourceStream, StringBuilder.class);
+
+        assertThat(value).hasToString("text");
+    }
+
+    @Test
+    public void convert_GivenAHigherPriorityConverterForAParentClass_PrefersItOverTheMostSpecificConverter() {
+        InputStream resourceStream = toInputStream("1234");
+        when(failingConverter.getDestinationType()).thenReturn(Object.class);
+        when(failingConverter.getPriority()).thenReturn(10);
+        when(failingConverter.convert(resourceStream, Integer.class)).thenReturn(1234);
+        when(converter.getDestinationType()).thenReturn(Number.class);
+        ResourceConversionService service = new ResourceConversionService(new LinkedHashMap<>());
+        service.addConverter(converter);
+        service.addConverter(failingConverter);
+
+        Integer value = service.convert(resourceStream, Integer.class);
+
+        assertThat(value).isEqualTo(1234);
+    }
+
+    @Test
+    public void addConverter_GivenTheReturnTypeWasAlreadyResolved_UsesTheNewConverterFromThenOn() {
+        InputStream first = toInputStream("1");
+        InputStream second = toInputStream("2");
+        when(failingConverter.getDestinationType()).thenReturn(Object.class);
+        when(failingConverter.convert(first, Integer.class)).thenReturn(1);
+        when(converter.getDestinationType()).thenReturn(Number.class);
+        when(converter.convert(second, Integer.class)).thenReturn(2);
+        ResourceConversionService service = new ResourceConversionService(new LinkedHashMap<>());
+        service.addConverter(failingConverter);
+
+        assertThat(service.convert(first, Integer.class)).isEqualTo(1);
+        service.addConverter(converter);
+        assertThat(service.convert(second, Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    public void addConverter_GivenConcurrentRegistrations_KeepsEveryConverter() throws Exception {
+        List<Class<?>> types = Arrays.asList(Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class, Character.class, Boolean.class);
+        ResourceConversionService service = new ResourceConversionService(new LinkedHashMap<>());
+        ExecutorService executor = Executors.newFixedThreadPool(types.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> registrations = new ArrayList<>();
+            for (Class<?> type : types) {
+                registrations.add(executor.submit(() -> {
+                    start.await();
+                    service.addConverter(converterFor(type));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> registration : registrations) {
+                registration.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(service.getConvertersByClass()).containsOnlyKeys(types.toArray(new Class<?>[0]));
+    }
+
+    private static <T> ResourceConverter<T> converterFor(Class<T> type) {
+        return new ResourceConverter<T>() {
+            @Override
+            public Class<T> getDestinationType() {
+                return type;
+            }
+
+            @Override
+            public T convert(InputStream resource, Class<? extends T> returnType) {
+                return null;
+            }
+        };
+    }
+
     private InputStream toInputStream(String resourceAsString) {
         return new ByteArrayInputStream(resourceAsString.getBytes(StandardCharsets.UTF_8));
     }
@@ -0,0 +1,16 @@
+package uk.co.autotrader.traverson.exception;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitOpenExceptionTest {
+
+    @Test
+    public void init_SetsHostField() {
+        CircuitOpenException exception = new CircuitOpenException("api.example.com:8080");
+
+        assertThat(exception.getHost()).isEqualTo("api.example.com:8080");
+        assertThat(exception).hasMessage("Circuit breaker open for host api.example.com:8080").hasNoCause();
+    }
+}
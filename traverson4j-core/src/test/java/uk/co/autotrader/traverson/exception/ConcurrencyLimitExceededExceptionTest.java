@@ -0,0 +1,17 @@
+package uk.co.autotrader.traverson.exception;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitExceededExceptionTest {
+
+    @Test
+    public void init_SetsHostAndLimitFields() {
+        ConcurrencyLimitExceededException exception = new ConcurrencyLimitExceededException("api.example.com", 12);
+
+        assertThat(exception.getHost()).isEqualTo("api.example.com");
+        assertThat(exception.getLimit()).isEqualTo(12);
+        assertThat(exception).hasMessage("Concurrency limit of 12 reached for host api.example.com").hasNoCause();
+    }
+}
@@ -0,0 +1,29 @@
+package uk.co.autotrader.traverson.exception;
+
+import org.junit.Test;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineExceededExceptionTest {
+
+    @Test
+    public void init_SetsHopAndDeadlineFields() {
+        DeadlineExceededException exception = new DeadlineExceededException("GET http://localhost", Duration.ofSeconds(2));
+
+        assertThat(exception.getHop()).isEqualTo("GET http://localhost");
+        assertThat(exception.getDeadline()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(exception).hasMessage("Deadline of PT2S exceeded at GET http://localhost").hasNoCause();
+    }
+
+    @Test
+    public void init_GivenCause_SetsTheCause() {
+        SocketTimeoutException cause = new SocketTimeoutException("Read timed out");
+
+        DeadlineExceededException exception = new DeadlineExceededException("GET http://localhost", Duration.ofSeconds(2), cause);
+
+        assertThat(exception).hasCause(cause);
+    }
+}
@@ -0,0 +1,16 @@
+package uk.co.autotrader.traverson.exception;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitExceededExceptionTest {
+
+    @Test
+    public void init_SetsHostField() {
+        RateLimitExceededException exception = new RateLimitExceededException("api.example.com");
+
+        assertThat(exception.getHost()).isEqualTo("api.example.com");
+        assertThat(exception).hasMessage("Rate limit exceeded for host api.example.com").hasNoCause();
+    }
+}
@@ -0,0 +1,257 @@
+package uk.co.autotrader.traverson.http;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CoalescingTraversonClientTest {
+    @Mock
+    private TraversonClient delegate;
+    @Mock
+    private Response<JSONObject> response;
+    @Mock
+    private Response<InputStream> streamResponse;
+    private CoalescingTraversonClient client;
+    private ExecutorService threads;
+    private CountDownLatch leaderStarted;
+    private CountDownLatch releaseLeader;
+
+    @Before
+    public void setUp() {
+        client = new CoalescingTraversonClient(delegate);
+        threads = Executors.newCachedThreadPool();
+        leaderStarted = new CountDownLatch(1);
+        releaseLeader = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void execute_GivenNonGetRequest_PassesItToTheDelegate() {
+        Request request = request(Method.POST);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(response);
+        assertThat(client.getExecutedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenCloseableReturnType_PassesItToTheDelegate() {
+        Request request = request(Method.GET);
+        when(delegate.execute(request, InputStream.class)).thenReturn(streamResponse);
+
+        assertThat(client.execute(request, InputStream.class)).isSameAs(streamResponse);
+        assertThat(client.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenIdenticalRequestsOneAfterAnother_ExecutesEach() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenReturn(response);
+
+        client.execute(request(Method.GET), JSONObject.class);
+        client.execute(request(Method.GET), JSONObject.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(JSONObject.class));
+        assertThat(client.getExecutedCount()).isEqualTo(2);
+        assertThat(client.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenIdenticalRequestsInFlight_SharesOneResponse() throws Exception {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        List<Future<Response<JSONObject>>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(threads.submit(() -> client.execute(request(Method.GET), JSONObject.class)));
+        }
+        awaitCoalescedCount(3);
+
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        for (Future<Response<JSONObject>> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+        verify(delegate, times(1)).execute(any(Request.class), eq(JSONObject.class));
+        assertThat(client.getExecutedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenRequestsInFlightDifferingOnlyInTheirTimeoutHeader_SharesOneResponse() throws Exception {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(requestWithTimeoutHeader("1000"), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<Response<JSONObject>> follower = threads.submit(() -> client.execute(requestWithTimeoutHeader("600"), JSONObject.class));
+        awaitCoalescedCount(1);
+
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(client.getExecutedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenDifferentRequestsInFlight_ExecutesEach() throws Exception {
+        Request other = request(Method.GET);
+        other.addHeader("Accept-Language", "fr");
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            if (((Request) invocation.getArgument(0)).getHeaders().isEmpty()) {
+                leaderStarted.countDown();
+                releaseLeader.await(5, TimeUnit.SECONDS);
+            }
+            return response;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        assertThat(client.execute(other, JSONObject.class)).isSameAs(response);
+        releaseLeader.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(client.getExecutedCount()).isEqualTo(2);
+        assertThat(client.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenInFlightRequestFails_ThrowsTheFailureToEveryCaller() throws Exception {
+        HttpException failure = new HttpException("boom", null);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            throw failure;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<Response<JSONObject>> follower = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        awaitCoalescedCount(1);
+
+        releaseLeader.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    public void execute_GivenInFlightRequestThrowsAnError_ThrowsACompletionExceptionToFollowers() throws Exception {
+        LinkageError error = new LinkageError("boom");
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            throw error;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<Response<JSONObject>> follower = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        awaitCoalescedCount(1);
+
+        releaseLeader.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(error);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(CompletionException.class)
+                .hasRootCauseInstanceOf(LinkageError.class);
+    }
+
+    @Test
+    public void execute_GivenFollowerTimeoutRunsOutBeforeTheLeaderResponds_ThrowsHttpException() throws Exception {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        Request slow = request(Method.GET);
+        slow.setTimeout(Duration.ofSeconds(30));
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(slow, JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Request hurried = request(Method.GET);
+        hurried.setTimeout(Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> client.execute(hurried, JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Timed out waiting for the identical request in flight")
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        releaseLeader.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        assertThat(client.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenFollowerInterrupted_ThrowsHttpException() throws Exception {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            leaderStarted.countDown();
+            releaseLeader.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+        Future<Response<JSONObject>> leader = threads.submit(() -> client.execute(request(Method.GET), JSONObject.class));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> client.execute(request(Method.GET), JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting for the identical request in flight");
+        assertThat(Thread.interrupted()).isTrue();
+
+        releaseLeader.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(response);
+    }
+
+    private void awaitCoalescedCount(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(client.getCoalescedCount()).isEqualTo(expected);
+    }
+
+    private static Request requestWithTimeoutHeader(String millis) {
+        Request request = request(Method.GET);
+        request.setTimeoutHeader("Request-Timeout");
+        request.addHeader("Request-Timeout", millis);
+        return request;
+    }
+
+    private static Request request(Method method) {
+        Request request = new Request();
+        request.setMethod(method);
+        request.setUrl("http://localhost/");
+        request.setAcceptMimeType("application/hal+json");
+        return request;
+    }
+}
@@ -0,0 +1,98 @@
+package uk.co.autotrader.traverson.http;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestKeyTest {
+    private Request request;
+
+    @Before
+    public void setUp() {
+        request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl("http://localhost/");
+        request.setAcceptMimeType("application/hal+json");
+    }
+
+    @Test
+    public void getUrl_ReturnsTheUrlTheKeyWasTakenWith() {
+        RequestKey key = RequestKey.withoutHeaders(request, null);
+
+        request.setUrl("http://localhost/other");
+
+        assertThat(key.getUrl()).isEqualTo("http://localhost/");
+    }
+
+    @Test
+    public void withHeaders_GivenEqualRequests_IsEqual() {
+        request.addQueryParam("page", "1");
+        request.addTemplateParam("id", "2");
+        request.addAuthCredential(new AuthCredential("user", "password", "localhost", true));
+        RequestKey key = RequestKey.withHeaders(request, JSONObject.class);
+
+        assertThat(key).isEqualTo(RequestKey.withHeaders(new Request(request), JSONObject.class));
+        assertThat(key).hasSameHashCodeAs(RequestKey.withHeaders(new Request(request), JSONObject.class));
+        assertThat(key).isNotEqualTo(RequestKey.withHeaders(request, String.class));
+        assertThat(key).isNotEqualTo("not a key");
+    }
+
+    @Test
+    public void withHeaders_GivenDifferentParametersOrCredentials_IsNotEqual() {
+        RequestKey key = RequestKey.withHeaders(request, null);
+
+        request.addTemplateParam("id", "1");
+        RequestKey withTemplateParam = RequestKey.withHeaders(request, null);
+        request.addQueryParam("q", "x");
+        RequestKey withQueryParam = RequestKey.withHeaders(request, null);
+        request.addAuthCredential(new AuthCredential("user", "password", null, false));
+        RequestKey withCredentials = RequestKey.withHeaders(request, null);
+
+        assertThat(Arrays.asList(withTemplateParam, withQueryParam, withCredentials)).doesNotHaveDuplicates().doesNotContain(key);
+    }
+
+    @Test
+    public void withHeaders_GivenDifferentHeaders_IsNotEqual() {
+        RequestKey key = RequestKey.withHeaders(request, null);
+
+        request.addHeader("Accept-Language", "fr");
+
+        assertThat(key).isNotEqualTo(RequestKey.withHeaders(request, null));
+    }
+
+    @Test
+    public void withHeaders_GivenDifferentTimeoutHeaders_IsEqual() {
+        Request other = new Request(request);
+        request.setTimeoutHeader("Request-Timeout");
+        request.addHeader("Request-Timeout", "1000");
+        other.setTimeoutHeader("Request-Timeout");
+        other.addHeader("Request-Timeout", "600");
+
+        assertThat(RequestKey.withHeaders(request, null)).isEqualTo(RequestKey.withHeaders(other, null));
+    }
+
+    @Test
+    public void withoutHeaders_GivenDifferentHeaders_IsEqual() {
+        RequestKey key = RequestKey.withoutHeaders(request, Arrays.asList("a", "b"));
+
+        request.addHeader("Accept-Language", "fr");
+
+        assertThat(key).isEqualTo(RequestKey.withoutHeaders(request, Arrays.asList("a", "b")));
+        assertThat(key).isNotEqualTo(RequestKey.withoutHeaders(request, Arrays.asList("a")));
+        assertThat(key).isNotEqualTo(RequestKey.withHeaders(request, Arrays.asList("a", "b")));
+    }
+
+    @Test
+    public void withoutHeaders_IsNotAffectedByLaterChangesToTheRequest() {
+        request.addTemplateParam("id", "1");
+        RequestKey key = RequestKey.withoutHeaders(request, null);
+
+        request.addTemplateParam("id", "2");
+
+        assertThat(key).isNotEqualTo(RequestKey.withoutHeaders(request, null));
+    }
+}
@@ -0,0 +1,104 @@
+package uk.co.autotrader.traverson.http;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class RequestTest {
+
+    @Test
+    public void copy_CopiesAllFields() {
+        Body<?> body = mock(Body.class);
+        AuthCredential credential = new AuthCredential("user", "password", null, false);
+        Request request = new Request();
+        request.setUrl("http://localhost");
+        request.setMethod(Method.POST);
+        request.setAcceptMimeType("application/json");
+        request.setBody(body);
+        request.addHeader("header", "value");
+        request.addQueryParam("query", "1");
+        request.addTemplateParam("template", "2");
+        request.addAuthCredential(credential);
+        request.setTimeout(Duration.ofSeconds(1));
+        request.setTimeoutHeader("Request-Timeout");
+
+        Request copy = new Request(request);
+
+        assertThat(copy.getUrl()).isEqualTo("http://localhost");
+        assertThat(copy.getMethod()).isEqualTo(Method.POST);
+        assertThat(copy.getAcceptMimeType()).isEqualTo("application/json");
+        assertThat(copy.getBody()).isSameAs(body);
+        assertThat(copy.getHeaders()).containsEntry("header", "value");
+        assertThat(copy.getQueryParameters().get("query")).containsExactly("1");
+        assertThat(copy.getTemplateParams().get("template")).containsExactly("2");
+        assertThat(copy.getAuthCredentials()).containsExactly(credential);
+        assertThat(copy.getTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(copy.getTimeoutHeader()).isEqualTo("Request-Timeout");
+    }
+
+    @Test
+    public void copy_CanBeChangedWithoutAffectingTheOriginal() {
+        Request request = new Request();
+        request.addHeader("header", "value");
+        request.addQueryParam("query", "1");
+        request.addTemplateParam("template", "2");
+
+        Request copy = new Request(request);
+        copy.setUrl("http://localhost/copy");
+        copy.addHeader("If-None-Match", "\"etag\"");
+        copy.addQueryParam("query", "3");
+        copy.addTemplateParam("template", "4");
+        copy.addAuthCredential(new AuthCredential("user", "password", null, false));
+
+        assertThat(request.getUrl()).isNull();
+        assertThat(request.getHeaders()).containsOnlyKeys("header");
+        assertThat(request.getQueryParameters().get("query")).containsExactly("1");
+        assertThat(request.getTemplateParams().get("template")).containsExactly("2");
+        assertThat(request.getAuthCredentials()).isEmpty();
+    }
+
+    @Test
+    public void sharing_CopiesAllFieldsSharingTheHeadersAndAuthCredentialsReadOnly() {
+        AuthCredential credential = new AuthCredential("user", "password", null, false);
+        Request request = new Request();
+        request.setUrl("http://localhost");
+        request.addHeader("header", "value");
+        request.addQueryParam("query", "1");
+        request.addAuthCredential(credential);
+        request.setTimeout(Duration.ofSeconds(1));
+
+        Request copy = Request.sharing(request);
+        copy.addQueryParam("query", "2");
+
+        assertThat(copy.getUrl()).isEqualTo("http://localhost");
+        assertThat(copy.getTimeout()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(copy.getHeaders()).containsEntry("header", "value");
+        assertThat(copy.getAuthCredentials()).containsExactly(credential);
+        assertThat(copy.getQueryParameters().get("query")).containsExactly("1", "2");
+        assertThat(request.getQueryParameters().get("query")).containsExactly("1");
+        assertThatThrownBy(() -> copy.getHeaders().put("other", "value")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> copy.getAuthCredentials().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void sharing_GivenHeaderOrAuthCredentialAdded_CopiesThemWithoutAffectingTheOriginal() {
+        Request request = new Request();
+        request.addHeader("header", "value");
+
+        Request withHeader = Request.sharing(request);
+        withHeader.addHeader("If-None-Match", "\"etag\"");
+        withHeader.getHeaders().put("other", "value");
+        Request withAuth = Request.sharing(request);
+        withAuth.addAuthCredential(new AuthCredential("user", "password", null, false));
+
+        assertThat(withHeader.getHeaders()).containsOnlyKeys("header", "If-None-Match", "other");
+        assertThat(withAuth.getHeaders()).containsOnlyKeys("header");
+        assertThat(withAuth.getAuthCredentials()).hasSize(1);
+        assertThat(request.getHeaders()).containsOnlyKeys("header");
+        assertThat(request.getAuthCredentials()).isEmpty();
+    }
+}
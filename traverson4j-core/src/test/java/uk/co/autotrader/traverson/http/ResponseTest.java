@@ -75,4 +75,13 @@ public class ResponseTest {
         assertThat(response.getResponseHeaders()).containsEntry("key1", "value1").containsEntry("key2", "value3");
 
     }
+
+    @Test
+    public void getResponseHeader_MatchesTheNameCaseInsensitively() {
+        Response<String> response = new Response<>();
+        response.addResponseHeader("Cache-Control", "max-age=60");
+
+        assertThat(response.getResponseHeader("cache-control")).isEqualTo("max-age=60");
+        assertThat(response.getResponseHeader("ETag")).isNull();
+    }
 }
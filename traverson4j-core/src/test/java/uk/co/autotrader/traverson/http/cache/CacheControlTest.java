@@ -0,0 +1,35 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheControlTest {
+
+    @Test
+    public void parse_GivenNull_HasNoDirectives() {
+        CacheControl cacheControl = CacheControl.parse(null);
+
+        assertThat(cacheControl.has("max-age")).isFalse();
+        assertThat(cacheControl.millis("max-age")).isEqualTo(-1);
+    }
+
+    @Test
+    public void parse_GivenDirectives_IgnoresCaseWhitespaceAndQuotes() {
+        CacheControl cacheControl = CacheControl.parse("Max-Age=\"60\", no-cache , stale-if-error=5");
+
+        assertThat(cacheControl.has("no-cache")).isTrue();
+        assertThat(cacheControl.has("no-store")).isFalse();
+        assertThat(cacheControl.millis("max-age")).isEqualTo(60000);
+        assertThat(cacheControl.millis("stale-if-error")).isEqualTo(5000);
+    }
+
+    @Test
+    public void millis_GivenDirectiveWithoutValidSeconds_ReturnsMinusOne() {
+        CacheControl cacheControl = CacheControl.parse("no-cache, max-age=soon, s-maxage=-5");
+
+        assertThat(cacheControl.millis("no-cache")).isEqualTo(-1);
+        assertThat(cacheControl.millis("max-age")).isEqualTo(-1);
+        assertThat(cacheControl.millis("s-maxage")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,232 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheEntryTest {
+    private static final String DATE = "Tue, 15 Nov 1994 08:12:31 GMT";
+    private static final long DATE_MILLIS = 784887151000L;
+
+    @Test
+    public void isStorable_GivenMaxAge_ReturnsTrue() {
+        assertThat(CacheEntry.isStorable(response(200, "Cache-Control", "max-age=60"))).isTrue();
+        assertThat(CacheEntry.isStorable(response(203, "Cache-Control", "max-age=60"))).isTrue();
+    }
+
+    @Test
+    public void isStorable_GivenExpiresOrValidator_ReturnsTrue() {
+        assertThat(CacheEntry.isStorable(response(200, "Expires", DATE))).isTrue();
+        assertThat(CacheEntry.isStorable(response(200, "ETag", "\"1\""))).isTrue();
+        assertThat(CacheEntry.isStorable(response(200, "Last-Modified", DATE))).isTrue();
+    }
+
+    @Test
+    public void isStorable_GivenNoFreshnessOrValidator_ReturnsFalse() {
+        assertThat(CacheEntry.isStorable(response(200, "Cache-Control", "public"))).isFalse();
+    }
+
+    @Test
+    public void isStorable_GivenUnstorableStatus_ReturnsFalse() {
+        assertThat(CacheEntry.isStorable(response(201, "Cache-Control", "max-age=60"))).isFalse();
+    }
+
+    @Test
+    public void isStorable_GivenNoStore_ReturnsFalse() {
+        assertThat(CacheEntry.isStorable(response(200, "Cache-Control", "max-age=60, no-store"))).isFalse();
+    }
+
+    @Test
+    public void isStorable_GivenVaryStar_ReturnsFalse() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=60");
+        response.addResponseHeader("Vary", " * ");
+
+        assertThat(CacheEntry.isStorable(response)).isFalse();
+    }
+
+    @Test
+    public void create_GivenMaxAge_IsFreshForMaxAgeLessAge() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=60");
+        response.addResponseHeader("Age", "10");
+
+        CacheEntry entry = CacheEntry.create(new Request(), response, 1000);
+
+        assertThat(entry.isFresh(50999)).isTrue();
+        assertThat(entry.isFresh(51000)).isFalse();
+        assertThat(entry.mayServeWhileRevalidating(51000)).isFalse();
+        assertThat(entry.mayServeOnError(51000)).isFalse();
+    }
+
+    @Test
+    public void create_GivenInvalidAge_IgnoresIt() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=60");
+        response.addResponseHeader("Age", "old");
+
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+
+        assertThat(entry.isFresh(59999)).isTrue();
+    }
+
+    @Test
+    public void create_GivenExpiresAndDate_IsFreshForTheDifference() {
+        Response<byte[]> response = response(200, "Date", DATE);
+        response.addResponseHeader("Expires", "Tue, 15 Nov 1994 08:13:31 GMT");
+
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+
+        assertThat(entry.isFresh(59999)).isTrue();
+        assertThat(entry.isFresh(60000)).isFalse();
+    }
+
+    @Test
+    public void create_GivenExpiresWithoutDate_IsFreshUntilExpires() {
+        CacheEntry entry = CacheEntry.create(new Request(), response(200, "Expires", DATE), DATE_MILLIS - 1000);
+
+        assertThat(entry.isFresh(DATE_MILLIS - 1)).isTrue();
+        assertThat(entry.isFresh(DATE_MILLIS)).isFalse();
+    }
+
+    @Test
+    public void create_GivenInvalidOrPastExpires_IsNotFresh() {
+        CacheEntry invalid = CacheEntry.create(new Request(), response(200, "Expires", "0"), 0);
+        CacheEntry past = CacheEntry.create(new Request(), response(200, "Expires", DATE), DATE_MILLIS + 1000);
+
+        assertThat(invalid.isFresh(0)).isFalse();
+        assertThat(past.isFresh(DATE_MILLIS + 1000)).isFalse();
+    }
+
+    @Test
+    public void create_GivenNoCache_IsNeverFresh() {
+        CacheEntry entry = CacheEntry.create(new Request(), response(200, "Cache-Control", "max-age=60, no-cache"), 0);
+
+        assertThat(entry.isFresh(0)).isFalse();
+    }
+
+    @Test
+    public void create_GivenStaleDirectives_AllowsServingStaleWithinTheirWindows() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=1, stale-while-revalidate=2, stale-if-error=3");
+
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+
+        assertThat(entry.mayServeWhileRevalidating(2999)).isTrue();
+        assertThat(entry.mayServeWhileRevalidating(3000)).isFalse();
+        assertThat(entry.mayServeOnError(3999)).isTrue();
+        assertThat(entry.mayServeOnError(4000)).isFalse();
+    }
+
+    @Test
+    public void create_GivenMustRevalidate_IgnoresStaleDirectives() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=1, must-revalidate, stale-while-revalidate=2, stale-if-error=3");
+
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+
+        assertThat(entry.mayServeWhileRevalidating(1000)).isFalse();
+        assertThat(entry.mayServeOnError(1000)).isFalse();
+    }
+
+    @Test
+    public void matchesVariant_GivenNoVary_MatchesAnyRequest() {
+        CacheEntry entry = CacheEntry.create(new Request(), response(200, "ETag", "\"1\""), 0);
+        Request request = new Request();
+        request.addHeader("Accept-Language", "en");
+
+        assertThat(entry.matchesVariant(request)).isTrue();
+    }
+
+    @Test
+    public void matchesVariant_GivenVary_ComparesTheSelectingHeaders() {
+        Request original = new Request();
+        original.addHeader("accept-language", "en");
+        original.setAcceptMimeType("application/hal+json");
+        Response<byte[]> response = response(200, "ETag", "\"1\"");
+        response.addResponseHeader("Vary", "Accept-Language, Accept");
+        CacheEntry entry = CacheEntry.create(original, response, 0);
+        Request same = new Request();
+        same.addHeader("Accept-Language", "en");
+        same.addHeader("Accept", "application/hal+json");
+        Request different = new Request();
+        different.addHeader("Accept-Language", "fr");
+        different.setAcceptMimeType("application/hal+json");
+
+        assertThat(entry.matchesVariant(same)).isTrue();
+        assertThat(entry.matchesVariant(different)).isFalse();
+    }
+
+    @Test
+    public void addValidators_GivenETagAndLastModified_AddsConditionalHeaders() {
+        Response<byte[]> response = response(200, "ETag", "\"1\"");
+        response.addResponseHeader("Last-Modified", DATE);
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+        Request conditionalRequest = new Request();
+
+        entry.addValidators(conditionalRequest);
+
+        assertThat(conditionalRequest.getHeaders())
+                .containsEntry("If-None-Match", "\"1\"")
+                .containsEntry("If-Modified-Since", DATE);
+    }
+
+    @Test
+    public void addValidators_GivenNoValidators_AddsNothing() {
+        CacheEntry entry = CacheEntry.create(new Request(), response(200, "Cache-Control", "max-age=1"), 0);
+        Request conditionalRequest = new Request();
+
+        entry.addValidators(conditionalRequest);
+
+        assertThat(conditionalRequest.getHeaders()).isEmpty();
+    }
+
+    @Test
+    public void refresh_MergesHeadersAndRestartsFreshness() {
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=1");
+        response.addResponseHeader("ETag", "\"1\"");
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+        Response<byte[]> notModified = new Response<>();
+        notModified.setStatusCode(304);
+        notModified.addResponseHeader("Cache-Control", "max-age=10");
+
+        CacheEntry refreshed = entry.refresh(notModified, 5000);
+
+        assertThat(refreshed.isFresh(14999)).isTrue();
+        assertThat(refreshed.toResponse().getResponseHeaders())
+                .containsEntry("Cache-Control", "max-age=10")
+                .containsEntry("ETag", "\"1\"");
+        assertThat(refreshed.toResponse().getStatusCode()).isEqualTo(200);
+        assertThat(refreshed.toResponse().getResource()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void toResponse_ReturnsACopy() {
+        Response<byte[]> response = response(200, "ETag", "\"1\"");
+        CacheEntry entry = CacheEntry.create(new Request(), response, 0);
+        response.addResponseHeader("Other", "value");
+
+        Response<byte[]> copy = entry.toResponse();
+        copy.addResponseHeader("Another", "value");
+
+        assertThat(copy.getUri()).isEqualTo(URI.create("http://localhost"));
+        assertThat(entry.toResponse().getResponseHeaders()).containsOnlyKeys("ETag");
+    }
+
+    @Test
+    public void size_GivenNoBody_IsZero() {
+        Response<byte[]> response = response(200, "ETag", "\"1\"");
+        response.setResource(null);
+
+        assertThat(CacheEntry.create(new Request(), response, 0).size()).isZero();
+        assertThat(CacheEntry.create(new Request(), response(200, "ETag", "\"1\""), 0).size()).isEqualTo(3);
+    }
+
+    private Response<byte[]> response(int statusCode, String headerName, String headerValue) {
+        Response<byte[]> response = new Response<>();
+        response.setStatusCode(statusCode);
+        response.setUri(URI.create("http://localhost"));
+        response.addResponseHeader(headerName, headerValue);
+        response.setResource(new byte[]{1, 2, 3});
+        return response;
+    }
+}
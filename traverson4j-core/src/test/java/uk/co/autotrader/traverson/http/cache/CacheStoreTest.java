@@ -0,0 +1,86 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheStoreTest {
+    private final CacheStore<String> store = new CacheStore<>(10);
+
+    @Test
+    public void put_GivenEntryWithinMaximumSize_StoresTheEntry() {
+        CacheEntry entry = entry(4);
+
+        store.put("a", entry);
+
+        assertThat(store.get("a")).isSameAs(entry);
+    }
+
+    @Test
+    public void put_GivenEntryLargerThanMaximumSize_DoesNotStoreItAndRemovesThePreviousEntry() {
+        store.put("a", entry(4));
+
+        store.put("a", entry(11));
+
+        assertThat(store.get("a")).isNull();
+        assertThat(store.evictionCount()).isZero();
+    }
+
+    @Test
+    public void put_GivenMaximumSizeExceeded_EvictsTheLeastRecentlyUsedEntries() {
+        store.put("a", entry(4));
+        store.put("b", entry(4));
+        store.get("a");
+
+        store.put("c", entry(4));
+
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.get("b")).isNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void put_GivenReplacement_CountsOnlyTheNewSize() {
+        store.put("a", entry(8));
+        store.put("a", entry(8));
+
+        assertThat(store.get("a")).isNotNull();
+        assertThat(store.evictionCount()).isZero();
+    }
+
+    @Test
+    public void remove_RemovesTheEntry() {
+        store.put("a", entry(4));
+
+        store.remove("a");
+        store.remove("missing");
+
+        assertThat(store.get("a")).isNull();
+    }
+
+    @Test
+    public void removeAll_RemovesTheMatchingEntriesAndFreesTheirSpace() {
+        store.put("a1", entry(4));
+        store.put("a2", entry(4));
+        store.put("b", entry(2));
+
+        store.removeAll(key -> key.startsWith("a"));
+        store.put("c", entry(8));
+
+        assertThat(store.get("a1")).isNull();
+        assertThat(store.get("a2")).isNull();
+        assertThat(store.get("b")).isNotNull();
+        assertThat(store.get("c")).isNotNull();
+        assertThat(store.evictionCount()).isZero();
+    }
+
+    private CacheEntry entry(int size) {
+        Response<byte[]> response = new Response<>();
+        response.setStatusCode(200);
+        response.setResource(new byte[size]);
+        return CacheEntry.create(new Request(), response, 0);
+    }
+}
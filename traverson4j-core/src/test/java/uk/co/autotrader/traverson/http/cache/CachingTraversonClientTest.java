@@ -0,0 +1,388 @@
+package uk.co.autotrader.traverson.http.cache;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.conversion.ResourceConversionService;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingTraversonClientTest {
+    private static final String BODY = "{\"name\":\"cached\"}";
+
+    @Mock
+    private TraversonClient delegate;
+    private List<Runnable> backgroundTasks;
+    private long now;
+    private CachingTraversonClient client;
+
+    @Before
+    public void setUp() {
+        backgroundTasks = new ArrayList<>();
+        client = new CachingTraversonClient(delegate, new CacheStore<>(1024), ResourceConversionService.getInstance(), () -> now, backgroundTasks::add);
+    }
+
+    @Test
+    public void constructor_UsesTheDefaultCollaborators() throws Exception {
+        CachingTraversonClient defaultClient = new CachingTraversonClient(delegate, 10);
+
+        assertThat(FieldUtils.readField(defaultClient, "revalidationExecutor", true)).isSameAs(ForkJoinPool.commonPool());
+        assertThat(FieldUtils.readField(defaultClient, "conversionService", true)).isSameAs(ResourceConversionService.getInstance());
+    }
+
+    @Test
+    public void execute_GivenFreshStoredResponse_ServesItWithoutCallingTheDelegate() {
+        Request request = get();
+        when(delegate.execute(request, byte[].class)).thenReturn(response(200, "Cache-Control", "max-age=60"));
+
+        Response<JSONObject> first = client.execute(request, JSONObject.class);
+        now = 59999;
+        Response<JSONObject> second = client.execute(request, JSONObject.class);
+
+        assertThat(first.getResource().getString("name")).isEqualTo("cached");
+        assertThat(second.getResource().getString("name")).isEqualTo("cached");
+        assertThat(second.getResource()).isNotSameAs(first.getResource());
+        assertThat(second.getStatusCode()).isEqualTo(200);
+        verify(delegate, times(1)).execute(any(Request.class), eq(byte[].class));
+        assertStatistics(1, 1, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenResponseWithoutBody_ReturnsNoResource() {
+        Request request = get();
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=60");
+        response.setResource(null);
+        when(delegate.execute(request, byte[].class)).thenReturn(response);
+
+        Response<String> result = client.execute(request, String.class);
+
+        assertThat(result.getResource()).isNull();
+    }
+
+    @Test
+    public void execute_GivenUnstorableResponse_CallsTheDelegateEveryTime() {
+        Request request = get();
+        when(delegate.execute(request, byte[].class)).thenReturn(response(200, "Cache-Control", "no-store"));
+
+        client.execute(request, String.class);
+        client.execute(request, String.class);
+
+        verify(delegate, times(2)).execute(request, byte[].class);
+        assertStatistics(0, 2, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenDifferentParameters_StoresSeparately() {
+        Request first = get();
+        first.addQueryParam("page", "1");
+        Request second = get();
+        second.addQueryParam("page", "2");
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+
+        client.execute(first, String.class);
+        client.execute(second, String.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+    }
+
+    @Test
+    public void execute_GivenVaryMismatch_CallsTheDelegate() {
+        Request english = get();
+        english.addHeader("Accept-Language", "en");
+        Request french = get();
+        french.addHeader("Accept-Language", "fr");
+        Response<byte[]> response = response(200, "Cache-Control", "max-age=60");
+        response.addResponseHeader("Vary", "Accept-Language");
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response);
+
+        client.execute(english, String.class);
+        client.execute(french, String.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+    }
+
+    @Test
+    public void execute_GivenRequestNoCache_CallsTheDelegate() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+        client.execute(request, String.class);
+        Request noCache = get();
+        noCache.addHeader("Cache-Control", "no-cache");
+
+        client.execute(noCache, String.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+        assertStatistics(0, 2, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenStaleEntryAndNotModified_RevalidatesAndServesTheStoredBody() {
+        Request request = get();
+        Response<byte[]> notModified = response(304, "Cache-Control", "max-age=60");
+        notModified.setResource(null);
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "ETag", "\"1\""))
+                .thenReturn(notModified);
+        client.execute(request, String.class);
+
+        Response<String> result = client.execute(request, String.class);
+        now = 59999;
+        client.execute(request, String.class);
+
+        ArgumentCaptor<Request> requests = ArgumentCaptor.forClass(Request.class);
+        verify(delegate, times(2)).execute(requests.capture(), eq(byte[].class));
+        assertThat(requests.getAllValues().get(1).getHeaders()).containsEntry("If-None-Match", "\"1\"");
+        assertThat(request.getHeaders()).doesNotContainKey("If-None-Match");
+        assertThat(result.getStatusCode()).isEqualTo(200);
+        assertThat(result.getResource()).isEqualTo(BODY);
+        assertStatistics(1, 1, 1, 0);
+    }
+
+    @Test
+    public void execute_GivenStaleEntryAndChangedResponse_StoresTheNewResponse() {
+        Request request = get();
+        Response<byte[]> changed = response(200, "ETag", "\"2\"");
+        changed.setResource("changed".getBytes(StandardCharsets.UTF_8));
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "ETag", "\"1\""))
+                .thenReturn(changed);
+        client.execute(request, String.class);
+
+        Response<String> result = client.execute(request, String.class);
+
+        assertThat(result.getResource()).isEqualTo("changed");
+        assertStatistics(0, 2, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenStaleWhileRevalidate_ServesStaleAndRevalidatesOnceInTheBackground() {
+        Request request = get();
+        Response<byte[]> notModified = response(304, "Cache-Control", "max-age=60");
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1, stale-while-revalidate=60"))
+                .thenReturn(notModified);
+        client.execute(request, String.class);
+        now = 2000;
+
+        Response<String> first = client.execute(request, String.class);
+        client.execute(request, String.class);
+
+        assertThat(first.getResource()).isEqualTo(BODY);
+        assertThat(backgroundTasks).hasSize(1);
+        backgroundTasks.get(0).run();
+        client.execute(request, String.class);
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+        assertStatistics(1, 1, 1, 2);
+    }
+
+    @Test
+    public void execute_GivenBackgroundRevalidationFails_AllowsALaterRevalidation() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1, stale-while-revalidate=60"))
+                .thenThrow(new HttpException("boom", null));
+        client.execute(request, String.class);
+        now = 2000;
+        client.execute(request, String.class);
+
+        backgroundTasks.get(0).run();
+        client.execute(request, String.class);
+
+        assertThat(backgroundTasks).hasSize(2);
+    }
+
+    @Test
+    public void execute_GivenHttpExceptionWithinStaleIfError_ServesStale() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1, stale-if-error=60"))
+                .thenThrow(new HttpException("boom", null));
+        client.execute(request, String.class);
+        now = 2000;
+
+        Response<String> result = client.execute(request, String.class);
+
+        assertThat(result.getResource()).isEqualTo(BODY);
+        assertStatistics(0, 1, 0, 1);
+    }
+
+    @Test
+    public void execute_GivenHttpExceptionAfterStaleIfError_Throws() {
+        Request request = get();
+        HttpException httpException = new HttpException("boom", null);
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1, stale-if-error=1"))
+                .thenThrow(httpException);
+        client.execute(request, String.class);
+        now = 2000;
+
+        assertThatThrownBy(() -> client.execute(request, String.class)).isSameAs(httpException);
+    }
+
+    @Test
+    public void execute_GivenServerErrorWithinStaleIfError_ServesStale() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1, stale-if-error=60"))
+                .thenReturn(response(503, "Retry-After", "1"));
+        client.execute(request, String.class);
+        now = 2000;
+
+        Response<String> result = client.execute(request, String.class);
+
+        assertThat(result.getStatusCode()).isEqualTo(200);
+        assertStatistics(0, 1, 0, 1);
+    }
+
+    @Test
+    public void execute_GivenServerErrorAfterStaleIfError_ReturnsTheErrorAndRemovesTheEntry() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class)))
+                .thenReturn(response(200, "Cache-Control", "max-age=1"))
+                .thenReturn(response(503, "Retry-After", "1"))
+                .thenReturn(response(200, "Cache-Control", "max-age=1"));
+        client.execute(request, String.class);
+        now = 2000;
+
+        Response<String> result = client.execute(request, String.class);
+        client.execute(request, String.class);
+
+        assertThat(result.getStatusCode()).isEqualTo(503);
+        assertStatistics(0, 3, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenSuccessfulUnsafeMethod_RemovesTheStoredResponse() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+        client.execute(request, String.class);
+        Request post = get();
+        post.setMethod(Method.POST);
+        Response<String> posted = new Response<>();
+        posted.setStatusCode(201);
+        when(delegate.execute(post, String.class)).thenReturn(posted);
+
+        assertThat(client.execute(post, String.class)).isSameAs(posted);
+        client.execute(request, String.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+    }
+
+    @Test
+    public void execute_GivenFailedUnsafeMethod_KeepsTheStoredResponse() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+        client.execute(request, String.class);
+        Request delete = get();
+        delete.setMethod(Method.DELETE);
+        Response<String> failed = new Response<>();
+        failed.setStatusCode(500);
+        when(delegate.execute(delete, String.class)).thenReturn(failed);
+
+        client.execute(delete, String.class);
+        client.execute(request, String.class);
+
+        verify(delegate, times(1)).execute(any(Request.class), eq(byte[].class));
+    }
+
+    @Test
+    public void execute_GivenHeadRequest_PassesItThroughKeepingTheStoredResponse() {
+        Request request = get();
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+        client.execute(request, String.class);
+        Request head = get();
+        head.setMethod(Method.HEAD);
+        Response<String> headResponse = new Response<>();
+        headResponse.setStatusCode(200);
+        when(delegate.execute(head, String.class)).thenReturn(headResponse);
+
+        assertThat(client.execute(head, String.class)).isSameAs(headResponse);
+        client.execute(request, String.class);
+
+        verify(delegate, times(1)).execute(any(Request.class), eq(byte[].class));
+        assertStatistics(1, 1, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenRequestsWithDifferentAuthorization_DoesNotShareTheStoredResponse() {
+        Request alice = get();
+        alice.addHeader("Authorization", "Bearer alice");
+        Request bob = get();
+        bob.addHeader("Authorization", "Bearer bob");
+        when(delegate.execute(alice, byte[].class)).thenReturn(response(200, "Cache-Control", "max-age=60", "alice"));
+        when(delegate.execute(bob, byte[].class)).thenReturn(response(200, "Cache-Control", "max-age=60", "bob"));
+
+        assertThat(client.execute(alice, String.class).getResource()).isEqualTo("alice");
+        assertThat(client.execute(bob, String.class).getResource()).isEqualTo("bob");
+        assertThat(client.execute(alice, String.class).getResource()).isEqualTo("alice");
+
+        assertStatistics(1, 2, 0, 0);
+    }
+
+    @Test
+    public void execute_GivenSuccessfulUnsafeMethodWithOtherHeaders_RemovesEveryStoredResponseForTheUrl() {
+        Request request = get();
+        request.addHeader("Authorization", "Bearer alice");
+        when(delegate.execute(any(Request.class), eq(byte[].class))).thenReturn(response(200, "Cache-Control", "max-age=60"));
+        client.execute(request, String.class);
+        Request put = get();
+        put.setMethod(Method.PUT);
+        put.addHeader("Content-Type", "application/json");
+        Response<String> updated = new Response<>();
+        updated.setStatusCode(204);
+        when(delegate.execute(put, String.class)).thenReturn(updated);
+
+        client.execute(put, String.class);
+        client.execute(request, String.class);
+
+        verify(delegate, times(2)).execute(any(Request.class), eq(byte[].class));
+    }
+
+    private void assertStatistics(long hits, long misses, long revalidated, long stale) {
+        CacheStatistics statistics = client.getStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(hits);
+        assertThat(statistics.getMissCount()).isEqualTo(misses);
+        assertThat(statistics.getRevalidatedCount()).isEqualTo(revalidated);
+        assertThat(statistics.getStaleCount()).isEqualTo(stale);
+        assertThat(statistics.getEvictionCount()).isZero();
+    }
+
+    private static Request get() {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl("http://localhost/resource");
+        return request;
+    }
+
+    private static Response<byte[]> response(int statusCode, String headerName, String headerValue) {
+        return response(statusCode, headerName, headerValue, BODY);
+    }
+
+    private static Response<byte[]> response(int statusCode, String headerName, String headerValue, String body) {
+        Response<byte[]> response = new Response<>();
+        response.setStatusCode(statusCode);
+        response.addResponseHeader(headerName, headerValue);
+        response.setResource(body.getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+}
@@ -0,0 +1,109 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveLimiterTest {
+    private ExecutorService threads;
+
+    @Before
+    public void setUp() {
+        threads = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void tryAcquire_GivenLimitReached_Rejects() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(2));
+
+        assertThat(limiter.tryAcquire(0)).isNotEqualTo(AdaptiveLimiter.REJECTED);
+        assertThat(limiter.tryAcquire(0)).isNotEqualTo(AdaptiveLimiter.REJECTED);
+        assertThat(limiter.tryAcquire(TimeUnit.MILLISECONDS.toNanos(10))).isEqualTo(AdaptiveLimiter.REJECTED);
+    }
+
+    @Test
+    public void tryAcquire_GivenPermitReleasedWhileWaiting_TakesIt() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(1));
+        long permit = limiter.tryAcquire(0);
+        threads.execute(() -> {
+            sleep();
+            limiter.release(permit, true);
+        });
+
+        assertThat(limiter.tryAcquire(TimeUnit.SECONDS.toNanos(5))).isNotEqualTo(AdaptiveLimiter.REJECTED);
+    }
+
+    @Test
+    public void tryAcquire_GivenInterrupted_ThrowsInterruptedException() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(1));
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> limiter.tryAcquire(0)).isInstanceOf(InterruptedException.class);
+    }
+
+    @Test
+    public void release_GivenSuccessWhileHalfTheLimitIsInUse_RaisesTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(1));
+        long permit = limiter.tryAcquire(0);
+
+        limiter.release(permit, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void release_GivenSuccessWhileTheLimitIsBarelyUsed_KeepsTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(4));
+        long permit = limiter.tryAcquire(0);
+
+        limiter.release(permit, false);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    public void release_GivenDrop_LowersTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(10).withBackoffRatio(0.5));
+        long permit = limiter.tryAcquire(0);
+
+        limiter.release(permit, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void release_GivenDropsOfRequestsSentBeforeTheLastDecrease_LowersTheLimitOnce() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.aimd(10).withBackoffRatio(0.5));
+        long first = limiter.tryAcquire(0);
+        long second = limiter.tryAcquire(0);
+        long third = limiter.tryAcquire(0);
+
+        limiter.release(first, true);
+        limiter.release(second, true);
+        limiter.release(third, true);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        limiter.release(limiter.tryAcquire(0), true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
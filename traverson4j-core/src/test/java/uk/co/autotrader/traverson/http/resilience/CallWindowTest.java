@@ -0,0 +1,47 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CallWindowTest {
+
+    @Test
+    public void record_CountsTheFailedAndSlowRequests() {
+        CallWindow calls = new CallWindow(4);
+        calls.record(true, false);
+        calls.record(false, true);
+        calls.record(true, true);
+        calls.record(false, false);
+
+        assertThat(calls.size()).isEqualTo(4);
+        assertThat(calls.failureRate()).isEqualTo(0.5);
+        assertThat(calls.slowRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void record_GivenAFullWindow_ReplacesTheOldestOutcomes() {
+        CallWindow calls = new CallWindow(2);
+        calls.record(true, true);
+        calls.record(false, false);
+        calls.record(false, false);
+
+        assertThat(calls.size()).isEqualTo(2);
+        assertThat(calls.failureRate()).isZero();
+        assertThat(calls.slowRate()).isZero();
+    }
+
+    @Test
+    public void clear_ForgetsTheOutcomes() {
+        CallWindow calls = new CallWindow(2);
+        calls.record(true, true);
+        calls.record(true, true);
+
+        calls.clear();
+        calls.record(false, false);
+
+        assertThat(calls.size()).isEqualTo(1);
+        assertThat(calls.failureRate()).isZero();
+        assertThat(calls.slowRate()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerPolicyTest {
+
+    @Test
+    public void failureRate_HasTheDefaults() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5);
+
+        assertThat(policy.getWindow()).isEqualTo(100);
+        assertThat(policy.getOpenNanos()).isEqualTo(Duration.ofSeconds(30).toNanos());
+        assertThat(policy.getHalfOpenProbes()).isEqualTo(5);
+        assertThat(policy.isSlow(Duration.ofHours(1).toNanos())).isFalse();
+    }
+
+    @Test
+    public void failureRate_GivenThresholdOutOfRange_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("threshold must be greater than 0 and at most 1");
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void isExceededBy_GivenTooFewCalls_ReturnsFalse() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5).withWindow(10, 3);
+        CallWindow calls = new CallWindow(10);
+        calls.record(true, false);
+        calls.record(true, false);
+
+        assertThat(policy.isExceededBy(calls)).isFalse();
+    }
+
+    @Test
+    public void isExceededBy_GivenFailureRateAtTheThreshold_ReturnsTrue() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5).withWindow(10, 2);
+        CallWindow calls = new CallWindow(10);
+        calls.record(true, false);
+        calls.record(false, false);
+
+        assertThat(policy.isExceededBy(calls)).isTrue();
+    }
+
+    @Test
+    public void isExceededBy_GivenSlowCallRateAtTheThreshold_ReturnsTrue() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5).withSlowCallRate(0.5, Duration.ofSeconds(1)).withWindow(10, 2);
+        CallWindow calls = new CallWindow(10);
+        calls.record(false, true);
+        calls.record(false, false);
+
+        assertThat(policy.isExceededBy(calls)).isTrue();
+    }
+
+    @Test
+    public void isExceededBy_GivenRatesBelowTheThresholds_ReturnsFalse() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5).withSlowCallRate(0.5, Duration.ofSeconds(1)).withWindow(10, 2);
+        CallWindow calls = new CallWindow(10);
+        calls.record(true, false);
+        calls.record(false, true);
+        calls.record(false, false);
+
+        assertThat(policy.isExceededBy(calls)).isFalse();
+    }
+
+    @Test
+    public void withSlowCallRate_SetsWhenACallIsSlow() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5).withSlowCallRate(0.5, Duration.ofSeconds(1));
+
+        assertThat(policy.isSlow(Duration.ofSeconds(1).toNanos())).isTrue();
+        assertThat(policy.isSlow(Duration.ofMillis(999).toNanos())).isFalse();
+    }
+
+    @Test
+    public void withWindow_GivenMinimumCallsOutOfRange_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(0.5).withWindow(10, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("minimumCalls must be between 1 and the window size");
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(0.5).withWindow(10, 11))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void withOpenDuration_SetsTheOpenDuration() {
+        assertThat(CircuitBreakerPolicy.failureRate(0.5).withOpenDuration(Duration.ofSeconds(5)).getOpenNanos()).isEqualTo(Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void withOpenDuration_GivenNegativeDuration_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(0.5).withOpenDuration(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("open duration must not be negative");
+    }
+
+    @Test
+    public void withHalfOpenProbes_SetsTheProbes() {
+        assertThat(CircuitBreakerPolicy.failureRate(0.5).withHalfOpenProbes(2).getHalfOpenProbes()).isEqualTo(2);
+    }
+
+    @Test
+    public void withHalfOpenProbes_GivenLessThanOne_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> CircuitBreakerPolicy.failureRate(0.5).withHalfOpenProbes(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("probes must be at least 1");
+    }
+}
@@ -0,0 +1,166 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CircuitBreakerTest {
+    private static final long OPEN = Duration.ofSeconds(10).toNanos();
+
+    @Mock
+    private CircuitBreakerListener listener;
+    private CircuitBreaker breaker;
+
+    @Before
+    public void setUp() {
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.failureRate(0.5)
+                .withSlowCallRate(1, Duration.ofSeconds(1))
+                .withWindow(4, 2)
+                .withOpenDuration(Duration.ofNanos(OPEN))
+                .withHalfOpenProbes(2);
+        breaker = new CircuitBreaker("localhost", policy, listener);
+    }
+
+    @Test
+    public void tryAcquire_GivenClosed_PermitsTheRequest() {
+        assertThat(breaker.tryAcquire(0)).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        verifyNoInteractions(listener);
+    }
+
+    @Test
+    public void record_GivenFailureRateReached_Opens() {
+        call(false, 0, 0);
+        call(true, 0, 0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.tryAcquire(OPEN - 1)).isEqualTo(CircuitBreaker.REJECTED);
+        verify(listener).onTransition("localhost", CircuitState.CLOSED, CircuitState.OPEN);
+    }
+
+    @Test
+    public void record_GivenFailureRateNotReached_StaysClosed() {
+        call(false, 0, 0);
+        call(false, 0, 0);
+        call(true, 0, 0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void tryAcquire_GivenOpenDurationPassed_LetsTheProbesThrough() {
+        open();
+
+        assertThat(breaker.tryAcquire(OPEN)).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire(OPEN)).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire(OPEN)).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+        verify(listener).onTransition("localhost", CircuitState.OPEN, CircuitState.HALF_OPEN);
+    }
+
+    @Test
+    public void record_GivenAllProbesSucceed_ClosesWithTheFailuresForgotten() {
+        open();
+        long firstProbe = breaker.tryAcquire(OPEN);
+        long secondProbe = breaker.tryAcquire(OPEN);
+
+        breaker.record(firstProbe, false, 0, OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+        breaker.record(secondProbe, false, 0, OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        call(true, 0, OPEN);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        verify(listener).onTransition("localhost", CircuitState.HALF_OPEN, CircuitState.CLOSED);
+    }
+
+    @Test
+    public void record_GivenProbeFails_OpensAgain() {
+        open();
+        long probe = breaker.tryAcquire(OPEN);
+
+        breaker.record(probe, true, 0, OPEN);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.tryAcquire(2 * OPEN - 1)).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.tryAcquire(2 * OPEN)).isNotEqualTo(CircuitBreaker.REJECTED);
+        verify(listener).onTransition("localhost", CircuitState.HALF_OPEN, CircuitState.OPEN);
+    }
+
+    @Test
+    public void record_GivenSlowProbe_OpensAgain() {
+        open();
+        long probe = breaker.tryAcquire(OPEN);
+
+        breaker.record(probe, false, Duration.ofSeconds(1).toNanos(), OPEN);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+    }
+
+    @Test
+    public void record_GivenSlowCallRateReached_Opens() {
+        call(false, Duration.ofSeconds(1).toNanos(), 0);
+        call(false, Duration.ofSeconds(2).toNanos(), 0);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+    }
+
+    @Test
+    public void record_GivenOpen_IgnoresTheOutcome() {
+        long sentWhileClosed = breaker.tryAcquire(0);
+        open();
+
+        breaker.record(sentWhileClosed, false, 0, 1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(breaker.tryAcquire(OPEN - 1)).isEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    public void record_GivenCallSentWhileClosedEndsWhileHalfOpen_DoesNotCountAsAProbe() {
+        long sentWhileClosed = breaker.tryAcquire(0);
+        open();
+        long probe = breaker.tryAcquire(OPEN);
+
+        breaker.record(sentWhileClosed, false, 0, OPEN);
+        breaker.record(sentWhileClosed, false, 0, OPEN);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.HALF_OPEN);
+        breaker.record(probe, true, 0, OPEN);
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+    }
+
+    @Test
+    public void record_GivenTransition_NotifiesTheListenerOnceUnlocked() throws IllegalAccessException {
+        ReentrantLock lock = (ReentrantLock) FieldUtils.readDeclaredField(breaker, "lock", true);
+        List<Boolean> lockedWhenNotified = new ArrayList<>();
+        doAnswer(invocation -> lockedWhenNotified.add(lock.isHeldByCurrentThread()))
+                .when(listener).onTransition(anyString(), any(CircuitState.class), any(CircuitState.class));
+
+        open();
+        breaker.tryAcquire(OPEN);
+
+        assertThat(lockedWhenNotified).containsExactly(false, false);
+    }
+
+    private void open() {
+        call(true, 0, 0);
+        call(true, 0, 0);
+    }
+
+    private void call(boolean failed, long nanos, long now) {
+        breaker.record(breaker.tryAcquire(now), failed, nanos, now);
+    }
+}
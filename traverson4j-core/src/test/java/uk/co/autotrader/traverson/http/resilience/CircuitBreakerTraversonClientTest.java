@@ -0,0 +1,173 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.CircuitOpenException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CircuitBreakerTraversonClientTest {
+    private static final CircuitBreakerPolicy POLICY = CircuitBreakerPolicy.failureRate(0.5)
+            .withSlowCallRate(1, Duration.ofSeconds(1))
+            .withWindow(4, 2)
+            .withOpenDuration(Duration.ofSeconds(10))
+            .withHalfOpenProbes(1);
+
+    @Mock
+    private TraversonClient delegate;
+    @Mock
+    private CircuitBreakerListener listener;
+    private AtomicLong clock;
+    private CircuitBreakerTraversonClient client;
+    private Request request;
+
+    @Before
+    public void setUp() {
+        clock = new AtomicLong();
+        client = new CircuitBreakerTraversonClient(delegate, POLICY, listener, clock::get);
+        request = request("http://API.example.com/vehicles");
+    }
+
+    @Test
+    public void getState_GivenUnknownHost_ReturnsClosed() {
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void execute_GivenSuccesses_StaysClosed() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void execute_GivenHttpExceptions_OpensAndFailsFast() {
+        HttpException failure = new HttpException("refused", null);
+        when(delegate.execute(request, JSONObject.class)).thenThrow(failure);
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(CircuitOpenException.class)
+                .hasMessage("Circuit breaker open for host api.example.com");
+
+        verify(delegate, times(2)).execute(request, JSONObject.class);
+        verify(listener).onTransition("api.example.com", CircuitState.CLOSED, CircuitState.OPEN);
+        assertThat(client.getState("API.example.com")).isEqualTo(CircuitState.OPEN);
+        assertThat(client.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenServerErrors_Opens() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503));
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.OPEN);
+    }
+
+    @Test
+    public void execute_GivenClientErrors_StaysClosed() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(404));
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void execute_GivenOtherExceptions_CountsThemAsSuccesses() {
+        IllegalStateException failure = new IllegalStateException("unexpected");
+        when(delegate.execute(request, JSONObject.class)).thenThrow(failure);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    public void execute_GivenSlowResponses_Opens() {
+        when(delegate.execute(request, JSONObject.class)).thenAnswer(invocation -> {
+            clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            return response(200);
+        });
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.OPEN);
+    }
+
+    @Test
+    public void execute_GivenOpenDurationPassedAndProbeSucceeds_Closes() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(500), response(500), ok);
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(client.getState("api.example.com")).isEqualTo(CircuitState.CLOSED);
+        verify(listener).onTransition("api.example.com", CircuitState.OPEN, CircuitState.HALF_OPEN);
+        verify(listener).onTransition("api.example.com", CircuitState.HALF_OPEN, CircuitState.CLOSED);
+    }
+
+    @Test
+    public void execute_GivenOneHostOpen_StillSendsToOtherHosts() {
+        Request other = request("http://other.example.com/vehicles");
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(500));
+        when(delegate.execute(other, JSONObject.class)).thenReturn(ok);
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.execute(other, JSONObject.class)).isSameAs(ok);
+    }
+
+    @Test
+    public void execute_GivenThePublicConstructor_OpensWithoutAListener() {
+        CircuitBreakerTraversonClient defaultClient = new CircuitBreakerTraversonClient(delegate, POLICY);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(500));
+
+        defaultClient.execute(request, JSONObject.class);
+        defaultClient.execute(request, JSONObject.class);
+
+        assertThat(defaultClient.getState("api.example.com")).isEqualTo(CircuitState.OPEN);
+    }
+
+    private static Response<JSONObject> response(int statusCode) {
+        Response<JSONObject> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+
+    private static Request request(String url) {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl(url);
+        return request;
+    }
+}
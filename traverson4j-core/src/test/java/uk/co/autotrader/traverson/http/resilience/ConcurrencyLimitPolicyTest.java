@@ -0,0 +1,90 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitPolicyTest {
+
+    @Test
+    public void aimd_HasTheDefaults() {
+        ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.aimd(10);
+
+        assertThat(policy.initialLimit()).isEqualTo(10);
+        assertThat(policy.getMaxWaitNanos()).isZero();
+        assertThat(policy.isTooSlow(Duration.ofHours(1).toNanos())).isFalse();
+        assertThat(policy.decreased(10)).isEqualTo(9);
+        assertThat(policy.decreased(1)).isEqualTo(1);
+        assertThat(policy.increased(200)).isEqualTo(200);
+    }
+
+    @Test
+    public void aimd_GivenInitialLimitLessThanOne_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("initialLimit must be at least 1");
+    }
+
+    @Test
+    public void increased_AddsOnePerLimitsWorthOfRequests() {
+        ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.aimd(10);
+
+        assertThat(policy.increased(4)).isEqualTo(4.25);
+    }
+
+    @Test
+    public void withBounds_ClampsTheLimits() {
+        ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.aimd(10).withBounds(2, 5);
+
+        assertThat(policy.initialLimit()).isEqualTo(5);
+        assertThat(policy.increased(5)).isEqualTo(5);
+        assertThat(policy.decreased(2)).isEqualTo(2);
+        assertThat(ConcurrencyLimitPolicy.aimd(1).withBounds(2, 5).initialLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void withBounds_GivenInvalidBounds_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(10).withBounds(0, 5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bounds must satisfy 1 <= min <= max");
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(10).withBounds(5, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void withBackoffRatio_SetsTheDecrease() {
+        assertThat(ConcurrencyLimitPolicy.aimd(10).withBackoffRatio(0.5).decreased(10)).isEqualTo(5);
+    }
+
+    @Test
+    public void withBackoffRatio_GivenRatioOutOfRange_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(10).withBackoffRatio(0.4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ratio must be at least 0.5 and less than 1");
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(10).withBackoffRatio(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void withLatencyThreshold_SetsWhenARequestIsTooSlow() {
+        ConcurrencyLimitPolicy policy = ConcurrencyLimitPolicy.aimd(10).withLatencyThreshold(Duration.ofSeconds(1));
+
+        assertThat(policy.isTooSlow(Duration.ofSeconds(1).toNanos())).isFalse();
+        assertThat(policy.isTooSlow(Duration.ofSeconds(1).toNanos() + 1)).isTrue();
+    }
+
+    @Test
+    public void withMaxWait_SetsTheWait() {
+        assertThat(ConcurrencyLimitPolicy.aimd(10).withMaxWait(Duration.ofMillis(50)).getMaxWaitNanos()).isEqualTo(Duration.ofMillis(50).toNanos());
+    }
+
+    @Test
+    public void withMaxWait_GivenNegativeWait_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> ConcurrencyLimitPolicy.aimd(10).withMaxWait(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxWait must not be negative");
+    }
+}
@@ -0,0 +1,183 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.ConcurrencyLimitExceededException;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrencyLimitingTraversonClientTest {
+    private static final ConcurrencyLimitPolicy POLICY = ConcurrencyLimitPolicy.aimd(10)
+            .withBackoffRatio(0.5)
+            .withLatencyThreshold(Duration.ofSeconds(1));
+
+    @Mock
+    private TraversonClient delegate;
+    private AtomicLong clock;
+    private Request request;
+    private ExecutorService threads;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        clock = new AtomicLong();
+        request = request();
+        threads = Executors.newCachedThreadPool();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void getLimit_GivenUnknownHost_ReturnsTheInitialLimit() {
+        assertThat(client(POLICY).getLimit("api.example.com")).isEqualTo(10);
+    }
+
+    @Test
+    public void execute_GivenSuccess_KeepsTheLimit() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(client.getLimit("API.example.com")).isEqualTo(10);
+    }
+
+    @Test
+    public void execute_GivenLimitReached_RejectsTheRequest() throws InterruptedException {
+        when(delegate.execute(request, JSONObject.class)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response(200);
+        });
+        ConcurrencyLimitingTraversonClient client = client(ConcurrencyLimitPolicy.aimd(1));
+        threads.execute(() -> client.execute(request, JSONObject.class));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(ConcurrencyLimitExceededException.class)
+                .hasMessage("Concurrency limit of 1 reached for host api.example.com");
+        assertThat(client.getRejectedCount()).isEqualTo(1);
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenHttpException_LowersTheLimit() {
+        HttpException failure = new HttpException("refused", null);
+        when(delegate.execute(request, JSONObject.class)).thenThrow(failure);
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+        assertThat(client.getLimit("api.example.com")).isEqualTo(5);
+    }
+
+    @Test
+    public void execute_GivenOverloadedResponses_LowersTheLimit() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(429), response(503));
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        client.execute(request, JSONObject.class);
+        assertThat(client.getLimit("api.example.com")).isEqualTo(5);
+        client.execute(request, JSONObject.class);
+        assertThat(client.getLimit("api.example.com")).isEqualTo(2);
+    }
+
+    @Test
+    public void execute_GivenClientError_KeepsTheLimit() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(404));
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.getLimit("api.example.com")).isEqualTo(10);
+    }
+
+    @Test
+    public void execute_GivenSlowResponse_LowersTheLimit() {
+        when(delegate.execute(request, JSONObject.class)).thenAnswer(invocation -> {
+            clock.addAndGet(Duration.ofSeconds(2).toNanos());
+            return response(200);
+        });
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        client.execute(request, JSONObject.class);
+
+        assertThat(client.getLimit("api.example.com")).isEqualTo(5);
+    }
+
+    @Test
+    public void execute_GivenOtherException_ReleasesThePermitWithoutLoweringTheLimit() {
+        IllegalStateException failure = new IllegalStateException("unexpected");
+        when(delegate.execute(request, JSONObject.class)).thenThrow(failure);
+        ConcurrencyLimitingTraversonClient client = client(ConcurrencyLimitPolicy.aimd(1).withBounds(1, 1));
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isSameAs(failure);
+        assertThat(client.getLimit("api.example.com")).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenInterruptedWaitingForAPermit_ThrowsHttpException() {
+        ConcurrencyLimitingTraversonClient client = client(POLICY);
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting for a permit")
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void execute_GivenThePublicConstructor_UsesTheSystemClock() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+        ConcurrencyLimitingTraversonClient client = new ConcurrencyLimitingTraversonClient(delegate, POLICY);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+    }
+
+    private ConcurrencyLimitingTraversonClient client(ConcurrencyLimitPolicy policy) {
+        return new ConcurrencyLimitingTraversonClient(delegate, policy, clock::get);
+    }
+
+    private static Response<JSONObject> response(int statusCode) {
+        Response<JSONObject> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+
+    private static Request request() {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl("http://api.example.com/vehicles");
+        return request;
+    }
+}
@@ -0,0 +1,58 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HedgingPolicyTest {
+
+    @Test
+    public void fixedDelay_DelaysByTheFixedDelay() {
+        HedgingPolicy policy = HedgingPolicy.fixedDelay(Duration.ofMillis(30));
+
+        assertThat(policy.delayNanos(new LatencyWindow(10, 1))).isEqualTo(Duration.ofMillis(30).toNanos());
+        assertThat(policy.getMaxExtraLoad()).isEqualTo(0.1);
+    }
+
+    @Test
+    public void fixedDelay_GivenNegativeDelay_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> HedgingPolicy.fixedDelay(Duration.ofMillis(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("delay must not be negative");
+    }
+
+    @Test
+    public void latencyPercentile_DelaysByTheObservedPercentile() {
+        LatencyWindow latencies = new LatencyWindow(10, 1);
+        latencies.record(7);
+
+        assertThat(HedgingPolicy.latencyPercentile(0.95).delayNanos(latencies)).isEqualTo(7);
+    }
+
+    @Test
+    public void latencyPercentile_GivenPercentileOutOfRange_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> HedgingPolicy.latencyPercentile(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("percentile must be between 0 and 1");
+        assertThatThrownBy(() -> HedgingPolicy.latencyPercentile(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void withMaxExtraLoad_ReturnsACopyWithTheLimit() {
+        HedgingPolicy policy = HedgingPolicy.fixedDelay(Duration.ZERO);
+
+        assertThat(policy.withMaxExtraLoad(0.05).getMaxExtraLoad()).isEqualTo(0.05);
+        assertThat(policy.getMaxExtraLoad()).isEqualTo(0.1);
+    }
+
+    @Test
+    public void withMaxExtraLoad_GivenNegativeFraction_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> HedgingPolicy.fixedDelay(Duration.ZERO).withMaxExtraLoad(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fraction must not be negative");
+    }
+}
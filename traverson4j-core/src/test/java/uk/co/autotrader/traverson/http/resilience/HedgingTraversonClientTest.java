@@ -0,0 +1,328 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.AsyncTraversonClient;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgingTraversonClientTest {
+    private static final HedgingPolicy HEDGE_AT_ONCE = HedgingPolicy.fixedDelay(Duration.ofMillis(10)).withMaxExtraLoad(1);
+
+    @Mock
+    private TraversonClient delegate;
+    @Mock
+    private AsyncTraversonClient asyncDelegate;
+    @Mock
+    private Response<JSONObject> primaryResponse;
+    @Mock
+    private Response<JSONObject> hedgeResponse;
+    @Mock
+    private Response<InputStream> streamResponse;
+    private ExecutorService threads;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() {
+        threads = Executors.newCachedThreadPool();
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void execute_GivenNonGetRequest_PassesItToTheDelegate() {
+        Request request = request(Method.POST);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(primaryResponse);
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(primaryResponse);
+    }
+
+    @Test
+    public void execute_GivenCloseableReturnType_PassesItToTheDelegate() {
+        Request request = request(Method.GET);
+        when(delegate.execute(request, InputStream.class)).thenReturn(streamResponse);
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request, InputStream.class)).isSameAs(streamResponse);
+    }
+
+    @Test
+    public void execute_GivenResponseWithinTheDelay_DoesNotHedge() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenReturn(primaryResponse);
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HedgingPolicy.fixedDelay(Duration.ofSeconds(5)).withMaxExtraLoad(1), threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        verify(delegate, times(1)).execute(any(Request.class), eq(JSONObject.class));
+        assertThat(client.getHedgedCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenFailureWithinTheDelay_ThrowsItWithoutHedging() {
+        HttpException failure = new HttpException("refused", null);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenThrow(failure);
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HedgingPolicy.fixedDelay(Duration.ofSeconds(5)).withMaxExtraLoad(1), threads);
+
+        assertThatThrownBy(() -> client.execute(request(Method.GET), JSONObject.class)).isSameAs(failure);
+        assertThat(client.getHedgedCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenSlowPrimary_ReturnsTheHedgeResponse() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> awaitRelease(primaryResponse),
+                invocation -> hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(hedgeResponse);
+        assertThat(client.getHedgedCount()).isEqualTo(1);
+        assertThat(client.getHedgeWinCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenPrimaryBeatsTheHedge_ReturnsThePrimaryResponse() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    return primaryResponse;
+                },
+                invocation -> awaitRelease(hedgeResponse)));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        assertThat(client.getHedgedCount()).isEqualTo(1);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenHedgeFails_WaitsForThePrimary() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    return primaryResponse;
+                },
+                invocation -> {
+                    throw new HttpException("refused", null);
+                }));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+    }
+
+    @Test
+    public void execute_GivenBothFail_ThrowsTheLastFailure() {
+        HttpException lastFailure = new HttpException("refused again", null);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    throw lastFailure;
+                },
+                invocation -> {
+                    throw new HttpException("refused", null);
+                }));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThatThrownBy(() -> client.execute(request(Method.GET), JSONObject.class)).isSameAs(lastFailure);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenHedgeRespondsWithServerError_WaitsForThePrimary() {
+        when(hedgeResponse.getStatusCode()).thenReturn(503);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    return primaryResponse;
+                },
+                invocation -> hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenBothRespondWithServerErrors_ReturnsAServerErrorResponse() {
+        when(primaryResponse.getStatusCode()).thenReturn(503);
+        when(hedgeResponse.getStatusCode()).thenReturn(503);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    return primaryResponse;
+                },
+                invocation -> hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isIn(primaryResponse, hedgeResponse);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenServerErrorAndFailure_ReturnsTheServerErrorResponse() {
+        when(hedgeResponse.getStatusCode()).thenReturn(502);
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(inTurn(
+                invocation -> {
+                    Thread.sleep(50);
+                    throw new HttpException("refused", null);
+                },
+                invocation -> hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(hedgeResponse);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenExtraLoadExhausted_WaitsForThePrimary() {
+        when(delegate.execute(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return primaryResponse;
+        });
+        HedgingTraversonClient client = new HedgingTraversonClient(delegate, HedgingPolicy.fixedDelay(Duration.ofMillis(10)).withMaxExtraLoad(0), threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        verify(delegate, times(1)).execute(any(Request.class), eq(JSONObject.class));
+        assertThat(client.getBudgetExhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenLatencyPercentile_HedgesOnlyOnceEnoughLatenciesAreKnown() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger calls = new AtomicInteger();
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class))).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() <= 20) {
+                clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+                return CompletableFuture.completedFuture(primaryResponse);
+            }
+            return calls.get() == 21 ? new CompletableFuture<>() : CompletableFuture.completedFuture(hedgeResponse);
+        });
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HedgingPolicy.latencyPercentile(0.95).withMaxExtraLoad(1), threads, clock::get);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        }
+        assertThat(client.getHedgedCount()).isZero();
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(hedgeResponse);
+        assertThat(client.getHedgedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenAsyncDelegate_CancelsTheLosingRequest() {
+        CompletableFuture<Response<JSONObject>> slow = new CompletableFuture<>();
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class)))
+                .thenReturn(slow)
+                .thenReturn(CompletableFuture.completedFuture(hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(hedgeResponse);
+        assertThat(slow).isCancelled();
+    }
+
+    @Test
+    public void execute_GivenBothSucceed_ReturnsTheFirstToClaimTheWin() {
+        CompletableFuture<Response<JSONObject>> slow = new CompletableFuture<>();
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class)))
+                .thenReturn(slow)
+                .thenAnswer(invocation -> {
+                    slow.complete(primaryResponse);
+                    return CompletableFuture.completedFuture(hedgeResponse);
+                });
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HEDGE_AT_ONCE, threads);
+
+        assertThat(client.execute(request(Method.GET), JSONObject.class)).isSameAs(primaryResponse);
+        assertThat(client.getHedgeWinCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenPrimaryCancelled_RecordsItsLatency() throws IllegalAccessException {
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class)))
+                .thenReturn(new CompletableFuture<>())
+                .thenReturn(CompletableFuture.completedFuture(hedgeResponse));
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HEDGE_AT_ONCE, threads);
+
+        client.execute(request(Method.GET), JSONObject.class);
+
+        Map<?, ?> latencies = (Map<?, ?>) FieldUtils.readField(client, "latencies", true);
+        assertThat(FieldUtils.readField(latencies.get("localhost"), "recorded", true)).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenCheckedFailure_ThrowsTheCompletionException() {
+        IOException failure = new IOException("reset");
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class))).thenReturn(CompletableFuture.failedFuture(failure));
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HEDGE_AT_ONCE, threads);
+
+        assertThatThrownBy(() -> client.execute(request(Method.GET), JSONObject.class))
+                .isInstanceOf(CompletionException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    public void execute_GivenInterruptedWhileWaiting_ThrowsHttpException() {
+        CompletableFuture<Response<JSONObject>> slow = new CompletableFuture<>();
+        when(asyncDelegate.executeAsync(any(Request.class), eq(JSONObject.class))).thenReturn(slow);
+        HedgingTraversonClient client = new HedgingTraversonClient(asyncDelegate, HEDGE_AT_ONCE, threads);
+
+        Thread.currentThread().interrupt();
+        assertThatThrownBy(() -> client.execute(request(Method.GET), JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting for a response")
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(slow).isCancelled();
+    }
+
+    @SafeVarargs
+    private static Answer<Response<JSONObject>> inTurn(Answer<Response<JSONObject>>... answers) {
+        AtomicInteger calls = new AtomicInteger();
+        return invocation -> answers[calls.getAndIncrement()].answer(invocation);
+    }
+
+    private <T> T awaitRelease(T response) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return response;
+    }
+
+    private static Request request(Method method) {
+        Request request = new Request();
+        request.setMethod(method);
+        request.setUrl("http://localhost/");
+        request.setAcceptMimeType("application/hal+json");
+        return request;
+    }
+}
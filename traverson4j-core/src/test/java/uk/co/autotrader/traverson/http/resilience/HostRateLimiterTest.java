@@ -0,0 +1,94 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostRateLimiterTest {
+    private static final long MAX_WAIT = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    public void reserve_SpacesTheRequestsByTheInterval() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.perSecond(10), 0);
+
+        assertThat(limiter.reserve(0, MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(0, MAX_WAIT)).isEqualTo(millis(100));
+        assertThat(limiter.reserve(millis(50), MAX_WAIT)).isEqualTo(millis(150));
+    }
+
+    @Test
+    public void reserve_GivenQuietPeriod_DoesNotSaveUpMoreThanTheBurst() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.perSecond(10).withBurst(3), 0);
+
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isEqualTo(millis(100));
+    }
+
+    @Test
+    public void reserve_GivenWaitLongerThanTheMax_ReservesNothing() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.perSecond(10), 0);
+        limiter.reserve(0, 0);
+
+        assertThat(limiter.reserve(0, millis(99))).isEqualTo(-1);
+        assertThat(limiter.reserve(millis(100), 0)).isZero();
+    }
+
+    @Test
+    public void blockUntil_HoldsRequestsBackUntilTheTime() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.unlimited(), 0);
+
+        limiter.blockUntil(millis(1000));
+        limiter.blockUntil(millis(500));
+
+        assertThat(limiter.reserve(millis(200), MAX_WAIT)).isEqualTo(millis(800));
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isZero();
+    }
+
+    @Test
+    public void spread_SpacesTheRemainingRequestsUntilTheReset() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.unlimited(), 0);
+
+        limiter.spread(4, millis(2000), 0);
+
+        assertThat(limiter.reserve(0, MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(0, MAX_WAIT)).isEqualTo(millis(500));
+        assertThat(limiter.reserve(millis(3000), MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(millis(3000), MAX_WAIT)).isZero();
+    }
+
+    @Test
+    public void spread_NeverSpeedsUpTheConfiguredRate() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.perSecond(1), 0);
+
+        limiter.spread(100, millis(1000), 0);
+
+        assertThat(limiter.reserve(0, MAX_WAIT)).isZero();
+        assertThat(limiter.reserve(0, MAX_WAIT)).isEqualTo(millis(1000));
+    }
+
+    @Test
+    public void spread_GivenNoneRemaining_HoldsRequestsBackUntilTheReset() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.unlimited(), 0);
+
+        limiter.spread(0, millis(2000), 0);
+
+        assertThat(limiter.reserve(0, MAX_WAIT)).isEqualTo(millis(2000));
+    }
+
+    @Test
+    public void spread_GivenResetTooFarAwayToAddToTheTime_HoldsRequestsBackBeyondTheMaxWait() {
+        HostRateLimiter limiter = new HostRateLimiter(RateLimitPolicy.unlimited(), millis(1000));
+
+        limiter.spread(0, Long.MAX_VALUE, millis(1000));
+
+        assertThat(limiter.reserve(millis(1000), MAX_WAIT)).isEqualTo(-1);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
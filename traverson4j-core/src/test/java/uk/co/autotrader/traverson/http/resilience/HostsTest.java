@@ -0,0 +1,28 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostsTest {
+
+    @Test
+    public void of_GivenUrl_ReturnsTheLowerCasedAuthority() {
+        assertThat(Hosts.of("http://API.example.com:8080/vehicles?page=1")).isEqualTo("api.example.com:8080");
+    }
+
+    @Test
+    public void of_GivenTemplatedUrl_StopsAtTheTemplate() {
+        assertThat(Hosts.of("https://api.example.com{/id}")).isEqualTo("api.example.com");
+    }
+
+    @Test
+    public void of_GivenUrlWithNoPath_ReturnsTheAuthority() {
+        assertThat(Hosts.of("https://api.example.com")).isEqualTo("api.example.com");
+    }
+
+    @Test
+    public void of_GivenUrlWithNoScheme_ReturnsTheWholeUrl() {
+        assertThat(Hosts.of("/vehicles")).isEqualTo("/vehicles");
+    }
+}
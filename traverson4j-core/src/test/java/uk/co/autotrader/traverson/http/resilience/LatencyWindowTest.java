@@ -0,0 +1,40 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyWindowTest {
+
+    @Test
+    public void percentile_GivenTooFewSamples_ReturnsMinusOne() {
+        LatencyWindow window = new LatencyWindow(10, 3);
+        window.record(1);
+        window.record(2);
+
+        assertThat(window.percentile(0.5)).isEqualTo(-1);
+    }
+
+    @Test
+    public void percentile_ReturnsTheLatencyAtThePercentile() {
+        LatencyWindow window = new LatencyWindow(10, 3);
+        for (long latency = 10; latency >= 1; latency--) {
+            window.record(latency);
+        }
+
+        assertThat(window.percentile(0.9)).isEqualTo(9);
+        assertThat(window.percentile(0.5)).isEqualTo(5);
+        assertThat(window.percentile(0.01)).isEqualTo(1);
+    }
+
+    @Test
+    public void record_GivenAFullWindow_ReplacesTheOldestSamples() {
+        LatencyWindow window = new LatencyWindow(3, 3);
+        window.record(100);
+        window.record(1);
+        window.record(2);
+        window.record(3);
+
+        assertThat(window.percentile(0.99)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,57 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadBudgetTest {
+
+    @Test
+    public void new_GivenNegativeRatio_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> new LoadBudget(-0.1, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ratio must not be negative");
+    }
+
+    @Test
+    public void tryAcquire_GivenNoRequests_AllowsTheBurst() {
+        LoadBudget budget = new LoadBudget(0.5, 2);
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void tryAcquire_GivenZeroRatio_AllowsNoExtraRequests() {
+        LoadBudget budget = new LoadBudget(0, 10);
+        budget.recordRequest();
+
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void tryAcquire_GivenTheBurstIsSpent_AllowsTheRatioOfExtraRequests() {
+        LoadBudget budget = new LoadBudget(0.1, 1);
+        assertThat(budget.tryAcquire()).isTrue();
+        for (int i = 0; i < 20; i++) {
+            budget.recordRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void recordRequest_StopsEarningAtTheBurst() {
+        LoadBudget budget = new LoadBudget(1, 2);
+        for (int i = 0; i < 5; i++) {
+            budget.recordRequest();
+        }
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,47 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitHeadersTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("Wed, 21 Oct 2026 07:28:00 GMT", DateTimeFormatter.RFC_1123_DATE_TIME);
+
+    @Test
+    public void retryAfterNanos_GivenDeltaSeconds_ReturnsThem() {
+        assertThat(RateLimitHeaders.retryAfterNanos("120", 0)).isEqualTo(TimeUnit.SECONDS.toNanos(120));
+    }
+
+    @Test
+    public void retryAfterNanos_GivenHttpDate_ReturnsTheTimeUntilIt() {
+        long now = NOW.toInstant().toEpochMilli();
+
+        assertThat(RateLimitHeaders.retryAfterNanos("Wed, 21 Oct 2026 07:28:30 GMT", now)).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+        assertThat(RateLimitHeaders.retryAfterNanos("Wed, 21 Oct 2026 07:27:00 GMT", now)).isZero();
+    }
+
+    @Test
+    public void retryAfterNanos_GivenAbsentOrInvalid_ReturnsMinusOne() {
+        assertThat(RateLimitHeaders.retryAfterNanos(null, 0)).isEqualTo(-1);
+        assertThat(RateLimitHeaders.retryAfterNanos("soon", 0)).isEqualTo(-1);
+    }
+
+    @Test
+    public void secondsAsNanos_ConvertsDeltaSeconds() {
+        assertThat(RateLimitHeaders.secondsAsNanos("5")).isEqualTo(TimeUnit.SECONDS.toNanos(5));
+        assertThat(RateLimitHeaders.secondsAsNanos("later")).isEqualTo(-1);
+    }
+
+    @Test
+    public void count_ParsesNonNegativeNumbers() {
+        assertThat(RateLimitHeaders.count(" 7 ")).isEqualTo(7);
+        assertThat(RateLimitHeaders.count("0")).isZero();
+        assertThat(RateLimitHeaders.count("-3")).isEqualTo(-1);
+        assertThat(RateLimitHeaders.count("seven")).isEqualTo(-1);
+        assertThat(RateLimitHeaders.count(null)).isEqualTo(-1);
+    }
+}
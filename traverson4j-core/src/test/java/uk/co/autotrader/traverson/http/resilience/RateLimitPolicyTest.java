@@ -0,0 +1,66 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateLimitPolicyTest {
+
+    @Test
+    public void perSecond_SpacesTheRequestsEvenly() {
+        RateLimitPolicy policy = RateLimitPolicy.perSecond(4);
+
+        assertThat(policy.getIntervalNanos()).isEqualTo(Duration.ofMillis(250).toNanos());
+        assertThat(policy.getToleranceNanos()).isZero();
+        assertThat(policy.getMaxWaitNanos()).isEqualTo(Duration.ofMinutes(1).toNanos());
+    }
+
+    @Test
+    public void perSecond_GivenNonPositiveRate_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RateLimitPolicy.perSecond(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("permitsPerSecond must be positive");
+    }
+
+    @Test
+    public void unlimited_HasNoInterval() {
+        assertThat(RateLimitPolicy.unlimited().getIntervalNanos()).isZero();
+    }
+
+    @Test
+    public void withBurst_AllowsTheBurstBeforeSpacing() {
+        RateLimitPolicy policy = RateLimitPolicy.perSecond(4).withBurst(3);
+
+        assertThat(policy.getToleranceNanos()).isEqualTo(Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    public void withBurst_GivenLessThanOne_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RateLimitPolicy.perSecond(4).withBurst(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("burst must be at least 1");
+    }
+
+    @Test
+    public void withMaxWait_SetsTheWait() {
+        assertThat(RateLimitPolicy.unlimited().withMaxWait(Duration.ofSeconds(5)).getMaxWaitNanos()).isEqualTo(Duration.ofSeconds(5).toNanos());
+    }
+
+    @Test
+    public void withMaxWait_GivenNegativeWait_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RateLimitPolicy.unlimited().withMaxWait(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxWait must not be negative");
+    }
+
+    @Test
+    public void capPause_GivenPauseBeyondTheMaxWait_CutsItToJustBeyond() {
+        RateLimitPolicy policy = RateLimitPolicy.unlimited().withMaxWait(Duration.ofSeconds(5));
+
+        assertThat(policy.capPause(Duration.ofSeconds(5).toNanos())).isEqualTo(Duration.ofSeconds(5).toNanos());
+        assertThat(policy.capPause(Long.MAX_VALUE)).isEqualTo(Duration.ofSeconds(5).toNanos() + 1);
+    }
+}
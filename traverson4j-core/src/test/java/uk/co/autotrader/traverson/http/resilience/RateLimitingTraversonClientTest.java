@@ -0,0 +1,279 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.exception.RateLimitExceededException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RateLimitingTraversonClientTest {
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("Wed, 21 Oct 2026 07:28:00 GMT", DateTimeFormatter.RFC_1123_DATE_TIME);
+
+    @Mock
+    private TraversonClient delegate;
+    @Mock
+    private InputStream stream;
+    private List<Long> sleeps;
+    private AtomicLong clock;
+    private Request request;
+
+    @Before
+    public void setUp() {
+        sleeps = new ArrayList<>();
+        clock = new AtomicLong();
+        request = request();
+    }
+
+    @Test
+    public void execute_SpacesTheRequestsToAHost() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.perSecond(10));
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(sleeps).containsExactly(0L, millis(100));
+    }
+
+    @Test
+    public void execute_GivenOtherHosts_SpacesThemSeparately() {
+        Request other = request();
+        other.setUrl("http://other.example.com/vehicles");
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(200));
+        when(delegate.execute(other, JSONObject.class)).thenReturn(response(200));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.perSecond(10));
+
+        client.execute(request, JSONObject.class);
+        client.execute(other, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, 0L);
+    }
+
+    @Test
+    public void execute_GivenTooManyRequestsWithRetryAfter_WaitsAndSendsAgain() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(429, "Retry-After", "2"), ok);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(sleeps).containsExactly(0L, millis(2000));
+        assertThat(client.getThrottledCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenTooManyRequestsWithRetryAfterDate_WaitsUntilTheDate() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(429, "Retry-After", "Wed, 21 Oct 2026 07:28:03 GMT"), ok);
+
+        assertThat(client(RateLimitPolicy.unlimited()).execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(sleeps).containsExactly(0L, millis(3000));
+    }
+
+    @Test
+    public void execute_GivenTooManyRequestsWithoutRetryAfter_WaitsASecond() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(429), ok);
+
+        assertThat(client(RateLimitPolicy.unlimited()).execute(request, JSONObject.class)).isSameAs(ok);
+
+        assertThat(sleeps).containsExactly(0L, millis(1000));
+    }
+
+    @Test
+    public void execute_GivenTooManyRequestsStreamResponse_ClosesIt() throws IOException {
+        Response<InputStream> tooMany = new Response<>();
+        tooMany.setStatusCode(429);
+        tooMany.setResource(stream);
+        Response<InputStream> ok = new Response<>();
+        ok.setStatusCode(200);
+        when(delegate.execute(request, InputStream.class)).thenReturn(tooMany, ok);
+
+        assertThat(client(RateLimitPolicy.unlimited()).execute(request, InputStream.class)).isSameAs(ok);
+        verify(stream).close();
+    }
+
+    @Test
+    public void execute_GivenRetryAfterBeyondTheMaxWait_ReturnsTheTooManyRequestsResponse() {
+        Response<JSONObject> tooMany = response(429, "Retry-After", "5");
+        when(delegate.execute(request, JSONObject.class)).thenReturn(tooMany);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited().withMaxWait(Duration.ofSeconds(1)));
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(tooMany);
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+        assertThat(client.getThrottledCount()).isZero();
+    }
+
+    @Test
+    public void execute_GivenHostPausedBeyondTheMaxWait_ThrowsRateLimitExceededException() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(429, "Retry-After", "5"));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited().withMaxWait(Duration.ofSeconds(1)));
+        client.execute(request, JSONObject.class);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessage("Rate limit exceeded for host api.example.com");
+        assertThat(client.getRejectedCount()).isEqualTo(1);
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenRetryAfterTooLongToAddToTheTime_ReturnsTheTooManyRequestsResponse() {
+        clock.set(millis(1000));
+        Response<JSONObject> tooMany = response(429, "Retry-After", String.valueOf(Long.MAX_VALUE));
+        when(delegate.execute(request, JSONObject.class)).thenReturn(tooMany);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(tooMany);
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenServiceUnavailableWithRetryAfterTooLongToAddToTheTime_RejectsTheNextRequest() {
+        clock.set(millis(1000));
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503, "Retry-After", String.valueOf(Long.MAX_VALUE)));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+        client.execute(request, JSONObject.class);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    public void execute_GivenServiceUnavailableWithRetryAfter_PausesTheHost() {
+        Response<JSONObject> unavailable = response(503, "Retry-After", "2");
+        when(delegate.execute(request, JSONObject.class)).thenReturn(unavailable, response(200));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(unavailable);
+        client.execute(request, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, millis(2000));
+    }
+
+    @Test
+    public void execute_GivenServiceUnavailableWithoutRetryAfter_DoesNotPause() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503), response(200));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, 0L);
+    }
+
+    @Test
+    public void execute_GivenRateLimitHeaders_SpreadsTheRemainingRequests() {
+        Response<JSONObject> limited = response(200, "RateLimit-Remaining", "4");
+        limited.addResponseHeader("RateLimit-Reset", "2");
+        when(delegate.execute(request, JSONObject.class)).thenReturn(limited);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, 0L, millis(500));
+    }
+
+    @Test
+    public void execute_GivenNoRequestsRemaining_PausesUntilTheReset() {
+        Response<JSONObject> exhausted = response(200, "RateLimit-Remaining", "0");
+        exhausted.addResponseHeader("RateLimit-Reset", "3");
+        when(delegate.execute(request, JSONObject.class)).thenReturn(exhausted);
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, millis(3000));
+    }
+
+    @Test
+    public void execute_GivenRemainingWithoutReset_IgnoresIt() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(200, "RateLimit-Remaining", "0"));
+        RateLimitingTraversonClient client = client(RateLimitPolicy.unlimited());
+
+        client.execute(request, JSONObject.class);
+        client.execute(request, JSONObject.class);
+
+        assertThat(sleeps).containsExactly(0L, 0L);
+    }
+
+    @Test
+    public void execute_GivenInterruptedWhileWaiting_ThrowsHttpException() {
+        RateLimitingTraversonClient client = new RateLimitingTraversonClient(delegate, RateLimitPolicy.unlimited(), nanos -> {
+            throw new InterruptedException();
+        }, clock::get, () -> NOW.toInstant().toEpochMilli());
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting for the rate limit")
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    public void execute_GivenThePublicConstructor_SleepsOnTheThread() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+        RateLimitingTraversonClient client = new RateLimitingTraversonClient(delegate, RateLimitPolicy.perSecond(1000));
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+    }
+
+    private RateLimitingTraversonClient client(RateLimitPolicy policy) {
+        return new RateLimitingTraversonClient(delegate, policy, nanos -> {
+            sleeps.add(nanos);
+            clock.addAndGet(nanos);
+        }, clock::get, () -> NOW.toInstant().toEpochMilli());
+    }
+
+    private static Response<JSONObject> response(int statusCode) {
+        Response<JSONObject> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+
+    private static Response<JSONObject> response(int statusCode, String header, String value) {
+        Response<JSONObject> response = response(statusCode);
+        response.addResponseHeader(header, value);
+        return response;
+    }
+
+    private static Request request() {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl("http://api.example.com/vehicles");
+        return request;
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,140 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void maxAttempts_GivenLessThanOne_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RetryPolicy.maxAttempts(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxAttempts must be at least 1");
+    }
+
+    @Test
+    public void maxAttempts_HasTheDefaults() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3);
+
+        assertThat(policy.getMaxAttempts()).isEqualTo(3);
+        assertThat(policy.getRetryBudget()).isEqualTo(0.2);
+        assertThat(policy.backoffNanos(1, 1)).isEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(policy.isRetryable(response(429))).isTrue();
+        assertThat(policy.isRetryable(response(502))).isTrue();
+        assertThat(policy.isRetryable(response(503))).isTrue();
+        assertThat(policy.isRetryable(response(504))).isTrue();
+        assertThat(policy.isRetryable(response(500))).isFalse();
+    }
+
+    @Test
+    public void backoffNanos_DoublesUpToTheMax() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(10).withBackoff(Duration.ofMillis(100), Duration.ofMillis(500));
+
+        assertThat(policy.backoffNanos(1, 1)).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(policy.backoffNanos(2, 1)).isEqualTo(Duration.ofMillis(200).toNanos());
+        assertThat(policy.backoffNanos(3, 1)).isEqualTo(Duration.ofMillis(400).toNanos());
+        assertThat(policy.backoffNanos(4, 1)).isEqualTo(Duration.ofMillis(500).toNanos());
+        assertThat(policy.backoffNanos(60, 1)).isEqualTo(Duration.ofMillis(500).toNanos());
+    }
+
+    @Test
+    public void backoffNanos_WaitsTheRandomPartOfTheBackoff() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3).withBackoff(Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        assertThat(policy.backoffNanos(2, 0.25)).isEqualTo(Duration.ofMillis(50).toNanos());
+        assertThat(policy.backoffNanos(2, 0)).isZero();
+    }
+
+    @Test
+    public void withBackoff_GivenNegativeInitial_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RetryPolicy.maxAttempts(3).withBackoff(Duration.ofMillis(-1), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("backoff must not be negative");
+    }
+
+    @Test
+    public void withBackoff_GivenMaxLessThanInitial_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RetryPolicy.maxAttempts(3).withBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("max backoff must not be less than the initial backoff");
+    }
+
+    @Test
+    public void retryingOnStatus_ReplacesTheRetryableStatuses() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3).retryingOnStatus(500, 503);
+
+        assertThat(policy.isRetryable(response(500))).isTrue();
+        assertThat(policy.isRetryable(response(503))).isTrue();
+        assertThat(policy.isRetryable(response(429))).isFalse();
+    }
+
+    @Test
+    public void withRetryBudget_ReturnsACopyWithTheLimit() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3);
+
+        assertThat(policy.withRetryBudget(0.05).getRetryBudget()).isEqualTo(0.05);
+        assertThat(policy.getRetryBudget()).isEqualTo(0.2);
+    }
+
+    @Test
+    public void withRetryBudget_GivenNegativeFraction_ThrowsIllegalArgumentException() {
+        assertThatThrownBy(() -> RetryPolicy.maxAttempts(3).withRetryBudget(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fraction must not be negative");
+    }
+
+    @Test
+    public void isIdempotent_GivenGetPutOrDelete_ReturnsTrue() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3);
+
+        assertThat(policy.isIdempotent(request(Method.GET))).isTrue();
+        assertThat(policy.isIdempotent(request(Method.PUT))).isTrue();
+        assertThat(policy.isIdempotent(request(Method.DELETE))).isTrue();
+    }
+
+    @Test
+    public void isIdempotent_GivenPostOrPatchWithNoHeaderConfigured_ReturnsFalse() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3);
+
+        assertThat(policy.isIdempotent(request(Method.POST))).isFalse();
+        assertThat(policy.isIdempotent(request(Method.PATCH))).isFalse();
+    }
+
+    @Test
+    public void isIdempotent_GivenPostOrPatchCarryingTheIdempotencyKey_ReturnsTrue() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3).withIdempotencyKeyHeader("Idempotency-Key");
+        Request post = request(Method.POST);
+        post.addHeader("idempotency-key", "8e03978e");
+        Request patch = request(Method.PATCH);
+        patch.addHeader("Idempotency-Key", "2f1d07a4");
+
+        assertThat(policy.isIdempotent(post)).isTrue();
+        assertThat(policy.isIdempotent(patch)).isTrue();
+    }
+
+    @Test
+    public void isIdempotent_GivenPostWithoutTheIdempotencyKey_ReturnsFalse() {
+        RetryPolicy policy = RetryPolicy.maxAttempts(3).withIdempotencyKeyHeader("Idempotency-Key");
+
+        assertThat(policy.isIdempotent(request(Method.POST))).isFalse();
+    }
+
+    private static Request request(Method method) {
+        Request request = new Request();
+        request.setMethod(method);
+        return request;
+    }
+
+    private static Response<Object> response(int statusCode) {
+        Response<Object> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+}
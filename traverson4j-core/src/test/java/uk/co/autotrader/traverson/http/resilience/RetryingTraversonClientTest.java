@@ -0,0 +1,254 @@
+package uk.co.autotrader.traverson.http.resilience;
+
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.Method;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RetryingTraversonClientTest {
+    private static final RetryPolicy POLICY = RetryPolicy.maxAttempts(3)
+            .withBackoff(Duration.ofMillis(100), Duration.ofSeconds(1))
+            .withRetryBudget(1);
+
+    @Mock
+    private TraversonClient delegate;
+    @Mock
+    private InputStream stream;
+    private List<Long> sleeps;
+    private AtomicLong clock;
+    private Request request;
+
+    @Before
+    public void setUp() {
+        sleeps = new ArrayList<>();
+        clock = new AtomicLong();
+        request = request(Method.GET);
+    }
+
+    @Test
+    public void execute_GivenSuccess_ReturnsTheResponseWithoutRetrying() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(ok);
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void execute_GivenHttpExceptionThenSuccess_RetriesAfterTheBackoff() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenThrow(new HttpException("stale connection", null)).thenReturn(ok);
+        RetryingTraversonClient client = client(POLICY);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(sleeps).containsExactly(Duration.ofMillis(50).toNanos());
+        assertThat(client.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenRetryableStatuses_BacksOffExponentially() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503), response(429), ok);
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(sleeps).containsExactly(Duration.ofMillis(50).toNanos(), Duration.ofMillis(100).toNanos());
+    }
+
+    @Test
+    public void execute_GivenAttemptsRunOut_ThrowsTheLastFailure() {
+        HttpException lastFailure = new HttpException("refused again", null);
+        when(delegate.execute(request, JSONObject.class)).thenThrow(new HttpException("refused", null), new HttpException("refused", null), lastFailure);
+
+        assertThatThrownBy(() -> client(POLICY).execute(request, JSONObject.class)).isSameAs(lastFailure);
+        verify(delegate, times(3)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenAttemptsRunOut_ReturnsTheLastResponse() {
+        Response<JSONObject> unavailable = response(503);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503), response(503), unavailable);
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(unavailable);
+    }
+
+    @Test
+    public void execute_GivenNonRetryableStatus_ReturnsIt() {
+        Response<JSONObject> notFound = response(404);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(notFound);
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(notFound);
+        assertThat(sleeps).isEmpty();
+    }
+
+    @Test
+    public void execute_GivenNonIdempotentRequest_DoesNotRetry() {
+        Request post = request(Method.POST);
+        HttpException failure = new HttpException("refused", null);
+        when(delegate.execute(post, JSONObject.class)).thenThrow(failure);
+
+        assertThatThrownBy(() -> client(POLICY).execute(post, JSONObject.class)).isSameAs(failure);
+        verify(delegate, times(1)).execute(post, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenPostWithIdempotencyKey_Retries() {
+        Request post = request(Method.POST);
+        post.addHeader("Idempotency-Key", "8e03978e");
+        Response<JSONObject> created = response(201);
+        when(delegate.execute(post, JSONObject.class)).thenReturn(response(503), created);
+
+        assertThat(client(POLICY.withIdempotencyKeyHeader("Idempotency-Key")).execute(post, JSONObject.class)).isSameAs(created);
+    }
+
+    @Test
+    public void execute_GivenRetryBudgetExhausted_StopsRetrying() {
+        Response<JSONObject> unavailable = response(503);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(unavailable);
+        RetryingTraversonClient client = client(POLICY.withRetryBudget(0.1));
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(client.execute(request, JSONObject.class)).isSameAs(unavailable);
+        }
+
+        assertThat(client.getRetryCount()).isEqualTo(10);
+        assertThat(client.getBudgetExhaustedCount()).isEqualTo(1);
+        verify(delegate, times(16)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenNoRetryBudget_DoesNotRetry() {
+        Response<JSONObject> unavailable = response(503);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(unavailable);
+        RetryingTraversonClient client = client(POLICY.withRetryBudget(0));
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(unavailable);
+
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+        assertThat(client.getBudgetExhaustedCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void execute_GivenBackoffBeyondTheTimeout_DoesNotRetry() {
+        request.setTimeout(Duration.ofMillis(100));
+        Response<JSONObject> unavailable = response(503);
+        when(delegate.execute(request, JSONObject.class)).thenAnswer(invocation -> {
+            clock.addAndGet(Duration.ofMillis(60).toNanos());
+            return unavailable;
+        });
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(unavailable);
+        verify(delegate, times(1)).execute(request, JSONObject.class);
+    }
+
+    @Test
+    public void execute_GivenBackoffWithinTheTimeout_Retries() {
+        request.setTimeout(Duration.ofSeconds(1));
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503), ok);
+
+        assertThat(client(POLICY).execute(request, JSONObject.class)).isSameAs(ok);
+    }
+
+    @Test
+    public void execute_GivenRetry_SendsItWithTheRemainingTimeout() {
+        request.setTimeout(Duration.ofSeconds(1));
+        List<Duration> timeouts = new ArrayList<>();
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenAnswer(invocation -> {
+            timeouts.add(request.getTimeout());
+            clock.addAndGet(Duration.ofMillis(300).toNanos());
+            return timeouts.size() == 1 ? response(503) : ok;
+        });
+        RetryingTraversonClient client = new RetryingTraversonClient(delegate, POLICY, clock::addAndGet, () -> 0.5, clock::get);
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(timeouts).containsExactly(Duration.ofSeconds(1), Duration.ofMillis(650));
+        assertThat(request.getTimeout()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void execute_GivenRetriedStreamResponse_ClosesIt() throws IOException {
+        Response<InputStream> unavailable = new Response<>();
+        unavailable.setStatusCode(503);
+        unavailable.setResource(stream);
+        Response<InputStream> ok = new Response<>();
+        ok.setStatusCode(200);
+        when(delegate.execute(request, InputStream.class)).thenReturn(unavailable, ok);
+
+        assertThat(client(POLICY).execute(request, InputStream.class)).isSameAs(ok);
+        verify(stream).close();
+    }
+
+    @Test
+    public void execute_GivenRetriedStreamFailsToClose_StillRetries() throws IOException {
+        Response<InputStream> unavailable = new Response<>();
+        unavailable.setStatusCode(503);
+        unavailable.setResource(stream);
+        Response<InputStream> ok = new Response<>();
+        ok.setStatusCode(200);
+        when(delegate.execute(request, InputStream.class)).thenReturn(unavailable, ok);
+        doThrow(new IOException("reset")).when(stream).close();
+
+        assertThat(client(POLICY).execute(request, InputStream.class)).isSameAs(ok);
+    }
+
+    @Test
+    public void execute_GivenInterruptedWhileBackingOff_ThrowsHttpException() {
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503));
+        RetryingTraversonClient client = new RetryingTraversonClient(delegate, POLICY, nanos -> {
+            throw new InterruptedException();
+        }, () -> 0.5, clock::get);
+
+        assertThatThrownBy(() -> client.execute(request, JSONObject.class))
+                .isInstanceOf(HttpException.class)
+                .hasMessage("Interrupted waiting to retry")
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    public void execute_GivenThePublicConstructor_SleepsOnTheThread() {
+        Response<JSONObject> ok = response(200);
+        when(delegate.execute(request, JSONObject.class)).thenReturn(response(503), ok);
+        RetryingTraversonClient client = new RetryingTraversonClient(delegate, POLICY.withBackoff(Duration.ofMillis(1), Duration.ofMillis(1)));
+
+        assertThat(client.execute(request, JSONObject.class)).isSameAs(ok);
+        assertThat(client.getRetryCount()).isEqualTo(1);
+    }
+
+    private RetryingTraversonClient client(RetryPolicy policy) {
+        return new RetryingTraversonClient(delegate, policy, sleeps::add, () -> 0.5, clock::get);
+    }
+
+    private static Response<JSONObject> response(int statusCode) {
+        Response<JSONObject> response = new Response<>();
+        response.setStatusCode(statusCode);
+        return response;
+    }
+
+    private static Request request(Method method) {
+        Request request = new Request();
+        request.setMethod(method);
+        request.setUrl("http://localhost/");
+        return request;
+    }
+}
@@ -1,6 +1,7 @@
 package uk.co.autotrader.traverson.link;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.google.common.io.Resources;
 import org.junit.Before;
@@ -10,6 +11,9 @@ import org.mockito.junit.MockitoJUnitRunner;
 import uk.co.autotrader.traverson.exception.UnknownRelException;
 
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
@@ -45,4 +49,72 @@ public class BasicLinkDiscovererTest {
             assertThat(e).hasMessage("Rel NotExistingRel not found");
         }
     }
+
+    @Test
+    public void findHrefs_GivenArrayOfHrefs_ReturnsEveryHref() throws Exception {
+        JSONObject json = JSON.parseObject("{\"items\": [\"http://first\", \"http://second\"]}");
+
+        List<String> uris = linkDiscoverer.findHrefs(json, "items");
+
+        assertThat(uris).containsExactly("http://first", "http://second");
+    }
+
+    @Test
+    public void findHrefs_GivenSingleHref_ReturnsIt() throws Exception {
+        String fileContents = Resources.toString(Resources.getResource("basic-hypermedia-simple.json"), Charset.defaultCharset());
+        JSONObject json = JSON.parseObject(fileContents);
+
+        List<String> uris = linkDiscoverer.findHrefs(json, "link_to");
+
+        assertThat(uris).containsExactly("http://api.example.com/follow/me");
+    }
+
+    @Test
+    public void findEmbedded_ReturnsNull() throws Exception {
+        String fileContents = Resources.toString(Resources.getResource("basic-hypermedia-simple.json"), Charset.defaultCharset());
+        JSONObject json = JSON.parseObject(fileContents);
+
+        assertThat(linkDiscoverer.findEmbedded(json, "http://api.example.com/follow/me")).isNull();
+    }
+
+    @Test
+    public void findItems_GivenArray_ReturnsItsItems() throws Exception {
+        JSONObject json = JSON.parseObject("{\"items\": [{\"id\": 1}, {\"id\": 2}]}");
+
+        JSONArray items = linkDiscoverer.findItems(json, "items");
+
+        assertThat(items).hasSize(2);
+        assertThat(items.getJSONObject(0).getIntValue("id")).isEqualTo(1);
+        assertThat(items.getJSONObject(1).getIntValue("id")).isEqualTo(2);
+    }
+
+    @Test
+    public void findItems_GivenNoArray_ReturnsNoItems() throws Exception {
+        JSONObject json = JSON.parseObject("{\"items\": \"http://first\"}");
+
+        assertThat(linkDiscoverer.findItems(json, "items")).isEmpty();
+    }
+
+    @Test
+    public void findAllHrefs_GivenHttpUrlValues_ReturnsThemByKey() {
+        JSONObject json = JSON.parseObject("{\"self\": \"https://api.example.com/\", \"name\": \"not a url\", \"count\": 2,"
+                + "\"related\": [\"http://api.example.com/1\", 3, \"ftp://api.example.com/2\"], \"empty\": []}");
+
+        Map<String, List<String>> hrefs = linkDiscoverer.findAllHrefs(json);
+
+        assertThat(hrefs).hasSize(2)
+                .containsEntry("self", Collections.singletonList("https://api.example.com/"))
+                .containsEntry("related", Collections.singletonList("http://api.example.com/1"));
+    }
+
+    @Test
+    public void mayHoldHref_GivenTheMemberNamedByTheRel_ReturnsTrue() {
+        assertThat(linkDiscoverer.mayHoldHref("next", "next")).isTrue();
+        assertThat(linkDiscoverer.mayHoldHref("other", "next")).isFalse();
+    }
+
+    @Test
+    public void prepare_ReturnsTheSameLinkDiscoverer() {
+        assertThat(linkDiscoverer.prepare(Collections.singletonList("rel"))).isSameAs(linkDiscoverer);
+    }
 }
@@ -2,6 +2,7 @@ package uk.co.autotrader.traverson.link;
 
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.google.common.io.Resources;
 import org.junit.Before;
@@ -13,6 +14,9 @@ import uk.co.autotrader.traverson.link.hal.HalLinkDiscoverer;
 
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import static com.google.common.io.Resources.getResource;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -131,6 +135,94 @@ public class HalLinkDiscovererTest {
         }
     }
 
+    @Test
+    public void findHrefs_GivenEmbeddedArray_ReturnsSelfHrefOfEveryItem() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        List<String> urls = this.linkDiscoverer.findHrefs(json, "domains");
+
+        assertThat(urls).containsExactly("http://localhost:8080/domains/other", "http://localhost:8080/domains/autotrader");
+    }
+
+    @Test
+    public void findHrefs_GivenLinkArray_ReturnsEveryHref() throws Exception {
+        JSONObject json = JSON.parseObject("{\"_links\": {\"items\": [{\"href\": \"http://first\"}, {\"href\": \"http://second\"}]}}");
+
+        List<String> urls = this.linkDiscoverer.findHrefs(json, "items");
+
+        assertThat(urls).containsExactly("http://first", "http://second");
+    }
+
+    @Test
+    public void findHrefs_GivenSingleLink_ReturnsItsHref() throws Exception {
+        JSONObject json = getJsonResource("hal-simple.json");
+
+        List<String> urls = this.linkDiscoverer.findHrefs(json, "domains");
+
+        assertThat(urls).containsExactly("http://localhost:8080/domains");
+    }
+
+    @Test
+    public void findEmbedded_GivenEmbeddedItemWithSelfHref_ReturnsTheItem() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        JSONObject embedded = this.linkDiscoverer.findEmbedded(json, "http://localhost:8080/domains/other");
+
+        assertThat(embedded.getString("name")).isEqualTo("Other Domain");
+    }
+
+    @Test
+    public void findItems_GivenEmbeddedArray_ReturnsItsItems() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        JSONArray items = this.linkDiscoverer.findItems(json, "domains");
+
+        assertThat(items).hasSize(2);
+        assertThat(items.getJSONObject(0).getString("name")).isEqualTo("Other Domain");
+        assertThat(items.getJSONObject(1).getString("name")).isEqualTo("AutoTrader");
+    }
+
+    @Test
+    public void findItems_GivenEmbeddedObjectRatherThanArray_ReturnsNoItems() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        assertThat(this.linkDiscoverer.findItems(json, "not-an-array")).isEmpty();
+    }
+
+    @Test
+    public void findAllHrefs_GivenLinksAndEmbeddedResources_ReturnsTheirHrefsByRel() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        Map<String, List<String>> hrefs = this.linkDiscoverer.findAllHrefs(json);
+
+        assertThat(hrefs.get("domains")).contains("http://localhost:8080/domains/other", "http://localhost:8080/domains/autotrader");
+        assertThat(hrefs).doesNotContainKey("self");
+    }
+
+    @Test
+    public void mayHoldHref_GivenLinksOrEmbedded_ReturnsTrue() {
+        assertThat(this.linkDiscoverer.mayHoldHref("_links", "next")).isTrue();
+        assertThat(this.linkDiscoverer.mayHoldHref("_embedded", "next")).isTrue();
+        assertThat(this.linkDiscoverer.mayHoldHref("next", "next")).isFalse();
+    }
+
+    @Test
+    public void prepare_ReturnsALinkDiscovererResolvingPreparedAndOtherRels() throws Exception {
+        JSONObject json = getJsonResource("hal-simple.json");
+
+        LinkDiscoverer prepared = linkDiscoverer.prepare(Collections.singletonList("self")).prepare(Collections.emptyList());
+
+        assertThat(prepared).isNotSameAs(linkDiscoverer);
+        assertThat(prepared.findHref(json, "self")).isEqualTo(linkDiscoverer.findHref(json, "self"));
+        assertThat(prepared.findAllHrefs(json)).isEqualTo(linkDiscoverer.findAllHrefs(json));
+        try {
+            prepared.findHref(json, "unknown");
+            fail("UnknownRelException expected");
+        } catch (UnknownRelException expected) {
+            assertThat(expected).hasMessageContaining("unknown");
+        }
+    }
+
     private JSONObject getJsonResource(String resourceName) throws IOException {
         return JSON.parseObject(Resources.toString(getResource(resourceName), Charset.defaultCharset()));
     }
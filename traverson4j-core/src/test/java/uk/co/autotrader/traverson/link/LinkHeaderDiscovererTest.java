@@ -0,0 +1,87 @@
+package uk.co.autotrader.traverson.link;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LinkHeaderDiscovererTest {
+    private static final String REQUEST_URL = "http://localhost/";
+
+    private LinkHeaderDiscoverer linkDiscoverer;
+
+    @Before
+    public void setUp() throws Exception {
+        linkDiscoverer = new LinkHeaderDiscoverer();
+    }
+
+    @Test
+    public void findHref_GivenLinkWithTheRel_ReturnsItsTarget() {
+        Response<Void> response = responseWithLink("<http://localhost/other>; rel=\"other\", <http://localhost/items?page=2>; rel=\"next\"");
+
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "next")).isEqualTo("http://localhost/items?page=2");
+    }
+
+    @Test
+    public void findHref_GivenSeveralRelationTypes_MatchesEachCaseInsensitively() {
+        Response<Void> response = responseWithLink("<http://localhost/search>; rel=\"alternate  Search\"");
+
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "search")).isEqualTo("http://localhost/search");
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "ALTERNATE")).isEqualTo("http://localhost/search");
+    }
+
+    @Test
+    public void findHref_GivenQuotedParamsHoldingDelimiters_SkipsThem() {
+        Response<Void> response = responseWithLink("<http://localhost/a>; title=\"a, \\\"b\\\"; <c>\"; rel=first,"
+                + " <http://localhost/d> ; type=text/html ; rel = next ; rel=ignored");
+
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "first")).isEqualTo("http://localhost/a");
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "next")).isEqualTo("http://localhost/d");
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "ignored")).isNull();
+    }
+
+    @Test
+    public void findHref_GivenRelativeTarget_ResolvesItAgainstTheUriOfTheResponse() {
+        Response<Void> response = responseWithLink("<items/2>; rel=next");
+        response.setUri(URI.create("http://localhost/api/items/1"));
+
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "next")).isEqualTo("http://localhost/api/items/items/2");
+    }
+
+    @Test
+    public void findHref_GivenRelativeTargetAndNoUri_ResolvesItAgainstTheRequestUrl() {
+        Response<Void> response = responseWithLink("</items/2>; rel=next");
+
+        assertThat(linkDiscoverer.findHref(response, "http://localhost/api/items/1", "next")).isEqualTo("http://localhost/items/2");
+    }
+
+    @Test
+    public void findHref_GivenNoLinkWithTheRel_ReturnsNull() {
+        assertThat(linkDiscoverer.findHref(responseWithLink("<http://localhost/a>; anchor=\"#x\"; hreflang"), REQUEST_URL, "next")).isNull();
+        assertThat(linkDiscoverer.findHref(responseWithLink("<http://localhost/a>; title=\"unterminated"), REQUEST_URL, "next")).isNull();
+        assertThat(linkDiscoverer.findHref(responseWithLink("<http://localhost/a; rel=next"), REQUEST_URL, "next")).isNull();
+        assertThat(linkDiscoverer.findHref(responseWithLink("<http://localhost/a>; rel=\"escaped\\"), REQUEST_URL, "escaped\\")).isEqualTo("http://localhost/a");
+    }
+
+    @Test
+    public void findHref_GivenNoLinkHeader_ReturnsNull() {
+        assertThat(linkDiscoverer.findHref(new Response<Void>(), REQUEST_URL, "next")).isNull();
+    }
+
+    @Test
+    public void findHref_GivenLowerCaseHeaderName_FindsTheLinks() {
+        Response<Void> response = new Response<>();
+        response.addResponseHeader("link", "<http://localhost/a>; rel=next");
+
+        assertThat(linkDiscoverer.findHref(response, REQUEST_URL, "next")).isEqualTo("http://localhost/a");
+    }
+
+    private static Response<Void> responseWithLink(String link) {
+        Response<Void> response = new Response<>();
+        response.addResponseHeader("Link", link);
+        return response;
+    }
+}
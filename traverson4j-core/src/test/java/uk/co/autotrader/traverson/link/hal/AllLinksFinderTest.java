@@ -0,0 +1,73 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.MapEntry.entry;
+
+public class AllLinksFinderTest {
+
+    private AllLinksFinder finder;
+
+    @Before
+    public void setUp() throws Exception {
+        this.finder = new AllLinksFinder();
+    }
+
+    @Test
+    public void findAll_GivenLinks_ReturnsTheirHrefsByRelSkippingSelfAndCuries() {
+        JSONObject json = JSON.parseObject("{\"_links\": {"
+                + "\"self\": {\"href\": \"http://localhost/\"},"
+                + "\"curies\": [{\"name\": \"doc\", \"href\": \"http://localhost/docs/{rel}\", \"templated\": true}],"
+                + "\"next\": {\"href\": \"http://localhost/?page=2\"},"
+                + "\"items\": [{\"href\": \"http://localhost/1\"}, {\"href\": \"http://localhost/2\"}]}}");
+
+        Map<String, List<String>> hrefs = finder.findAll(json);
+
+        assertThat(hrefs).containsExactly(
+                entry("next", Collections.singletonList("http://localhost/?page=2")),
+                entry("items", Arrays.asList("http://localhost/1", "http://localhost/2")));
+    }
+
+    @Test
+    public void findAll_GivenTemplatedOrMalformedLinks_SkipsThem() {
+        JSONObject json = JSON.parseObject("{\"_links\": {"
+                + "\"search\": {\"href\": \"http://localhost/{?q}\", \"templated\": true},"
+                + "\"broken\": \"http://localhost/broken\","
+                + "\"missing\": {\"title\": \"no href\"},"
+                + "\"plain\": {\"href\": \"http://localhost/plain\", \"templated\": false}}}");
+
+        Map<String, List<String>> hrefs = finder.findAll(json);
+
+        assertThat(hrefs).containsExactly(entry("plain", Collections.singletonList("http://localhost/plain")));
+    }
+
+    @Test
+    public void findAll_GivenEmbeddedResources_ReturnsTheirSelfHrefs() {
+        JSONObject json = JSON.parseObject("{\"_links\": {\"items\": {\"href\": \"http://localhost/1\"}},"
+                + "\"_embedded\": {"
+                + "\"items\": [{\"_links\": {\"self\": {\"href\": \"http://localhost/2\"}}}, {\"name\": \"no self\"}],"
+                + "\"owner\": {\"_links\": {\"self\": {\"href\": \"http://localhost/owner\"}}}}}");
+
+        Map<String, List<String>> hrefs = finder.findAll(json);
+
+        assertThat(hrefs).containsExactly(
+                entry("items", Arrays.asList("http://localhost/1", "http://localhost/2")),
+                entry("owner", Collections.singletonList("http://localhost/owner")));
+    }
+
+    @Test
+    public void findAll_GivenNoLinksOrEmbeddedResources_ReturnsNoHrefs() {
+        JSONObject json = JSON.parseObject("{\"_links\": [], \"name\": \"value\"}");
+
+        assertThat(finder.findAll(json)).isEmpty();
+    }
+}
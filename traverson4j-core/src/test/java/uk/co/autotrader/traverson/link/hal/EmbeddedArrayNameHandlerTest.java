@@ -32,6 +32,16 @@ public class EmbeddedArrayNameHandlerTest {
         assertThat(url).isEqualTo("http://localhost:8080/domains/autotrader");
     }
 
+    @Test
+    public void findRef_GivenEmbeddedNameExpression_MatchesTheRelAsWritten() throws Exception {
+        String fileContents = Resources.toString(Resources.getResource("hal-embedded.json"), Charset.defaultCharset());
+        JSONObject json = JSON.parseObject(fileContents);
+
+        String url = this.handler.findHref(json, RelExpressionParser.parse("AutoTrader"));
+
+        assertThat(url).isEqualTo("http://localhost:8080/domains/autotrader");
+    }
+
     @Test
     public void findRef_GivenNameOfEntityThatDoesNotExist_ReturnsNull() throws Exception {
         String fileContents = Resources.toString(Resources.getResource("hal-embedded.json"), Charset.defaultCharset());
@@ -0,0 +1,66 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.google.common.io.Resources;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedResourceFinderTest {
+
+    private EmbeddedResourceFinder finder;
+
+    @Before
+    public void setUp() throws Exception {
+        this.finder = new EmbeddedResourceFinder();
+    }
+
+    @Test
+    public void findBySelfHref_GivenArrayItemWithSelfHref_ReturnsTheItem() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        JSONObject embedded = this.finder.findBySelfHref(json, "http://localhost:8080/domains/autotrader");
+
+        assertThat(embedded.getString("name")).isEqualTo("AutoTrader");
+    }
+
+    @Test
+    public void findBySelfHref_GivenEmbeddedObjectWithSelfHref_ReturnsTheObject() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        JSONObject embedded = this.finder.findBySelfHref(json, "http://localhost:8080/madeup");
+
+        assertThat(embedded.getString("name")).isEqualTo("MadeUp");
+    }
+
+    @Test
+    public void findBySelfHref_GivenNoEmbeddedResourceWithSelfHref_ReturnsNull() throws Exception {
+        JSONObject json = getJsonResource("hal-embedded.json");
+
+        assertThat(this.finder.findBySelfHref(json, "http://localhost:8080/domains")).isNull();
+    }
+
+    @Test
+    public void findBySelfHref_GivenNoEmbeddedSection_ReturnsNull() throws Exception {
+        JSONObject json = getJsonResource("hal-simple.json");
+
+        assertThat(this.finder.findBySelfHref(json, "http://localhost:8080/")).isNull();
+    }
+
+    @Test
+    public void findBySelfHref_GivenEmbeddedValuesWithoutSelfLinks_ReturnsNull() {
+        JSONObject json = JSON.parseObject("{\"_embedded\": {"
+                + "\"values\": [\"http://localhost/\", {\"name\": \"no links\"}, {\"_links\": \"not an object\"}, {\"_links\": {\"self\": \"not an object\"}}],"
+                + "\"other\": {\"_links\": {}}}}");
+
+        assertThat(this.finder.findBySelfHref(json, "http://localhost/")).isNull();
+    }
+
+    private JSONObject getJsonResource(String resourceName) throws Exception {
+        return JSON.parseObject(Resources.toString(Resources.getResource(resourceName), Charset.defaultCharset()));
+    }
+}
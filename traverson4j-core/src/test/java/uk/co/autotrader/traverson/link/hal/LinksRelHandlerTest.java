@@ -46,4 +46,24 @@ public class LinksRelHandlerTest {
             assertThat(e).hasMessage("Rel doesNotExist not in the following [domains, self]");
         }
     }
+
+    @Test
+    public void findHref_GivenMalformedSelectorNotInLinks_ThrowsExceptionDescribingTheSelector() throws Exception {
+        String fileContents = Resources.toString(Resources.getResource("hal-simple.json"), Charset.defaultCharset());
+        JSONObject json = JSON.parseObject(fileContents);
+
+        try {
+            this.handler.findHref(json, "domains[first]");
+            fail("Test should throw exception for missing link");
+        } catch (UnknownRelException e) {
+            assertThat(e).hasMessage("Rel domains[first] (index must be a non-negative integer) not in the following [domains, self]");
+        }
+    }
+
+    @Test
+    public void findHref_GivenLinkKeyContainingBrackets_ReturnsHref() throws Exception {
+        JSONObject json = JSON.parseObject("{\"_links\": {\"odd[key]\": {\"href\": \"http://odd\"}}}");
+
+        assertThat(this.handler.findHref(json, "odd[key]")).isEqualTo("http://odd");
+    }
 }
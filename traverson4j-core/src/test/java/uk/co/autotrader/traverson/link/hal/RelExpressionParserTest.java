@@ -0,0 +1,95 @@
+package uk.co.autotrader.traverson.link.hal;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RelExpressionParserTest {
+
+    @Test
+    public void parse_GivenAnyRel_ReturnsEmbeddedNameExpressionHoldingItsSelector() {
+        RelExpression expression = RelExpressionParser.parse("vehicles[first]");
+
+        assertThat(expression.getKind()).isEqualTo(RelExpression.Kind.EMBEDDED_NAME);
+        assertThat(expression.getText()).isEqualTo("vehicles[first]");
+        assertThat(expression.describe()).isEqualTo("vehicles[first] (index must be a non-negative integer)");
+        assertThat(expression.getSelector().getKind()).isEqualTo(RelExpression.Kind.PLAIN);
+    }
+
+    @Test
+    public void parse_GivenPlainRel_ReturnsPlainExpression() {
+        RelExpression expression = RelExpressionParser.parse("vehicles").getSelector();
+
+        assertThat(expression.getKind()).isEqualTo(RelExpression.Kind.PLAIN);
+        assertThat(expression.getText()).isEqualTo("vehicles");
+        assertThat(expression.getName()).isEqualTo("vehicles");
+        assertThat(expression.describe()).isEqualTo("vehicles");
+    }
+
+    @Test
+    public void parse_GivenIndexSelector_ReturnsIndexExpression() {
+        RelExpression expression = RelExpressionParser.parse("vehicles[12]").getSelector();
+
+        assertThat(expression.getKind()).isEqualTo(RelExpression.Kind.INDEX);
+        assertThat(expression.getText()).isEqualTo("vehicles[12]");
+        assertThat(expression.getName()).isEqualTo("vehicles");
+        assertThat(expression.getIndex()).isEqualTo(12);
+    }
+
+    @Test
+    public void parse_GivenPropertySelector_ReturnsPropertyExpressionSplitAtTheLastColon() {
+        RelExpression expression = RelExpressionParser.parse("vehicles[urn:make:ford]").getSelector();
+
+        assertThat(expression.getKind()).isEqualTo(RelExpression.Kind.PROPERTY);
+        assertThat(expression.getName()).isEqualTo("vehicles");
+        assertThat(expression.getPropertyName()).isEqualTo("urn:make");
+        assertThat(expression.getPropertyValue()).isEqualTo("ford");
+    }
+
+    @Test
+    public void parse_GivenNestedBrackets_UsesTheLastSelector() {
+        RelExpression expression = RelExpressionParser.parse("vehicles[0][1]").getSelector();
+
+        assertThat(expression.getName()).isEqualTo("vehicles[0]");
+        assertThat(expression.getIndex()).isEqualTo(1);
+    }
+
+    @Test
+    public void parse_GivenInvalidIndex_ReturnsPlainExpressionDescribingTheProblem() {
+        assertThat(RelExpressionParser.parse("vehicles[first]").describe()).isEqualTo("vehicles[first] (index must be a non-negative integer)");
+        assertThat(RelExpressionParser.parse("vehicles[-1]").describe()).isEqualTo("vehicles[-1] (index must be a non-negative integer)");
+        assertThat(RelExpressionParser.parse("vehicles[]").describe()).isEqualTo("vehicles[] (index must be a non-negative integer)");
+        assertThat(RelExpressionParser.parse("vehicles[99999999999]").describe()).isEqualTo("vehicles[99999999999] (index is too large)");
+        assertThat(RelExpressionParser.parse("vehicles[first]").getSelector().getKind()).isEqualTo(RelExpression.Kind.PLAIN);
+        assertThat(RelExpressionParser.parse("vehicles[first]").getSelector().getName()).isEqualTo("vehicles[first]");
+    }
+
+    @Test
+    public void parse_GivenUnbalancedBrackets_ReturnsPlainExpressionDescribingTheProblem() {
+        assertThat(RelExpressionParser.parse("vehicles[0").describe()).isEqualTo("vehicles[0 (expected name[index] or name[property:value])");
+        assertThat(RelExpressionParser.parse("vehicles]").describe()).isEqualTo("vehicles] (expected name[index] or name[property:value])");
+        assertThat(RelExpressionParser.parse("vehicles[0]x").getSelector().getKind()).isEqualTo(RelExpression.Kind.PLAIN);
+    }
+
+    @Test
+    public void parse_GivenSameRelTwice_ReturnsTheCachedExpression() {
+        assertThat(RelExpressionParser.parse("cached[1]")).isSameAs(RelExpressionParser.parse("cached[1]"));
+    }
+
+    @Test
+    public void parse_GivenMoreRelsThanTheCacheHolds_StopsCaching() throws Exception {
+        Map<?, ?> cache = (Map<?, ?>) FieldUtils.readDeclaredStaticField(RelExpressionParser.class, "CACHE", true);
+        try {
+            for (int i = 0; i < 1100; i++) {
+                assertThat(RelExpressionParser.parse("rel" + i).getName()).isEqualTo("rel" + i);
+            }
+
+            assertThat(cache.size()).isEqualTo(1024);
+        } finally {
+            cache.clear();
+        }
+    }
+}
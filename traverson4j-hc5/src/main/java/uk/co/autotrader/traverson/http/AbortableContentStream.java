@@ -0,0 +1,28 @@
+package uk.co.autotrader.traverson.http;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+
+/**
+ * The content of a response, which can be aborted to drop its connection, whereas closing it reads the rest of the
+ * response so the connection can be reused
+ */
+class AbortableContentStream extends FilterInputStream implements Abortable {
+    private final EofSensorInputStream content;
+
+    AbortableContentStream(EofSensorInputStream content) {
+        super(content);
+        this.content = content;
+    }
+
+    @Override
+    public void abort() {
+        try {
+            content.abort();
+        } catch (IOException ignored) {
+            // the connection is being dropped, so there is nothing left to release
+        }
+    }
+}
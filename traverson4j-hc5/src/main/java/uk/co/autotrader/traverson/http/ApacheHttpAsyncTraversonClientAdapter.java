@@ -0,0 +1,117 @@
+package uk.co.autotrader.traverson.http;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import uk.co.autotrader.traverson.conversion.ResourceConversionService;
+import uk.co.autotrader.traverson.exception.HttpException;
+import uk.co.autotrader.traverson.http.entity.BodyFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+/**
+ * <p>A non blocking adapter backed by the Apache HttpComponents 5 async client</p>
+ * <p>Response bodies are buffered in memory before being converted, so an InputStream resource
+ * does not hold the underlying connection open</p>
+ */
+public class ApacheHttpAsyncTraversonClientAdapter implements AsyncTraversonClient {
+
+    private final CloseableHttpAsyncClient adapterClient;
+    final ApacheHttpConverters apacheHttpUriConverter;
+
+    public ApacheHttpAsyncTraversonClientAdapter() {
+        this(startedDefaultClient());
+    }
+
+    /**
+     * @param client an async client which has already been started
+     */
+    public ApacheHttpAsyncTraversonClientAdapter(CloseableHttpAsyncClient client) {
+        this(client, RequestConfig.DEFAULT);
+    }
+
+    /**
+     * @param client an async client which has already been started
+     * @param defaultRequestConfig the default request config the client was built with, which is kept when a request
+     *                             timeout is applied, as the async client does not expose it
+     */
+    public ApacheHttpAsyncTraversonClientAdapter(CloseableHttpAsyncClient client, RequestConfig defaultRequestConfig) {
+        this.adapterClient = client;
+        this.apacheHttpUriConverter = new ApacheHttpConverters(new BodyFactory(), new TemplateUriUtils(), ResourceConversionService.getInstance(),
+                defaultRequestConfig);
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        try {
+            return executeAsync(request, returnType).join();
+        } catch (CompletionException completionException) {
+            throw (RuntimeException) completionException.getCause();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<Response<T>> executeAsync(Request request, Class<T> returnType) {
+        CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        try {
+            SimpleHttpRequest httpRequest = apacheHttpUriConverter.toSimpleRequest(request);
+            HttpClientContext clientContext = apacheHttpUriConverter.toHttpClientContext(request);
+            ResponseCallback<T> callback = new ResponseCallback<>(result, returnType, httpRequest.getUri());
+            Future<SimpleHttpResponse> httpResponse = adapterClient.execute(httpRequest, clientContext, callback);
+            result.whenComplete((response, throwable) -> {
+                if (result.isCancelled()) {
+                    httpResponse.cancel(true);
+                }
+            });
+        } catch (IOException | URISyntaxException e) {
+            result.completeExceptionally(new HttpException("Error with httpClient", e));
+        }
+        return result;
+    }
+
+    private static CloseableHttpAsyncClient startedDefaultClient() {
+        CloseableHttpAsyncClient client = HttpAsyncClients.createDefault();
+        client.start();
+        return client;
+    }
+
+    private class ResponseCallback<T> implements FutureCallback<SimpleHttpResponse> {
+        private final CompletableFuture<Response<T>> result;
+        private final Class<T> returnType;
+        private final URI uri;
+
+        ResponseCallback(CompletableFuture<Response<T>> result, Class<T> returnType, URI uri) {
+            this.result = result;
+            this.returnType = returnType;
+            this.uri = uri;
+        }
+
+        @Override
+        public void completed(SimpleHttpResponse httpResponse) {
+            try {
+                result.complete(apacheHttpUriConverter.toResponse(httpResponse, returnType, uri));
+            } catch (RuntimeException runtimeException) {
+                result.completeExceptionally(runtimeException);
+            }
+        }
+
+        @Override
+        public void failed(Exception exception) {
+            result.completeExceptionally(new HttpException("Error with httpClient", exception));
+        }
+
+        @Override
+        public void cancelled() {
+            result.cancel(false);
+        }
+    }
+}
@@ -1,39 +1,61 @@
 package uk.co.autotrader.traverson.http;
 
 
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.auth.AuthCache;
 import org.apache.hc.client5.http.auth.AuthScope;
 import org.apache.hc.client5.http.auth.UsernamePasswordCredentials;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.auth.BasicAuthCache;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.auth.BasicScheme;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
 import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.net.URIBuilder;
+import org.apache.hc.core5.util.Timeout;
 import uk.co.autotrader.traverson.conversion.ResourceConversionService;
 import uk.co.autotrader.traverson.http.entity.BodyFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 public class ApacheHttpConverters {
     private static final AuthScope AUTH_SCOPE_MATCHING_ANYTHING = new AuthScope(null, null, -1, null, null);
+    private static final String LINK = "Link";
     private final BodyFactory bodyFactory;
     private final TemplateUriUtils templateUriUtils;
     private final ResourceConversionService conversionService;
+    private final RequestConfig defaultRequestConfig;
 
     public ApacheHttpConverters(BodyFactory bodyFactory, TemplateUriUtils templateUriUtils, ResourceConversionService conversionService) {
+        this(bodyFactory, templateUriUtils, conversionService, RequestConfig.DEFAULT);
+    }
+
+    /**
+     * @param defaultRequestConfig the default request config of the client, which a request timeout is applied to
+     */
+    public ApacheHttpConverters(BodyFactory bodyFactory, TemplateUriUtils templateUriUtils, ResourceConversionService conversionService,
+                                RequestConfig defaultRequestConfig) {
         this.bodyFactory = bodyFactory;
         this.templateUriUtils = templateUriUtils;
         this.conversionService = conversionService;
+        this.defaultRequestConfig = defaultRequestConfig;
     }
 
     public ClassicHttpRequest toRequest(Request request) {
@@ -58,20 +80,77 @@ public class ApacheHttpConverters {
     }
 
 
+    public SimpleHttpRequest toSimpleRequest(Request request) throws URISyntaxException, IOException {
+        String uri = templateUriUtils.expandTemplateUri(request.getUrl(), request.getTemplateParams());
+
+        URIBuilder uriBuilder = new URIBuilder(uri);
+        request.getQueryParameters().forEach((key, values) -> values.forEach(value -> uriBuilder.addParameter(key, value)));
+
+        SimpleHttpRequest httpRequest = new SimpleHttpRequest(request.getMethod().name(), uriBuilder.build());
+        request.getHeaders().forEach(httpRequest::addHeader);
+
+        if (request.getAcceptMimeType() != null) {
+            httpRequest.addHeader("Accept", request.getAcceptMimeType());
+        }
+
+        Body body = request.getBody();
+        if (body != null) {
+            HttpEntity entity = bodyFactory.toEntity(body);
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            entity.writeTo(content);
+            httpRequest.setBody(content.toByteArray(), ContentType.parse(entity.getContentType()));
+        }
+        return httpRequest;
+    }
+
     public <T> Response<T> toResponse(CloseableHttpResponse httpResponse, Class<T> returnType, URI uri) throws IOException {
+        Response<T> response = toResponseWithoutResource(httpResponse, uri);
+
+        HttpEntity httpEntity = httpResponse.getEntity();
+        if (httpEntity != null) {
+            InputStream content = httpEntity.getContent();
+            response.setResource(conversionService.convert(abortable(content), returnType));
+        }
+        return response;
+    }
+
+    /**
+     * Lets a caller reading only the start of a large response drop its connection, see {@link Abortable}
+     */
+    private static InputStream abortable(InputStream content) {
+        return content instanceof EofSensorInputStream ? new AbortableContentStream((EofSensorInputStream) content) : content;
+    }
+
+    public <T> Response<T> toResponse(SimpleHttpResponse httpResponse, Class<T> returnType, URI uri) {
+        Response<T> response = toResponseWithoutResource(httpResponse, uri);
+
+        byte[] content = httpResponse.getBodyBytes();
+        if (content != null) {
+            response.setResource(conversionService.convert(new ByteArrayInputStream(content), returnType));
+        }
+        return response;
+    }
+
+    private <T> Response<T> toResponseWithoutResource(HttpResponse httpResponse, URI uri) {
         Response<T> response = new Response<>();
         response.setUri(uri);
         response.setStatusCode(httpResponse.getCode());
         for (Header responseHeader : httpResponse.getHeaders()) {
-            response.addResponseHeader(responseHeader.getName(), responseHeader.getValue());
+            addResponseHeader(response, responseHeader);
         }
+        return response;
+    }
 
-        HttpEntity httpEntity = httpResponse.getEntity();
-        if (httpEntity != null) {
-            InputStream content = httpEntity.getContent();
-            response.setResource(conversionService.convert(content, returnType));
+    /**
+     * Repeated Link headers are joined with commas, as RFC 8288 allows, so every link is seen. Other repeated headers
+     * keep their last value.
+     */
+    private static void addResponseHeader(Response<?> response, Header header) {
+        if (LINK.equalsIgnoreCase(header.getName())) {
+            response.getResponseHeaders().merge(header.getName(), header.getValue(), (first, next) -> first + ", " + next);
+        } else {
+            response.addResponseHeader(header.getName(), header.getValue());
         }
-        return response;
     }
 
     void constructCredentialsProviderAndAuthCache(BasicCredentialsProvider credentialsProvider, AuthCache authCache, AuthCredential authCredential) {
@@ -106,6 +185,22 @@ public class ApacheHttpConverters {
 
         clientContext.setCredentialsProvider(credentialsProvider);
         clientContext.setAuthCache(authCache);
+        if (request.getTimeout() != null) {
+            clientContext.setRequestConfig(toRequestConfig(request.getTimeout()));
+        }
         return clientContext;
     }
+
+    /**
+     * Applies the timeout to leasing a connection, connecting and awaiting the response alike, keeping the rest of the
+     * default request config of the client, e.g. its redirect and cookie settings.
+     */
+    private RequestConfig toRequestConfig(Duration timeout) {
+        Timeout requestTimeout = Timeout.ofMilliseconds(timeout.toMillis());
+        return RequestConfig.copy(defaultRequestConfig)
+                .setConnectionRequestTimeout(requestTimeout)
+                .setConnectTimeout(requestTimeout)
+                .setResponseTimeout(requestTimeout)
+                .build();
+    }
 }
@@ -1,6 +1,8 @@
 package uk.co.autotrader.traverson.http;
 
 import com.alibaba.fastjson.util.IOUtils;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
@@ -26,7 +28,13 @@ public class ApacheHttpTraversonClientAdapter implements TraversonClient {
 
     public ApacheHttpTraversonClientAdapter(CloseableHttpClient client) {
         this.adapterClient = client;
-        this.apacheHttpUriConverter = new ApacheHttpConverters(new BodyFactory(), new TemplateUriUtils(), ResourceConversionService.getInstance());
+        this.apacheHttpUriConverter = new ApacheHttpConverters(new BodyFactory(), new TemplateUriUtils(), ResourceConversionService.getInstance(),
+                defaultRequestConfig(client));
+    }
+
+    private static RequestConfig defaultRequestConfig(CloseableHttpClient client) {
+        RequestConfig config = client instanceof Configurable ? ((Configurable) client).getConfig() : null;
+        return config == null ? RequestConfig.DEFAULT : config;
     }
 
     @Override
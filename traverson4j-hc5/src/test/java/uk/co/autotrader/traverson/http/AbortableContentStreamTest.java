@@ -0,0 +1,49 @@
+package uk.co.autotrader.traverson.http;
+
+import org.apache.hc.core5.http.io.EofSensorInputStream;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbortableContentStreamTest {
+    @Mock
+    private EofSensorInputStream content;
+    private AbortableContentStream stream;
+
+    @Before
+    public void setUp() {
+        stream = new AbortableContentStream(content);
+    }
+
+    @Test
+    public void read_ReadsTheContent() throws Exception {
+        when(content.read()).thenReturn(42);
+
+        assertThat(stream.read()).isEqualTo(42);
+    }
+
+    @Test
+    public void abort_AbortsTheConnectionOfTheContent() throws Exception {
+        stream.abort();
+
+        verify(content).abort();
+        verify(content, never()).close();
+    }
+
+    @Test
+    public void abort_GivenAbortingFails_IgnoresTheFailure() throws Exception {
+        doThrow(new IOException("already closed")).when(content).abort();
+
+        stream.abort();
+
+        verify(content).abort();
+    }
+}
@@ -0,0 +1,154 @@
+package uk.co.autotrader.traverson.http;
+
+import com.alibaba.fastjson.JSONObject;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ApacheHttpAsyncTraversonClientAdapterTest {
+    private ApacheHttpAsyncTraversonClientAdapter clientAdapter;
+    @Mock
+    private CloseableHttpAsyncClient httpClient;
+    @Mock
+    private ApacheHttpConverters apacheHttpConverters;
+    @Mock
+    private SimpleHttpRequest httpRequest;
+    @Mock
+    private SimpleHttpResponse httpResponse;
+    @Mock
+    private HttpClientContext clientContext;
+    @Mock
+    private Future<SimpleHttpResponse> httpFuture;
+    @Captor
+    private ArgumentCaptor<FutureCallback<SimpleHttpResponse>> callbackCaptor;
+
+    private final URI uri = URI.create("http://localhost");
+    private Request request;
+    private Response<JSONObject> expectedResponse;
+
+    @Before
+    public void setUp() throws Exception {
+        clientAdapter = new ApacheHttpAsyncTraversonClientAdapter(httpClient);
+        FieldUtils.writeField(clientAdapter, "apacheHttpUriConverter", apacheHttpConverters, true);
+        request = new Request();
+        expectedResponse = new Response<>();
+        when(apacheHttpConverters.toSimpleRequest(request)).thenReturn(httpRequest);
+        when(apacheHttpConverters.toHttpClientContext(request)).thenReturn(clientContext);
+        when(httpRequest.getUri()).thenReturn(uri);
+        when(httpClient.execute(eq(httpRequest), eq(clientContext), callbackCaptor.capture())).thenReturn(httpFuture);
+    }
+
+    @Test
+    public void executeAsync_GivenCompletedResponse_CompletesWithConvertedResponse() {
+        when(apacheHttpConverters.toResponse(httpResponse, JSONObject.class, uri)).thenReturn(expectedResponse);
+
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(request, JSONObject.class);
+        assertThat(response).isNotDone();
+        callbackCaptor.getValue().completed(httpResponse);
+
+        assertThat(response).isCompletedWithValue(expectedResponse);
+    }
+
+    @Test
+    public void executeAsync_GivenConversionFails_CompletesExceptionally() {
+        NullPointerException nullPointerException = new NullPointerException();
+        when(apacheHttpConverters.toResponse(httpResponse, JSONObject.class, uri)).thenThrow(nullPointerException);
+
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(request, JSONObject.class);
+        callbackCaptor.getValue().completed(httpResponse);
+
+        assertThatThrownBy(response::join).hasCause(nullPointerException);
+    }
+
+    @Test
+    public void executeAsync_GivenTheExchangeFails_WrapsInHttpException() {
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(request, JSONObject.class);
+        callbackCaptor.getValue().failed(new IOException());
+
+        assertThatThrownBy(response::join).hasCauseInstanceOf(HttpException.class);
+    }
+
+    @Test
+    public void executeAsync_GivenTheExchangeIsCancelled_CancelsTheFuture() {
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(request, JSONObject.class);
+        callbackCaptor.getValue().cancelled();
+
+        assertThat(response).isCancelled();
+    }
+
+    @Test
+    public void executeAsync_GivenTheCallerCancels_CancelsTheHttpExchange() {
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(request, JSONObject.class);
+
+        response.cancel(true);
+
+        verify(httpFuture).cancel(true);
+    }
+
+    @Test
+    public void executeAsync_GivenCompletion_DoesNotCancelTheHttpExchange() {
+        when(apacheHttpConverters.toResponse(httpResponse, JSONObject.class, uri)).thenReturn(expectedResponse);
+
+        clientAdapter.executeAsync(request, JSONObject.class);
+        callbackCaptor.getValue().completed(httpResponse);
+
+        verify(httpFuture, never()).cancel(anyBoolean());
+    }
+
+    @Test
+    public void executeAsync_GivenTheRequestCannotBeBuilt_CompletesWithHttpException() throws Exception {
+        Request invalidRequest = new Request();
+        when(apacheHttpConverters.toSimpleRequest(invalidRequest)).thenThrow(new URISyntaxException("::", "invalid"));
+
+        CompletableFuture<Response<JSONObject>> response = clientAdapter.executeAsync(invalidRequest, JSONObject.class);
+
+        assertThatThrownBy(response::join).hasCauseInstanceOf(HttpException.class);
+    }
+
+    @Test
+    public void execute_GivenCompletedResponse_ReturnsResponse() {
+        when(apacheHttpConverters.toResponse(httpResponse, JSONObject.class, uri)).thenReturn(expectedResponse);
+        doAnswer(invocation -> {
+            invocation.<FutureCallback<SimpleHttpResponse>>getArgument(2).completed(httpResponse);
+            return httpFuture;
+        }).when(httpClient).execute(eq(httpRequest), eq(clientContext), any());
+
+        Response<JSONObject> response = clientAdapter.execute(request, JSONObject.class);
+
+        assertThat(response).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    public void execute_GivenTheExchangeFails_ThrowsTheUnwrappedHttpException() {
+        doAnswer(invocation -> {
+            invocation.<FutureCallback<SimpleHttpResponse>>getArgument(2).failed(new IOException());
+            return httpFuture;
+        }).when(httpClient).execute(eq(httpRequest), eq(clientContext), any());
+
+        assertThatThrownBy(() -> clientAdapter.execute(request, JSONObject.class)).isInstanceOf(HttpException.class);
+    }
+}
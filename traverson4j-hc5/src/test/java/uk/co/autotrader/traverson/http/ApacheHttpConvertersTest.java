@@ -1,11 +1,17 @@
 package uk.co.autotrader.traverson.http;
 
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
 import org.apache.hc.client5.http.auth.AuthCache;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.auth.BasicAuthCache;
 import org.apache.hc.client5.http.impl.auth.BasicCredentialsProvider;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.*;
+import org.apache.hc.core5.http.io.EofSensorInputStream;
 import org.apache.hc.core5.http.message.BasicHeader;
+import org.apache.hc.core5.util.Timeout;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,9 +21,13 @@ import org.mockito.junit.MockitoJUnitRunner;
 import uk.co.autotrader.traverson.conversion.ResourceConversionService;
 import uk.co.autotrader.traverson.http.entity.BodyFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -54,6 +64,17 @@ public class ApacheHttpConvertersTest {
         assertThat(uriRequest.getMethod()).isEqualTo("PATCH");
     }
 
+    @Test
+    public void toRequest_GivenHead_SetsHttpVerbWithoutEntity() {
+        Request request = new Request();
+        request.setMethod(Method.HEAD);
+
+        ClassicHttpRequest uriRequest = apacheHttpUriConverter.toRequest(request);
+
+        assertThat(uriRequest.getMethod()).isEqualTo("HEAD");
+        assertThat(uriRequest.getEntity()).isNull();
+    }
+
     @Test
     public void toRequest_SetsUrl() throws Exception {
         Request request = new Request();
@@ -154,6 +175,36 @@ public class ApacheHttpConvertersTest {
         assertThat(response.getResponseHeaders()).containsEntry("Location", "http://localhost/new");
     }
 
+    @Test
+    public void toResponse_GivenRepeatedLinkHeaders_JoinsTheirValuesWithCommas() throws Exception {
+        when(httpResponse.getCode()).thenReturn(200);
+        when(httpResponse.getHeaders()).thenReturn(new Header[]{
+                new BasicHeader("Link", "</a>; rel=\"a\""),
+                new BasicHeader("Location", "http://localhost/new"),
+                new BasicHeader("Link", "</b>; rel=\"b\"")});
+
+        Response<String> response = apacheHttpUriConverter.toResponse(httpResponse, String.class, new URI("http://localhost"));
+
+        assertThat(response.getResponseHeaders())
+                .containsEntry("Link", "</a>; rel=\"a\", </b>; rel=\"b\"")
+                .containsEntry("Location", "http://localhost/new");
+    }
+
+    @Test
+    public void toResponse_GivenOtherRepeatedHeaders_KeepsTheLast() {
+        SimpleHttpResponse simpleResponse = new SimpleHttpResponse(200);
+        simpleResponse.addHeader("Set-Cookie", "a=1; Expires=Wed, 21 Oct 2026 07:28:00 GMT");
+        simpleResponse.addHeader("Set-Cookie", "b=2");
+        simpleResponse.addHeader("X-Trace", "1");
+        simpleResponse.addHeader("X-Trace", "2");
+
+        Response<String> response = apacheHttpUriConverter.toResponse(simpleResponse, String.class, URI.create("http://localhost"));
+
+        assertThat(response.getResponseHeaders())
+                .containsEntry("Set-Cookie", "b=2")
+                .containsEntry("X-Trace", "2");
+    }
+
     @Test
     public void toResponse_GivenResponseHasEntity_ConvertsAndSetsResource() throws Exception {
         HttpRequest request =  mock(HttpRequest.class);
@@ -173,6 +224,100 @@ public class ApacheHttpConvertersTest {
         assertThat(response.getResource()).isEqualTo(expectedJson);
     }
 
+    @Test
+    public void toResponse_GivenContentWhichSensesEof_MakesItAbortable() throws Exception {
+        EofSensorInputStream content = mock(EofSensorInputStream.class);
+        when(httpResponse.getEntity()).thenReturn(httpEntity);
+        when(httpEntity.getContent()).thenReturn(content);
+        when(conversionService.convert(any(AbortableContentStream.class), eq(InputStream.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(httpResponse.getCode()).thenReturn(200);
+        when(httpResponse.getHeaders()).thenReturn(new Header[0]);
+
+        Response<InputStream> response = apacheHttpUriConverter.toResponse(httpResponse, InputStream.class, new URI("http://localhost"));
+
+        assertThat(response.getResource()).isInstanceOf(Abortable.class);
+        ((Abortable) response.getResource()).abort();
+        verify(content).abort();
+    }
+
+    @Test
+    public void toSimpleRequest_SetsHttpVerbUrlAndQueryParams() throws Exception {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        String url = "http://localhost:8080/{tmp1}";
+        request.setUrl(url);
+        request.addQueryParam("key1", "value1");
+        when(uriUtils.expandTemplateUri(url, request.getTemplateParams())).thenReturn("http://localhost:8080/abc");
+
+        SimpleHttpRequest httpRequest = apacheHttpUriConverter.toSimpleRequest(request);
+
+        assertThat(httpRequest.getMethod()).isEqualTo("GET");
+        assertThat(httpRequest.getUri().toASCIIString()).isEqualTo("http://localhost:8080/abc?key1=value1");
+        assertThat(httpRequest.getBodyBytes()).isNull();
+    }
+
+    @Test
+    public void toSimpleRequest_SetsHeadersAndAcceptHeader() throws Exception {
+        Request request = new Request();
+        request.setMethod(Method.GET);
+        request.setUrl("http://localhost:8080");
+        request.addHeader("header1", "value1");
+        request.setAcceptMimeType("application/json");
+        when(uriUtils.expandTemplateUri("http://localhost:8080", request.getTemplateParams())).thenReturn("http://localhost:8080");
+
+        SimpleHttpRequest httpRequest = apacheHttpUriConverter.toSimpleRequest(request);
+
+        assertThat(httpRequest.getFirstHeader("header1").getValue()).isEqualTo("value1");
+        assertThat(httpRequest.getFirstHeader("Accept").getValue()).isEqualTo("application/json");
+    }
+
+    @Test
+    public void toSimpleRequest_BuffersTheHttpEntityAsTheBody() throws Exception {
+        Body<?> body = mock(Body.class);
+        Request request = new Request();
+        request.setMethod(Method.PUT);
+        request.setUrl("http://localhost:8080");
+        request.setBody(body);
+        when(uriUtils.expandTemplateUri("http://localhost:8080", request.getTemplateParams())).thenReturn("http://localhost:8080");
+        when(bodyFactory.toEntity(body)).thenReturn(httpEntity);
+        when(httpEntity.getContentType()).thenReturn("text/plain");
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("content".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(httpEntity).writeTo(any(OutputStream.class));
+
+        SimpleHttpRequest httpRequest = apacheHttpUriConverter.toSimpleRequest(request);
+
+        assertThat(httpRequest.getBodyText()).isEqualTo("content");
+        assertThat(httpRequest.getContentType().getMimeType()).isEqualTo("text/plain");
+    }
+
+    @Test
+    public void toResponse_GivenSimpleResponseWithoutBody_BuildsResponseCorrectly() throws Exception {
+        URI requestUri = new URI("http://localhost");
+        SimpleHttpResponse simpleResponse = new SimpleHttpResponse(204);
+        simpleResponse.addHeader("Location", "http://localhost/new");
+
+        Response<String> response = apacheHttpUriConverter.toResponse(simpleResponse, String.class, requestUri);
+
+        assertThat(response.getUri()).isEqualTo(requestUri);
+        assertThat(response.getStatusCode()).isEqualTo(204);
+        assertThat(response.getResource()).isNull();
+        assertThat(response.getResponseHeaders()).containsEntry("Location", "http://localhost/new");
+        verifyNoInteractions(conversionService);
+    }
+
+    @Test
+    public void toResponse_GivenSimpleResponseWithBody_ConvertsAndSetsResource() throws Exception {
+        SimpleHttpResponse simpleResponse = new SimpleHttpResponse(200);
+        simpleResponse.setBody("{'name':'test'}", ContentType.APPLICATION_JSON);
+        when(conversionService.convert(any(ByteArrayInputStream.class), eq(String.class))).thenReturn("converted");
+
+        Response<String> response = apacheHttpUriConverter.toResponse(simpleResponse, String.class, new URI("http://localhost"));
+
+        assertThat(response.getResource()).isEqualTo("converted");
+    }
+
     @Test
     public void constructCredentialsProviderAndAuthCache_ifNoHostnameReturnsAnyAuthScope() {
         BasicCredentialsProvider basicCredentialsProvider = new BasicCredentialsProvider();
@@ -236,4 +381,37 @@ public class ApacheHttpConvertersTest {
                 .hasMessage("Preemptive authentication hostname is invalid")
                 .hasCauseInstanceOf(URISyntaxException.class);
     }
+
+    @Test
+    public void toHttpClientContext_GivenTimeout_AppliesItToTheWholeRequest() {
+        Request request = new Request();
+        request.setTimeout(Duration.ofMillis(1500));
+
+        HttpClientContext clientContext = apacheHttpUriConverter.toHttpClientContext(request);
+
+        RequestConfig requestConfig = clientContext.getRequestConfig();
+        assertThat(requestConfig.getConnectionRequestTimeout()).isEqualTo(Timeout.ofMilliseconds(1500));
+        assertThat(requestConfig.getConnectTimeout()).isEqualTo(Timeout.ofMilliseconds(1500));
+        assertThat(requestConfig.getResponseTimeout()).isEqualTo(Timeout.ofMilliseconds(1500));
+    }
+
+    @Test
+    public void toHttpClientContext_GivenTimeout_KeepsTheRestOfTheDefaultRequestConfig() {
+        RequestConfig defaultConfig = RequestConfig.custom().setRedirectsEnabled(false).setConnectTimeout(Timeout.ofSeconds(5)).build();
+        apacheHttpUriConverter = new ApacheHttpConverters(bodyFactory, uriUtils, conversionService, defaultConfig);
+        Request request = new Request();
+        request.setTimeout(Duration.ofMillis(1500));
+
+        RequestConfig requestConfig = apacheHttpUriConverter.toHttpClientContext(request).getRequestConfig();
+
+        assertThat(requestConfig.isRedirectsEnabled()).isFalse();
+        assertThat(requestConfig.getConnectTimeout()).isEqualTo(Timeout.ofMilliseconds(1500));
+    }
+
+    @Test
+    public void toHttpClientContext_GivenNoTimeout_LeavesTheRequestConfigToTheClient() {
+        HttpClientContext clientContext = apacheHttpUriConverter.toHttpClientContext(new Request());
+
+        assertThat(clientContext.getRequestConfig()).isEqualTo(RequestConfig.DEFAULT);
+    }
 }
@@ -3,8 +3,10 @@ package uk.co.autotrader.traverson.http;
 import com.alibaba.fastjson.JSONObject;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.junit.Before;
 import org.junit.Test;
@@ -100,4 +102,19 @@ public class ApacheHttpTraversonClientAdapterTest {
         assertThat(FieldUtils.readField(apacheHttpTraversonClientAdapter, "adapterClient", true)).isNotNull();
     }
 
+    @Test
+    public void init_GivenAClientWithADefaultRequestConfig_KeepsItForRequestTimeouts() throws Exception {
+        RequestConfig defaultConfig = RequestConfig.custom().setRedirectsEnabled(false).build();
+        ApacheHttpTraversonClientAdapter apacheHttpTraversonClientAdapter = new ApacheHttpTraversonClientAdapter(HttpClients.custom().setDefaultRequestConfig(defaultConfig).build());
+
+        assertThat(FieldUtils.readField(apacheHttpTraversonClientAdapter.apacheHttpUriConverter, "defaultRequestConfig", true)).isSameAs(defaultConfig);
+    }
+
+    @Test
+    public void init_GivenAClientWithoutAnAccessibleRequestConfig_UsesTheDefault() throws Exception {
+        ApacheHttpTraversonClientAdapter apacheHttpTraversonClientAdapter = new ApacheHttpTraversonClientAdapter(httpClient);
+
+        assertThat(FieldUtils.readField(apacheHttpTraversonClientAdapter.apacheHttpUriConverter, "defaultRequestConfig", true)).isSameAs(RequestConfig.DEFAULT);
+    }
+
 }
@@ -8,14 +8,17 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import uk.co.autotrader.traverson.Traverson;
+import uk.co.autotrader.traverson.exception.DeadlineExceededException;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class IntegrationTest {
     private static WireMockServer wireMockServer;
@@ -128,4 +131,59 @@ public class IntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(200);
         wireMockServer.verify(1, getRequestedFor(urlEqualTo("/restricted-area")));
     }
+
+    @Test
+    public void getAsync_GivenAsyncAdapter_FollowsRelsWithoutBlocking() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(okJson("{\"_links\":{\"next\":{\"href\":\"http://localhost:8089/next\"}}}")));
+        wireMockServer.stubFor(get(urlEqualTo("/next"))
+                .willReturn(okJson("{\"name\":\"next\"}")));
+        Traverson asyncTraverson = new Traverson(new ApacheHttpAsyncTraversonClientAdapter());
+
+        Response<JSONObject> response = asyncTraverson.from("http://localhost:8089/")
+                .jsonHal()
+                .follow("next")
+                .getAsync()
+                .join();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getResource().getString("name")).isEqualTo("next");
+        wireMockServer.verify(1, getRequestedFor(urlEqualTo("/next")).withHeader("Accept", equalTo("application/hal+json")));
+    }
+
+    @Test
+    public void withDeadline_GivenASlowHop_FailsFastNamingTheHop() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(okJson("{\"_links\":{\"slow\":{\"href\":\"http://localhost:8089/slow\"}}}")));
+        wireMockServer.stubFor(get(urlEqualTo("/slow"))
+                .willReturn(okJson("{}").withFixedDelay(5000)));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> traverson.from("http://localhost:8089/")
+                .jsonHal()
+                .follow("slow")
+                .withDeadline(Duration.ofMillis(500))
+                .get())
+                .isInstanceOf(DeadlineExceededException.class)
+                .hasMessage("Deadline of PT0.5S exceeded at GET http://localhost:8089/slow");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(4));
+    }
+
+    @Test
+    public void withDeadline_GivenHeader_SendsTheRemainingMillisecondsOnEachHop() {
+        wireMockServer.stubFor(get(urlEqualTo("/"))
+                .willReturn(okJson("{\"_links\":{\"next\":{\"href\":\"http://localhost:8089/next\"}}}")));
+        wireMockServer.stubFor(get(urlEqualTo("/next"))
+                .willReturn(okJson("{}")));
+
+        Response<JSONObject> response = traverson.from("http://localhost:8089/")
+                .jsonHal()
+                .follow("next")
+                .withDeadline(Duration.ofSeconds(10), "Request-Timeout")
+                .get();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/")).withHeader("Request-Timeout", matching("\\d+")));
+        wireMockServer.verify(getRequestedFor(urlEqualTo("/next")).withHeader("Request-Timeout", matching("\\d+")));
+    }
 }
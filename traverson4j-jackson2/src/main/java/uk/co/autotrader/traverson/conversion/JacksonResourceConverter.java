@@ -1,17 +1,50 @@
 package uk.co.autotrader.traverson.conversion;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import uk.co.autotrader.traverson.exception.ConversionException;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.ServiceLoader;
 
+/**
+ * Thread safe. Reads resources with an ObjectReader per return type, created on first use and cached for the life of
+ * the class, so the deserializer is not looked up on every conversion.
+ */
 public class JacksonResourceConverter implements ResourceConverter<Object> {
 
     private final ObjectMapper objectMapper;
+    private final ClassValue<ObjectReader> objectReaders;
 
+    /**
+     * Uses the ObjectMapper of the first {@link ObjectMapperProvider} registered with the ServiceLoader, or a default
+     * ObjectMapper should there be none
+     */
     public JacksonResourceConverter() {
-        this.objectMapper = new ObjectMapper();
+        this(ServiceLoader.load(ObjectMapperProvider.class));
+    }
+
+    /**
+     * Register with {@link ResourceConversionService#addConverter(ResourceConverter)}, replacing the converter
+     * registered by the ServiceLoader
+     *
+     * @param objectMapper configured to read resources, which must not be reconfigured afterwards
+     */
+    public JacksonResourceConverter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.objectReaders = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return JacksonResourceConverter.this.objectMapper.readerFor(type);
+            }
+        };
+    }
+
+    JacksonResourceConverter(Iterable<ObjectMapperProvider> providers) {
+        this(firstObjectMapper(providers));
     }
 
     @Override
@@ -19,15 +52,21 @@ public class JacksonResourceConverter implements ResourceConverter<Object> {
         return Object.class;
     }
 
+    /**
+     * Maps the utf-8 bytes of the resource directly, rather than decoding them to a String first
+     */
     @Override
     public Object convert(InputStream resource, Class<? extends Object> returnType) {
-        String resourceAsString = null;
+        byte[] resourceAsBytes = new ByteArrayConverter().convert(resource, byte[].class);
         try {
-            resourceAsString = new StringResourceConverter().convert(resource, String.class);
-            return objectMapper.readValue(resourceAsString, returnType);
-        } catch (JsonProcessingException | RuntimeException e) {
-            throw new ConversionException("Failed to map object using jackson", resourceAsString, e);
+            return objectReaders.get(returnType).readValue(resourceAsBytes);
+        } catch (IOException | RuntimeException e) {
+            throw new ConversionException("Failed to map object using jackson", new String(resourceAsBytes, StandardCharsets.UTF_8), e);
         }
     }
 
+    private static ObjectMapper firstObjectMapper(Iterable<ObjectMapperProvider> providers) {
+        Iterator<ObjectMapperProvider> iterator = providers.iterator();
+        return iterator.hasNext() ? iterator.next().getObjectMapper() : new ObjectMapper();
+    }
 }
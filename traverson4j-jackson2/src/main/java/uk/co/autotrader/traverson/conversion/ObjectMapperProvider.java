@@ -0,0 +1,19 @@
+package uk.co.autotrader.traverson.conversion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Supplies the ObjectMapper of the {@link JacksonResourceConverter} registered by the ServiceLoader, e.g. one with
+ * modules registered and features tuned. Register an implementation, with a public no argument constructor, in
+ * META-INF/services/uk.co.autotrader.traverson.conversion.ObjectMapperProvider
+ */
+@FunctionalInterface
+public interface ObjectMapperProvider {
+
+    /**
+     * Called once, when the converter is created, so the ObjectMapper must not be reconfigured afterwards
+     *
+     * @return the ObjectMapper to read resources with
+     */
+    ObjectMapper getObjectMapper();
+}
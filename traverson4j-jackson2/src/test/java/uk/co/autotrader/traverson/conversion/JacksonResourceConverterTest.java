@@ -2,6 +2,7 @@ package uk.co.autotrader.traverson.conversion;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.google.common.io.Resources;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.junit.Before;
@@ -13,13 +14,17 @@ import org.mockito.junit.MockitoJUnitRunner;
 import uk.co.autotrader.traverson.exception.ConversionException;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +34,8 @@ public class JacksonResourceConverterTest {
     private JacksonResourceConverter converter;
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private ObjectReader objectReader;
 
     @Before
     public void setUp() {
@@ -62,10 +69,10 @@ public class JacksonResourceConverterTest {
     public void convert_GivenTheObjectMapperThrowsJacksonException_WrapsInConversionException() throws Exception {
         final String resourceAsString = "{}";
         JsonProcessingException jsonProcessingException = Mockito.mock(JsonProcessingException.class);
-        when(objectMapper.readValue(resourceAsString, Domains.class)).thenThrow(jsonProcessingException);
+        when(objectMapper.readerFor(Domains.class)).thenReturn(objectReader);
+        when(objectReader.readValue(resourceAsString.getBytes(StandardCharsets.UTF_8))).thenThrow(jsonProcessingException);
 
-        JacksonResourceConverter converter = new JacksonResourceConverter();
-        FieldUtils.writeField(converter, "objectMapper", objectMapper, true);
+        JacksonResourceConverter converter = new JacksonResourceConverter(objectMapper);
 
         assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(resourceAsString.getBytes(StandardCharsets.UTF_8)), Domains.class))
                 .isInstanceOf(ConversionException.class)
@@ -76,14 +83,28 @@ public class JacksonResourceConverterTest {
                 });
     }
 
+    @Test
+    public void convert_GivenTheObjectMapperThrowsAnIOException_WrapsInConversionException() throws Exception {
+        final String resourceAsString = "{}";
+        IOException ioException = new IOException("Stream closed");
+        when(objectMapper.readerFor(Domains.class)).thenReturn(objectReader);
+        when(objectReader.readValue(resourceAsString.getBytes(StandardCharsets.UTF_8))).thenThrow(ioException);
+
+        JacksonResourceConverter converter = new JacksonResourceConverter(objectMapper);
+
+        assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(resourceAsString.getBytes(StandardCharsets.UTF_8)), Domains.class))
+                .isInstanceOf(ConversionException.class)
+                .hasCause(ioException);
+    }
+
     @Test
     public void convert_GivenTheObjectMapperThrowsARuntimeException_WrapsInConversionException() throws Exception {
         final String resourceAsString = "{}";
         RuntimeException runtimeException = new RuntimeException("Error happened");
-        when(objectMapper.readValue(resourceAsString, Domains.class)).thenThrow(runtimeException);
+        when(objectMapper.readerFor(Domains.class)).thenReturn(objectReader);
+        when(objectReader.readValue(resourceAsString.getBytes(StandardCharsets.UTF_8))).thenThrow(runtimeException);
 
-        JacksonResourceConverter converter = new JacksonResourceConverter();
-        FieldUtils.writeField(converter, "objectMapper", objectMapper, true);
+        JacksonResourceConverter converter = new JacksonResourceConverter(objectMapper);
 
         assertThatThrownBy(() -> converter.convert(new ByteArrayInputStream(resourceAsString.getBytes(StandardCharsets.UTF_8)), Domains.class))
                 .isInstanceOf(ConversionException.class)
@@ -93,4 +114,33 @@ public class JacksonResourceConverterTest {
                     return ex.getResourceAsString().equals(resourceAsString);
                 });
     }
+
+    @Test
+    public void convert_GivenTheSameTypeAgain_ReusesItsObjectReader() throws Exception {
+        when(objectMapper.readerFor(Domains.class)).thenReturn(objectReader);
+        when(objectReader.readValue("{}".getBytes(StandardCharsets.UTF_8))).thenReturn(new Domains());
+        JacksonResourceConverter converter = new JacksonResourceConverter(objectMapper);
+
+        converter.convert(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), Domains.class);
+        converter.convert(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), Domains.class);
+
+        verify(objectMapper, times(1)).readerFor(Domains.class);
+        verify(objectReader, times(2)).readValue("{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void init_GivenObjectMapperProviders_UsesTheObjectMapperOfTheFirst() throws Exception {
+        ObjectMapper ignored = new ObjectMapper();
+
+        JacksonResourceConverter converter = new JacksonResourceConverter(Arrays.asList(() -> objectMapper, () -> ignored));
+
+        assertThat(FieldUtils.readField(converter, "objectMapper", true)).isSameAs(objectMapper);
+    }
+
+    @Test
+    public void init_GivenNoObjectMapperProviders_UsesADefaultObjectMapper() throws Exception {
+        JacksonResourceConverter converter = new JacksonResourceConverter(Collections.emptyList());
+
+        assertThat(FieldUtils.readField(converter, "objectMapper", true)).isInstanceOf(ObjectMapper.class);
+    }
 }
@@ -0,0 +1,100 @@
+package uk.co.autotrader.traverson;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the same number of two hop traversals against a local server with a fixed latency, on a fixed pool of
+ * platform threads and on virtual threads, for each of a number of connection pool sizes. The platform pool is
+ * smaller than all but the first pool of connections, so beyond that the platform threads rather than the connections
+ * limit how many traversals are in flight, while virtual threads can use every connection.
+ *
+ * <p>Run with
+ * {@code ./gradlew :traverson4j-virtual-threads:benchmark -Ptraversals=2000 -PlatencyMillis=20 -Pconnections=50,200,1000}</p>
+ */
+public final class VirtualThreadBenchmark {
+    private static final int PLATFORM_THREADS = 50;
+    private static final int ROUNDS = 3;
+
+    private VirtualThreadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int traversals = Integer.parseInt(args[0]);
+        long latencyMillis = Long.parseLong(args[1]);
+        HttpServer server = startServer(latencyMillis);
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        try {
+            for (String connections : args[2].split(",")) {
+                compare(Integer.parseInt(connections.trim()), baseUrl, traversals);
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void compare(int connections, String baseUrl, int traversals) throws Exception {
+        Traverson traverson = VirtualThreads.newTraverson(VirtualThreads.newApacheClient(connections));
+        for (int round = 1; round <= ROUNDS; round++) {
+            try (ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+                report("platform threads (" + PLATFORM_THREADS + ")", connections, round, traversals, run(platform, traverson, baseUrl, traversals));
+            }
+            try (ExecutorService virtual = VirtualThreads.newExecutor()) {
+                report("virtual threads", connections, round, traversals, run(virtual, traverson, baseUrl, traversals));
+            }
+        }
+    }
+
+    private static long run(ExecutorService threads, Traverson traverson, String baseUrl, int traversals) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(traversals);
+        for (int i = 0; i < traversals; i++) {
+            results.add(threads.submit(() -> traverson.from(baseUrl).jsonHal().follow("next").get()));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String mode, int connections, int round, int traversals, long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%5d connections round %d %-24s %6d traversals in %7.3fs, %9.1f traversals/s%n",
+                connections, round, mode, traversals, seconds, traversals / seconds);
+    }
+
+    private static HttpServer startServer(long latencyMillis) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        String next = "{\"_links\":{\"next\":{\"href\":\"http://localhost:" + server.getAddress().getPort() + "/next\"}}}";
+        server.createContext("/", exchange -> respond(exchange, next, latencyMillis));
+        server.createContext("/next", exchange -> respond(exchange, "{\"done\":true}", latencyMillis));
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body, long latencyMillis) throws IOException {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package uk.co.autotrader.traverson;
+
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import uk.co.autotrader.traverson.http.ApacheHttpTraversonClientAdapter;
+import uk.co.autotrader.traverson.http.ConnectionPermitTraversonClient;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry points for running traversals on virtual threads, requiring Java 21 or later
+ *
+ * <pre>
+ * Traverson traverson = VirtualThreads.newTraverson(VirtualThreads.newApacheClient(200));
+ * </pre>
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * @return an executor which starts a new virtual thread for every task, so holds no threads between tasks
+     */
+    public static ExecutorService newExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("traverson-", 0).factory());
+    }
+
+    /**
+     * @param traversonClient the client performing the http requests
+     * @return a Traverson whose asynchronous traversals and followAll branches each run on their own virtual thread
+     */
+    public static Traverson newTraverson(TraversonClient traversonClient) {
+        return new Traverson(traversonClient, newExecutor());
+    }
+
+    /**
+     * An Apache HttpComponents client with a pool of the given number of connections, in total and per host.
+     * Threads wait for a free connection before entering the client, as the client's own wait holds a monitor,
+     * which would pin a virtual thread to its carrier.
+     *
+     * @param maxConnections the number of connections in the pool
+     * @return a client whose blocking requests do not pin virtual threads
+     */
+    public static TraversonClient newApacheClient(int maxConnections) {
+        ApacheHttpTraversonClientAdapter adapter = new ApacheHttpTraversonClientAdapter(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .build())
+                .build());
+        return new ConnectionPermitTraversonClient(adapter, maxConnections);
+    }
+}
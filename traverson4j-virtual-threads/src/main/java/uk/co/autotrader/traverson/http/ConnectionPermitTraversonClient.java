@@ -0,0 +1,44 @@
+package uk.co.autotrader.traverson.http;
+
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Thread safe, suitable as an Injectable singleton
+ *
+ * <p>A {@link TraversonClient} decorator allowing no more concurrent requests than the delegate has connections,
+ * so callers queue on a {@link Semaphore}, where a virtual thread unmounts from its carrier, rather than inside
+ * the delegate's connection pool.</p>
+ *
+ * <p>A request returning an InputStream holds its connection until the stream is closed, after its permit is
+ * released, so should be closed promptly.</p>
+ */
+public class ConnectionPermitTraversonClient implements TraversonClient {
+    private final TraversonClient delegate;
+    private final Semaphore permits;
+
+    /**
+     * @param delegate the client performing the http requests
+     * @param maxConnections the number of connections in the delegate's pool
+     */
+    public ConnectionPermitTraversonClient(TraversonClient delegate, int maxConnections) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public <T> Response<T> execute(Request request, Class<T> returnType) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new HttpException("Interrupted waiting for a connection", interruptedException);
+        }
+        try {
+            return delegate.execute(request, returnType);
+        } finally {
+            permits.release();
+        }
+    }
+}
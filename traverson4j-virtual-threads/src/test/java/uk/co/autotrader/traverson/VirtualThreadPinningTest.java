@@ -0,0 +1,92 @@
+package uk.co.autotrader.traverson;
+
+import com.alibaba.fastjson.JSONObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs many more traversals than there are pooled connections on virtual threads, failing should any virtual thread
+ * block while pinned to its carrier anywhere on the hop path
+ */
+public class VirtualThreadPinningTest {
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        server.createContext("/", exchange -> respond(exchange, "{\"_links\":{\"next\":{\"href\":\"" + baseUrl + "/next\"}}}"));
+        server.createContext("/next", exchange -> respond(exchange, "{\"done\":true}"));
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    public void traversals_GivenMoreVirtualThreadsThanConnections_DoNotPinCarrierThreads() throws Exception {
+        Traverson traverson = VirtualThreads.newTraverson(VirtualThreads.newApacheClient(4));
+        assertThat(traverse(traverson).getStatusCode()).isEqualTo(200);
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            List<Future<Response<JSONObject>>> traversals = new ArrayList<>();
+            try (ExecutorService threads = VirtualThreads.newExecutor()) {
+                for (int i = 0; i < 200; i++) {
+                    traversals.add(threads.submit(() -> traverse(traverson)));
+                }
+                for (Future<Response<JSONObject>> traversal : traversals) {
+                    assertThat(traversal.get(30, TimeUnit.SECONDS).getResource().getBoolean("done")).isTrue();
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinnedEvents).isEmpty();
+    }
+
+    private Response<JSONObject> traverse(Traverson traverson) {
+        return traverson.from(baseUrl).jsonHal().follow("next").get();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/hal+json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+}
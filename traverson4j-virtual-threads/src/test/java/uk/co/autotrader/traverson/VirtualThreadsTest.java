@@ -0,0 +1,55 @@
+package uk.co.autotrader.traverson;
+
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.junit.Test;
+import uk.co.autotrader.traverson.http.ApacheHttpTraversonClientAdapter;
+import uk.co.autotrader.traverson.http.ConnectionPermitTraversonClient;
+import uk.co.autotrader.traverson.http.Request;
+import uk.co.autotrader.traverson.http.Response;
+import uk.co.autotrader.traverson.http.TraversonClient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VirtualThreadsTest {
+
+    @Test
+    public void newExecutor_RunsEachTaskOnANewNamedVirtualThread() throws Exception {
+        try (ExecutorService executor = VirtualThreads.newExecutor()) {
+            Thread first = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+            Thread second = executor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+            assertThat(first.isVirtual()).isTrue();
+            assertThat(first).isNotSameAs(second);
+            assertThat(first.getName()).startsWith("traverson-");
+        }
+    }
+
+    @Test
+    public void newTraverson_RunsAsynchronousTraversalsOnVirtualThreads() {
+        TraversonClient client = new TraversonClient() {
+            @Override
+            public <T> Response<T> execute(Request request, Class<T> returnType) {
+                Response<T> response = new Response<>();
+                response.setStatusCode(Thread.currentThread().isVirtual() ? 200 : 500);
+                return response;
+            }
+        };
+
+        Response<String> response = VirtualThreads.newTraverson(client).from("http://localhost/").getAsync(String.class).join();
+
+        assertThat(response.getStatusCode()).isEqualTo(200);
+    }
+
+    @Test
+    public void newApacheClient_LimitsRequestsToTheNumberOfConnections() throws Exception {
+        TraversonClient client = VirtualThreads.newApacheClient(3);
+
+        assertThat(client).isInstanceOf(ConnectionPermitTraversonClient.class);
+        assertThat(FieldUtils.readDeclaredField(client, "delegate", true)).isInstanceOf(ApacheHttpTraversonClientAdapter.class);
+        assertThat(((Semaphore) FieldUtils.readDeclaredField(client, "permits", true)).availablePermits()).isEqualTo(3);
+    }
+}
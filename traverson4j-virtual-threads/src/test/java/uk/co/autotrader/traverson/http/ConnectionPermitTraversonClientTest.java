@@ -0,0 +1,123 @@
+package uk.co.autotrader.traverson.http;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.autotrader.traverson.exception.HttpException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConnectionPermitTraversonClientTest {
+    private final AtomicInteger concurrentRequests = new AtomicInteger();
+    private final AtomicInteger maximumConcurrentRequests = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExecutorService threads;
+
+    @Before
+    public void setUp() {
+        threads = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    public void execute_ReturnsTheDelegatesResponse() {
+        Response<String> response = new Response<>();
+        ConnectionPermitTraversonClient client = new ConnectionPermitTraversonClient(respondingWith(response), 1);
+
+        assertThat(client.execute(new Request(), String.class)).isSameAs(response);
+    }
+
+    @Test
+    public void execute_GivenMoreCallersThanConnections_RunsNoMoreRequestsThanConnectionsAtOnce() throws Exception {
+        ConnectionPermitTraversonClient client = new ConnectionPermitTraversonClient(blockingUntilReleased(), 2);
+
+        Future<?>[] calls = new Future<?>[5];
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = threads.submit(() -> client.execute(new Request(), String.class));
+        }
+        awaitConcurrentRequests(2);
+        Thread.sleep(50);
+        release.countDown();
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(maximumConcurrentRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void execute_GivenDelegateThrows_ReleasesThePermit() {
+        HttpException failure = new HttpException("boom", null);
+        ConnectionPermitTraversonClient client = new ConnectionPermitTraversonClient(new TraversonClient() {
+            @Override
+            public <T> Response<T> execute(Request request, Class<T> returnType) {
+                throw failure;
+            }
+        }, 1);
+
+        assertThatThrownBy(() -> client.execute(new Request(), String.class)).isSameAs(failure);
+        assertThatThrownBy(() -> client.execute(new Request(), String.class)).isSameAs(failure);
+    }
+
+    @Test
+    public void execute_GivenInterruptedWhileWaiting_ThrowsHttpExceptionAndKeepsTheInterrupt() throws Exception {
+        ConnectionPermitTraversonClient client = new ConnectionPermitTraversonClient(respondingWith(new Response<String>()), 0);
+
+        Future<Boolean> interrupted = threads.submit(() -> {
+            Thread.currentThread().interrupt();
+            assertThatThrownBy(() -> client.execute(new Request(), String.class))
+                    .isInstanceOf(HttpException.class)
+                    .hasMessage("Interrupted waiting for a connection")
+                    .hasCauseInstanceOf(InterruptedException.class);
+            return Thread.currentThread().isInterrupted();
+        });
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void awaitConcurrentRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (concurrentRequests.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private TraversonClient blockingUntilReleased() {
+        return new TraversonClient() {
+            @Override
+            public <T> Response<T> execute(Request request, Class<T> returnType) {
+                maximumConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    concurrentRequests.decrementAndGet();
+                }
+                return new Response<>();
+            }
+        };
+    }
+
+    private static TraversonClient respondingWith(Response<?> response) {
+        return new TraversonClient() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> Response<T> execute(Request request, Class<T> returnType) {
+                return (Response<T>) response;
+            }
+        };
+    }
+}